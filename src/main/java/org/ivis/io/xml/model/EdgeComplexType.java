@@ -1,498 +1,498 @@
-//
-// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.4-2 
-// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
-// Any modifications to this file will be lost upon recompilation of the source schema. 
-// Generated on: 2013.10.28 at 02:39:18 AM EET 
-//
-
-
-package org.ivis.io.xml.model;
-
-import java.util.ArrayList;
-import java.util.List;
-import javax.xml.bind.annotation.XmlAccessType;
-import javax.xml.bind.annotation.XmlAccessorType;
-import javax.xml.bind.annotation.XmlAttribute;
-import javax.xml.bind.annotation.XmlElement;
-import javax.xml.bind.annotation.XmlType;
-
-
-/**
- * Java class for edgeComplexType complex type.
- * 
- * The following schema fragment specifies the expected content contained within this class.
- * 
- * <pre>
- * &lt;complexType name="edgeComplexType"&gt;
- *   &lt;complexContent&gt;
- *     &lt;extension base="{}graphObjectComplexType"&gt;
- *       &lt;sequence&gt;
- *         &lt;element name="sourceNode"&gt;
- *           &lt;complexType&gt;
- *             &lt;complexContent&gt;
- *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
- *                 &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
- *               &lt;/restriction&gt;
- *             &lt;/complexContent&gt;
- *           &lt;/complexType&gt;
- *         &lt;/element&gt;
- *         &lt;element name="targetNode"&gt;
- *           &lt;complexType&gt;
- *             &lt;complexContent&gt;
- *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
- *                 &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
- *               &lt;/restriction&gt;
- *             &lt;/complexContent&gt;
- *           &lt;/complexType&gt;
- *         &lt;/element&gt;
- *         &lt;element name="type" minOccurs="0"&gt;
- *           &lt;complexType&gt;
- *             &lt;complexContent&gt;
- *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
- *                 &lt;attribute name="value" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
- *               &lt;/restriction&gt;
- *             &lt;/complexContent&gt;
- *           &lt;/complexType&gt;
- *         &lt;/element&gt;
- *         &lt;element name="bendPointList" minOccurs="0"&gt;
- *           &lt;complexType&gt;
- *             &lt;complexContent&gt;
- *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
- *                 &lt;sequence&gt;
- *                   &lt;element name="bendPoint" maxOccurs="unbounded" minOccurs="0"&gt;
- *                     &lt;complexType&gt;
- *                       &lt;complexContent&gt;
- *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
- *                           &lt;attribute name="x" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
- *                           &lt;attribute name="y" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
- *                         &lt;/restriction&gt;
- *                       &lt;/complexContent&gt;
- *                     &lt;/complexType&gt;
- *                   &lt;/element&gt;
- *                 &lt;/sequence&gt;
- *               &lt;/restriction&gt;
- *             &lt;/complexContent&gt;
- *           &lt;/complexType&gt;
- *         &lt;/element&gt;
- *       &lt;/sequence&gt;
- *     &lt;/extension&gt;
- *   &lt;/complexContent&gt;
- * &lt;/complexType&gt;
- * </pre>
- * 
- * 
- */
-@XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "edgeComplexType", propOrder = {
-    "sourceNode",
-    "targetNode",
-    "type",
-    "bendPointList"
-})
-public class EdgeComplexType
-    extends GraphObjectComplexType
-{
-
-    @XmlElement(required = true)
-    protected EdgeComplexType.SourceNode sourceNode;
-    @XmlElement(required = true)
-    protected EdgeComplexType.TargetNode targetNode;
-    protected EdgeComplexType.Type type;
-    protected EdgeComplexType.BendPointList bendPointList;
-
-    /**
-     * Gets the value of the sourceNode property.
-     * 
-     * @return
-     *     possible object is
-     *     {@link EdgeComplexType.SourceNode }
-     *     
-     */
-    public EdgeComplexType.SourceNode getSourceNode() {
-        return sourceNode;
-    }
-
-    /**
-     * Sets the value of the sourceNode property.
-     * 
-     * @param value
-     *     allowed object is
-     *     {@link EdgeComplexType.SourceNode }
-     *     
-     */
-    public void setSourceNode(EdgeComplexType.SourceNode value) {
-        this.sourceNode = value;
-    }
-
-    /**
-     * Gets the value of the targetNode property.
-     * 
-     * @return
-     *     possible object is
-     *     {@link EdgeComplexType.TargetNode }
-     *     
-     */
-    public EdgeComplexType.TargetNode getTargetNode() {
-        return targetNode;
-    }
-
-    /**
-     * Sets the value of the targetNode property.
-     * 
-     * @param value
-     *     allowed object is
-     *     {@link EdgeComplexType.TargetNode }
-     *     
-     */
-    public void setTargetNode(EdgeComplexType.TargetNode value) {
-        this.targetNode = value;
-    }
-
-    /**
-     * Gets the value of the type property.
-     * 
-     * @return
-     *     possible object is
-     *     {@link EdgeComplexType.Type }
-     *     
-     */
-    public EdgeComplexType.Type getType() {
-        return type;
-    }
-
-    /**
-     * Sets the value of the type property.
-     * 
-     * @param value
-     *     allowed object is
-     *     {@link EdgeComplexType.Type }
-     *     
-     */
-    public void setType(EdgeComplexType.Type value) {
-        this.type = value;
-    }
-
-    /**
-     * Gets the value of the bendPointList property.
-     * 
-     * @return
-     *     possible object is
-     *     {@link EdgeComplexType.BendPointList }
-     *     
-     */
-    public EdgeComplexType.BendPointList getBendPointList() {
-        return bendPointList;
-    }
-
-    /**
-     * Sets the value of the bendPointList property.
-     * 
-     * @param value
-     *     allowed object is
-     *     {@link EdgeComplexType.BendPointList }
-     *     
-     */
-    public void setBendPointList(EdgeComplexType.BendPointList value) {
-        this.bendPointList = value;
-    }
-
-
-    /**
-     * Java class for anonymous complex type.
-     * 
-     * The following schema fragment specifies the expected content contained within this class.
-     * 
-     * <pre>
-     * &lt;complexType&gt;
-     *   &lt;complexContent&gt;
-     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
-     *       &lt;sequence&gt;
-     *         &lt;element name="bendPoint" maxOccurs="unbounded" minOccurs="0"&gt;
-     *           &lt;complexType&gt;
-     *             &lt;complexContent&gt;
-     *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
-     *                 &lt;attribute name="x" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
-     *                 &lt;attribute name="y" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
-     *               &lt;/restriction&gt;
-     *             &lt;/complexContent&gt;
-     *           &lt;/complexType&gt;
-     *         &lt;/element&gt;
-     *       &lt;/sequence&gt;
-     *     &lt;/restriction&gt;
-     *   &lt;/complexContent&gt;
-     * &lt;/complexType&gt;
-     * </pre>
-     * 
-     * 
-     */
-    @XmlAccessorType(XmlAccessType.FIELD)
-    @XmlType(name = "", propOrder = {
-        "bendPoint"
-    })
-    public static class BendPointList {
-
-        protected List<EdgeComplexType.BendPointList.BendPoint> bendPoint;
-
-        /**
-         * Gets the value of the bendPoint property.
-         * 
-         *
-         * This accessor method returns a reference to the live list,
-         * not a snapshot. Therefore any modification you make to the
-         * returned list will be present inside the JAXB object.
-         * This is why there is not a <CODE>set</CODE> method for the bendPoint property.
-         * 
-         *
-         * For example, to add a new item, do as follows:
-         * <pre>
-         *    getBendPoint().add(newItem);
-         * </pre>
-         * 
-         * 
-         *
-         * Objects of the following type(s) are allowed in the list
-         * {@link EdgeComplexType.BendPointList.BendPoint }
-         * 
-         * @return the bend points
-         */
-        public List<EdgeComplexType.BendPointList.BendPoint> getBendPoint() {
-            if (bendPoint == null) {
-                bendPoint = new ArrayList<EdgeComplexType.BendPointList.BendPoint>();
-            }
-            return bendPoint;
-        }
-
-
-        /**
-         * Java class for anonymous complex type.
-         * 
-         * The following schema fragment specifies the expected content contained within this class.
-         * 
-         * <pre>
-         * &lt;complexType&gt;
-         *   &lt;complexContent&gt;
-         *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
-         *       &lt;attribute name="x" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
-         *       &lt;attribute name="y" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
-         *     &lt;/restriction&gt;
-         *   &lt;/complexContent&gt;
-         * &lt;/complexType&gt;
-         * </pre>
-         * 
-         * 
-         */
-        @XmlAccessorType(XmlAccessType.FIELD)
-        @XmlType(name = "")
-        public static class BendPoint {
-
-            @XmlAttribute(name = "x")
-            protected Double x;
-            @XmlAttribute(name = "y")
-            protected Double y;
-
-            /**
-             * Gets the value of the x property.
-             * 
-             * @return
-             *     possible object is
-             *     {@link Double }
-             *     
-             */
-            public Double getX() {
-                return x;
-            }
-
-            /**
-             * Sets the value of the x property.
-             * 
-             * @param value
-             *     allowed object is
-             *     {@link Double }
-             *     
-             */
-            public void setX(Double value) {
-                this.x = value;
-            }
-
-            /**
-             * Gets the value of the y property.
-             * 
-             * @return
-             *     possible object is
-             *     {@link Double }
-             *     
-             */
-            public Double getY() {
-                return y;
-            }
-
-            /**
-             * Sets the value of the y property.
-             * 
-             * @param value
-             *     allowed object is
-             *     {@link Double }
-             *     
-             */
-            public void setY(Double value) {
-                this.y = value;
-            }
-
-        }
-
-    }
-
-
-    /**
-     * Java class for anonymous complex type.
-     * 
-     * The following schema fragment specifies the expected content contained within this class.
-     * 
-     * <pre>
-     * &lt;complexType&gt;
-     *   &lt;complexContent&gt;
-     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
-     *       &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
-     *     &lt;/restriction&gt;
-     *   &lt;/complexContent&gt;
-     * &lt;/complexType&gt;
-     * </pre>
-     * 
-     * 
-     */
-    @XmlAccessorType(XmlAccessType.FIELD)
-    @XmlType(name = "")
-    public static class SourceNode {
-
-        @XmlAttribute(name = "id")
-        protected String id;
-
-        /**
-         * Gets the value of the id property.
-         * 
-         * @return
-         *     possible object is
-         *     {@link String }
-         *     
-         */
-        public String getId() {
-            return id;
-        }
-
-        /**
-         * Sets the value of the id property.
-         * 
-         * @param value
-         *     allowed object is
-         *     {@link String }
-         *     
-         */
-        public void setId(String value) {
-            this.id = value;
-        }
-
-    }
-
-
-    /**
-     * Java class for anonymous complex type.
-     * 
-     * The following schema fragment specifies the expected content contained within this class.
-     * 
-     * <pre>
-     * &lt;complexType&gt;
-     *   &lt;complexContent&gt;
-     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
-     *       &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
-     *     &lt;/restriction&gt;
-     *   &lt;/complexContent&gt;
-     * &lt;/complexType&gt;
-     * </pre>
-     * 
-     * 
-     */
-    @XmlAccessorType(XmlAccessType.FIELD)
-    @XmlType(name = "")
-    public static class TargetNode {
-
-        @XmlAttribute(name = "id")
-        protected String id;
-
-        /**
-         * Gets the value of the id property.
-         * 
-         * @return
-         *     possible object is
-         *     {@link String }
-         *     
-         */
-        public String getId() {
-            return id;
-        }
-
-        /**
-         * Sets the value of the id property.
-         * 
-         * @param value
-         *     allowed object is
-         *     {@link String }
-         *     
-         */
-        public void setId(String value) {
-            this.id = value;
-        }
-
-    }
-
-
-    /**
-     * Java class for anonymous complex type.
-     * 
-     * The following schema fragment specifies the expected content contained within this class.
-     * 
-     * <pre>
-     * &lt;complexType&gt;
-     *   &lt;complexContent&gt;
-     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
-     *       &lt;attribute name="value" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
-     *     &lt;/restriction&gt;
-     *   &lt;/complexContent&gt;
-     * &lt;/complexType&gt;
-     * </pre>
-     * 
-     * 
-     */
-    @XmlAccessorType(XmlAccessType.FIELD)
-    @XmlType(name = "")
-    public static class Type {
-
-        @XmlAttribute(name = "value")
-        protected String value;
-
-        /**
-         * Gets the value of the value property.
-         * 
-         * @return
-         *     possible object is
-         *     {@link String }
-         *     
-         */
-        public String getValue() {
-            return value;
-        }
-
-        /**
-         * Sets the value of the value property.
-         * 
-         * @param value
-         *     allowed object is
-         *     {@link String }
-         *     
-         */
-        public void setValue(String value) {
-            this.value = value;
-        }
-
-    }
-
-}
+//
+// This file was generated by the JavaTM Architecture for XML Binding(JAXB) Reference Implementation, v2.2.4-2 
+// See <a href="http://java.sun.com/xml/jaxb">http://java.sun.com/xml/jaxb</a> 
+// Any modifications to this file will be lost upon recompilation of the source schema. 
+// Generated on: 2013.10.28 at 02:39:18 AM EET 
+//
+
+
+package org.ivis.io.xml.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+
+
+/**
+ * Java class for edgeComplexType complex type.
+ * 
+ * The following schema fragment specifies the expected content contained within this class.
+ * 
+ * <pre>
+ * &lt;complexType name="edgeComplexType"&gt;
+ *   &lt;complexContent&gt;
+ *     &lt;extension base="{}graphObjectComplexType"&gt;
+ *       &lt;sequence&gt;
+ *         &lt;element name="sourceNode"&gt;
+ *           &lt;complexType&gt;
+ *             &lt;complexContent&gt;
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                 &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
+ *               &lt;/restriction&gt;
+ *             &lt;/complexContent&gt;
+ *           &lt;/complexType&gt;
+ *         &lt;/element&gt;
+ *         &lt;element name="targetNode"&gt;
+ *           &lt;complexType&gt;
+ *             &lt;complexContent&gt;
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                 &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
+ *               &lt;/restriction&gt;
+ *             &lt;/complexContent&gt;
+ *           &lt;/complexType&gt;
+ *         &lt;/element&gt;
+ *         &lt;element name="type" minOccurs="0"&gt;
+ *           &lt;complexType&gt;
+ *             &lt;complexContent&gt;
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                 &lt;attribute name="value" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
+ *               &lt;/restriction&gt;
+ *             &lt;/complexContent&gt;
+ *           &lt;/complexType&gt;
+ *         &lt;/element&gt;
+ *         &lt;element name="bendPointList" minOccurs="0"&gt;
+ *           &lt;complexType&gt;
+ *             &lt;complexContent&gt;
+ *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                 &lt;sequence&gt;
+ *                   &lt;element name="bendPoint" maxOccurs="unbounded" minOccurs="0"&gt;
+ *                     &lt;complexType&gt;
+ *                       &lt;complexContent&gt;
+ *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                           &lt;attribute name="x" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
+ *                           &lt;attribute name="y" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
+ *                         &lt;/restriction&gt;
+ *                       &lt;/complexContent&gt;
+ *                     &lt;/complexType&gt;
+ *                   &lt;/element&gt;
+ *                 &lt;/sequence&gt;
+ *               &lt;/restriction&gt;
+ *             &lt;/complexContent&gt;
+ *           &lt;/complexType&gt;
+ *         &lt;/element&gt;
+ *       &lt;/sequence&gt;
+ *     &lt;/extension&gt;
+ *   &lt;/complexContent&gt;
+ * &lt;/complexType&gt;
+ * </pre>
+ * 
+ * 
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "edgeComplexType", propOrder = {
+    "sourceNode",
+    "targetNode",
+    "type",
+    "bendPointList"
+})
+public class EdgeComplexType
+    extends GraphObjectComplexType
+{
+
+    @XmlElement(required = true)
+    protected EdgeComplexType.SourceNode sourceNode;
+    @XmlElement(required = true)
+    protected EdgeComplexType.TargetNode targetNode;
+    protected EdgeComplexType.Type type;
+    protected EdgeComplexType.BendPointList bendPointList;
+
+    /**
+     * Gets the value of the sourceNode property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link EdgeComplexType.SourceNode }
+     *     
+     */
+    public EdgeComplexType.SourceNode getSourceNode() {
+        return sourceNode;
+    }
+
+    /**
+     * Sets the value of the sourceNode property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link EdgeComplexType.SourceNode }
+     *     
+     */
+    public void setSourceNode(EdgeComplexType.SourceNode value) {
+        this.sourceNode = value;
+    }
+
+    /**
+     * Gets the value of the targetNode property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link EdgeComplexType.TargetNode }
+     *     
+     */
+    public EdgeComplexType.TargetNode getTargetNode() {
+        return targetNode;
+    }
+
+    /**
+     * Sets the value of the targetNode property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link EdgeComplexType.TargetNode }
+     *     
+     */
+    public void setTargetNode(EdgeComplexType.TargetNode value) {
+        this.targetNode = value;
+    }
+
+    /**
+     * Gets the value of the type property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link EdgeComplexType.Type }
+     *     
+     */
+    public EdgeComplexType.Type getType() {
+        return type;
+    }
+
+    /**
+     * Sets the value of the type property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link EdgeComplexType.Type }
+     *     
+     */
+    public void setType(EdgeComplexType.Type value) {
+        this.type = value;
+    }
+
+    /**
+     * Gets the value of the bendPointList property.
+     * 
+     * @return
+     *     possible object is
+     *     {@link EdgeComplexType.BendPointList }
+     *     
+     */
+    public EdgeComplexType.BendPointList getBendPointList() {
+        return bendPointList;
+    }
+
+    /**
+     * Sets the value of the bendPointList property.
+     * 
+     * @param value
+     *     allowed object is
+     *     {@link EdgeComplexType.BendPointList }
+     *     
+     */
+    public void setBendPointList(EdgeComplexType.BendPointList value) {
+        this.bendPointList = value;
+    }
+
+
+    /**
+     * Java class for anonymous complex type.
+     * 
+     * The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType&gt;
+     *   &lt;complexContent&gt;
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *       &lt;sequence&gt;
+     *         &lt;element name="bendPoint" maxOccurs="unbounded" minOccurs="0"&gt;
+     *           &lt;complexType&gt;
+     *             &lt;complexContent&gt;
+     *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *                 &lt;attribute name="x" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
+     *                 &lt;attribute name="y" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
+     *               &lt;/restriction&gt;
+     *             &lt;/complexContent&gt;
+     *           &lt;/complexType&gt;
+     *         &lt;/element&gt;
+     *       &lt;/sequence&gt;
+     *     &lt;/restriction&gt;
+     *   &lt;/complexContent&gt;
+     * &lt;/complexType&gt;
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "", propOrder = {
+        "bendPoint"
+    })
+    public static class BendPointList {
+
+        protected List<EdgeComplexType.BendPointList.BendPoint> bendPoint;
+
+        /**
+         * Gets the value of the bendPoint property.
+         * 
+         *
+         * This accessor method returns a reference to the live list,
+         * not a snapshot. Therefore any modification you make to the
+         * returned list will be present inside the JAXB object.
+         * This is why there is not a <CODE>set</CODE> method for the bendPoint property.
+         * 
+         *
+         * For example, to add a new item, do as follows:
+         * <pre>
+         *    getBendPoint().add(newItem);
+         * </pre>
+         * 
+         * 
+         *
+         * Objects of the following type(s) are allowed in the list
+         * {@link EdgeComplexType.BendPointList.BendPoint }
+         * 
+         * @return the bend points
+         */
+        public List<EdgeComplexType.BendPointList.BendPoint> getBendPoint() {
+            if (bendPoint == null) {
+                bendPoint = new ArrayList<EdgeComplexType.BendPointList.BendPoint>();
+            }
+            return bendPoint;
+        }
+
+
+        /**
+         * Java class for anonymous complex type.
+         * 
+         * The following schema fragment specifies the expected content contained within this class.
+         * 
+         * <pre>
+         * &lt;complexType&gt;
+         *   &lt;complexContent&gt;
+         *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+         *       &lt;attribute name="x" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
+         *       &lt;attribute name="y" type="{http://www.w3.org/2001/XMLSchema}double" /&gt;
+         *     &lt;/restriction&gt;
+         *   &lt;/complexContent&gt;
+         * &lt;/complexType&gt;
+         * </pre>
+         * 
+         * 
+         */
+        @XmlAccessorType(XmlAccessType.FIELD)
+        @XmlType(name = "")
+        public static class BendPoint {
+
+            @XmlAttribute(name = "x")
+            protected Double x;
+            @XmlAttribute(name = "y")
+            protected Double y;
+
+            /**
+             * Gets the value of the x property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Double }
+             *     
+             */
+            public Double getX() {
+                return x;
+            }
+
+            /**
+             * Sets the value of the x property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Double }
+             *     
+             */
+            public void setX(Double value) {
+                this.x = value;
+            }
+
+            /**
+             * Gets the value of the y property.
+             * 
+             * @return
+             *     possible object is
+             *     {@link Double }
+             *     
+             */
+            public Double getY() {
+                return y;
+            }
+
+            /**
+             * Sets the value of the y property.
+             * 
+             * @param value
+             *     allowed object is
+             *     {@link Double }
+             *     
+             */
+            public void setY(Double value) {
+                this.y = value;
+            }
+
+        }
+
+    }
+
+
+    /**
+     * Java class for anonymous complex type.
+     * 
+     * The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType&gt;
+     *   &lt;complexContent&gt;
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *       &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
+     *     &lt;/restriction&gt;
+     *   &lt;/complexContent&gt;
+     * &lt;/complexType&gt;
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class SourceNode {
+
+        @XmlAttribute(name = "id")
+        protected String id;
+
+        /**
+         * Gets the value of the id property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Sets the value of the id property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setId(String value) {
+            this.id = value;
+        }
+
+    }
+
+
+    /**
+     * Java class for anonymous complex type.
+     * 
+     * The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType&gt;
+     *   &lt;complexContent&gt;
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *       &lt;attribute name="id" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
+     *     &lt;/restriction&gt;
+     *   &lt;/complexContent&gt;
+     * &lt;/complexType&gt;
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class TargetNode {
+
+        @XmlAttribute(name = "id")
+        protected String id;
+
+        /**
+         * Gets the value of the id property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Sets the value of the id property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setId(String value) {
+            this.id = value;
+        }
+
+    }
+
+
+    /**
+     * Java class for anonymous complex type.
+     * 
+     * The following schema fragment specifies the expected content contained within this class.
+     * 
+     * <pre>
+     * &lt;complexType&gt;
+     *   &lt;complexContent&gt;
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *       &lt;attribute name="value" type="{http://www.w3.org/2001/XMLSchema}string" /&gt;
+     *     &lt;/restriction&gt;
+     *   &lt;/complexContent&gt;
+     * &lt;/complexType&gt;
+     * </pre>
+     * 
+     * 
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class Type {
+
+        @XmlAttribute(name = "value")
+        protected String value;
+
+        /**
+         * Gets the value of the value property.
+         * 
+         * @return
+         *     possible object is
+         *     {@link String }
+         *     
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Sets the value of the value property.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link String }
+         *     
+         */
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+    }
+
+}
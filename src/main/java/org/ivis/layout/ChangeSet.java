@@ -0,0 +1,141 @@
+package org.ivis.layout;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * This class records the changes made to an already laid out l-level graph
+ * since its last layout, so that a delta layout may lay out again only the
+ * surroundings of the changes. Added nodes are those to be placed anew;
+ * touched nodes are the remaining nodes whose surroundings have changed,
+ * e.g. the ends of added or removed edges and the neighbors of removed
+ * nodes. Changes are to be recorded as they are made to the graph, except
+ * that a node is to be recorded before it is removed.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class ChangeSet
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Nodes added to the graph, along with their descendants
+	 */
+	private Set<LNode> addedNodes = new LinkedHashSet<LNode>();
+
+	/**
+	 * Nodes already in the graph whose surroundings have changed
+	 */
+	private Set<LNode> touchedNodes = new LinkedHashSet<LNode>();
+
+// -----------------------------------------------------------------------------
+// Section: Recording changes
+// -----------------------------------------------------------------------------
+	/**
+	 * This method records that the input node, along with its descendants,
+	 * has been added to the graph.
+	 */
+	public void nodeAdded(LNode node)
+	{
+		this.addedNodes.add(node);
+		this.touchedNodes.remove(node);
+
+		if (node.getChild() != null)
+		{
+			for (Object obj : node.getChild().getNodes())
+			{
+				nodeAdded((LNode) obj);
+			}
+		}
+	}
+
+	/**
+	 * This method records that the input node is about to be removed from the
+	 * graph, which changes the surroundings of its neighbors.
+	 */
+	public void nodeRemoved(LNode node)
+	{
+		this.addedNodes.remove(node);
+		this.touchedNodes.remove(node);
+
+		for (Object obj : node.getNeighborsList())
+		{
+			LNode neighbor = (LNode) obj;
+
+			if (neighbor != node)
+			{
+				nodeChanged(neighbor);
+			}
+		}
+	}
+
+	/**
+	 * This method records that the input node has been changed in place,
+	 * e.g. resized.
+	 */
+	public void nodeChanged(LNode node)
+	{
+		if (!this.addedNodes.contains(node))
+		{
+			this.touchedNodes.add(node);
+		}
+	}
+
+	/**
+	 * This method records that the input edge has been added to the graph.
+	 */
+	public void edgeAdded(LEdge edge)
+	{
+		nodeChanged(edge.getSource());
+		nodeChanged(edge.getTarget());
+	}
+
+	/**
+	 * This method records that the input edge has been removed from the
+	 * graph.
+	 */
+	public void edgeRemoved(LEdge edge)
+	{
+		nodeChanged(edge.getSource());
+		nodeChanged(edge.getTarget());
+	}
+
+	/**
+	 * This method forgets all recorded changes, e.g. after a delta layout.
+	 */
+	public void clear()
+	{
+		this.addedNodes.clear();
+		this.touchedNodes.clear();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the added nodes, in the order they were added.
+	 */
+	public Set<LNode> getAddedNodes()
+	{
+		return Collections.unmodifiableSet(this.addedNodes);
+	}
+
+	/**
+	 * This method returns the touched nodes, in the order they were touched.
+	 * Nodes removed afterwards may be included.
+	 */
+	public Set<LNode> getTouchedNodes()
+	{
+		return Collections.unmodifiableSet(this.touchedNodes);
+	}
+
+	/**
+	 * This method returns whether no change has been recorded.
+	 */
+	public boolean isEmpty()
+	{
+		return this.addedNodes.isEmpty() && this.touchedNodes.isEmpty();
+	}
+}
@@ -0,0 +1,397 @@
+package org.ivis.layout;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+
+/**
+ * This class indexes the inclusion tree (nesting hierarchy) of a graph
+ * manager for fast ancestry queries. Vertices of the tree are graphs, and the
+ * parent of a graph is the owner graph of its parent node.
+ *
+ * Graphs are numbered in preorder, so that the subtree of graph g is formed by
+ * graphs g to exit[g]-1, which answers ancestry queries in constant time. The
+ * lowest common ancestor of two graphs is the shallowest graph visited between
+ * them in an Euler tour of the tree, which is found in constant time using a
+ * sparse table of the tour. Ancestors at a given depth are found by binary
+ * lifting.
+ *
+ * An index reflects the topology at the time it was built; the graph manager
+ * drops its index whenever the nesting hierarchy changes.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class InclusionTreeIndex
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Graphs in preorder and the index of each graph
+	 */
+	private LGraph[] graphs;
+	private IdentityHashMap<LGraph, Integer> graphIndex;
+	private int graphCount;
+
+	/**
+	 * Depth of each graph (1 for the root graph) and the end of its subtree in
+	 * preorder
+	 */
+	private int[] depth;
+	private int[] exit;
+
+	/**
+	 * Position of the first visit of each graph in the Euler tour, and the
+	 * sparse table of the tour: table[k][i] is the shallowest graph visited
+	 * in positions i to i+2^k-1
+	 */
+	private int[] first;
+	private int[][] table;
+	private int[] log;
+
+	/**
+	 * Binary lifting: jump[k][g] is the ancestor of graph g 2^k levels above
+	 * it, -1 if none
+	 */
+	private int[][] jump;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates an index of the inclusion tree of the input graph manager,
+	 * formed by its root graph and the child graphs reachable from it.
+	 */
+	public InclusionTreeIndex(LGraphManager graphManager)
+	{
+		int n = Math.max(graphManager.getGraphs().size(), 1);
+
+		this.graphs = new LGraph[n];
+		this.graphIndex = new IdentityHashMap<LGraph, Integer>();
+		this.depth = new int[n];
+		this.exit = new int[n];
+		this.first = new int[n];
+
+		LGraph root = graphManager.getRoot();
+
+		if (root == null)
+		{
+			this.log = new int[1];
+			this.table = new int[0][];
+			this.jump = new int[0][];
+			return;
+		}
+
+		int[] parent = new int[n];
+		int[] tour = new int[2 * n - 1];
+		int tourLength = traverse(root, parent, tour);
+
+		buildSparseTable(tour, tourLength);
+		buildJumps(parent);
+	}
+
+	/**
+	 * This method numbers the graphs of the tree rooted at the input graph in
+	 * preorder, forming their Euler tour as well. Traversal is iterative since
+	 * nesting may be deep. Returns the length of the tour.
+	 */
+	private int traverse(LGraph root, int[] parent, int[] tour)
+	{
+		int[] stack = new int[this.graphs.length];
+		Iterator[] stackIterator = new Iterator[this.graphs.length];
+		int top = 0;
+		int tourLength = 0;
+
+		addGraph(root, -1, parent);
+		stack[0] = 0;
+		stackIterator[0] = root.getNodes().iterator();
+		tour[tourLength++] = 0;
+
+		while (top >= 0)
+		{
+			int g = stack[top];
+
+			if (stackIterator[top].hasNext())
+			{
+				LGraph child = ((LNode) stackIterator[top].next()).getChild();
+
+				if (child == null || this.graphIndex.containsKey(child))
+				{
+					continue;
+				}
+
+				int c = addGraph(child, g, parent);
+
+				this.first[c] = tourLength;
+				tour[tourLength++] = c;
+				stack[++top] = c;
+				stackIterator[top] = child.getNodes().iterator();
+			}
+			else
+			{
+				this.exit[g] = this.graphCount;
+				stackIterator[top--] = null;
+
+				// back in the parent graph
+				if (top >= 0)
+				{
+					tour[tourLength++] = stack[top];
+				}
+			}
+		}
+
+		return tourLength;
+	}
+
+	/**
+	 * This method assigns the next index to the input graph, whose parent in
+	 * the tree has the input index.
+	 */
+	private int addGraph(LGraph graph, int parentIndex, int[] parent)
+	{
+		assert this.graphCount < this.graphs.length :
+			"Graph not in graph manager!";
+
+		int g = this.graphCount++;
+
+		this.graphs[g] = graph;
+		this.graphIndex.put(graph, g);
+		parent[g] = parentIndex;
+		this.depth[g] = parentIndex == -1 ? 1 : this.depth[parentIndex] + 1;
+
+		return g;
+	}
+
+	/**
+	 * This method builds the sparse table of the input Euler tour.
+	 */
+	private void buildSparseTable(int[] tour, int tourLength)
+	{
+		this.log = new int[tourLength + 1];
+
+		for (int i = 2; i <= tourLength; i++)
+		{
+			this.log[i] = this.log[i / 2] + 1;
+		}
+
+		this.table = new int[this.log[tourLength] + 1][];
+		this.table[0] = new int[tourLength];
+		System.arraycopy(tour, 0, this.table[0], 0, tourLength);
+
+		for (int k = 1; k < this.table.length; k++)
+		{
+			int half = 1 << (k - 1);
+			int[] previous = this.table[k - 1];
+			int[] level = new int[tourLength - (1 << k) + 1];
+
+			for (int i = 0; i < level.length; i++)
+			{
+				level[i] = shallower(previous[i], previous[i + half]);
+			}
+
+			this.table[k] = level;
+		}
+	}
+
+	/**
+	 * This method builds the binary lifting table from the input parents.
+	 */
+	private void buildJumps(int[] parent)
+	{
+		int maxDepth = 1;
+
+		for (int g = 0; g < this.graphCount; g++)
+		{
+			maxDepth = Math.max(maxDepth, this.depth[g]);
+		}
+
+		int levels = 1;
+
+		while ((1 << levels) < maxDepth)
+		{
+			levels++;
+		}
+
+		this.jump = new int[levels][];
+		this.jump[0] = new int[this.graphCount];
+		System.arraycopy(parent, 0, this.jump[0], 0, this.graphCount);
+
+		for (int k = 1; k < levels; k++)
+		{
+			int[] previous = this.jump[k - 1];
+			int[] level = new int[this.graphCount];
+
+			for (int g = 0; g < this.graphCount; g++)
+			{
+				level[g] = previous[g] == -1 ? -1 : previous[previous[g]];
+			}
+
+			this.jump[k] = level;
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Queries
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns whether the input graph is in the indexed tree.
+	 */
+	public boolean contains(LGraph graph)
+	{
+		return this.graphIndex.containsKey(graph);
+	}
+
+	/**
+	 * This method returns the depth of the input graph in the inclusion tree,
+	 * the root graph being of depth 1.
+	 */
+	public int getDepth(LGraph graph)
+	{
+		return this.depth[indexOf(graph)];
+	}
+
+	/**
+	 * This method returns the depth of the input node in the inclusion tree,
+	 * that is the depth of its owner graph.
+	 */
+	public int getDepth(LNode node)
+	{
+		return this.depth[indexOf(node.getOwner())];
+	}
+
+	/**
+	 * This method returns whether the first input graph is an ancestor of (or
+	 * the same as) the second one.
+	 */
+	public boolean isAncestor(LGraph ancestor, LGraph graph)
+	{
+		int a = indexOf(ancestor);
+		int g = indexOf(graph);
+
+		return a <= g && g < this.exit[a];
+	}
+
+	/**
+	 * This method checks whether one of the input nodes is an ancestor of the
+	 * other one (or they are the same node), as in
+	 * LGraphManager.isOneAncestorOfOther.
+	 */
+	public boolean isOneAncestorOfOther(LNode firstNode, LNode secondNode)
+	{
+		if (firstNode == secondNode)
+		{
+			return true;
+		}
+
+		// nodes outside the tree are checked by walking up their ancestors
+		if (!contains(firstNode.getOwner()) || !contains(secondNode.getOwner()))
+		{
+			return LGraphManager.isOneAncestorOfOther(firstNode, secondNode);
+		}
+
+		LGraph firstChild = firstNode.getChild();
+		LGraph secondChild = secondNode.getChild();
+
+		return (secondChild != null && contains(secondChild) &&
+				isAncestor(secondChild, firstNode.getOwner())) ||
+			(firstChild != null && contains(firstChild) &&
+				isAncestor(firstChild, secondNode.getOwner()));
+	}
+
+	/**
+	 * This method returns the lowest common ancestor of the input graphs, null
+	 * if either graph is not in the tree.
+	 */
+	public LGraph getLowestCommonAncestor(LGraph firstGraph,
+		LGraph secondGraph)
+	{
+		if (!contains(firstGraph) || !contains(secondGraph))
+		{
+			return null;
+		}
+
+		int left = this.first[indexOf(firstGraph)];
+		int right = this.first[indexOf(secondGraph)];
+
+		if (left > right)
+		{
+			int temp = left;
+			left = right;
+			right = temp;
+		}
+
+		int k = this.log[right - left + 1];
+
+		return this.graphs[shallower(this.table[k][left],
+			this.table[k][right - (1 << k) + 1])];
+	}
+
+	/**
+	 * This method returns the lowest common ancestor of the owner graphs of
+	 * the input nodes, as in LGraphManager.calcLowestCommonAncestor.
+	 */
+	public LGraph getLowestCommonAncestor(LNode firstNode, LNode secondNode)
+	{
+		if (firstNode == secondNode)
+		{
+			return firstNode.getOwner();
+		}
+
+		return getLowestCommonAncestor(firstNode.getOwner(),
+			secondNode.getOwner());
+	}
+
+	/**
+	 * This method returns the input node if it is a member of the input
+	 * graph, or else its ancestor node that is a member of the input graph,
+	 * which is assumed to be an ancestor of the owner of the input node.
+	 */
+	public LNode getAncestorInGraph(LNode node, LGraph graph)
+	{
+		LGraph owner = node.getOwner();
+
+		if (owner == graph)
+		{
+			return node;
+		}
+
+		assert isAncestor(graph, owner) : "Graph is not an ancestor!";
+
+		// the child graph of the ancestor node is one level below the graph
+		int g = indexOf(owner);
+		int levels = this.depth[g] - this.depth[indexOf(graph)] - 1;
+
+		for (int k = 0; levels > 0; k++, levels >>= 1)
+		{
+			if ((levels & 1) != 0)
+			{
+				g = this.jump[k][g];
+			}
+		}
+
+		return this.graphs[g].getParent();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the index of the input graph, which is assumed to be
+	 * in the tree.
+	 */
+	private int indexOf(LGraph graph)
+	{
+		Integer index = this.graphIndex.get(graph);
+
+		assert index != null : "Graph not in inclusion tree!";
+
+		return index;
+	}
+
+	/**
+	 * This method returns the shallower of the input graphs.
+	 */
+	private int shallower(int a, int b)
+	{
+		return this.depth[a] <= this.depth[b] ? a : b;
+	}
+}
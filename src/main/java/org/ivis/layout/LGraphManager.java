@@ -1,703 +1,1027 @@
-package org.ivis.layout;
-
-import java.util.*;
-
-/**
- * This class represents a graph manager (l-level) for layout purposes. A graph
- * manager maintains a collection of graphs, forming a compound graph structure
- * through inclusion, and maintains the inter-graph edges. You may refer to the
- * following article for technical details:
- * 		U. Dogrusoz and B. Genc, "A Multi-Graph Approach to Complexity
- * 		Management in Interactive Graph Visualization",
- * 		Computers &amp; Graphics, vol. 30/1, pp. 86-97, 2006.
- *
- * @author Erhan Giral
- * @author Ugur Dogrusoz
- * @author Cihan Kucukkececi
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class LGraphManager
-{
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-	/*
-	 * Graphs maintained by this graph manager, including the root of the
-	 * nesting hierarchy
-	 */
-	private List graphs;
-
-	/*
-	 * Inter-graph edges in this graph manager. Notice that all inter-graph
-	 * edges go here, not in any of the edge lists of individual graphs (either
-	 * source or target node's owner graph).
-	 */
-	private List edges;
-
-	/*
-	 * All nodes (excluding the root node) and edges (including inter-graph
-	 * edges) in this graph manager. For efficiency purposes we hold references
-	 * of all layout objects that we operate on in arrays. These lists are
-	 * generated once we know that the topology of the graph manager is fixed,
-	 * immediately before layout starts.
-	 */
-	private Object[] allNodes;
-	private Object[] allEdges;
-
-	/*
-	 * Similarly we have a list of nodes for which gravitation should be
-	 * applied. This is determined once, prior to layout, and used afterwards.
-	 */
-	private Object[] allNodesToApplyGravitation;
-
-	/*
-	 * The root of the inclusion/nesting hierarchy of this compound structure
-	 */
-	private LGraph rootGraph;
-
-	/*
-	 * Layout object using this graph manager
-	 */
-	private Layout layout;
-	
-	/*
-	 * Cluster Manager of all graphs managed by this graph manager
-	 */
-	private ClusterManager clusterManager;
-	
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-
-	protected LGraphManager() {
-		graphs = new ArrayList();
-		edges = new ArrayList();
-		allNodes = null;
-		allEdges = null;
-		allNodesToApplyGravitation = null;
-		rootGraph = null;
-		clusterManager = new ClusterManager();
-		layout = null;
-	}
-
-	/**
-	 * Constructor
-	 * @param layout layout alg.
-	 */
-	public LGraphManager(Layout layout)
-	{
-		this();
-		this.layout = layout;
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Topology related
-// -----------------------------------------------------------------------------
-	/**
-	 * This method adds a new graph to this graph manager and sets as the root.
-	 * It also creates the root graph as the parent of the root graph.
-	 */
-	public LGraph addRoot()
-	{
-		setRootGraph(add(layout.newGraph(null), layout.newNode(null)));
-		return rootGraph;
-	}
-
-	/**
-	 * This method adds the input graph into this graph manager. The new graph
-	 * is associated as the child graph of the input parent node. If the parent
-	 * node is null, then the graph is set to be the root.
-	 */
-	public LGraph add(LGraph newGraph, LNode parentNode)
-	{
-		assert (newGraph != null) : "Graph is null!";
-		assert (parentNode != null) : "Parent node is null!";
-		assert (!graphs.contains(newGraph)) : "Graph already in this graph mgr!";
-
-		graphs.add(newGraph);
-
-		assert (newGraph.parent == null) : "Already has a parent!";
-		assert (parentNode.child == null) : "Already has a child!";
-		newGraph.parent = parentNode;
-		parentNode.child = newGraph;
-
-		return newGraph;
-	}
-
-	/**
-	 * This method adds the input edge between specified nodes into this graph
-	 * manager. We assume both source and target nodes to be already in this
-	 * graph manager.
-	 */
-	public LEdge add(LEdge newEdge, LNode sourceNode, LNode targetNode)
-	{
-		LGraph sourceGraph = sourceNode.getOwner();
-		LGraph targetGraph = targetNode.getOwner();
-
-		assert (sourceGraph != null && sourceGraph.getGraphManager() == this ) :
-			"Source not in this graph mgr!";
-		assert (targetGraph != null && targetGraph.getGraphManager() == this ) :
-			"Target not in this graph mgr!";
-
-		if (sourceGraph == targetGraph)
-		{
-			newEdge.isInterGraph = false;
-			return sourceGraph.add(newEdge, sourceNode, targetNode);
-		}
-		else
-		{
-			newEdge.isInterGraph = true;
-
-			// set source and target
-			newEdge.source = sourceNode;
-			newEdge.target = targetNode;
-
-			// add edge to inter-graph edge list
-			assert (!edges.contains(newEdge)) :
-				"Edge already in inter-graph edge list!";
-			edges.add(newEdge);
-
-			// add edge to source and target incidency lists
-			assert (newEdge.source != null && newEdge.target != null) :
-				"Edge source and/or target is null!";
-			assert (!newEdge.source.edges.contains(newEdge) &&
-				!newEdge.target.edges.contains(newEdge)) :
-					"Edge already in source and/or target incidency list!";
-
-			newEdge.source.edges.add(newEdge);
-			newEdge.target.edges.add(newEdge);
-
-			return newEdge;
-		}
-	}
-
-	/**
-	 * This method removes the input graph from this graph manager. 
-	 */
-	public void remove(LGraph graph)
-	{
-		assert (graph.getGraphManager() == this) :
-			"Graph not in this graph mgr";
-		assert (graph == this.rootGraph ||
-			(graph.parent != null && graph.parent.graphManager == this)) :
-				"Invalid parent node!";
-
-		// first the edges (make a copy to do it safely)
-		List edgesToBeRemoved = new ArrayList();
-
-		edgesToBeRemoved.addAll(graph.getEdges());
-
-		LEdge edge;
-		for (Object obj : edgesToBeRemoved)
-		{
-			edge = (LEdge) obj;
-			graph.remove(edge);
-		}
-
-		// then the nodes (make a copy to do it safely)
-		List nodesToBeRemoved = new ArrayList();
-
-		nodesToBeRemoved.addAll(graph.getNodes());
-
-		LNode node;
-		for (Object obj : nodesToBeRemoved)
-		{
-			node = (LNode) obj;
-			graph.remove(node);
-		}
-
-		// check if graph is the root
-		if (graph == rootGraph)
-		{
-			setRootGraph(null);
-		}
-
-		// now remove the graph itself
-		graphs.remove(graph);
-
-		// also reset the parent of the graph
-		graph.parent = null;
-	}
-
-	/**
-	 * This method removes the input inter-graph edge from this graph manager.
-	 */
-	public void remove(LEdge edge)
-	{
-		assert (edge != null) : "Edge is null!";
-		assert (edge.isInterGraph) : "Not an inter-graph edge!";
-		assert (edge.source != null && edge.target != null) :
-			"Source and/or target is null!";
-
-		// remove edge from source and target nodes' incidency lists
-
-		assert (edge.source.edges.contains(edge) &&
-			edge.target.edges.contains(edge)) :
-				"Source and/or target doesn't know this edge!";
-
-		edge.source.edges.remove(edge);
-		edge.target.edges.remove(edge);
-
-		// remove edge from owner graph manager's inter-graph edge list
-
-		assert (edge.source.owner != null &&
-			edge.source.owner.getGraphManager() != null) :
-			"Edge owner graph or owner graph manager is null!";
-		assert (edge.source.owner.getGraphManager().edges.contains(edge)) :
-			"Not in owner graph manager's edge list!";
-
-		edge.source.owner.getGraphManager().edges.remove(edge);
-	}
-
-	/**
-	 * This method calculates and updates the bounds of the root graph.
-	 */
-	public void updateBounds()
-	{
-		rootGraph.updateBounds(true);
-	}
-// -----------------------------------------------------------------------------
-// Section: Accessors
-// -----------------------------------------------------------------------------
-	/**
-	 * This method returns the cluster manager of all graphs managed by this
-	 * graph manager.
-	 */
-	public ClusterManager getClusterManager()
-	{
-		return clusterManager;
-	}
-	
-	/**
-	 * This method retuns the list of all graphs managed by this graph manager.
-	 */
-	public List getGraphs()
-	{
-		return graphs;
-	}
-
-	/**
-	 * This method returns the list of all inter-graph edges in this graph
-	 * manager.
-	 */
-	public List getInterGraphEdges()
-	{
-		return edges;
-	}
-
-	/**
-	 * This method returns the list of all nodes in this graph manager. This
-	 * list is populated on demand and should only be called once the topology
-	 * of this graph manager has been formed and known to be fixed.
-	 */
-	public Object[] getAllNodes()
-	{
-		if (allNodes == null)
-		{
-			LinkedList nodeList = new LinkedList();
-
-			for (Iterator iterator = getGraphs().iterator();
-				 iterator.hasNext();)
-			{
-				nodeList.addAll(((LGraph) iterator.next()).getNodes());
-			}
-
-			allNodes = nodeList.toArray();
-		}
-
-		return allNodes;
-	}
-
-	/**
-	 * This method nulls the all nodes array so that it gets re-calculated with
-	 * the next invocation of the accessor. Needed when topology changes.
-	 */
-	public void resetAllNodes()
-	{
-		allNodes = null;
-	}
-
-	/**
-	 * This method nulls the all edges array so that it gets re-calculated with
-	 * the next invocation of the accessor. Needed when topology changes. 
-	 */
-	public void resetAllEdges()
-	{
-		allEdges = null;
-	}
-	
-	/**
-	 * This method nulls the all nodes to apply gravition array so that it gets 
-	 * re-calculated with the next invocation of the accessor. Needed when
-	 * topology changes. 
-	 */
-	public void resetAllNodesToApplyGravitation()
-	{
-		allNodesToApplyGravitation = null;
-	}
-	
-	/**
-	 * This method returns the list of all edges (including inter-graph edges)
-	 * in this graph manager. This list is populated on demand and should only
-	 * be called once the topology of this graph manager has been formed and
-	 * known to be fixed.
-	 */
-	public Object[] getAllEdges()
-	{
-		if (allEdges == null)
-		{
-			LinkedList edgeList = new LinkedList();
-
-			for (Iterator iterator = getGraphs().iterator();
-				 iterator.hasNext();)
-			{
-				edgeList.addAll(((LGraph) iterator.next()).getEdges());
-			}
-
-			edgeList.addAll(edges);
-			
-			allEdges = edgeList.toArray();
-		}
-
-		return allEdges;
-	}
-
-	/**
-	 * This method returns the array of all nodes to which gravitation should be
-	 * applied.
-	 */
-	public Object[] getAllNodesToApplyGravitation()
-	{
-		return allNodesToApplyGravitation;
-	}
-
-	/**
-	 * This method sets the array of all nodes to which gravitation should be
-	 * applied from the input list.
-	 */
-	public void setAllNodesToApplyGravitation(List nodeList) {
-		setAllNodesToApplyGravitation(nodeList.toArray());
-	}
-
-	/**
-	 * This method sets the array of all nodes to which gravitation should be
-	 * applied from the input array.
-	 */
-	public void setAllNodesToApplyGravitation(Object [] nodes)
-	{
-		allNodesToApplyGravitation = nodes;
-	}
-
-	/**
-	 * This method returns the root graph (root of the nesting hierarchy) of
-	 * this graph manager. Nesting relations must form a tree.
-	 */
-	public LGraph getRoot()
-	{
-		return rootGraph;
-	}
-
-	/**
-	 * This method sets the root graph (root of the nesting hierarchy) of this
-	 * graph manager. Nesting relations must form a tree.
-	 * @param graph
-	 */
-	public void setRootGraph(LGraph graph)
-	{
-		assert (graph.getGraphManager() == this) : "Root not in this graph mgr!";
-
-		rootGraph = graph;
-
-		// root graph must have a root node associated with it for convenience
-		if (graph.parent == null)
-		{
-			graph.parent = layout.newNode("Root node");
-		}
-	}
-
-	/**
-	 * This method returns the associated layout object, which operates on this
-	 * graph manager.
-	 */
-	public Layout getLayout()
-	{
-		return layout;
-	}
-
-	/**
-	 * This method sets the associated layout object, which operates on this
-	 * graph manager.
-	 */
-	public void setLayout(Layout layout)
-	{
-		this.layout = layout;
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Remaining methods
-// -----------------------------------------------------------------------------
-	/**
-	 * This method checks whether one of the input nodes is an ancestor of the
-	 * other one (and vice versa) in the nesting tree. Such pairs of nodes
-	 * should not be allowed to be joined by edges.
-	 */
-	public static boolean isOneAncestorOfOther(LNode firstNode,
-		LNode secondNode)
-	{
-		assert firstNode != null && secondNode != null;
-
-		if (firstNode == secondNode)
-		{
-			return true;
-		}
-
-		// Is second node an ancestor of the first one?
-
-		LGraph ownerGraph = firstNode.getOwner();
-		LNode parentNode;
-
-		do
-		{
-			parentNode = ownerGraph.getParent();
-
-			if (parentNode == null)
-			{
-				break;
-			}
-
-			if (parentNode == secondNode)
-			{
-				return true;
-			}
-
-			ownerGraph = parentNode.getOwner();
-			if(ownerGraph == null)
-			{
-				break;
-			}
-		} while (true);
-
-		// Is first node an ancestor of the second one?
-
-		ownerGraph = secondNode.getOwner();
-
-		do
-		{
-			parentNode = ownerGraph.getParent();
-
-			if (parentNode == null)
-			{
-				break;
-			}
-
-			if (parentNode == firstNode)
-			{
-				return true;
-			}
-
-			ownerGraph = parentNode.getOwner();
-			if(ownerGraph == null)
-			{
-				break;
-			}
-		} while (true);
-
-		return false;
-	}
-	
-	/**
-	 * This method calculates the lowest common ancestor of each edge.
-	 */
-	public void calcLowestCommonAncestors()
-	{
-		LEdge edge;
-		LNode sourceNode;
-		LNode targetNode;
-		LGraph sourceAncestorGraph;
-		LGraph targetAncestorGraph;
-
-		for (Object obj : getAllEdges())
-		{
-			edge = (LEdge)obj;
-
-			sourceNode = edge.source;
-			targetNode = edge.target;
-			edge.lca =  null;
-			edge.sourceInLca = sourceNode;
-			edge.targetInLca = targetNode;
-
-			if (sourceNode == targetNode)
-			{
-				edge.lca = sourceNode.getOwner();
-				continue;
-			}
-
-			sourceAncestorGraph = sourceNode.getOwner();
-
-			while (edge.lca == null)
-			{
-				targetAncestorGraph = targetNode.getOwner();
-
-				while (edge.lca == null)
-				{
-					if (targetAncestorGraph == sourceAncestorGraph)
-					{
-						edge.lca = targetAncestorGraph;
-						break;
-					}
-
-					if (targetAncestorGraph == rootGraph)
-					{
-						break;
-					}
-
-					assert edge.lca == null;
-					edge.targetInLca = targetAncestorGraph.getParent();
-					targetAncestorGraph = edge.targetInLca.getOwner();
-				}
-
-				if (sourceAncestorGraph == rootGraph)
-				{
-					break;
-				}
-
-				if (edge.lca == null)
-				{
-					edge.sourceInLca = sourceAncestorGraph.getParent();
-					sourceAncestorGraph = edge.sourceInLca.getOwner();
-				}
-			}
-
-			assert edge.lca != null;
-		}
-	}
-
-	/**
-	 * This method finds the lowest common ancestor of given two nodes.
-	 * 
-	 * @param firstNode
-	 * @param secondNode
-	 * @return lowest common ancestor
-	 */
-	public LGraph calcLowestCommonAncestor(LNode firstNode, LNode secondNode)
-	{
-		if (firstNode == secondNode)
-		{
-			return firstNode.getOwner();
-		}
-
-		LGraph firstOwnerGraph = firstNode.getOwner();
-
-		do
-		{
-			if (firstOwnerGraph == null)
-			{
-				break;
-			}
-
-			LGraph secondOwnerGraph = secondNode.getOwner();
-		
-			do
-			{			
-				if (secondOwnerGraph == null)
-				{
-					break;
-				}
-
-				if (secondOwnerGraph == firstOwnerGraph)
-				{
-					return secondOwnerGraph;
-				}
-				
-				secondOwnerGraph = secondOwnerGraph.getParent().getOwner();
-			} while (true);
-
-			firstOwnerGraph = firstOwnerGraph.getParent().getOwner();
-		} while (true);
-
-		return firstOwnerGraph;
-	}
-
-	/**
-	 * This method calculates depth of each node in the inclusion tree (nesting
-	 * hierarchy).
-	 */
-	public void calcInclusionTreeDepths()
-	{
-		calcInclusionTreeDepths(rootGraph, 1);
-	}
-	
-	/*
-	 * Auxiliary method for calculating depths of nodes in the inclusion tree.
-	 */
-	private void calcInclusionTreeDepths(LGraph graph, int depth)
-	{
-		LNode node;
-
-		for (Object obj : graph.getNodes())
-		{
-			node = (LNode) obj;
-
-			node.inclusionTreeDepth = depth;
-
-			if (node.child != null)
-			{
-				calcInclusionTreeDepths(node.child, depth + 1);
-			}
-		}
-	}
-	
-	
-	public boolean includesInvalidEdge()
-	{
-		LEdge edge;
-		
-		for (Object obj : edges)
-		{
-			edge = (LEdge) obj;
-			
-			if (isOneAncestorOfOther(edge.source, edge.target))
-			{
-				return true;
-			}
-		}
-		return false;
-	}
-	
-// -----------------------------------------------------------------------------
-// Section: Testing methods
-// -----------------------------------------------------------------------------
-	/**
-	 * This method prints the topology of this graph manager.
-	 */
-	void printTopology()
-	{
-		rootGraph.printTopology();
-
-		LGraph graph;
-
-		for (Object obj : graphs)
-		{
-			graph = (LGraph) obj;
-
-			if (graph != rootGraph)
-			{
-				graph.printTopology();
-			}
-		}
-
-		System.out.print("Inter-graph edges:");
-		LEdge edge;
-
-		for (Object obj : edges)
-		{
-			edge = (LEdge) obj;
-
-			edge.printTopology();
-		}
-
-		System.out.println();
-		System.out.println();
-	}
+package org.ivis.layout;
+
+import java.util.*;
+
+/**
+ * This class represents a graph manager (l-level) for layout purposes. A graph
+ * manager maintains a collection of graphs, forming a compound graph structure
+ * through inclusion, and maintains the inter-graph edges. You may refer to the
+ * following article for technical details:
+ * 		U. Dogrusoz and B. Genc, "A Multi-Graph Approach to Complexity
+ * 		Management in Interactive Graph Visualization",
+ * 		Computers &amp; Graphics, vol. 30/1, pp. 86-97, 2006.
+ *
+ * @author Erhan Giral
+ * @author Ugur Dogrusoz
+ * @author Cihan Kucukkececi
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class LGraphManager
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/*
+	 * Graphs maintained by this graph manager, including the root of the
+	 * nesting hierarchy
+	 */
+	private List graphs;
+
+	/*
+	 * Inter-graph edges in this graph manager. Notice that all inter-graph
+	 * edges go here, not in any of the edge lists of individual graphs (either
+	 * source or target node's owner graph).
+	 */
+	private List edges;
+
+	/*
+	 * All nodes (excluding the root node) and edges (including inter-graph
+	 * edges) in this graph manager. For efficiency purposes we hold references
+	 * of all layout objects that we operate on in arrays. These arrays are
+	 * generated on demand, and dropped whenever a node or an edge is added to
+	 * or removed from this graph manager.
+	 */
+	private LNode[] allNodes;
+	private LEdge[] allEdges;
+
+	/*
+	 * Nodes and edges of this graph manager by their ids. Ids are dense: the
+	 * id of a removed object is reused by the next object added, so ids are
+	 * always below the largest number of nodes (edges) this graph manager has
+	 * had at a time. Side tables of nodes and edges may thus be arrays indexed
+	 * by id.
+	 */
+	private LNode[] nodesById;
+	private int nodeIdBound;
+	private int[] freeNodeIds;
+	private int freeNodeIdCount;
+
+	private LEdge[] edgesById;
+	private int edgeIdBound;
+	private int[] freeEdgeIds;
+	private int freeEdgeIdCount;
+
+	/*
+	 * Similarly we have a list of nodes for which gravitation should be
+	 * applied. This is determined once, prior to layout, and used afterwards.
+	 */
+	private Object[] allNodesToApplyGravitation;
+
+	/*
+	 * Index of the inclusion tree (nesting hierarchy) for ancestry queries.
+	 * Built on demand and dropped whenever the nesting hierarchy changes.
+	 */
+	private InclusionTreeIndex inclusionTreeIndex;
+
+	/*
+	 * Whether weights and depths of nodes in the inclusion tree are up to date
+	 * with the topology (see calcSubtreeProperties)
+	 */
+	private boolean subtreePropertiesValid;
+
+	/*
+	 * The root of the inclusion/nesting hierarchy of this compound structure
+	 */
+	private LGraph rootGraph;
+
+	/*
+	 * Layout object using this graph manager
+	 */
+	private Layout layout;
+	
+	/*
+	 * Cluster Manager of all graphs managed by this graph manager
+	 */
+	private ClusterManager clusterManager;
+	
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+
+	protected LGraphManager() {
+		graphs = new ArrayList();
+		edges = new ArrayList();
+		allNodes = null;
+		allEdges = null;
+		nodesById = new LNode[16];
+		freeNodeIds = new int[16];
+		edgesById = new LEdge[16];
+		freeEdgeIds = new int[16];
+		allNodesToApplyGravitation = null;
+		inclusionTreeIndex = null;
+		rootGraph = null;
+		clusterManager = new ClusterManager();
+		layout = null;
+	}
+
+	/**
+	 * Constructor
+	 * @param layout layout alg.
+	 */
+	public LGraphManager(Layout layout)
+	{
+		this();
+		this.layout = layout;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Topology related
+// -----------------------------------------------------------------------------
+	/**
+	 * This method adds a new graph to this graph manager and sets as the root.
+	 * It also creates the root graph as the parent of the root graph.
+	 */
+	public LGraph addRoot()
+	{
+		setRootGraph(add(layout.newGraph(null), layout.newNode(null)));
+		return rootGraph;
+	}
+
+	/**
+	 * This method adds the input graph into this graph manager. The new graph
+	 * is associated as the child graph of the input parent node. If the parent
+	 * node is null, then the graph is set to be the root.
+	 */
+	public LGraph add(LGraph newGraph, LNode parentNode)
+	{
+		assert (newGraph != null) : "Graph is null!";
+		assert (parentNode != null) : "Parent node is null!";
+		assert (!graphs.contains(newGraph)) : "Graph already in this graph mgr!";
+
+		graphs.add(newGraph);
+
+		assert (newGraph.parent == null) : "Already has a parent!";
+		assert (parentNode.child == null) : "Already has a child!";
+		newGraph.parent = parentNode;
+		parentNode.child = newGraph;
+
+		// members added before the graph itself now join this graph manager
+		for (Object obj : newGraph.getNodes())
+		{
+			registerNode((LNode) obj);
+		}
+
+		for (Object obj : newGraph.getEdges())
+		{
+			registerEdge((LEdge) obj);
+		}
+
+		allNodes = null;
+		resetInclusionTreeIndex();
+		resetSubtreeProperties();
+		newGraph.markBoundsDirty();
+
+		return newGraph;
+	}
+
+	/**
+	 * This method adds the input edge between specified nodes into this graph
+	 * manager. We assume both source and target nodes to be already in this
+	 * graph manager.
+	 */
+	public LEdge add(LEdge newEdge, LNode sourceNode, LNode targetNode)
+	{
+		LGraph sourceGraph = sourceNode.getOwner();
+		LGraph targetGraph = targetNode.getOwner();
+
+		assert (sourceGraph != null && sourceGraph.getGraphManager() == this ) :
+			"Source not in this graph mgr!";
+		assert (targetGraph != null && targetGraph.getGraphManager() == this ) :
+			"Target not in this graph mgr!";
+
+		if (sourceGraph == targetGraph)
+		{
+			newEdge.isInterGraph = false;
+			return sourceGraph.add(newEdge, sourceNode, targetNode);
+		}
+		else
+		{
+			newEdge.isInterGraph = true;
+
+			// set source and target
+			newEdge.source = sourceNode;
+			newEdge.target = targetNode;
+
+			// add edge to inter-graph edge list
+			assert (!edges.contains(newEdge)) :
+				"Edge already in inter-graph edge list!";
+			edges.add(newEdge);
+
+			// add edge to source and target incidency lists
+			assert (newEdge.source != null && newEdge.target != null) :
+				"Edge source and/or target is null!";
+			assert (!newEdge.source.edges.contains(newEdge) &&
+				!newEdge.target.edges.contains(newEdge)) :
+					"Edge already in source and/or target incidency list!";
+
+			newEdge.source.edges.add(newEdge);
+			newEdge.target.edges.add(newEdge);
+			registerEdge(newEdge);
+
+			return newEdge;
+		}
+	}
+
+	/**
+	 * This method removes the input graph from this graph manager. 
+	 */
+	public void remove(LGraph graph)
+	{
+		assert (graph.getGraphManager() == this) :
+			"Graph not in this graph mgr";
+		assert (graph == this.rootGraph ||
+			(graph.parent != null && graph.parent.graphManager == this)) :
+				"Invalid parent node!";
+
+		// first the edges (make a copy to do it safely)
+		List edgesToBeRemoved = new ArrayList();
+
+		edgesToBeRemoved.addAll(graph.getEdges());
+
+		LEdge edge;
+		for (Object obj : edgesToBeRemoved)
+		{
+			edge = (LEdge) obj;
+			graph.remove(edge);
+		}
+
+		// then the nodes (make a copy to do it safely)
+		List nodesToBeRemoved = new ArrayList();
+
+		nodesToBeRemoved.addAll(graph.getNodes());
+
+		LNode node;
+		for (Object obj : nodesToBeRemoved)
+		{
+			node = (LNode) obj;
+			graph.remove(node);
+		}
+
+		// check if graph is the root
+		if (graph == rootGraph)
+		{
+			setRootGraph(null);
+		}
+
+		// now remove the graph itself
+		graphs.remove(graph);
+
+		// the parent node no longer wraps the graph
+		if (graph.parent != null && graph.parent.owner != null)
+		{
+			graph.parent.owner.markBoundsDirty();
+		}
+
+		// also reset the parent of the graph
+		graph.parent = null;
+		allNodes = null;
+		resetInclusionTreeIndex();
+		resetSubtreeProperties();
+	}
+
+	/**
+	 * This method removes the input inter-graph edge from this graph manager.
+	 */
+	public void remove(LEdge edge)
+	{
+		assert (edge != null) : "Edge is null!";
+		assert (edge.isInterGraph) : "Not an inter-graph edge!";
+		assert (edge.source != null && edge.target != null) :
+			"Source and/or target is null!";
+
+		// remove edge from source and target nodes' incidency lists
+
+		assert (edge.source.edges.contains(edge) &&
+			edge.target.edges.contains(edge)) :
+				"Source and/or target doesn't know this edge!";
+
+		edge.source.edges.remove(edge);
+		edge.target.edges.remove(edge);
+
+		// remove edge from owner graph manager's inter-graph edge list
+
+		assert (edge.source.owner != null &&
+			edge.source.owner.getGraphManager() != null) :
+			"Edge owner graph or owner graph manager is null!";
+		assert (edge.source.owner.getGraphManager().edges.contains(edge)) :
+			"Not in owner graph manager's edge list!";
+
+		edge.source.owner.getGraphManager().edges.remove(edge);
+		edge.source.owner.getGraphManager().unregisterEdge(edge);
+	}
+
+	/**
+	 * This method assigns an id to the input node, which has joined this graph
+	 * manager, unless it already has one.
+	 */
+	void registerNode(LNode node)
+	{
+		if (isRegistered(node))
+		{
+			return;
+		}
+
+		if (freeNodeIdCount > 0)
+		{
+			node.id = freeNodeIds[--freeNodeIdCount];
+		}
+		else
+		{
+			if (nodeIdBound == nodesById.length)
+			{
+				nodesById = Arrays.copyOf(nodesById, 2 * nodeIdBound);
+			}
+
+			node.id = nodeIdBound++;
+		}
+
+		nodesById[node.id] = node;
+		allNodes = null;
+	}
+
+	/**
+	 * This method frees the id of the input node, which has left this graph
+	 * manager.
+	 */
+	void unregisterNode(LNode node)
+	{
+		if (!isRegistered(node))
+		{
+			return;
+		}
+
+		if (freeNodeIdCount == freeNodeIds.length)
+		{
+			freeNodeIds = Arrays.copyOf(freeNodeIds, 2 * freeNodeIdCount);
+		}
+
+		freeNodeIds[freeNodeIdCount++] = node.id;
+		nodesById[node.id] = null;
+		node.id = -1;
+		allNodes = null;
+	}
+
+	/**
+	 * This method returns whether the input node has an id in this graph
+	 * manager.
+	 */
+	private boolean isRegistered(LNode node)
+	{
+		return node.id >= 0 && node.id < nodeIdBound &&
+			nodesById[node.id] == node;
+	}
+
+	/**
+	 * This method assigns an id to the input edge, which has joined this graph
+	 * manager, unless it already has one.
+	 */
+	void registerEdge(LEdge edge)
+	{
+		if (isRegistered(edge))
+		{
+			return;
+		}
+
+		if (freeEdgeIdCount > 0)
+		{
+			edge.id = freeEdgeIds[--freeEdgeIdCount];
+		}
+		else
+		{
+			if (edgeIdBound == edgesById.length)
+			{
+				edgesById = Arrays.copyOf(edgesById, 2 * edgeIdBound);
+			}
+
+			edge.id = edgeIdBound++;
+		}
+
+		edgesById[edge.id] = edge;
+		allEdges = null;
+	}
+
+	/**
+	 * This method frees the id of the input edge, which has left this graph
+	 * manager.
+	 */
+	void unregisterEdge(LEdge edge)
+	{
+		if (!isRegistered(edge))
+		{
+			return;
+		}
+
+		if (freeEdgeIdCount == freeEdgeIds.length)
+		{
+			freeEdgeIds = Arrays.copyOf(freeEdgeIds, 2 * freeEdgeIdCount);
+		}
+
+		freeEdgeIds[freeEdgeIdCount++] = edge.id;
+		edgesById[edge.id] = null;
+		edge.id = -1;
+		allEdges = null;
+	}
+
+	/**
+	 * This method returns whether the input edge has an id in this graph
+	 * manager.
+	 */
+	private boolean isRegistered(LEdge edge)
+	{
+		return edge.id >= 0 && edge.id < edgeIdBound &&
+			edgesById[edge.id] == edge;
+	}
+
+	/**
+	 * This method calculates and updates the bounds of the root graph.
+	 */
+	public void updateBounds()
+	{
+		rootGraph.updateBounds(true);
+	}
+
+	/**
+	 * This method updates the bounds of the graphs marked dirty since their
+	 * last update, bottom-up, leaving the others as they are. Notice that only
+	 * geometry changes made through node methods mark bounds dirty.
+	 */
+	public void updateDirtyBounds()
+	{
+		rootGraph.updateDirtyBounds();
+	}
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the cluster manager of all graphs managed by this
+	 * graph manager.
+	 */
+	public ClusterManager getClusterManager()
+	{
+		return clusterManager;
+	}
+	
+	/**
+	 * This method retuns the list of all graphs managed by this graph manager.
+	 */
+	public List getGraphs()
+	{
+		return graphs;
+	}
+
+	/**
+	 * This method returns the list of all inter-graph edges in this graph
+	 * manager.
+	 */
+	public List getInterGraphEdges()
+	{
+		return edges;
+	}
+
+	/**
+	 * This method returns the array of all nodes in this graph manager, in the
+	 * order of graphs (so members of each graph are contiguous). This array is
+	 * populated on demand and should not be modified.
+	 */
+	public LNode[] getAllNodes()
+	{
+		if (allNodes == null)
+		{
+			int count = 0;
+
+			for (Object obj : getGraphs())
+			{
+				count += ((LGraph) obj).getNodes().size();
+			}
+
+			LNode[] nodeArray = new LNode[count];
+			int i = 0;
+
+			for (Object obj : getGraphs())
+			{
+				for (Object node : ((LGraph) obj).getNodes())
+				{
+					nodeArray[i++] = (LNode) node;
+				}
+			}
+
+			allNodes = nodeArray;
+		}
+
+		return allNodes;
+	}
+
+	/**
+	 * This method nulls the all nodes array so that it gets re-calculated with
+	 * the next invocation of the accessor. Needed when topology changes.
+	 */
+	public void resetAllNodes()
+	{
+		allNodes = null;
+	}
+
+	/**
+	 * This method nulls the all edges array so that it gets re-calculated with
+	 * the next invocation of the accessor. Needed when topology changes. 
+	 */
+	public void resetAllEdges()
+	{
+		allEdges = null;
+	}
+	
+	/**
+	 * This method nulls the all nodes to apply gravition array so that it gets 
+	 * re-calculated with the next invocation of the accessor. Needed when
+	 * topology changes. 
+	 */
+	public void resetAllNodesToApplyGravitation()
+	{
+		allNodesToApplyGravitation = null;
+	}
+	
+	/**
+	 * This method returns the index of the inclusion tree of this graph
+	 * manager, building it if the nesting hierarchy has changed since it was
+	 * last built.
+	 */
+	public InclusionTreeIndex getInclusionTreeIndex()
+	{
+		if (inclusionTreeIndex == null)
+		{
+			inclusionTreeIndex = new InclusionTreeIndex(this);
+		}
+
+		return inclusionTreeIndex;
+	}
+
+	/**
+	 * This method drops the inclusion tree index so that it gets rebuilt with
+	 * the next invocation of the accessor. Needed when the nesting hierarchy
+	 * changes.
+	 */
+	public void resetInclusionTreeIndex()
+	{
+		inclusionTreeIndex = null;
+	}
+
+	/**
+	 * This method marks the weights and depths of nodes as out of date, so
+	 * that they get recalculated with the next calculation of subtree
+	 * properties. Needed when topology changes.
+	 */
+	public void resetSubtreeProperties()
+	{
+		subtreePropertiesValid = false;
+	}
+
+	/**
+	 * This method returns the array of all edges (including inter-graph edges)
+	 * in this graph manager, in the order of graphs followed by inter-graph
+	 * edges. This array is populated on demand and should not be modified.
+	 */
+	public LEdge[] getAllEdges()
+	{
+		if (allEdges == null)
+		{
+			int count = edges.size();
+
+			for (Object obj : getGraphs())
+			{
+				count += ((LGraph) obj).getEdges().size();
+			}
+
+			LEdge[] edgeArray = new LEdge[count];
+			int i = 0;
+
+			for (Object obj : getGraphs())
+			{
+				for (Object edge : ((LGraph) obj).getEdges())
+				{
+					edgeArray[i++] = (LEdge) edge;
+				}
+			}
+
+			for (Object edge : edges)
+			{
+				edgeArray[i++] = (LEdge) edge;
+			}
+
+			allEdges = edgeArray;
+		}
+
+		return allEdges;
+	}
+
+	/**
+	 * This method returns the node with the input id, null if there is none.
+	 */
+	public LNode getNode(int id)
+	{
+		return id < nodeIdBound ? nodesById[id] : null;
+	}
+
+	/**
+	 * This method returns the edge with the input id, null if there is none.
+	 */
+	public LEdge getEdge(int id)
+	{
+		return id < edgeIdBound ? edgesById[id] : null;
+	}
+
+	/**
+	 * This method returns an upper bound of node ids, i.e. the length of an
+	 * array to be indexed by node id.
+	 */
+	public int getNodeIdBound()
+	{
+		return nodeIdBound;
+	}
+
+	/**
+	 * This method returns an upper bound of edge ids, i.e. the length of an
+	 * array to be indexed by edge id.
+	 */
+	public int getEdgeIdBound()
+	{
+		return edgeIdBound;
+	}
+
+	/**
+	 * This method returns the number of nodes in this graph manager.
+	 */
+	public int getNodeCount()
+	{
+		return nodeIdBound - freeNodeIdCount;
+	}
+
+	/**
+	 * This method returns the number of edges (including inter-graph edges)
+	 * in this graph manager.
+	 */
+	public int getEdgeCount()
+	{
+		return edgeIdBound - freeEdgeIdCount;
+	}
+
+	/**
+	 * This method returns the array of all nodes to which gravitation should be
+	 * applied.
+	 */
+	public Object[] getAllNodesToApplyGravitation()
+	{
+		return allNodesToApplyGravitation;
+	}
+
+	/**
+	 * This method sets the array of all nodes to which gravitation should be
+	 * applied from the input list.
+	 */
+	public void setAllNodesToApplyGravitation(List nodeList) {
+		setAllNodesToApplyGravitation(nodeList.toArray());
+	}
+
+	/**
+	 * This method sets the array of all nodes to which gravitation should be
+	 * applied from the input array.
+	 */
+	public void setAllNodesToApplyGravitation(Object [] nodes)
+	{
+		allNodesToApplyGravitation = nodes;
+	}
+
+	/**
+	 * This method returns the root graph (root of the nesting hierarchy) of
+	 * this graph manager. Nesting relations must form a tree.
+	 */
+	public LGraph getRoot()
+	{
+		return rootGraph;
+	}
+
+	/**
+	 * This method sets the root graph (root of the nesting hierarchy) of this
+	 * graph manager. Nesting relations must form a tree.
+	 * @param graph
+	 */
+	public void setRootGraph(LGraph graph)
+	{
+		assert (graph.getGraphManager() == this) : "Root not in this graph mgr!";
+
+		rootGraph = graph;
+		resetInclusionTreeIndex();
+		resetSubtreeProperties();
+
+		// root graph must have a root node associated with it for convenience
+		if (graph.parent == null)
+		{
+			graph.parent = layout.newNode("Root node");
+		}
+	}
+
+	/**
+	 * This method returns the associated layout object, which operates on this
+	 * graph manager.
+	 */
+	public Layout getLayout()
+	{
+		return layout;
+	}
+
+	/**
+	 * This method sets the associated layout object, which operates on this
+	 * graph manager.
+	 */
+	public void setLayout(Layout layout)
+	{
+		this.layout = layout;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/**
+	 * This method checks whether one of the input nodes is an ancestor of the
+	 * other one (and vice versa) in the nesting tree. Such pairs of nodes
+	 * should not be allowed to be joined by edges.
+	 */
+	public static boolean isOneAncestorOfOther(LNode firstNode,
+		LNode secondNode)
+	{
+		assert firstNode != null && secondNode != null;
+
+		if (firstNode == secondNode)
+		{
+			return true;
+		}
+
+		// Is second node an ancestor of the first one?
+
+		LGraph ownerGraph = firstNode.getOwner();
+		LNode parentNode;
+
+		do
+		{
+			parentNode = ownerGraph.getParent();
+
+			if (parentNode == null)
+			{
+				break;
+			}
+
+			if (parentNode == secondNode)
+			{
+				return true;
+			}
+
+			ownerGraph = parentNode.getOwner();
+			if(ownerGraph == null)
+			{
+				break;
+			}
+		} while (true);
+
+		// Is first node an ancestor of the second one?
+
+		ownerGraph = secondNode.getOwner();
+
+		do
+		{
+			parentNode = ownerGraph.getParent();
+
+			if (parentNode == null)
+			{
+				break;
+			}
+
+			if (parentNode == firstNode)
+			{
+				return true;
+			}
+
+			ownerGraph = parentNode.getOwner();
+			if(ownerGraph == null)
+			{
+				break;
+			}
+		} while (true);
+
+		return false;
+	}
+	
+	/**
+	 * This method calculates the lowest common ancestor of each edge, along
+	 * with the ancestors of its end nodes in that graph.
+	 */
+	public void calcLowestCommonAncestors()
+	{
+		for (Object obj : getAllEdges())
+		{
+			calcLowestCommonAncestor((LEdge)obj);
+		}
+	}
+
+	/**
+	 * This method calculates and sets the lowest common ancestor of the input
+	 * edge, along with the ancestors of its ends in that graph.
+	 */
+	public void calcLowestCommonAncestor(LEdge edge)
+	{
+		InclusionTreeIndex index = getInclusionTreeIndex();
+
+		edge.lca = index.getLowestCommonAncestor(edge.source, edge.target);
+
+		assert edge.lca != null;
+
+		if (edge.lca == null)
+		{
+			edge.sourceInLca = edge.source;
+			edge.targetInLca = edge.target;
+			return;
+		}
+
+		edge.sourceInLca = index.getAncestorInGraph(edge.source, edge.lca);
+		edge.targetInLca = index.getAncestorInGraph(edge.target, edge.lca);
+	}
+
+	/**
+	 * This method finds the lowest common ancestor of given two nodes.
+	 * 
+	 * @param firstNode
+	 * @param secondNode
+	 * @return lowest common ancestor
+	 */
+	public LGraph calcLowestCommonAncestor(LNode firstNode, LNode secondNode)
+	{
+		return getInclusionTreeIndex().
+			getLowestCommonAncestor(firstNode, secondNode);
+	}
+
+	/**
+	 * This method calculates depth of each node in the inclusion tree (nesting
+	 * hierarchy).
+	 */
+	public void calcInclusionTreeDepths()
+	{
+		calcSubtreeProperties(false);
+	}
+
+	/**
+	 * This method calculates the number of children (weight) and the depth of
+	 * each node in the inclusion tree, as well as estimated sizes of nodes and
+	 * graphs if requested, in a single post-order traversal. Weights and
+	 * depths only depend on topology, hence they are not recalculated unless
+	 * topology has changed or sizes are to be estimated as well. Estimation
+	 * also sets the initial sizes of compound nodes, as in
+	 * LGraph.calcEstimatedSize.
+	 */
+	public void calcSubtreeProperties(boolean estimateSizes)
+	{
+		if ((subtreePropertiesValid && !estimateSizes) || rootGraph == null)
+		{
+			return;
+		}
+
+		// traversal is iterative since nesting may be deep; the stack holds
+		// graphs being visited, their parent nodes and the total weight and
+		// estimated size of their members visited so far
+		int capacity = graphs.size() + 1;
+		LNode[] stackParent = new LNode[capacity];
+		Iterator[] stackIterator = new Iterator[capacity];
+		int[] stackWeight = new int[capacity];
+		int[] stackSize = new int[capacity];
+		int top = 0;
+		LNode node;
+		LGraph graph;
+
+		stackParent[0] = rootGraph.getParent();
+		stackIterator[0] = rootGraph.getNodes().iterator();
+
+		while (top >= 0)
+		{
+			if (stackIterator[top].hasNext())
+			{
+				node = (LNode) stackIterator[top].next();
+				node.inclusionTreeDepth = top + 1;
+
+				if (node.child != null)
+				{
+					top++;
+					stackParent[top] = node;
+					stackIterator[top] = node.child.getNodes().iterator();
+					stackWeight[top] = 0;
+					stackSize[top] = 0;
+					continue;
+				}
+
+				node.noOfChildren = 1;
+				stackWeight[top]++;
+
+				if (estimateSizes)
+				{
+					node.estimatedSize =
+						(int)((node.rect.width + node.rect.height) / 2);
+					stackSize[top] += node.estimatedSize;
+				}
+
+				continue;
+			}
+
+			// all members of the graph on top are visited
+			node = stackParent[top];
+			graph = top == 0 ? rootGraph : node.child;
+
+			if (estimateSizes)
+			{
+				if (stackSize[top] == 0)
+				{
+					graph.estimatedSize =
+						LayoutConstants.EMPTY_COMPOUND_NODE_SIZE;
+				}
+				else
+				{
+					graph.estimatedSize = (int)(stackSize[top] /
+						Math.sqrt(graph.getNodes().size()));
+				}
+			}
+
+			stackIterator[top] = null;
+
+			if (--top < 0)
+			{
+				break;
+			}
+
+			// an empty compound node weighs as much as a simple one
+			node.noOfChildren = Math.max(stackWeight[top + 1], 1);
+			stackWeight[top] += node.noOfChildren;
+
+			if (estimateSizes)
+			{
+				node.estimatedSize = graph.estimatedSize;
+				node.rect.width = graph.estimatedSize;
+				node.rect.height = graph.estimatedSize;
+				stackSize[top] += node.estimatedSize;
+			}
+		}
+
+		subtreePropertiesValid = true;
+	}
+
+	/**
+	 * This method checks whether any inter-graph edge joins a node with one of
+	 * its ancestors.
+	 */
+	public boolean includesInvalidEdge()
+	{
+		InclusionTreeIndex index = getInclusionTreeIndex();
+		LEdge edge;
+		
+		for (Object obj : edges)
+		{
+			edge = (LEdge) obj;
+			
+			if (index.isOneAncestorOfOther(edge.source, edge.target))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+// -----------------------------------------------------------------------------
+// Section: Testing methods
+// -----------------------------------------------------------------------------
+	/**
+	 * This method prints the topology of this graph manager.
+	 */
+	void printTopology()
+	{
+		rootGraph.printTopology();
+
+		LGraph graph;
+
+		for (Object obj : graphs)
+		{
+			graph = (LGraph) obj;
+
+			if (graph != rootGraph)
+			{
+				graph.printTopology();
+			}
+		}
+
+		System.out.print("Inter-graph edges:");
+		LEdge edge;
+
+		for (Object obj : edges)
+		{
+			edge = (LEdge) obj;
+
+			edge.printTopology();
+		}
+
+		System.out.println();
+		System.out.println();
+	}
 }
\ No newline at end of file
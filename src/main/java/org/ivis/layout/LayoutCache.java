@@ -0,0 +1,821 @@
+package org.ivis.layout;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.ivis.util.PointD;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class caches the results of layouts by the fingerprint of their input:
+ * the structure of the l-level graph (nesting of graphs, nodes and their
+ * types and sizes, edges and their types), the class, options and random seed
+ * of the layout and, for incremental layout, the initial positions of nodes.
+ * Layouts with equal fingerprints yield the same result, so a layout run
+ * through the cache whose result is cached is not run; the cached geometry of
+ * nodes and bendpoints of edges is applied instead, and propagated to the
+ * v-level graph as at the end of layout.
+ *
+ * Nodes are identified by their order in the inclusion tree, and edges by the
+ * order of their sources and their order in the edges of the source, so a
+ * graph is recognized when it is built in the same order, as is the case when
+ * it is read from the same file. Public parameters of a layout are assumed to
+ * be set from its options, as they are by initParameters.
+ *
+ * Results are kept in memory, and optionally in a directory as well, each
+ * tier holding results up to a size limit and evicting the least recently
+ * used ones beyond that. A cache may be shared by layouts run at the same
+ * time.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class LayoutCache
+{
+	private final static Logger log = LoggerFactory.getLogger(LayoutCache.class);
+
+	/**
+	 * Version of fingerprints and stored results, to be increased when
+	 * either changes
+	 */
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * Extension of files holding results on disk
+	 */
+	private static final String FILE_EXTENSION = ".layout";
+
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Results in memory, in order of access, their total size and its limit
+	 */
+	private LinkedHashMap<String, Result> memory =
+		new LinkedHashMap<String, Result>(16, 0.75f, true);
+	private long memorySize;
+	private long maxMemorySize;
+
+	/**
+	 * Directory of results on disk (null if results are kept in memory only),
+	 * limit of their total size and lock of writing and evicting them
+	 */
+	private File directory;
+	private long maxDiskSize;
+	private ReentrantLock diskLock = new ReentrantLock();
+
+	/**
+	 * Number of layouts whose results were found and not found
+	 */
+	private AtomicLong hitCount = new AtomicLong();
+	private AtomicLong missCount = new AtomicLong();
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a cache keeping results of at most the input total size in
+	 * bytes in memory.
+	 */
+	public LayoutCache(long maxMemorySize)
+	{
+		this(maxMemorySize, null, 0);
+	}
+
+	/**
+	 * Creates a cache keeping results of at most the input total sizes in
+	 * bytes in memory and in the input directory, which is created if it
+	 * does not exist. Results already in the directory are used as well.
+	 */
+	public LayoutCache(long maxMemorySize, File directory, long maxDiskSize)
+	{
+		this.maxMemorySize = maxMemorySize;
+		this.directory = directory;
+		this.maxDiskSize = maxDiskSize;
+
+		if (directory != null && !directory.isDirectory() && !directory.mkdirs())
+		{
+			log.warn("Cannot create cache directory " + directory);
+			this.directory = null;
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Layout
+// -----------------------------------------------------------------------------
+	/**
+	 * This method runs the input layout, unless its result is cached, in
+	 * which case the cached result is applied. Results of successful layouts
+	 * are cached. It returns true upon success, false otherwise.
+	 */
+	public boolean runLayout(Layout layout)
+	{
+		List<LNode> nodes = new ArrayList<LNode>();
+		List<LEdge> edges = new ArrayList<LEdge>();
+		String key = calcFingerprint(layout, nodes, edges);
+		Result result = get(key);
+
+		if (result != null && result.matches(nodes, edges))
+		{
+			hitCount.incrementAndGet();
+			result.apply(nodes, edges);
+			layout.getGraphManager().updateBounds();
+
+			if (!layout.isSubLayout)
+			{
+				layout.update();
+			}
+
+			return true;
+		}
+
+		missCount.incrementAndGet();
+
+		boolean success = layout.runLayout();
+
+		// a stopped layout may be incomplete
+		if (success && !layout.wasStopped())
+		{
+			List<LNode> laidOutNodes = getLaidOutNodes(layout, nodes);
+
+			if (laidOutNodes != null)
+			{
+				put(key, new Result(laidOutNodes, edges));
+			}
+		}
+
+		return success;
+	}
+
+	/**
+	 * This method returns the nodes holding the resulting geometry of the
+	 * input nodes, which are the nodes themselves unless layout replaced
+	 * them (e.g. process nodes of SBGN layouts), in which case a replacement
+	 * is the node of the graph manager with the same view node. It returns
+	 * null if some replaced node has no such replacement.
+	 */
+	private List<LNode> getLaidOutNodes(Layout layout, List<LNode> nodes)
+	{
+		LGraphManager gm = layout.getGraphManager();
+		IdentityHashMap<Object, LNode> nodeByView = null;
+		List<LNode> laidOutNodes = new ArrayList<LNode>(nodes.size());
+
+		for (LNode node : nodes)
+		{
+			if (node.getId() >= 0 && gm.getNode(node.getId()) == node)
+			{
+				laidOutNodes.add(node);
+				continue;
+			}
+
+			if (nodeByView == null)
+			{
+				nodeByView = new IdentityHashMap<Object, LNode>();
+
+				for (LNode other : gm.getAllNodes())
+				{
+					if (other.vGraphObject != null)
+					{
+						nodeByView.put(other.vGraphObject, other);
+					}
+				}
+			}
+
+			LNode replacement = node.vGraphObject == null ?
+				null : nodeByView.get(node.vGraphObject);
+
+			if (replacement == null)
+			{
+				log.debug("Layout of replaced node " + node + " not cached");
+				return null;
+			}
+
+			laidOutNodes.add(replacement);
+		}
+
+		return laidOutNodes;
+	}
+
+	/**
+	 * This method returns the fingerprint of the input layout.
+	 */
+	public String calcFingerprint(Layout layout)
+	{
+		return calcFingerprint(layout, new ArrayList<LNode>(),
+			new ArrayList<LEdge>());
+	}
+
+	/**
+	 * This method calculates the fingerprint of the input layout, as a
+	 * hexadecimal SHA-256 digest, and lists its nodes and edges in the order
+	 * they are identified by.
+	 */
+	private String calcFingerprint(Layout layout,
+		List<LNode> nodes,
+		List<LEdge> edges)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		LayoutOptionsPack options = layout.getNextOptions();
+		boolean incremental = options.getGeneral().incremental;
+
+		try
+		{
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(layout.getClass().getName());
+			out.writeLong(layout.getRandomSeed());
+			options.write(out);
+
+			LGraph root = layout.getGraphManager().getRoot();
+
+			if (root != null)
+			{
+				// fixed nodes make layout start from current positions as
+				// well (see FDLayout)
+				writeGraph(out, root, incremental || containsFixedNodes(root),
+					nodes);
+			}
+
+			// edges by source, each end being identified by its index
+			IdentityHashMap<LNode, Integer> nodeIndex =
+				new IdentityHashMap<LNode, Integer>();
+
+			for (int i = 0; i < nodes.size(); i++)
+			{
+				nodeIndex.put(nodes.get(i), i);
+			}
+
+			for (LNode node : nodes)
+			{
+				for (Object obj : node.getEdges())
+				{
+					LEdge edge = (LEdge) obj;
+
+					if (edge.getSource() == node)
+					{
+						Integer target = nodeIndex.get(edge.getTarget());
+
+						edges.add(edge);
+						out.writeInt(nodeIndex.get(node));
+						out.writeInt(target == null ? -1 : target);
+						writeType(out, edge);
+					}
+				}
+			}
+
+			out.writeInt(edges.size());
+			out.flush();
+
+			return toHex(MessageDigest.getInstance("SHA-256").digest(
+				bytes.toByteArray()));
+		}
+		catch (IOException e)
+		{
+			// not thrown by a byte array output stream
+			throw new IllegalStateException(e);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// SHA-256 is available on every platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * This method writes the members of the input graph, recursively, and
+	 * lists them in the input list, in pre-order.
+	 */
+	private void writeGraph(DataOutputStream out,
+		LGraph graph,
+		boolean incremental,
+		List<LNode> nodes) throws IOException
+	{
+		out.writeInt(graph.getNodes().size());
+
+		for (Object obj : graph.getNodes())
+		{
+			LNode node = (LNode) obj;
+
+			nodes.add(node);
+			writeType(out, node);
+			out.writeDouble(node.getWidth());
+			out.writeDouble(node.getHeight());
+			out.writeBoolean(node.isFixed());
+
+			if (incremental)
+			{
+				out.writeDouble(node.getLeft());
+				out.writeDouble(node.getTop());
+			}
+
+			out.writeBoolean(node.getChild() != null);
+
+			if (node.getChild() != null)
+			{
+				writeGraph(out, node.getChild(), incremental, nodes);
+			}
+		}
+	}
+
+	/**
+	 * This method returns whether the input graph, or a graph nested in it,
+	 * has a fixed node.
+	 */
+	private boolean containsFixedNodes(LGraph graph)
+	{
+		for (Object obj : graph.getNodes())
+		{
+			LNode node = (LNode) obj;
+
+			if (node.isFixed() ||
+				(node.getChild() != null && containsFixedNodes(node.getChild())))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * This method writes the type of the input graph object.
+	 */
+	private void writeType(DataOutputStream out, LGraphObject object)
+		throws IOException
+	{
+		out.writeBoolean(object.type != null);
+
+		if (object.type != null)
+		{
+			out.writeUTF(object.type);
+		}
+	}
+
+	/**
+	 * This method returns the input bytes in hexadecimal.
+	 */
+	private static String toHex(byte[] bytes)
+	{
+		StringBuilder hex = new StringBuilder(2 * bytes.length);
+
+		for (byte b : bytes)
+		{
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+			hex.append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return hex.toString();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Memory and disk tiers
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the result cached with the input key, null if
+	 * there is none. A result found on disk only is kept in memory too.
+	 */
+	private Result get(String key)
+	{
+		synchronized (memory)
+		{
+			Result result = memory.get(key);
+
+			if (result != null)
+			{
+				return result;
+			}
+		}
+
+		if (directory == null)
+		{
+			return null;
+		}
+
+		File file = new File(directory, key + FILE_EXTENSION);
+
+		if (!file.isFile())
+		{
+			return null;
+		}
+
+		try
+		{
+			DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)));
+			Result result;
+
+			try
+			{
+				result = Result.read(in);
+			}
+			finally
+			{
+				in.close();
+			}
+
+			// the file is now the most recently used one
+			file.setLastModified(System.currentTimeMillis());
+			putInMemory(key, result);
+
+			return result;
+		}
+		catch (IOException e)
+		{
+			log.warn("Cannot read cached layout " + file + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * This method caches the input result with the input key.
+	 */
+	private void put(String key, Result result)
+	{
+		putInMemory(key, result);
+
+		if (directory != null && result.getSize() <= maxDiskSize)
+		{
+			diskLock.lock();
+
+			try
+			{
+				writeToDisk(key, result);
+				evictFromDisk();
+			}
+			catch (IOException e)
+			{
+				log.warn("Cannot write cached layout " + key + ": " + e);
+			}
+			finally
+			{
+				diskLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * This method keeps the input result in memory, evicting the least
+	 * recently used results while their total size is beyond the limit.
+	 */
+	private void putInMemory(String key, Result result)
+	{
+		if (result.getSize() > maxMemorySize)
+		{
+			return;
+		}
+
+		synchronized (memory)
+		{
+			Result old = memory.put(key, result);
+
+			if (old != null)
+			{
+				memorySize -= old.getSize();
+			}
+
+			memorySize += result.getSize();
+			Iterator<Result> iter = memory.values().iterator();
+
+			while (memorySize > maxMemorySize)
+			{
+				memorySize -= iter.next().getSize();
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * This method writes the input result to its file, through a temporary
+	 * file so that a partly written result is never read.
+	 */
+	private void writeToDisk(String key, Result result) throws IOException
+	{
+		File file = new File(directory, key + FILE_EXTENSION);
+		File temp = File.createTempFile(key, ".tmp", directory);
+		DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(temp)));
+
+		try
+		{
+			result.write(out);
+		}
+		finally
+		{
+			out.close();
+		}
+
+		if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file)))
+		{
+			temp.delete();
+			throw new IOException("Cannot rename " + temp);
+		}
+	}
+
+	/**
+	 * This method deletes the least recently used results on disk while
+	 * their total size is beyond the limit.
+	 */
+	private void evictFromDisk()
+	{
+		File[] files = directory.listFiles();
+
+		if (files == null)
+		{
+			return;
+		}
+
+		long totalSize = 0;
+		List<File> results = new ArrayList<File>();
+
+		for (File file : files)
+		{
+			if (file.getName().endsWith(FILE_EXTENSION))
+			{
+				results.add(file);
+				totalSize += file.length();
+			}
+		}
+
+		if (totalSize <= maxDiskSize)
+		{
+			return;
+		}
+
+		// files are sorted by the times they were last used, as of now
+		final Map<File, Long> lastModified = new HashMap<File, Long>();
+
+		for (File file : results)
+		{
+			lastModified.put(file, file.lastModified());
+		}
+
+		File[] sorted = results.toArray(new File[results.size()]);
+
+		Arrays.sort(sorted, new Comparator<File>()
+		{
+			public int compare(File a, File b)
+			{
+				return lastModified.get(a).compareTo(lastModified.get(b));
+			}
+		});
+
+		for (int i = 0; i < sorted.length && totalSize > maxDiskSize; i++)
+		{
+			long size = sorted[i].length();
+
+			if (sorted[i].delete())
+			{
+				totalSize -= size;
+			}
+		}
+	}
+
+	/**
+	 * This method removes all results, from memory and disk.
+	 */
+	public void clear()
+	{
+		synchronized (memory)
+		{
+			memory.clear();
+			memorySize = 0;
+		}
+
+		if (directory != null)
+		{
+			diskLock.lock();
+
+			try
+			{
+				File[] files = directory.listFiles();
+
+				for (int i = 0; files != null && i < files.length; i++)
+				{
+					if (files[i].getName().endsWith(FILE_EXTENSION))
+					{
+						files[i].delete();
+					}
+				}
+			}
+			finally
+			{
+				diskLock.unlock();
+			}
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Metrics
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the number of layouts whose results were found in
+	 * the cache.
+	 */
+	public long getHitCount()
+	{
+		return hitCount.get();
+	}
+
+	/**
+	 * This method returns the number of layouts whose results were not found
+	 * in the cache.
+	 */
+	public long getMissCount()
+	{
+		return missCount.get();
+	}
+
+	/**
+	 * This method returns the total size in bytes of the results in memory.
+	 */
+	public long getMemorySize()
+	{
+		synchronized (memory)
+		{
+			return memorySize;
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Results
+// -----------------------------------------------------------------------------
+	/**
+	 * This class holds the result of a layout: the geometry of each node
+	 * (left, top, width and height) and the bendpoints of each edge (x and
+	 * y of each), in the order they are identified by.
+	 */
+	private static class Result
+	{
+		private double[] rects;
+		private double[][] bendpoints;
+
+		/**
+		 * Creates the result of the input nodes and edges as they are.
+		 */
+		Result(List<LNode> nodes, List<LEdge> edges)
+		{
+			this.rects = new double[4 * nodes.size()];
+			this.bendpoints = new double[edges.size()][];
+
+			for (int i = 0; i < nodes.size(); i++)
+			{
+				LNode node = nodes.get(i);
+
+				this.rects[4 * i] = node.getLeft();
+				this.rects[4 * i + 1] = node.getTop();
+				this.rects[4 * i + 2] = node.getWidth();
+				this.rects[4 * i + 3] = node.getHeight();
+			}
+
+			for (int e = 0; e < edges.size(); e++)
+			{
+				List<PointD> points = edges.get(e).getBendpoints();
+				this.bendpoints[e] = new double[2 * points.size()];
+
+				for (int k = 0; k < points.size(); k++)
+				{
+					this.bendpoints[e][2 * k] = points.get(k).x;
+					this.bendpoints[e][2 * k + 1] = points.get(k).y;
+				}
+			}
+		}
+
+		private Result(double[] rects, double[][] bendpoints)
+		{
+			this.rects = rects;
+			this.bendpoints = bendpoints;
+		}
+
+		/**
+		 * This method returns whether this result is of the input numbers of
+		 * nodes and edges.
+		 */
+		boolean matches(List<LNode> nodes, List<LEdge> edges)
+		{
+			return this.rects.length == 4 * nodes.size() &&
+				this.bendpoints.length == edges.size();
+		}
+
+		/**
+		 * This method applies this result to the input nodes and edges.
+		 */
+		void apply(List<LNode> nodes, List<LEdge> edges)
+		{
+			for (int i = 0; i < nodes.size(); i++)
+			{
+				LNode node = nodes.get(i);
+
+				node.setWidth(this.rects[4 * i + 2]);
+				node.setHeight(this.rects[4 * i + 3]);
+				node.setLocation(this.rects[4 * i], this.rects[4 * i + 1]);
+			}
+
+			for (int e = 0; e < edges.size(); e++)
+			{
+				List<PointD> points = new ArrayList<PointD>();
+
+				for (int k = 0; k < this.bendpoints[e].length; k += 2)
+				{
+					points.add(new PointD(this.bendpoints[e][k],
+						this.bendpoints[e][k + 1]));
+				}
+
+				edges.get(e).reRoute(points);
+			}
+		}
+
+		/**
+		 * This method returns the (approximate) size of this result in bytes,
+		 * in memory as well as on disk.
+		 */
+		long getSize()
+		{
+			long size = 16 + 8 * this.rects.length;
+
+			for (double[] points : this.bendpoints)
+			{
+				size += 16 + 8 * points.length;
+			}
+
+			return size;
+		}
+
+		/**
+		 * This method writes this result to the input output.
+		 */
+		void write(DataOutputStream out) throws IOException
+		{
+			out.writeInt(FORMAT_VERSION);
+			out.writeInt(this.rects.length);
+
+			for (double value : this.rects)
+			{
+				out.writeDouble(value);
+			}
+
+			out.writeInt(this.bendpoints.length);
+
+			for (double[] points : this.bendpoints)
+			{
+				out.writeInt(points.length);
+
+				for (double value : points)
+				{
+					out.writeDouble(value);
+				}
+			}
+		}
+
+		/**
+		 * This method reads a result written by write from the input input.
+		 */
+		static Result read(DataInputStream in) throws IOException
+		{
+			if (in.readInt() != FORMAT_VERSION)
+			{
+				throw new IOException("Unknown format");
+			}
+
+			double[] rects = new double[in.readInt()];
+
+			for (int i = 0; i < rects.length; i++)
+			{
+				rects[i] = in.readDouble();
+			}
+
+			double[][] bendpoints = new double[in.readInt()][];
+
+			for (int e = 0; e < bendpoints.length; e++)
+			{
+				bendpoints[e] = new double[in.readInt()];
+
+				for (int k = 0; k < bendpoints[e].length; k++)
+				{
+					bendpoints[e][k] = in.readDouble();
+				}
+			}
+
+			return new Result(rects, bendpoints);
+		}
+	}
+}
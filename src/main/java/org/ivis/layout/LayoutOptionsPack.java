@@ -1,114 +1,225 @@
-package org.ivis.layout;
-
-import java.io.Serializable;
-
-import org.ivis.layout.cose.CoSEConstants;
-
-/**
- * This method gathers the user-customizable layout options in a package
- *
- * @author Cihan Kucukkececi
- * @author Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class LayoutOptionsPack implements Serializable
-{
-	private static LayoutOptionsPack instance;
-
-	private General general;
-	private CoSE coSE;
-
-	public class General
-	{
-		public int layoutQuality; // proof, default, draft
-		public boolean animationDuringLayout; // T-F
-		public boolean animationOnLayout; // T-F
-		public int animationPeriod; // 0-100
-		public boolean incremental; // T-F
-		public boolean createBendsAsNeeded; // T-F
-		public boolean uniformLeafNodeSizes; // T-F
-
-		public int defaultLayoutQuality = LayoutConstants.DEFAULT_QUALITY;
-		public boolean defaultAnimationDuringLayout = LayoutConstants.DEFAULT_ANIMATION_DURING_LAYOUT;
-		public boolean defaultAnimationOnLayout = LayoutConstants.DEFAULT_ANIMATION_ON_LAYOUT;
-		public int defaultAnimationPeriod = 50;
-		public boolean defaultIncremental = LayoutConstants.DEFAULT_INCREMENTAL;
-		public boolean defaultCreateBendsAsNeeded = LayoutConstants.DEFAULT_CREATE_BENDS_AS_NEEDED;
-		public boolean defaultUniformLeafNodeSizes = LayoutConstants.DEFAULT_UNIFORM_LEAF_NODE_SIZES;
-	}
-
-	public class CoSE
-	{
-		public int idealEdgeLength; // any positive int
-		public int springStrength; // 0-100
-		public int repulsionStrength; // 0-100
-		public boolean smartRepulsionRangeCalc; // T-F
-		public int gravityStrength; // 0-100
-		public int gravityRange; // 0-100
-		public int compoundGravityStrength; // 0-100
-		public int compoundGravityRange; // 0-100
-		public boolean smartEdgeLengthCalc; // T-F
-		public boolean multiLevelScaling; // T-F
-
-		public int defaultIdealEdgeLength = CoSEConstants.DEFAULT_EDGE_LENGTH;
-		public int defaultSpringStrength = 50;
-		public int defaultRepulsionStrength = 50;
-		public boolean defaultSmartRepulsionRangeCalc = CoSEConstants.DEFAULT_USE_SMART_REPULSION_RANGE_CALCULATION;
-		public int defaultGravityStrength = 50;
-		public int defaultGravityRange = 50;
-		public int defaultCompoundGravityStrength = 50;
-		public int defaultCompoundGravityRange = 50;
-		public boolean defaultSmartEdgeLengthCalc = CoSEConstants.DEFAULT_USE_SMART_IDEAL_EDGE_LENGTH_CALCULATION;
-		public boolean defaultMultiLevelScaling = CoSEConstants.DEFAULT_USE_MULTI_LEVEL_SCALING;
-	}
-
-	private LayoutOptionsPack()
-	{
-		general = new General();
-		coSE = new CoSE();
-		setDefaultLayoutProperties();
-	}
-
-	public void setDefaultLayoutProperties()
-	{
-		general.layoutQuality = general.defaultLayoutQuality ;
-		general.animationDuringLayout = general.defaultAnimationDuringLayout ;
-		general.animationOnLayout = general.defaultAnimationOnLayout ;
-		general.animationPeriod = general.defaultAnimationPeriod;
-		general.incremental = general.defaultIncremental ;
-		general.createBendsAsNeeded = general.defaultCreateBendsAsNeeded ;
-		general.uniformLeafNodeSizes = general.defaultUniformLeafNodeSizes ;
-
-		coSE.idealEdgeLength = coSE.defaultIdealEdgeLength;
-		coSE.springStrength = coSE.defaultSpringStrength ;
-		coSE.repulsionStrength = coSE.defaultRepulsionStrength ;
-		coSE.smartRepulsionRangeCalc = coSE.defaultSmartRepulsionRangeCalc ;
-		coSE.gravityStrength = coSE.defaultGravityStrength ;
-		coSE.gravityRange = coSE.defaultGravityRange ;
-		coSE.compoundGravityStrength = coSE.defaultCompoundGravityStrength ;
-		coSE.compoundGravityRange = coSE.defaultCompoundGravityRange ;
-		coSE.smartEdgeLengthCalc = coSE.defaultSmartEdgeLengthCalc ;
-		coSE.multiLevelScaling = coSE.defaultMultiLevelScaling ;
-	}
-
-	public static LayoutOptionsPack getInstance()
-	{
-		if (instance == null) {
-			instance = new LayoutOptionsPack();
-		}
-		return instance;
-	}
-
-
-	public CoSE getCoSE()
-	{
-		return coSE;
-	}
-
-
-	public General getGeneral()
-	{
-		return general;
-	}
+package org.ivis.layout;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.ivis.layout.cose.CoSEConstants;
+
+/**
+ * This method gathers the user-customizable layout options in a package
+ *
+ * @author Cihan Kucukkececi
+ * @author Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class LayoutOptionsPack implements Serializable
+{
+	private static LayoutOptionsPack instance;
+
+	private General general;
+	private CoSE coSE;
+
+	public class General
+	{
+		public int layoutQuality; // proof, default, draft
+		public boolean animationDuringLayout; // T-F
+		public boolean animationOnLayout; // T-F
+		public int animationPeriod; // 0-100
+		public boolean incremental; // T-F
+		public boolean createBendsAsNeeded; // T-F
+		public boolean uniformLeafNodeSizes; // T-F
+
+		public int defaultLayoutQuality = LayoutConstants.DEFAULT_QUALITY;
+		public boolean defaultAnimationDuringLayout = LayoutConstants.DEFAULT_ANIMATION_DURING_LAYOUT;
+		public boolean defaultAnimationOnLayout = LayoutConstants.DEFAULT_ANIMATION_ON_LAYOUT;
+		public int defaultAnimationPeriod = 50;
+		public boolean defaultIncremental = LayoutConstants.DEFAULT_INCREMENTAL;
+		public boolean defaultCreateBendsAsNeeded = LayoutConstants.DEFAULT_CREATE_BENDS_AS_NEEDED;
+		public boolean defaultUniformLeafNodeSizes = LayoutConstants.DEFAULT_UNIFORM_LEAF_NODE_SIZES;
+	}
+
+	public class CoSE
+	{
+		public int idealEdgeLength; // any positive int
+		public int springStrength; // 0-100
+		public int repulsionStrength; // 0-100
+		public boolean smartRepulsionRangeCalc; // T-F
+		public int gravityStrength; // 0-100
+		public int gravityRange; // 0-100
+		public int compoundGravityStrength; // 0-100
+		public int compoundGravityRange; // 0-100
+		public boolean smartEdgeLengthCalc; // T-F
+		public boolean multiLevelScaling; // T-F
+		public boolean barnesHutRepulsion; // T-F
+		public int barnesHutTheta; // 0-100, higher is faster but less accurate
+		public boolean primitiveForceKernel; // T-F
+		public boolean verletRepulsion; // T-F
+		public boolean activeSet; // T-F
+		public boolean adaptiveCooling; // T-F
+		public boolean lazyTranslation; // T-F
+		public boolean pivotMDSInitialization; // T-F
+		public boolean componentLayout; // T-F
+		public boolean hierarchicalLayout; // T-F
+
+		public int defaultIdealEdgeLength = CoSEConstants.DEFAULT_EDGE_LENGTH;
+		public int defaultSpringStrength = 50;
+		public int defaultRepulsionStrength = 50;
+		public boolean defaultSmartRepulsionRangeCalc = CoSEConstants.DEFAULT_USE_SMART_REPULSION_RANGE_CALCULATION;
+		public int defaultGravityStrength = 50;
+		public int defaultGravityRange = 50;
+		public int defaultCompoundGravityStrength = 50;
+		public int defaultCompoundGravityRange = 50;
+		public boolean defaultSmartEdgeLengthCalc = CoSEConstants.DEFAULT_USE_SMART_IDEAL_EDGE_LENGTH_CALCULATION;
+		public boolean defaultMultiLevelScaling = CoSEConstants.DEFAULT_USE_MULTI_LEVEL_SCALING;
+		public boolean defaultBarnesHutRepulsion = CoSEConstants.DEFAULT_USE_BARNES_HUT_REPULSION;
+		public int defaultBarnesHutTheta = 50;
+		public boolean defaultPrimitiveForceKernel = CoSEConstants.DEFAULT_USE_PRIMITIVE_FORCE_KERNEL;
+		public boolean defaultVerletRepulsion = CoSEConstants.DEFAULT_USE_VERLET_REPULSION;
+		public boolean defaultActiveSet = CoSEConstants.DEFAULT_USE_ACTIVE_SET;
+		public boolean defaultAdaptiveCooling = CoSEConstants.DEFAULT_USE_ADAPTIVE_COOLING;
+		public boolean defaultLazyTranslation = CoSEConstants.DEFAULT_USE_LAZY_TRANSLATION;
+		public boolean defaultPivotMDSInitialization = CoSEConstants.DEFAULT_USE_PIVOT_MDS_INITIALIZATION;
+		public boolean defaultComponentLayout = CoSEConstants.DEFAULT_USE_COMPONENT_LAYOUT;
+		public boolean defaultHierarchicalLayout = CoSEConstants.DEFAULT_USE_HIERARCHICAL_LAYOUT;
+	}
+
+	/**
+	 * Creates an options pack with default values. A layout may be given its
+	 * own options with Layout.setOptions, rather than reading those of the
+	 * shared instance.
+	 */
+	public LayoutOptionsPack()
+	{
+		general = new General();
+		coSE = new CoSE();
+		setDefaultLayoutProperties();
+	}
+
+	/**
+	 * Creates a copy of the input options pack.
+	 */
+	public LayoutOptionsPack(LayoutOptionsPack other)
+	{
+		this();
+
+		general.layoutQuality = other.general.layoutQuality;
+		general.animationDuringLayout = other.general.animationDuringLayout;
+		general.animationOnLayout = other.general.animationOnLayout;
+		general.animationPeriod = other.general.animationPeriod;
+		general.incremental = other.general.incremental;
+		general.createBendsAsNeeded = other.general.createBendsAsNeeded;
+		general.uniformLeafNodeSizes = other.general.uniformLeafNodeSizes;
+
+		coSE.idealEdgeLength = other.coSE.idealEdgeLength;
+		coSE.springStrength = other.coSE.springStrength;
+		coSE.repulsionStrength = other.coSE.repulsionStrength;
+		coSE.smartRepulsionRangeCalc = other.coSE.smartRepulsionRangeCalc;
+		coSE.gravityStrength = other.coSE.gravityStrength;
+		coSE.gravityRange = other.coSE.gravityRange;
+		coSE.compoundGravityStrength = other.coSE.compoundGravityStrength;
+		coSE.compoundGravityRange = other.coSE.compoundGravityRange;
+		coSE.smartEdgeLengthCalc = other.coSE.smartEdgeLengthCalc;
+		coSE.multiLevelScaling = other.coSE.multiLevelScaling;
+		coSE.barnesHutRepulsion = other.coSE.barnesHutRepulsion;
+		coSE.barnesHutTheta = other.coSE.barnesHutTheta;
+		coSE.primitiveForceKernel = other.coSE.primitiveForceKernel;
+		coSE.verletRepulsion = other.coSE.verletRepulsion;
+		coSE.activeSet = other.coSE.activeSet;
+		coSE.adaptiveCooling = other.coSE.adaptiveCooling;
+		coSE.lazyTranslation = other.coSE.lazyTranslation;
+		coSE.pivotMDSInitialization = other.coSE.pivotMDSInitialization;
+		coSE.componentLayout = other.coSE.componentLayout;
+		coSE.hierarchicalLayout = other.coSE.hierarchicalLayout;
+	}
+
+	/**
+	 * This method writes the options to the input output, e.g. to be
+	 * included in the fingerprint of a layout, in the order they are copied
+	 * in.
+	 */
+	void write(DataOutput out) throws IOException
+	{
+		out.writeInt(general.layoutQuality);
+		out.writeBoolean(general.animationDuringLayout);
+		out.writeBoolean(general.animationOnLayout);
+		out.writeInt(general.animationPeriod);
+		out.writeBoolean(general.incremental);
+		out.writeBoolean(general.createBendsAsNeeded);
+		out.writeBoolean(general.uniformLeafNodeSizes);
+
+		out.writeInt(coSE.idealEdgeLength);
+		out.writeInt(coSE.springStrength);
+		out.writeInt(coSE.repulsionStrength);
+		out.writeBoolean(coSE.smartRepulsionRangeCalc);
+		out.writeInt(coSE.gravityStrength);
+		out.writeInt(coSE.gravityRange);
+		out.writeInt(coSE.compoundGravityStrength);
+		out.writeInt(coSE.compoundGravityRange);
+		out.writeBoolean(coSE.smartEdgeLengthCalc);
+		out.writeBoolean(coSE.multiLevelScaling);
+		out.writeBoolean(coSE.barnesHutRepulsion);
+		out.writeInt(coSE.barnesHutTheta);
+		out.writeBoolean(coSE.primitiveForceKernel);
+		out.writeBoolean(coSE.verletRepulsion);
+		out.writeBoolean(coSE.activeSet);
+		out.writeBoolean(coSE.adaptiveCooling);
+		out.writeBoolean(coSE.lazyTranslation);
+		out.writeBoolean(coSE.pivotMDSInitialization);
+		out.writeBoolean(coSE.componentLayout);
+		out.writeBoolean(coSE.hierarchicalLayout);
+	}
+
+	public void setDefaultLayoutProperties()
+	{
+		general.layoutQuality = general.defaultLayoutQuality ;
+		general.animationDuringLayout = general.defaultAnimationDuringLayout ;
+		general.animationOnLayout = general.defaultAnimationOnLayout ;
+		general.animationPeriod = general.defaultAnimationPeriod;
+		general.incremental = general.defaultIncremental ;
+		general.createBendsAsNeeded = general.defaultCreateBendsAsNeeded ;
+		general.uniformLeafNodeSizes = general.defaultUniformLeafNodeSizes ;
+
+		coSE.idealEdgeLength = coSE.defaultIdealEdgeLength;
+		coSE.springStrength = coSE.defaultSpringStrength ;
+		coSE.repulsionStrength = coSE.defaultRepulsionStrength ;
+		coSE.smartRepulsionRangeCalc = coSE.defaultSmartRepulsionRangeCalc ;
+		coSE.gravityStrength = coSE.defaultGravityStrength ;
+		coSE.gravityRange = coSE.defaultGravityRange ;
+		coSE.compoundGravityStrength = coSE.defaultCompoundGravityStrength ;
+		coSE.compoundGravityRange = coSE.defaultCompoundGravityRange ;
+		coSE.smartEdgeLengthCalc = coSE.defaultSmartEdgeLengthCalc ;
+		coSE.multiLevelScaling = coSE.defaultMultiLevelScaling ;
+		coSE.barnesHutRepulsion = coSE.defaultBarnesHutRepulsion ;
+		coSE.barnesHutTheta = coSE.defaultBarnesHutTheta ;
+		coSE.primitiveForceKernel = coSE.defaultPrimitiveForceKernel ;
+		coSE.verletRepulsion = coSE.defaultVerletRepulsion ;
+		coSE.activeSet = coSE.defaultActiveSet ;
+		coSE.adaptiveCooling = coSE.defaultAdaptiveCooling ;
+		coSE.lazyTranslation = coSE.defaultLazyTranslation ;
+		coSE.pivotMDSInitialization = coSE.defaultPivotMDSInitialization ;
+		coSE.componentLayout = coSE.defaultComponentLayout ;
+		coSE.hierarchicalLayout = coSE.defaultHierarchicalLayout ;
+	}
+
+	public static synchronized LayoutOptionsPack getInstance()
+	{
+		if (instance == null) {
+			instance = new LayoutOptionsPack();
+		}
+		return instance;
+	}
+
+
+	public CoSE getCoSE()
+	{
+		return coSE;
+	}
+
+
+	public General getGeneral()
+	{
+		return general;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,431 @@
+package org.ivis.layout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ivis.layout.fd.FDLayout;
+import org.ivis.layout.fd.RepulsionGrid;
+
+/**
+ * This class runs many (typically small) layouts on a caller-supplied
+ * executor. A job is a callback building the l-level graph of a layout
+ * created by the pool; jobs wait in a bounded queue, and submitting a job
+ * blocks while the queue is full, so that producers are slowed down to the
+ * rate layouts are completed at. Each job yields a future of its layout,
+ * whose nodes hold the resulting geometry.
+ *
+ * At most a given number of workers run at a time, each running queued jobs
+ * one after another, so any executor may be used, including one creating a
+ * (virtual) thread per task. A worker takes jobs from the queue without
+ * waiting and ends once the queue is empty; workers are started again as
+ * jobs are submitted. Scratch structures (e.g. the grid of repulsion forces)
+ * are kept in the pool and reused from one worker, hence one job, to the
+ * next. Each layout runs on its worker thread alone; parallelism comes from
+ * running layouts concurrently, which suits many small graphs better than
+ * calculating the forces of each in parallel.
+ *
+ * Layouts run with a copy of the options the pool was created with, and are
+ * seeded alike, so that a job yields the same layout as it would when run on
+ * the calling thread. Cancelling the future of a running job stops its
+ * layout as soon as possible.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class LayoutPool
+{
+// -----------------------------------------------------------------------------
+// Section: Callbacks
+// -----------------------------------------------------------------------------
+	/**
+	 * This interface creates the layouts of jobs, e.g. a new SbgnPDLayout.
+	 */
+	public interface LayoutFactory
+	{
+		/**
+		 * This method returns a new layout.
+		 */
+		Layout newLayout();
+	}
+
+	/**
+	 * This interface builds the l-level graph of a job.
+	 */
+	public interface GraphBuilder
+	{
+		/**
+		 * This method builds the graph to be laid out in the graph manager of
+		 * the input layout, which is run afterwards.
+		 */
+		void build(Layout layout);
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Executor running the workers and maximum number of workers
+	 */
+	private Executor executor;
+	private int parallelism;
+
+	/**
+	 * Factory of layouts and their options, null for the shared options pack
+	 */
+	private LayoutFactory factory;
+	private LayoutOptionsPack options;
+
+	/**
+	 * Jobs waiting to be run, and the number of workers running them
+	 */
+	private BlockingQueue<Job> queue;
+	private AtomicInteger workerCount = new AtomicInteger();
+
+	/**
+	 * Scratch structures of workers that are not running
+	 */
+	private ConcurrentLinkedQueue<RepulsionGrid> idleGrids =
+		new ConcurrentLinkedQueue<RepulsionGrid>();
+
+	/**
+	 * Metrics: jobs running, completed and failed, total time spent running
+	 * jobs and when this pool was created, in terms of System.nanoTime()
+	 */
+	private AtomicInteger runningCount = new AtomicInteger();
+	private AtomicLong completedCount = new AtomicLong();
+	private AtomicLong failedCount = new AtomicLong();
+	private AtomicLong totalLayoutTime = new AtomicLong();
+	private long creationTime;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a pool running layouts created by the input factory on the
+	 * input executor, at most the input number of layouts at a time and with
+	 * at most the input number of jobs waiting. Layouts run with a copy of
+	 * the input options, or with the shared options pack as of the start of
+	 * each layout if options are null.
+	 */
+	public LayoutPool(Executor executor,
+		int parallelism,
+		int queueCapacity,
+		LayoutFactory factory,
+		LayoutOptionsPack options)
+	{
+		if (parallelism < 1 || queueCapacity < 1)
+		{
+			throw new IllegalArgumentException(
+				"Parallelism and queue capacity must be positive!");
+		}
+
+		this.executor = executor;
+		this.parallelism = parallelism;
+		this.queue = new LinkedBlockingQueue<Job>(queueCapacity);
+		this.factory = factory;
+		this.options = options == null ? null : new LayoutOptionsPack(options);
+		this.creationTime = System.nanoTime();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Submission
+// -----------------------------------------------------------------------------
+	/**
+	 * This method submits a job laying out the graph built by the input
+	 * callback, waiting while the queue is full, and returns the future of
+	 * its layout. The future fails if building or layout fails.
+	 */
+	public Future<Layout> submit(GraphBuilder builder)
+		throws InterruptedException
+	{
+		Job job = new Job(builder);
+
+		this.queue.put(job);
+		startWorkers();
+
+		return job;
+	}
+
+	/**
+	 * This method submits a job for each of the input callbacks, in order,
+	 * and returns the futures of their layouts in the same order.
+	 */
+	public List<Future<Layout>> submitAll(Collection<? extends GraphBuilder> builders)
+		throws InterruptedException
+	{
+		List<Future<Layout>> futures =
+			new ArrayList<Future<Layout>>(builders.size());
+
+		for (GraphBuilder builder : builders)
+		{
+			futures.add(submit(builder));
+		}
+
+		return futures;
+	}
+
+	/**
+	 * This method starts workers while there are waiting jobs and fewer
+	 * workers than allowed. A worker the executor rejects is run by the
+	 * calling thread.
+	 */
+	private void startWorkers()
+	{
+		while (!this.queue.isEmpty())
+		{
+			int count = this.workerCount.get();
+
+			if (count >= this.parallelism)
+			{
+				return;
+			}
+
+			if (this.workerCount.compareAndSet(count, count + 1))
+			{
+				Worker worker = new Worker();
+
+				try
+				{
+					this.executor.execute(worker);
+				}
+				catch (RejectedExecutionException e)
+				{
+					worker.run();
+				}
+			}
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Metrics
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the number of jobs waiting to be run.
+	 */
+	public int getQueueDepth()
+	{
+		return this.queue.size();
+	}
+
+	/**
+	 * This method returns the number of jobs being run.
+	 */
+	public int getRunningCount()
+	{
+		return this.runningCount.get();
+	}
+
+	/**
+	 * This method returns the number of jobs completed successfully.
+	 */
+	public long getCompletedCount()
+	{
+		return this.completedCount.get();
+	}
+
+	/**
+	 * This method returns the number of jobs that failed or were cancelled
+	 * while running.
+	 */
+	public long getFailedCount()
+	{
+		return this.failedCount.get();
+	}
+
+	/**
+	 * This method returns the number of jobs completed successfully per
+	 * second since this pool was created.
+	 */
+	public double getThroughput()
+	{
+		long elapsed = System.nanoTime() - this.creationTime;
+
+		return elapsed <= 0 ? 0.0 : this.completedCount.get() * 1e9 / elapsed;
+	}
+
+	/**
+	 * This method returns the average time in milliseconds a job took to
+	 * run, successfully or not.
+	 */
+	public double getAverageLayoutTime()
+	{
+		long count = this.completedCount.get() + this.failedCount.get();
+
+		return count == 0 ? 0.0 : this.totalLayoutTime.get() / 1e6 / count;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Jobs and workers
+// -----------------------------------------------------------------------------
+	/**
+	 * This class holds the layout of a job and the scratch structures of the
+	 * worker running it.
+	 */
+	private class LayoutTask implements Callable<Layout>
+	{
+		private GraphBuilder builder;
+		private volatile Layout layout;
+		private volatile boolean cancelled;
+		private RepulsionGrid grid;
+
+		LayoutTask(GraphBuilder builder)
+		{
+			this.builder = builder;
+		}
+
+		public Layout call()
+		{
+			long startTime = System.nanoTime();
+			boolean success = false;
+			runningCount.incrementAndGet();
+
+			try
+			{
+				Layout layout = factory.newLayout();
+
+				if (options != null)
+				{
+					layout.setOptions(options);
+				}
+
+				if (layout instanceof FDLayout)
+				{
+					((FDLayout) layout).setRepulsionGrid(this.grid);
+				}
+
+				this.builder.build(layout);
+				this.layout = layout;
+
+				// a job cancelled while its graph was being built is not run
+				if (this.cancelled)
+				{
+					layout.cancel();
+				}
+
+				if (!layout.runLayout())
+				{
+					throw new IllegalStateException("Layout failed!");
+				}
+
+				success = !this.cancelled;
+
+				return layout;
+			}
+			finally
+			{
+				// metrics are updated before the future is completed
+				runningCount.decrementAndGet();
+				totalLayoutTime.addAndGet(System.nanoTime() - startTime);
+				(success ? completedCount : failedCount).incrementAndGet();
+			}
+		}
+
+		/**
+		 * This method stops the layout of this task as soon as possible.
+		 */
+		void cancel()
+		{
+			this.cancelled = true;
+			Layout layout = this.layout;
+
+			if (layout != null)
+			{
+				layout.cancel();
+			}
+		}
+	}
+
+	/**
+	 * This class is the future of a job.
+	 */
+	private class Job extends FutureTask<Layout>
+	{
+		private LayoutTask task;
+
+		Job(GraphBuilder builder)
+		{
+			this(new LayoutTask(builder));
+		}
+
+		private Job(LayoutTask task)
+		{
+			super(task);
+			this.task = task;
+		}
+
+		/**
+		 * This method runs this job with the input scratch structures.
+		 */
+		void run(RepulsionGrid grid)
+		{
+			this.task.grid = grid;
+
+			try
+			{
+				run();
+			}
+			finally
+			{
+				this.task.grid = null;
+			}
+		}
+
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			boolean cancelled = super.cancel(false);
+
+			if (cancelled)
+			{
+				this.task.cancel();
+			}
+
+			return cancelled;
+		}
+	}
+
+	/**
+	 * This class runs waiting jobs one after another until the queue is
+	 * empty.
+	 */
+	private class Worker implements Runnable
+	{
+		public void run()
+		{
+			RepulsionGrid grid = idleGrids.poll();
+
+			if (grid == null)
+			{
+				grid = new RepulsionGrid();
+			}
+
+			try
+			{
+				Job job;
+
+				while ((job = queue.poll()) != null)
+				{
+					job.run(grid);
+				}
+			}
+			finally
+			{
+				idleGrids.add(grid);
+				workerCount.decrementAndGet();
+			}
+
+			// a job submitted after the queue was found empty, while this
+			// worker was still counted, would otherwise wait for the next one
+			startWorkers();
+		}
+	}
+}
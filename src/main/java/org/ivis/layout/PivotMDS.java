@@ -0,0 +1,417 @@
+package org.ivis.layout;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class calculates an initial placement of the nodes of a graph by pivot
+ * multidimensional scaling: graph theoretic (BFS) distances from a small
+ * number of pivot nodes are calculated, and nodes are projected on the two
+ * principal axes of the double centered matrix of squared distances. It takes
+ * O(k(n+m)) time to calculate distances and O(k^2 n) time to project nodes,
+ * k being the number of pivots.
+ *
+ * Nodes are numbered from 0, and the (undirected) graph is kept in compressed
+ * sparse row form: neighbors of node v are adjacency[adjacencyStart[v]] to
+ * adjacency[adjacencyStart[v+1]-1].
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+class PivotMDS
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Number of nodes and the adjacency lists
+	 */
+	private int nodeCount;
+	private int[] adjacencyStart;
+	private int[] adjacency;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a graph with the input number of nodes and the input
+	 * (undirected) edges. Self loops are ignored.
+	 */
+	PivotMDS(int nodeCount, int[] edgeSource, int[] edgeTarget, int edgeCount)
+	{
+		this.nodeCount = nodeCount;
+		this.adjacencyStart = new int[nodeCount + 1];
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			if (edgeSource[e] != edgeTarget[e])
+			{
+				this.adjacencyStart[edgeSource[e] + 1]++;
+				this.adjacencyStart[edgeTarget[e] + 1]++;
+			}
+		}
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			this.adjacencyStart[v + 1] += this.adjacencyStart[v];
+		}
+
+		int[] end = Arrays.copyOf(this.adjacencyStart, nodeCount);
+		this.adjacency = new int[this.adjacencyStart[nodeCount]];
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			if (edgeSource[e] != edgeTarget[e])
+			{
+				this.adjacency[end[edgeSource[e]]++] = edgeTarget[e];
+				this.adjacency[end[edgeTarget[e]]++] = edgeSource[e];
+			}
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Placement
+// -----------------------------------------------------------------------------
+	/**
+	 * This method places the nodes, writing their coordinates into the input
+	 * arrays, scaled such that the average length of an edge is 1. Nodes of a
+	 * graph without edges are placed on a grid with unit spacing instead.
+	 * Nodes are slightly displaced at random, so that nodes placed on a line
+	 * (e.g. those of a path) do not stay on it during layout.
+	 */
+	void place(double[] x, double[] y, Random random)
+	{
+		if (this.nodeCount < 2 || this.adjacency.length == 0)
+		{
+			placeOnGrid(x, y);
+			return;
+		}
+
+		double[][] c = calcSquaredDistances(random);
+		int k = c.length;
+
+		doubleCenter(c);
+
+		// the principal axes are the eigenvectors of C^T C with the largest
+		// eigenvalues, which are found by power iteration
+		double[][] b = new double[k][k];
+
+		for (int p = 0; p < k; p++)
+		{
+			for (int q = p; q < k; q++)
+			{
+				double sum = 0.0;
+
+				for (int v = 0; v < this.nodeCount; v++)
+				{
+					sum += c[p][v] * c[q][v];
+				}
+
+				b[p][q] = b[q][p] = sum;
+			}
+		}
+
+		double[] first = new double[k];
+		double[] second = new double[k];
+
+		project(c, first, calcEigenvector(b, null, first, random), x);
+		project(c, second, calcEigenvector(b, first, second, random), y);
+
+		// scale to unit average edge length, then displace nodes slightly
+		double totalLength = 0.0;
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			for (int i = this.adjacencyStart[v];
+				i < this.adjacencyStart[v + 1];
+				i++)
+			{
+				int u = this.adjacency[i];
+				double dx = x[u] - x[v];
+				double dy = y[u] - y[v];
+
+				totalLength += Math.sqrt(dx * dx + dy * dy);
+			}
+		}
+
+		if (totalLength == 0.0)
+		{
+			placeOnGrid(x, y);
+			return;
+		}
+
+		double scale = this.adjacency.length / totalLength;
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			x[v] = x[v] * scale + LayoutConstants.PIVOT_MDS_JITTER *
+				(random.nextDouble() - 0.5);
+			y[v] = y[v] * scale + LayoutConstants.PIVOT_MDS_JITTER *
+				(random.nextDouble() - 0.5);
+		}
+	}
+
+	/**
+	 * This method calculates the squared distances of each node from the
+	 * pivots, returning them in a row per pivot. The first pivot is chosen at
+	 * random, and each next one is the node farthest from the pivots chosen
+	 * so far. Nodes unreachable from a pivot are assumed to be one step
+	 * farther than the farthest reachable node.
+	 */
+	private double[][] calcSquaredDistances(Random random)
+	{
+		int k = Math.min(LayoutConstants.PIVOT_MDS_PIVOT_COUNT, this.nodeCount);
+		double[][] c = new double[k][];
+		int[] distance = new int[this.nodeCount];
+		int[] minDistance = new int[this.nodeCount];
+		int[] queue = new int[this.nodeCount];
+		int pivot = random.nextInt(this.nodeCount);
+
+		Arrays.fill(minDistance, Integer.MAX_VALUE);
+
+		for (int p = 0; p < k; p++)
+		{
+			int maxDistance = calcDistances(pivot, distance, queue);
+
+			c[p] = new double[this.nodeCount];
+			pivot = 0;
+
+			for (int v = 0; v < this.nodeCount; v++)
+			{
+				if (distance[v] == -1)
+				{
+					distance[v] = maxDistance + 1;
+				}
+
+				c[p][v] = (double) distance[v] * distance[v];
+				minDistance[v] = Math.min(minDistance[v], distance[v]);
+
+				if (minDistance[v] > minDistance[pivot])
+				{
+					pivot = v;
+				}
+			}
+
+			// all nodes are pivots already
+			if (minDistance[pivot] == 0)
+			{
+				return Arrays.copyOf(c, p + 1);
+			}
+		}
+
+		return c;
+	}
+
+	/**
+	 * This method calculates the distances of nodes from the input node by
+	 * BFS, -1 for the unreachable ones, and returns the maximum distance.
+	 */
+	private int calcDistances(int source, int[] distance, int[] queue)
+	{
+		int head = 0;
+		int tail = 0;
+
+		Arrays.fill(distance, -1);
+		distance[source] = 0;
+		queue[tail++] = source;
+
+		while (head < tail)
+		{
+			int v = queue[head++];
+
+			for (int i = this.adjacencyStart[v];
+				i < this.adjacencyStart[v + 1];
+				i++)
+			{
+				int u = this.adjacency[i];
+
+				if (distance[u] == -1)
+				{
+					distance[u] = distance[v] + 1;
+					queue[tail++] = u;
+				}
+			}
+		}
+
+		return distance[queue[tail - 1]];
+	}
+
+	/**
+	 * This method double centers the input matrix of squared distances,
+	 * multiplying it by -1/2.
+	 */
+	private void doubleCenter(double[][] c)
+	{
+		int k = c.length;
+		double[] rowMean = new double[this.nodeCount];
+		double[] columnMean = new double[k];
+		double mean = 0.0;
+
+		for (int p = 0; p < k; p++)
+		{
+			for (int v = 0; v < this.nodeCount; v++)
+			{
+				rowMean[v] += c[p][v] / k;
+				columnMean[p] += c[p][v] / this.nodeCount;
+			}
+
+			mean += columnMean[p] / k;
+		}
+
+		for (int p = 0; p < k; p++)
+		{
+			for (int v = 0; v < this.nodeCount; v++)
+			{
+				c[p][v] = -0.5 *
+					(c[p][v] - rowMean[v] - columnMean[p] + mean);
+			}
+		}
+	}
+
+	/**
+	 * This method calculates the unit eigenvector of the input symmetric
+	 * matrix with the largest eigenvalue into the input array, and returns
+	 * the eigenvalue. If another eigenvector is given, the one orthogonal to
+	 * it is calculated.
+	 */
+	private double calcEigenvector(double[][] b,
+		double[] other,
+		double[] vector,
+		Random random)
+	{
+		int k = b.length;
+		double[] next = new double[k];
+		double eigenvalue = 0.0;
+
+		for (int p = 0; p < k; p++)
+		{
+			vector[p] = random.nextDouble() - 0.5;
+		}
+
+		orthonormalize(vector, other);
+
+		for (int i = 0; i < LayoutConstants.PIVOT_MDS_MAX_ITERATIONS; i++)
+		{
+			for (int p = 0; p < k; p++)
+			{
+				double sum = 0.0;
+
+				for (int q = 0; q < k; q++)
+				{
+					sum += b[p][q] * vector[q];
+				}
+
+				next[p] = sum;
+			}
+
+			eigenvalue = orthonormalize(next, other);
+
+			if (eigenvalue == 0.0)
+			{
+				break;
+			}
+
+			double change = 0.0;
+
+			for (int p = 0; p < k; p++)
+			{
+				change += Math.abs(next[p] - vector[p]);
+				vector[p] = next[p];
+			}
+
+			if (change < 1e-6)
+			{
+				break;
+			}
+		}
+
+		return eigenvalue;
+	}
+
+	/**
+	 * This method makes the input vector orthogonal to the other one (if
+	 * any), then normalizes it, returning its length before normalization.
+	 */
+	private double orthonormalize(double[] vector, double[] other)
+	{
+		if (other != null)
+		{
+			double dot = 0.0;
+
+			for (int p = 0; p < vector.length; p++)
+			{
+				dot += vector[p] * other[p];
+			}
+
+			for (int p = 0; p < vector.length; p++)
+			{
+				vector[p] -= dot * other[p];
+			}
+		}
+
+		double length = 0.0;
+
+		for (int p = 0; p < vector.length; p++)
+		{
+			length += vector[p] * vector[p];
+		}
+
+		length = Math.sqrt(length);
+
+		if (length > 1e-12)
+		{
+			for (int p = 0; p < vector.length; p++)
+			{
+				vector[p] /= length;
+			}
+		}
+		else
+		{
+			length = 0.0;
+		}
+
+		return length;
+	}
+
+	/**
+	 * This method projects the nodes on the input eigenvector of C^T C,
+	 * writing their coordinates into the input array. Projections are
+	 * divided by the fourth root of the eigenvalue, as C^T C holds squares of
+	 * the eigenvalues of the (partial) double centered distance matrix, and
+	 * classical scaling scales each axis by the square root of those.
+	 */
+	private void project(double[][] c,
+		double[] vector,
+		double eigenvalue,
+		double[] coordinate)
+	{
+		double scale = eigenvalue > 0.0 ? 1.0 / Math.sqrt(Math.sqrt(eigenvalue)) : 0.0;
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			double sum = 0.0;
+
+			for (int p = 0; p < c.length; p++)
+			{
+				sum += c[p][v] * vector[p];
+			}
+
+			coordinate[v] = sum * scale;
+		}
+	}
+
+	/**
+	 * This method places the nodes in order on a square grid with unit
+	 * spacing, centered at the origin.
+	 */
+	private void placeOnGrid(double[] x, double[] y)
+	{
+		int columnCount = (int) Math.ceil(Math.sqrt(this.nodeCount));
+		int rowCount = (this.nodeCount + columnCount - 1) / Math.max(columnCount, 1);
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			x[v] = v % columnCount - (columnCount - 1) / 2.0;
+			y[v] = v / columnCount - (rowCount - 1) / 2.0;
+		}
+	}
+}
@@ -1,32 +1,41 @@
-package org.ivis.layout.cose;
-
-import org.ivis.layout.fd.FDLayoutConstants;
-
-/**
- * This class maintains the constants used by CoSE layout.
- *
- * @author: Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoSEConstants extends FDLayoutConstants
-{
-// -----------------------------------------------------------------------------
-// Section: CoSE layout user options
-// -----------------------------------------------------------------------------
-	public static final boolean DEFAULT_USE_MULTI_LEVEL_SCALING = false;
-	
-// -----------------------------------------------------------------------------
-// Section: CoSE layout remaining contants
-// -----------------------------------------------------------------------------
-	/**
-	 * Default distance between each level in radial layout
-	 */
-	public static final double DEFAULT_RADIAL_SEPARATION =
-		FDLayoutConstants.DEFAULT_EDGE_LENGTH;
-
-	/**
-	 * Default separation of trees in a forest when tiled to a grid
-	 */
-	public static final int DEFAULT_COMPONENT_SEPERATION = 60;
+package org.ivis.layout.cose;
+
+import org.ivis.layout.fd.FDLayoutConstants;
+
+/**
+ * This class maintains the constants used by CoSE layout.
+ *
+ * @author: Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoSEConstants extends FDLayoutConstants
+{
+// -----------------------------------------------------------------------------
+// Section: CoSE layout user options
+// -----------------------------------------------------------------------------
+	public static final boolean DEFAULT_USE_MULTI_LEVEL_SCALING = false;
+	public static final boolean DEFAULT_USE_PRIMITIVE_FORCE_KERNEL = false;
+	public static final boolean DEFAULT_USE_COMPONENT_LAYOUT = false;
+	public static final boolean DEFAULT_USE_HIERARCHICAL_LAYOUT = false;
+	
+// -----------------------------------------------------------------------------
+// Section: CoSE layout remaining contants
+// -----------------------------------------------------------------------------
+	/**
+	 * Default distance between each level in radial layout
+	 */
+	public static final double DEFAULT_RADIAL_SEPARATION =
+		FDLayoutConstants.DEFAULT_EDGE_LENGTH;
+
+	/**
+	 * Default separation of trees in a forest when tiled to a grid
+	 */
+	public static final int DEFAULT_COMPONENT_SEPERATION = 60;
+
+	/**
+	 * Approximate total number of grid cells the connected components laid
+	 * out separately are made of when packed as polyominoes
+	 */
+	public static final int COMPONENT_PACKING_CELL_COUNT = 2000;
 }
\ No newline at end of file
@@ -1,34 +1,34 @@
-package org.ivis.layout.cose;
-
-import org.ivis.layout.fd.FDLayoutEdge;
-
-/**
- * This class implements CoSE specific data and functionality for edges.
- *
- * @author Erhan Giral
- * @author Ugur Dogrusoz
- * @author Cihan Kucukkececi
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoSEEdge extends FDLayoutEdge
-{
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-
-// -----------------------------------------------------------------------------
-// Section: Constructors and initializations
-// -----------------------------------------------------------------------------
-	/*
-	 * Constructor
-	 */
-	public CoSEEdge(CoSENode source, CoSENode target, Object vEdge)
-	{
-		super(source, target, vEdge);
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Remaining methods
-// -----------------------------------------------------------------------------
+package org.ivis.layout.cose;
+
+import org.ivis.layout.fd.FDLayoutEdge;
+
+/**
+ * This class implements CoSE specific data and functionality for edges.
+ *
+ * @author Erhan Giral
+ * @author Ugur Dogrusoz
+ * @author Cihan Kucukkececi
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoSEEdge extends FDLayoutEdge
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initializations
+// -----------------------------------------------------------------------------
+	/*
+	 * Constructor
+	 */
+	public CoSEEdge(CoSENode source, CoSENode target, Object vEdge)
+	{
+		super(source, target, vEdge);
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
 }
\ No newline at end of file
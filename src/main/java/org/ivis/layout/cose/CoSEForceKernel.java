@@ -0,0 +1,830 @@
+package org.ivis.layout.cose;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LGraphManager;
+import org.ivis.layout.LNode;
+import org.ivis.layout.LayoutConstants;
+import org.ivis.layout.fd.FDLayoutConstants;
+import org.ivis.layout.fd.FDLayoutEdge;
+import org.ivis.layout.fd.FDLayoutNode;
+import org.ivis.layout.fd.RepulsionGrid;
+import org.ivis.util.IGeometry;
+import org.ivis.util.IMath;
+import org.ivis.util.RectangleD;
+
+/**
+ * This class implements the force calculations and node movements of the
+ * CoSE spring embedder on packed primitive arrays rather than on node and
+ * edge objects. Geometry of nodes and graphs is copied into the arrays when
+ * the kernel is created, and node positions are written back on request
+ * (i.e. at the end of layout or when the layout is to be animated).
+ *
+ * The kernel performs exactly the same floating point operations in the same
+ * order as the object based methods of FDLayout and CoSENode, hence results
+ * are identical. Barnes-Hut repulsion and parallel force calculation are not
+ * supported by the kernel.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+class CoSEForceKernel
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Layout whose parameters are used
+	 */
+	private CoSELayout layout;
+
+	/**
+	 * Nodes of the layout, in the order of the node array of the graph manager
+	 */
+	private Object[] nodes;
+	private int nodeCount;
+
+	/**
+	 * Geometry of nodes (upper left corner and dimensions)
+	 */
+	private double[] x;
+	private double[] y;
+	private double[] width;
+	private double[] height;
+
+	/**
+	 * Spring, repulsion and gravitation forces of nodes
+	 */
+	private double[] springForceX;
+	private double[] springForceY;
+	private double[] repulsionForceX;
+	private double[] repulsionForceY;
+	private double[] gravitationForceX;
+	private double[] gravitationForceY;
+
+	/**
+	 * Number of children (weight), owner graph and child graph (-1 if none)
+	 * of nodes
+	 */
+	private int[] weight;
+	private int[] owner;
+	private int[] child;
+
+	/**
+	 * Whether or not nodes take part in repulsion and gravitation
+	 */
+	private boolean[] repulsive;
+	private boolean[] gravitating;
+
+	/**
+	 * Leaf descendants of each compound node to which its movement is
+	 * propagated: leaves[leafStart[i], leafStart[i+1])
+	 */
+	private int[] leafStart;
+	private int[] leaves = new int[16];
+	private int leafCount;
+
+	/**
+	 * Edges: end nodes, ideal lengths, weights and whether they apply spring
+	 * forces
+	 */
+	private int edgeCount;
+	private int[] source;
+	private int[] target;
+	private double[] idealLength;
+	private int[] edgeWeight;
+	private boolean[] spring;
+
+	/**
+	 * Graphs: bounds, estimated sizes, margins, parent nodes (-1 for the root)
+	 * and members: members[memberStart[g], memberStart[g+1])
+	 */
+	private int graphCount;
+	private int rootGraph;
+	private int[] graphLeft;
+	private int[] graphTop;
+	private int[] graphRight;
+	private int[] graphBottom;
+	private int[] graphEstimatedSize;
+	private int[] graphMargin;
+	private int[] graphParent;
+	private int[] memberStart;
+	private int[] members;
+
+	/**
+	 * Non-empty graphs in the order their bounds are to be updated (children
+	 * before parents)
+	 */
+	private int[] boundsOrder;
+	private int boundsOrderCount;
+
+	/**
+	 * FR grid: repulsion range and the grid holding surroundings of nodes
+	 */
+	private double repulsionRange;
+	private RepulsionGrid grid;
+	private double[] gridGraphBounds;
+
+	/**
+	 * Scratch space for geometric calculations
+	 */
+	private RectangleD rectA = new RectangleD();
+	private RectangleD rectB = new RectangleD();
+	private double[] clipPoints = new double[4];
+	private double[] overlapAmount = new double[2];
+	private double[] pairForce = new double[2];
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a kernel for the current graphs of the input layout and copies
+	 * their geometry into the arrays of the kernel.
+	 */
+	CoSEForceKernel(CoSELayout layout, double repulsionRange)
+	{
+		this.layout = layout;
+		this.repulsionRange = repulsionRange;
+
+		// the grid of the layout is reused, being rebuilt for this kernel
+		this.grid = layout.getRepulsionGrid();
+		this.grid.invalidate();
+
+		LGraphManager gm = layout.getGraphManager();
+
+		// graphs
+		List graphs = gm.getGraphs();
+		IdentityHashMap<Object, Integer> graphIndex =
+			new IdentityHashMap<Object, Integer>();
+
+		this.graphCount = graphs.size();
+
+		for (int g = 0; g < this.graphCount; g++)
+		{
+			graphIndex.put(graphs.get(g), g);
+		}
+
+		// nodes
+		this.nodes = gm.getAllNodes();
+		this.nodeCount = this.nodes.length;
+
+		// index of each node by node id
+		int[] nodeIndex = new int[gm.getNodeIdBound()];
+		int n = this.nodeCount;
+
+		this.x = new double[n];
+		this.y = new double[n];
+		this.width = new double[n];
+		this.height = new double[n];
+		this.springForceX = new double[n];
+		this.springForceY = new double[n];
+		this.repulsionForceX = new double[n];
+		this.repulsionForceY = new double[n];
+		this.gravitationForceX = new double[n];
+		this.gravitationForceY = new double[n];
+		this.weight = new int[n];
+		this.owner = new int[n];
+		this.child = new int[n];
+		this.repulsive = new boolean[n];
+		this.gravitating = new boolean[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			FDLayoutNode node = (FDLayoutNode) this.nodes[i];
+			RectangleD rect = node.getRect();
+
+			nodeIndex[node.getId()] = i;
+
+			this.x[i] = rect.x;
+			this.y[i] = rect.y;
+			this.width[i] = rect.width;
+			this.height[i] = rect.height;
+			this.springForceX[i] = node.springForceX;
+			this.springForceY[i] = node.springForceY;
+			this.repulsionForceX[i] = node.repulsionForceX;
+			this.repulsionForceY[i] = node.repulsionForceY;
+			this.gravitationForceX[i] = node.gravitationForceX;
+			this.gravitationForceY[i] = node.gravitationForceY;
+			this.weight[i] = node.noOfChildren;
+			this.owner[i] = graphIndex.get(node.getOwner());
+			this.child[i] = node.getChild() == null ?
+				-1 : graphIndex.get(node.getChild());
+			this.repulsive[i] = layout.isRepulsive(node);
+		}
+
+		for (Object obj : gm.getAllNodesToApplyGravitation())
+		{
+			this.gravitating[nodeIndex[((LNode) obj).getId()]] = true;
+		}
+
+		// graph details
+		this.graphLeft = new int[this.graphCount];
+		this.graphTop = new int[this.graphCount];
+		this.graphRight = new int[this.graphCount];
+		this.graphBottom = new int[this.graphCount];
+		this.graphEstimatedSize = new int[this.graphCount];
+		this.graphMargin = new int[this.graphCount];
+		this.graphParent = new int[this.graphCount];
+		this.memberStart = new int[this.graphCount + 1];
+
+		int memberCount = 0;
+
+		for (int g = 0; g < this.graphCount; g++)
+		{
+			LGraph graph = (LGraph) graphs.get(g);
+
+			this.graphLeft[g] = graph.getLeft();
+			this.graphTop[g] = graph.getTop();
+			this.graphRight[g] = graph.getRight();
+			this.graphBottom[g] = graph.getBottom();
+			this.graphEstimatedSize[g] = graph.getEstimatedSize();
+			this.graphMargin[g] = graph.getMargin();
+			this.graphParent[g] = graph.getParent() == null ||
+				graph == gm.getRoot() ?
+					-1 : nodeIndex[graph.getParent().getId()];
+			memberCount += graph.getNodes().size();
+		}
+
+		this.rootGraph = graphIndex.get(gm.getRoot());
+		this.members = new int[memberCount];
+		memberCount = 0;
+
+		for (int g = 0; g < this.graphCount; g++)
+		{
+			this.memberStart[g] = memberCount;
+
+			for (Object obj : ((LGraph) graphs.get(g)).getNodes())
+			{
+				this.members[memberCount++] = nodeIndex[((LNode) obj).getId()];
+			}
+		}
+
+		this.memberStart[this.graphCount] = memberCount;
+
+		// bounds are updated in post order, starting from the root graph
+		this.boundsOrder = new int[this.graphCount];
+		this.boundsOrderCount = 0;
+		addToBoundsOrder(this.rootGraph);
+
+		// leaf descendants of compound nodes
+		this.leafStart = new int[n + 1];
+
+		for (int i = 0; i < n; i++)
+		{
+			this.leafStart[i] = this.leafCount;
+
+			if (this.child[i] >= 0)
+			{
+				collectLeaves(this.child[i]);
+			}
+		}
+
+		this.leafStart[n] = this.leafCount;
+
+		// edges
+		Object[] edges = gm.getAllEdges();
+
+		this.edgeCount = edges.length;
+		this.source = new int[this.edgeCount];
+		this.target = new int[this.edgeCount];
+		this.idealLength = new double[this.edgeCount];
+		this.edgeWeight = new int[this.edgeCount];
+		this.spring = new boolean[this.edgeCount];
+
+		for (int e = 0; e < this.edgeCount; e++)
+		{
+			FDLayoutEdge edge = (FDLayoutEdge) edges[e];
+
+			this.source[e] = nodeIndex[edge.getSource().getId()];
+			this.target[e] = nodeIndex[edge.getTarget().getId()];
+			this.idealLength[e] = edge.idealLength;
+			this.edgeWeight[e] = edge.weight;
+			this.spring[e] = layout.appliesSpringForce(edge);
+		}
+	}
+
+	/**
+	 * This method appends the leaf descendants of the input graph to the
+	 * leaves in the order CoSENode propagates displacements.
+	 */
+	private void collectLeaves(int graph)
+	{
+		for (int k = this.memberStart[graph]; k < this.memberStart[graph + 1]; k++)
+		{
+			int member = this.members[k];
+
+			if (this.child[member] >= 0)
+			{
+				collectLeaves(this.child[member]);
+			}
+			else
+			{
+				if (this.leafCount == this.leaves.length)
+				{
+					int[] newLeaves = new int[this.leafCount * 2];
+					System.arraycopy(this.leaves, 0, newLeaves, 0,
+						this.leafCount);
+					this.leaves = newLeaves;
+				}
+
+				this.leaves[this.leafCount++] = member;
+			}
+		}
+	}
+
+	/**
+	 * This method adds the non-empty graphs of the subtree rooted at the
+	 * input graph to the bounds update order, children first.
+	 */
+	private void addToBoundsOrder(int graph)
+	{
+		for (int k = this.memberStart[graph]; k < this.memberStart[graph + 1]; k++)
+		{
+			int childGraph = this.child[this.members[k]];
+
+			if (childGraph >= 0 &&
+				this.memberStart[childGraph] != this.memberStart[childGraph + 1])
+			{
+				addToBoundsOrder(childGraph);
+			}
+		}
+
+		this.boundsOrder[this.boundsOrderCount++] = graph;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Spring embedder steps
+// -----------------------------------------------------------------------------
+	/**
+	 * This method calculates the spring forces for the ends of each edge as
+	 * in FDLayout.calcSpringForces.
+	 */
+	void calcSpringForces()
+	{
+		boolean uniformLeafNodeSizes = this.layout.uniformLeafNodeSizes;
+		double springConstant = this.layout.springConstant;
+		double lengthX, lengthY, length;
+		double springForce, springForceX, springForceY;
+		int s, t;
+
+		for (int e = 0; e < this.edgeCount; e++)
+		{
+			if (!this.spring[e])
+			{
+				continue;
+			}
+
+			s = this.source[e];
+			t = this.target[e];
+
+			if (uniformLeafNodeSizes && this.child[s] < 0 && this.child[t] < 0)
+			{
+				lengthX = (this.x[t] + this.width[t] / 2) -
+					(this.x[s] + this.width[s] / 2);
+				lengthY = (this.y[t] + this.height[t] / 2) -
+					(this.y[s] + this.height[s] / 2);
+			}
+			else
+			{
+				setRect(this.rectA, t);
+				setRect(this.rectB, s);
+
+				if (IGeometry.getIntersection(this.rectA, this.rectB,
+					this.clipPoints))
+				{
+					continue;
+				}
+
+				lengthX = this.clipPoints[0] - this.clipPoints[2];
+				lengthY = this.clipPoints[1] - this.clipPoints[3];
+			}
+
+			if (Math.abs(lengthX) < 1.0)
+			{
+				lengthX = IMath.sign(lengthX);
+			}
+
+			if (Math.abs(lengthY) < 1.0)
+			{
+				lengthY = IMath.sign(lengthY);
+			}
+
+			length = Math.sqrt(lengthX * lengthX + lengthY * lengthY);
+
+			springForce = springConstant * this.edgeWeight[e] *
+				(length - this.idealLength[e]);
+			springForceX = springForce * (lengthX / length);
+			springForceY = springForce * (lengthY / length);
+
+			this.springForceX[s] += springForceX;
+			this.springForceY[s] += springForceY;
+			this.springForceX[t] -= springForceX;
+			this.springForceY[t] -= springForceY;
+		}
+	}
+
+	/**
+	 * This method calculates the repulsion forces as in
+	 * FDLayout.calcRepulsionForces, either for each pair of members of the
+	 * same graph or using the FR grid variant. The grid and surroundings of
+	 * nodes are recalculated when the input flag is set, or when they are no
+	 * longer valid if Verlet lists are used.
+	 */
+	void calcRepulsionForces(boolean updateGrid)
+	{
+		if (this.layout.useFRGridVariant)
+		{
+			boolean verlet = this.layout.useVerletRepulsion;
+			double range = this.repulsionRange;
+
+			if (verlet)
+			{
+				double skin = FDLayoutConstants.VERLET_SKIN_FACTOR * range;
+
+				updateGrid = this.grid.isStale(this.nodeCount,
+					this.x, this.y, this.width, this.height, skin / 2);
+				range += skin;
+			}
+
+			if (updateGrid)
+			{
+				if (this.gridGraphBounds == null)
+				{
+					this.gridGraphBounds = new double[4 * this.graphCount];
+				}
+
+				for (int g = 0; g < this.graphCount; g++)
+				{
+					this.gridGraphBounds[4 * g] = this.graphLeft[g];
+					this.gridGraphBounds[4 * g + 1] = this.graphTop[g];
+					this.gridGraphBounds[4 * g + 2] = this.graphRight[g];
+					this.gridGraphBounds[4 * g + 3] = this.graphBottom[g];
+				}
+
+				// members of each graph are consecutive, hence member starts
+				// partition the nodes by graph
+				this.grid.build(this.nodeCount,
+					this.x, this.y, this.width, this.height,
+					this.repulsive,
+					null,
+					this.graphCount, this.memberStart, this.gridGraphBounds,
+					range);
+			}
+
+			int[] surrounding = this.grid.getSurrounding();
+			int b;
+
+			for (int a = 0; a < this.nodeCount; a++)
+			{
+				for (int k = this.grid.getSurroundingStart(a);
+					k < this.grid.getSurroundingEnd(a);
+					k++)
+				{
+					b = surrounding[k];
+
+					if (!verlet || RepulsionGrid.isInRange(this.x, this.y,
+						this.width, this.height, a, b, this.repulsionRange))
+					{
+						applyRepulsionForce(a, b);
+					}
+				}
+			}
+		}
+		else
+		{
+			for (int g = 0; g < this.graphCount; g++)
+			{
+				int end = this.memberStart[g + 1];
+
+				for (int a = this.memberStart[g]; a < end; a++)
+				{
+					if (!this.repulsive[a])
+					{
+						continue;
+					}
+
+					for (int b = a + 1; b < end; b++)
+					{
+						if (this.repulsive[b])
+						{
+							applyRepulsionForce(a, b);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method calculates gravitational forces for nodes to apply
+	 * gravitation to, as in FDLayout.calcGravitationalForce.
+	 */
+	void calcGravitationalForces()
+	{
+		double gravityConstant = this.layout.gravityConstant;
+		double ownerCenterX, ownerCenterY;
+		double distanceX, distanceY;
+		double absDistanceX, absDistanceY;
+		int estimatedSize;
+		int g;
+
+		for (int i = 0; i < this.nodeCount; i++)
+		{
+			if (!this.gravitating[i])
+			{
+				continue;
+			}
+
+			g = this.owner[i];
+
+			ownerCenterX = ((double) this.graphRight[g] + this.graphLeft[g]) / 2;
+			ownerCenterY = ((double) this.graphTop[g] + this.graphBottom[g]) / 2;
+			distanceX = (this.x[i] + this.width[i] / 2) - ownerCenterX;
+			distanceY = (this.y[i] + this.height[i] / 2) - ownerCenterY;
+			absDistanceX = Math.abs(distanceX) + this.width[i] / 2;
+			absDistanceY = Math.abs(distanceY) + this.height[i] / 2;
+
+			if (g == this.rootGraph)
+			{
+				estimatedSize = (int) (this.graphEstimatedSize[g] *
+					this.layout.gravityRangeFactor);
+
+				if (absDistanceX > estimatedSize || absDistanceY > estimatedSize)
+				{
+					this.gravitationForceX[i] = -gravityConstant * distanceX;
+					this.gravitationForceY[i] = -gravityConstant * distanceY;
+				}
+			}
+			else
+			{
+				estimatedSize = (int) (this.graphEstimatedSize[g] *
+					this.layout.compoundGravityRangeFactor);
+
+				if (absDistanceX > estimatedSize || absDistanceY > estimatedSize)
+				{
+					this.gravitationForceX[i] = -gravityConstant * distanceX *
+						this.layout.compoundGravityConstant;
+					this.gravitationForceY[i] = -gravityConstant * distanceY *
+						this.layout.compoundGravityConstant;
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method moves each node based on the forces on it and resets the
+	 * forces, as in CoSENode.move.
+	 */
+	void moveNodes()
+	{
+		double coolingFactor = this.layout.coolingFactor;
+		double maxNodeDisplacement =
+			coolingFactor * this.layout.maxNodeDisplacement;
+		double totalDisplacement = this.layout.totalDisplacement;
+		double displacementX, displacementY;
+		int leaf;
+
+		for (int i = 0; i < this.nodeCount; i++)
+		{
+			displacementX = coolingFactor *
+				(this.springForceX[i] + this.repulsionForceX[i] +
+					this.gravitationForceX[i]) / this.weight[i];
+			displacementY = coolingFactor *
+				(this.springForceY[i] + this.repulsionForceY[i] +
+					this.gravitationForceY[i]) / this.weight[i];
+
+			if (Math.abs(displacementX) > maxNodeDisplacement)
+			{
+				displacementX = maxNodeDisplacement * IMath.sign(displacementX);
+			}
+
+			if (Math.abs(displacementY) > maxNodeDisplacement)
+			{
+				displacementY = maxNodeDisplacement * IMath.sign(displacementY);
+			}
+
+			if (this.child[i] < 0 ||
+				this.memberStart[this.child[i]] ==
+					this.memberStart[this.child[i] + 1])
+			// a simple node or an empty compound, just move it
+			{
+				this.x[i] += displacementX;
+				this.y[i] += displacementY;
+			}
+			else
+			// non-empty compound node, move its leaf descendants
+			{
+				for (int k = this.leafStart[i]; k < this.leafStart[i + 1]; k++)
+				{
+					leaf = this.leaves[k];
+					this.x[leaf] += displacementX;
+					this.y[leaf] += displacementY;
+				}
+			}
+
+			totalDisplacement +=
+				Math.abs(displacementX) + Math.abs(displacementY);
+
+			this.springForceX[i] = 0;
+			this.springForceY[i] = 0;
+			this.repulsionForceX[i] = 0;
+			this.repulsionForceY[i] = 0;
+			this.gravitationForceX[i] = 0;
+			this.gravitationForceY[i] = 0;
+		}
+
+		this.layout.totalDisplacement = totalDisplacement;
+	}
+
+	/**
+	 * This method updates the bounds of graphs and compound nodes, as in
+	 * LGraphManager.updateBounds.
+	 */
+	void updateBounds()
+	{
+		int g, member, parent;
+		int left, right, top, bottom;
+		int nodeLeft, nodeRight, nodeTop, nodeBottom;
+
+		for (int k = 0; k < this.boundsOrderCount; k++)
+		{
+			g = this.boundsOrder[k];
+
+			left = Integer.MAX_VALUE;
+			right = Integer.MIN_VALUE;
+			top = Integer.MAX_VALUE;
+			bottom = Integer.MIN_VALUE;
+
+			for (int m = this.memberStart[g]; m < this.memberStart[g + 1]; m++)
+			{
+				member = this.members[m];
+
+				nodeLeft = (int) this.x[member];
+				nodeRight = (int) (this.x[member] + this.width[member]);
+				nodeTop = (int) this.y[member];
+				nodeBottom = (int) (this.y[member] + this.height[member]);
+
+				if (left > nodeLeft)
+				{
+					left = nodeLeft;
+				}
+
+				if (right < nodeRight)
+				{
+					right = nodeRight;
+				}
+
+				if (top > nodeTop)
+				{
+					top = nodeTop;
+				}
+
+				if (bottom < nodeBottom)
+				{
+					bottom = nodeBottom;
+				}
+			}
+
+			this.graphLeft[g] = left - this.graphMargin[g];
+			this.graphRight[g] = right + this.graphMargin[g];
+			this.graphTop[g] = top - this.graphMargin[g];
+			this.graphBottom[g] = bottom + this.graphMargin[g];
+
+			// wrap the parent compound node around its child graph
+			parent = this.graphParent[g];
+
+			if (parent >= 0)
+			{
+				this.x[parent] = this.graphLeft[g];
+				this.y[parent] = this.graphTop[g];
+				this.width[parent] = this.graphRight[g] - this.graphLeft[g] +
+					2 * LayoutConstants.COMPOUND_NODE_MARGIN;
+				this.height[parent] = this.graphBottom[g] - this.graphTop[g] +
+					2 * LayoutConstants.COMPOUND_NODE_MARGIN +
+						LayoutConstants.LABEL_HEIGHT;
+			}
+		}
+	}
+
+	/**
+	 * This method writes node geometry back to the node objects. Graph bounds
+	 * are not written back; they may be recalculated by the graph manager.
+	 */
+	void writeBack()
+	{
+		for (int i = 0; i < this.nodeCount; i++)
+		{
+			LNode node = (LNode) this.nodes[i];
+
+			node.setLocation(this.x[i], this.y[i]);
+			node.setWidth(this.width[i]);
+			node.setHeight(this.height[i]);
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Repulsion helpers
+// -----------------------------------------------------------------------------
+	/**
+	 * This method calculates the repulsion force between the input nodes as
+	 * in FDLayout.calcRepulsionForce and applies it on the two nodes.
+	 */
+	private void applyRepulsionForce(int a, int b)
+	{
+		calcRepulsionForce(a, b, this.pairForce);
+
+		this.repulsionForceX[a] -= this.pairForce[0];
+		this.repulsionForceY[a] -= this.pairForce[1];
+		this.repulsionForceX[b] += this.pairForce[0];
+		this.repulsionForceY[b] += this.pairForce[1];
+	}
+
+	/**
+	 * This method calculates the repulsion force between the input nodes to
+	 * be subtracted from the force of the first node and added to that of the
+	 * second one.
+	 */
+	private void calcRepulsionForce(int a, int b, double[] result)
+	{
+		double distanceX, distanceY, distanceSquared, distance;
+		double repulsionForce;
+
+		if (!(this.x[a] + this.width[a] < this.x[b] ||
+			this.y[a] + this.height[a] < this.y[b] ||
+			this.x[b] + this.width[b] < this.x[a] ||
+			this.y[b] + this.height[b] < this.y[a]))
+		// two nodes overlap
+		{
+			setRect(this.rectA, a);
+			setRect(this.rectB, b);
+
+			IGeometry.calcSeparationAmount(this.rectA,
+				this.rectB,
+				this.overlapAmount,
+				FDLayoutConstants.DEFAULT_EDGE_LENGTH / 2.0);
+
+			double childrenConstant = this.weight[a] * this.weight[b] /
+				(double) (this.weight[a] + this.weight[b]);
+
+			result[0] = childrenConstant * (2 * this.overlapAmount[0]);
+			result[1] = childrenConstant * (2 * this.overlapAmount[1]);
+		}
+		else
+		// no overlap
+		{
+			if (this.layout.uniformLeafNodeSizes &&
+				this.child[a] < 0 && this.child[b] < 0)
+			{
+				distanceX = (this.x[b] + this.width[b] / 2) -
+					(this.x[a] + this.width[a] / 2);
+				distanceY = (this.y[b] + this.height[b] / 2) -
+					(this.y[a] + this.height[a] / 2);
+			}
+			else
+			{
+				setRect(this.rectA, a);
+				setRect(this.rectB, b);
+
+				IGeometry.getIntersection(this.rectA, this.rectB,
+					this.clipPoints);
+
+				distanceX = this.clipPoints[2] - this.clipPoints[0];
+				distanceY = this.clipPoints[3] - this.clipPoints[1];
+			}
+
+			if (Math.abs(distanceX) < FDLayoutConstants.MIN_REPULSION_DIST)
+			{
+				distanceX = IMath.sign(distanceX) *
+					FDLayoutConstants.MIN_REPULSION_DIST;
+			}
+
+			if (Math.abs(distanceY) < FDLayoutConstants.MIN_REPULSION_DIST)
+			{
+				distanceY = IMath.sign(distanceY) *
+					FDLayoutConstants.MIN_REPULSION_DIST;
+			}
+
+			distanceSquared = distanceX * distanceX + distanceY * distanceY;
+			distance = Math.sqrt(distanceSquared);
+
+			repulsionForce = this.layout.repulsionConstant * this.weight[a] *
+				this.weight[b] / distanceSquared;
+
+			result[0] = repulsionForce * distanceX / distance;
+			result[1] = repulsionForce * distanceY / distance;
+		}
+	}
+
+	/**
+	 * This method copies the geometry of the input node into the input
+	 * rectangle.
+	 */
+	private void setRect(RectangleD rect, int i)
+	{
+		rect.x = this.x[i];
+		rect.y = this.y[i];
+		rect.width = this.width[i];
+		rect.height = this.height[i];
+	}
+}
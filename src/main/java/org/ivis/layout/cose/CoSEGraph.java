@@ -1,29 +1,29 @@
-package org.ivis.layout.cose;
-
-import org.ivis.layout.LGraph;
-import org.ivis.layout.LGraphManager;
-
-/**
- * This class implements CoSE specific data and functionality for graphs.
- *
- * @author Erhan Giral
- * @author Ugur Dogrusoz
- * @author Cihan Kucukkececi
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoSEGraph extends LGraph
-{
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-	/*
-	 * Constructor
-	 */
-	protected CoSEGraph(CoSENode parent, LGraphManager graphMgr, Object vGraph)
-	{
-		super(parent, graphMgr, vGraph);
-	}
-
-	// !!!Currently empty and useless class!!!
+package org.ivis.layout.cose;
+
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LGraphManager;
+
+/**
+ * This class implements CoSE specific data and functionality for graphs.
+ *
+ * @author Erhan Giral
+ * @author Ugur Dogrusoz
+ * @author Cihan Kucukkececi
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoSEGraph extends LGraph
+{
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/*
+	 * Constructor
+	 */
+	protected CoSEGraph(CoSENode parent, LGraphManager graphMgr, Object vGraph)
+	{
+		super(parent, graphMgr, vGraph);
+	}
+
+	// !!!Currently empty and useless class!!!
 }
\ No newline at end of file
@@ -1,241 +1,357 @@
-package org.ivis.layout.cose;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-
-import org.ivis.layout.LEdge;
-import org.ivis.layout.LGraphManager;
-import org.ivis.layout.LNode;
-import org.ivis.layout.Layout;
-
-/**
- * This class implements a graph-manager for CoSE layout specific data and
- * functionality.
- *
- * @author Alper Karacelik
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoSEGraphManager extends LGraphManager
-{
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-	public CoSEGraphManager(Layout layout)
-	{
-		super(layout);
-	}
-// -----------------------------------------------------------------------------
-// Section: Coarsening
-// -----------------------------------------------------------------------------
-	/**
-	 * This method returns a list of CoSEGraphManager. 
-	 * Returned list holds graphs finer to coarser (M0 to Mk)
-	 * Additionally, this method is only called by M0.
-	 */
-	public ArrayList<CoSEGraphManager> coarsenGraph()
-	{
-		// MList holds graph managers from M0 to Mk
-		ArrayList<CoSEGraphManager> MList = new ArrayList<CoSEGraphManager>();
-		int prevNodeCount;
-		int currNodeCount;
-		
-		// "this" graph manager holds the finest (input) graph
-		MList.add(this);
-		
-		// coarsening graph G holds only the leaf nodes and the edges between them 
-		// which are considered for coarsening process
-		CoarseningGraph G = new CoarseningGraph(this.getLayout());
-		
-		// construct G0
-		convertToCoarseningGraph((CoSEGraph)this.getRoot(), G);
-		currNodeCount = G.getNodes().size();
-
-		CoSEGraphManager lastM, newM;
-		// if two graphs Gi and Gi+1 have the same order, 
-		// then Gi = Gi+1 is the coarsest graph (Gk), so stop coarsening process
-		do {
-			prevNodeCount = currNodeCount;
-
-			// coarsen Gi
-			G.coarsen();
-
-			// get current coarsest graph lastM = Mi and construct newM = Mi+1
-			lastM = MList.get((MList.size()-1));
-			newM = coarsen(lastM);
-			
-			MList.add(newM);
-			currNodeCount = G.getNodes().size();
-
-		} while ((prevNodeCount != currNodeCount) && (currNodeCount > 1));
-
-		// change currently being used graph manager
-		this.getLayout().setGraphManager(this);
-		
-		MList.remove( MList.size()-1 );
-		return MList;
-	}
-	
-	/**
-	 * This method converts given CoSEGraph to CoarseningGraph G0
-	 * G0 consists of leaf nodes of CoSEGraph and edges between them
-	 */
-	private void convertToCoarseningGraph(CoSEGraph coseG, CoarseningGraph G)
-	{
-		// we need a mapping between nodes in M0 and G0, for constructing the edges of G0
-		HashMap map = new HashMap();
-
-		// construct nodes of G0
-		for (Object obj: coseG.getNodes())
-		{
-			CoSENode v = (CoSENode) obj;
-			// if current node is compound, 
-			// then make a recursive call with child graph of current compound node 
-			if (v.getChild() != null)
-			{
-				convertToCoarseningGraph((CoSEGraph)v.getChild(), G);
-			}
-			// otherwise current node is a leaf, and should be in the G0
-			else
-			{
-				// v is a leaf node in CoSE graph, and is referenced by u in G0
-				CoarseningNode u = new CoarseningNode();
-				u.setReference(v);
-				
-				// construct a mapping between v (from CoSE graph) and u (from coarsening graph)
-				map.put(v, u);
-				
-				G.add( u );
-			}
-		}
-
-		// construct edges of G0
-		for (Object obj: coseG.getEdges())
-		{
-			LEdge e = (LEdge) obj;
-			// if neither source nor target of e is a compound node
-			// then, e is an edge between two leaf nodes
-			if ((e.getSource().getChild() == null) && (e.getTarget().getChild() == null))
-			{
-				G.add(new CoarseningEdge(), (LNode)map.get(e.getSource()), (LNode)map.get(e.getTarget()) );
-			}
-		}
-	}
-
-	/**
-	 * This method gets Mi (lastM) and coarsens to Mi+1
-	 * Mi+1 is returned.
-	 */
-	private CoSEGraphManager coarsen(CoSEGraphManager lastM)
-	{
-		// create Mi+1 and root graph of it
-		CoSEGraphManager newM = new CoSEGraphManager(lastM.getLayout());
-		
-		// change currently being used graph manager
-		newM.getLayout().setGraphManager(newM);
-		newM.addRoot();
-		
-		newM.getRoot().vGraphObject = lastM.getRoot().vGraphObject;
-
-		// construct nodes of the coarser graph Mi+1
-		this.coarsenNodes((CoSEGraph)lastM.getRoot(), (CoSEGraph)newM.getRoot());
-
-		// change currently being used graph manager
-		lastM.getLayout().setGraphManager(lastM);
-		
-		// add edges to the coarser graph Mi+1
-		this.addEdges(lastM, newM);
-
-		return newM;
-	}
-
-	/**
-	 * This method coarsens nodes of Mi and creates nodes of the coarser graph Mi+1
-	 * g: Mi, coarserG: Mi+1
-	 */
-	private void coarsenNodes(CoSEGraph g, CoSEGraph coarserG)
-	{
-		for (Object obj: g.getNodes())
-		{
-			CoSENode v = (CoSENode) obj;
-			// if v is compound
-			// then, create the compound node v.next with an empty child graph
-			// and, make a recursive call with v.child (Mi) and v.next.child (Mi+1)
-			if (v.getChild() != null)
-			{
-				v.setNext((CoSENode) coarserG.getGraphManager().getLayout().newNode(null));
-				coarserG.getGraphManager().add(coarserG.getGraphManager().getLayout().newGraph(null), 
-					v.getNext());
-				v.getNext().setPred1(v);
-				coarserG.add(v.getNext());
-				
-				//v.getNext().getChild().vGraphObject = v.getChild().vGraphObject;
-				
-				coarsenNodes ((CoSEGraph) v.getChild(), (CoSEGraph) v.getNext().getChild());
-			}
-			else
-			{
-				// v.next can be referenced by two nodes, so first check if it is processed before
-				if (!v.getNext().isProcessed())
-				{
-					coarserG.add( v.getNext() );
-					v.getNext().setProcessed(true);
-				}
-			}
-			
-			//v.getNext().vGraphObject = v.vGraphObject;
-			
-			// set location
-			v.getNext().setLocation(v.getLocation().x, v.getLocation().y);
-			v.getNext().setHeight(v.getHeight());
-			v.getNext().setWidth(v.getWidth());
-		}	
-	}
-
-	/**
-	 * This method adds edges to the coarser graph.
-	 * It should be called after coarsenNodes method is executed
-	 * lastM: Mi, newM: Mi+1
-	 */
-	private void addEdges(CoSEGraphManager lastM, CoSEGraphManager newM)
-	{
-		for (Object obj: lastM.getAllEdges())
-		{
-			LEdge e = (LEdge) obj;
-			// if e is an inter-graph edge or source or target of e is compound 
-			// then, e has not contracted during coarsening process. Add e to the coarser graph.			
-			if ( (e.isInterGraph()) || 
-				(e.getSource().getChild() != null) || 
-				(e.getTarget().getChild() != null) )
-			{
-				// check if e is not added before
-				if ( ! ((CoSENode)e.getSource()).getNext().getNeighborsList().
-					contains(((CoSENode)e.getTarget()).getNext()) )
-				{
-					newM.add(newM.getLayout().newEdge(null), 
-						((CoSENode)e.getSource()).getNext(), 
-						((CoSENode)e.getTarget()).getNext());
-				}
-			}
-
-			// otherwise, if e is not contracted during coarsening process
-			// then, add it to the  coarser graph
-			else
-			{
-				if (((CoSENode)e.getSource()).getNext() != ((CoSENode)e.getTarget()).getNext())
-				{
-					// check if e is not added before
-					if ( ! ((CoSENode)e.getSource()).getNext().getNeighborsList().
-						contains(((CoSENode)e.getTarget()).getNext()) )
-					{
-						newM.add(newM.getLayout().newEdge(null), 
-							((CoSENode)e.getSource()).getNext(), 
-							((CoSENode)e.getTarget()).getNext());
-					}
-				}
-			}
-		}
-	}
-
-	
-}
+package org.ivis.layout.cose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.ivis.layout.LEdge;
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LGraphManager;
+import org.ivis.layout.Layout;
+import org.ivis.layout.fd.FDLayoutEdge;
+
+/**
+ * This class implements a graph-manager for CoSE layout specific data and
+ * functionality.
+ *
+ * @author Alper Karacelik
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoSEGraphManager extends LGraphManager
+{
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	public CoSEGraphManager(Layout layout)
+	{
+		super(layout);
+	}
+// -----------------------------------------------------------------------------
+// Section: Coarsening
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns a list of CoSEGraphManager.
+	 * Returned list holds graphs finer to coarser (M0 to Mk)
+	 * Additionally, this method is only called by M0.
+	 *
+	 * Coarsening graphs G0 to Gk are computed first on compact arrays, and
+	 * graph managers M1 to Mk are then built from them.
+	 */
+	public ArrayList<CoSEGraphManager> coarsenGraph()
+	{
+		// MList holds graph managers from M0 to Mk
+		ArrayList<CoSEGraphManager> MList = new ArrayList<CoSEGraphManager>();
+
+		// "this" graph manager holds the finest (input) graph
+		MList.add(this);
+
+		// coarsening graph G0 holds only the leaf nodes and the edges between
+		// them which are considered for coarsening process
+		List<CoSENode> leaves = new ArrayList<CoSENode>();
+		CoarseningGraph G = createCoarseningGraph(leaves);
+		List<CoarseningGraph> GList = new ArrayList<CoarseningGraph>();
+		int prevNodeCount;
+		int currNodeCount = G.getNodeCount();
+
+		// if two graphs Gi and Gi+1 have the same order,
+		// then Gi = Gi+1 is the coarsest graph (Gk), so stop coarsening process
+		do {
+			prevNodeCount = currNodeCount;
+
+			// coarsen Gi
+			G = G.coarsen();
+			GList.add(G);
+			currNodeCount = G.getNodeCount();
+
+		} while ((prevNodeCount != currNodeCount) && (currNodeCount > 1));
+
+		// construct M1 to Mk from G1 to Gk (the last coarsening graph is not
+		// used, as in the original coarsening process)
+		CoSENode[] references = leaves.toArray(new CoSENode[leaves.size()]);
+
+		for (int i = 0; i < GList.size() - 1; i++)
+		{
+			// get current coarsest graph lastM = Mi and construct newM = Mi+1
+			CoSEGraphManager lastM = MList.get(MList.size() - 1);
+			CoSEGraphManager newM = new CoSEGraphManager(lastM.getLayout());
+
+			references = coarsen(lastM, newM, GList.get(i), references);
+			MList.add(newM);
+		}
+
+		// change currently being used graph manager
+		this.getLayout().setGraphManager(this);
+
+		return MList;
+	}
+
+	/**
+	 * This method creates coarsening graph G0 from the leaf nodes of this
+	 * graph manager and the edges between them. Leaf nodes are appended to
+	 * the input list in the order of nodes of G0.
+	 */
+	private CoarseningGraph createCoarseningGraph(List<CoSENode> leaves)
+	{
+		// index of each leaf node in G0 by node id
+		int[] leafIndex = new int[this.getNodeIdBound()];
+		List<LEdge> leafEdges = new ArrayList<LEdge>();
+
+		collectLeaves((CoSEGraph) this.getRoot(), leaves, leafIndex, leafEdges);
+
+		// leaf nodes are grouped by their owner graphs, identified by the ids
+		// of their parents (the root graph being group 0)
+		int[] group = new int[leaves.size()];
+
+		for (int v = 0; v < group.length; v++)
+		{
+			LGraph owner = leaves.get(v).getOwner();
+
+			group[v] = owner == this.getRoot() ?
+				0 : owner.getParent().getId() + 1;
+		}
+
+		int edgeCount = leafEdges.size();
+		int[] source = new int[edgeCount];
+		int[] target = new int[edgeCount];
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			LEdge edge = leafEdges.get(e);
+
+			source[e] = leafIndex[edge.getSource().getId()];
+			target[e] = leafIndex[edge.getTarget().getId()];
+		}
+
+		return new CoarseningGraph(leaves.size(), group, source, target,
+			edgeCount);
+	}
+
+	/**
+	 * This method collects the leaf nodes of the given CoSEGraph and of the
+	 * graphs nested in it, along with the edges between leaf nodes of the
+	 * same graph.
+	 */
+	private void collectLeaves(CoSEGraph coseG,
+		List<CoSENode> leaves,
+		int[] leafIndex,
+		List<LEdge> leafEdges)
+	{
+		for (Object obj: coseG.getNodes())
+		{
+			CoSENode v = (CoSENode) obj;
+			// if current node is compound,
+			// then make a recursive call with child graph of current compound node
+			if (v.getChild() != null)
+			{
+				collectLeaves((CoSEGraph) v.getChild(), leaves, leafIndex,
+					leafEdges);
+			}
+			// otherwise current node is a leaf, and should be in the G0
+			else
+			{
+				leafIndex[v.getId()] = leaves.size();
+				leaves.add(v);
+			}
+		}
+
+		for (Object obj: coseG.getEdges())
+		{
+			LEdge e = (LEdge) obj;
+			// if neither source nor target of e is a compound node
+			// then, e is an edge between two leaf nodes
+			if ((e.getSource().getChild() == null) && (e.getTarget().getChild() == null))
+			{
+				leafEdges.add(e);
+			}
+		}
+	}
+
+	/**
+	 * This method builds newM = Mi+1 from lastM = Mi. Leaf nodes of Mi are the
+	 * nodes of coarsening graph Gi, given as the input references, and coarser
+	 * is Gi+1. Leaf nodes of Mi+1 (i.e. the nodes of Gi+1) are returned.
+	 */
+	private CoSENode[] coarsen(CoSEGraphManager lastM,
+		CoSEGraphManager newM,
+		CoarseningGraph coarser,
+		CoSENode[] references)
+	{
+		// change currently being used graph manager
+		newM.getLayout().setGraphManager(newM);
+		newM.addRoot();
+
+		newM.getRoot().vGraphObject = lastM.getRoot().vGraphObject;
+
+		// construct pred1, pred2, next fields of the leaf nodes
+		CoSENode[] coarserReferences = new CoSENode[coarser.getNodeCount()];
+
+		for (int c = 0; c < coarserReferences.length; c++)
+		{
+			// new CoSE node will be in Mi+1
+			CoSENode z = (CoSENode) newM.getLayout().newNode(null);
+			CoSENode pred1 = references[coarser.getFirstMember(c)];
+
+			z.setPred1(pred1);
+			pred1.setNext(z);
+
+			// if current node is not matched with itself
+			if (coarser.getSecondMember(c) != -1)
+			{
+				CoSENode pred2 = references[coarser.getSecondMember(c)];
+
+				z.setPred2(pred2);
+				pred2.setNext(z);
+			}
+
+			coarserReferences[c] = z;
+		}
+
+		// construct nodes of the coarser graph Mi+1
+		this.coarsenNodes((CoSEGraph)lastM.getRoot(), (CoSEGraph)newM.getRoot());
+
+		// change currently being used graph manager
+		lastM.getLayout().setGraphManager(lastM);
+
+		// add edges to the coarser graph Mi+1
+		this.addEdges(lastM, newM);
+
+		return coarserReferences;
+	}
+
+	/**
+	 * This method coarsens nodes of Mi and creates nodes of the coarser graph Mi+1
+	 * g: Mi, coarserG: Mi+1
+	 */
+	private void coarsenNodes(CoSEGraph g, CoSEGraph coarserG)
+	{
+		for (Object obj: g.getNodes())
+		{
+			CoSENode v = (CoSENode) obj;
+			// if v is compound
+			// then, create the compound node v.next with an empty child graph
+			// and, make a recursive call with v.child (Mi) and v.next.child (Mi+1)
+			if (v.getChild() != null)
+			{
+				v.setNext((CoSENode) coarserG.getGraphManager().getLayout().newNode(null));
+				coarserG.getGraphManager().add(coarserG.getGraphManager().getLayout().newGraph(null), 
+					v.getNext());
+				v.getNext().setPred1(v);
+				coarserG.add(v.getNext());
+				
+				//v.getNext().getChild().vGraphObject = v.getChild().vGraphObject;
+				
+				coarsenNodes ((CoSEGraph) v.getChild(), (CoSEGraph) v.getNext().getChild());
+			}
+			else
+			{
+				// v.next can be referenced by two nodes, so first check if it is processed before
+				if (!v.getNext().isProcessed())
+				{
+					coarserG.add( v.getNext() );
+					v.getNext().setProcessed(true);
+				}
+			}
+			
+			//v.getNext().vGraphObject = v.vGraphObject;
+			
+			// set location
+			v.getNext().setLocation(v.getLocation().x, v.getLocation().y);
+			v.getNext().setHeight(v.getHeight());
+			v.getNext().setWidth(v.getWidth());
+		}	
+	}
+
+	/**
+	 * This method adds edges to the coarser graph.
+	 * It should be called after coarsenNodes method is executed
+	 * lastM: Mi, newM: Mi+1
+	 */
+	private void addEdges(CoSEGraphManager lastM, CoSEGraphManager newM)
+	{
+		LEdge[] edges = lastM.getAllEdges();
+		int[] first = new int[edges.length];
+		int[] second = new int[edges.length];
+		int bound = newM.getNodeIdBound();
+		int[] start = new int[bound + 1];
+
+		// ids of the end nodes in Mi+1 of each edge, the smaller one first;
+		// -1 if the edge is contracted during coarsening process
+		for (int i = 0; i < edges.length; i++)
+		{
+			LEdge e = edges[i];
+			CoSENode source = ((CoSENode) e.getSource()).getNext();
+			CoSENode target = ((CoSENode) e.getTarget()).getNext();
+
+			// an inter-graph edge or an edge incident to a compound is never
+			// contracted
+			if (!e.isInterGraph() &&
+				e.getSource().getChild() == null &&
+				e.getTarget().getChild() == null &&
+				source == target)
+			{
+				first[i] = -1;
+				continue;
+			}
+
+			first[i] = Math.min(source.getId(), target.getId());
+			second[i] = Math.max(source.getId(), target.getId());
+			start[first[i] + 1]++;
+		}
+
+		// an edge is added only if it is the first one between its end
+		// nodes; edges are bucketed by their first end node, in order, so
+		// parallel edges are found in linear time
+		for (int v = 0; v < bound; v++)
+		{
+			start[v + 1] += start[v];
+		}
+
+		int[] end = Arrays.copyOf(start, bound);
+		int[] bucket = new int[start[bound]];
+
+		for (int i = 0; i < edges.length; i++)
+		{
+			if (first[i] != -1)
+			{
+				bucket[end[first[i]]++] = i;
+			}
+		}
+
+		// weights of parallel edges are aggregated in the edge added
+		int[] weight = new int[edges.length];
+		int[] mark = new int[bound];
+		int[] added = new int[bound];
+
+		Arrays.fill(mark, -1);
+
+		for (int v = 0; v < bound; v++)
+		{
+			for (int k = start[v]; k < start[v + 1]; k++)
+			{
+				int i = bucket[k];
+
+				if (mark[second[i]] != v)
+				{
+					mark[second[i]] = v;
+					added[second[i]] = i;
+				}
+
+				weight[added[second[i]]] += ((FDLayoutEdge) edges[i]).weight;
+			}
+		}
+
+		for (int i = 0; i < edges.length; i++)
+		{
+			if (weight[i] > 0)
+			{
+				FDLayoutEdge edge = (FDLayoutEdge) newM.add(
+					newM.getLayout().newEdge(null),
+					((CoSENode)edges[i].getSource()).getNext(),
+					((CoSENode)edges[i].getTarget()).getNext());
+
+				edge.weight = weight[i];
+			}
+		}
+	}
+}
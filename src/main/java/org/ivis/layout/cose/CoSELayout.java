@@ -1,636 +1,1315 @@
-package org.ivis.layout.cose;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Set;
-import java.awt.*;
-
-import org.ivis.layout.*;
-import org.ivis.layout.fd.*;
-import org.ivis.util.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-/**
- * This class implements the overall layout process for the CoSE algorithm.
- * Details of this algorithm can be found in the following article:
- * 		U. Dogrusoz, E. Giral, A. Cetintas, A. Civril, and E. Demir,
- * 		"A Layout Algorithm For Undirected Compound Graphs",
- * 		Information Sciences, 179, pp. 980-994, 2009.
- *
- * @author Ugur Dogrusoz
- * @author Erhan Giral
- * @author Cihan Kucukkececi
- * @author Alper Karacelik
- * 
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoSELayout extends FDLayout
-{
-	private final static Logger log = LoggerFactory.getLogger(CoSELayout.class);
-
-	/**
-	 * Whether or not multi-level scaling should be used to speed up layout
-	 */
-	public boolean useMultiLevelScaling = CoSEConstants.DEFAULT_USE_MULTI_LEVEL_SCALING;
-	
-	/**
-	 * Level of the current graph manager in the coarsening process
-	 */
-	private int level;
-	
-	/**
-	 * Total level number
-	 */
-	private int noOfLevels;
-	
-	/**
-	 * Holds all graph managers (M0 to Mk)
-	 */
-	ArrayList<CoSEGraphManager> MList;
-
-// -----------------------------------------------------------------------------
-// Section: Constructors and initializations
-// -----------------------------------------------------------------------------
-	/**
-	 * The constructor creates and associates with this layout a new graph
-	 * manager as well.
-	 */
-	public CoSELayout()
-	{
-		super();
-	}
-
-	/**
-	 * This method creates a new graph manager associated with this layout.
-	 */
-	protected LGraphManager newGraphManager()
-	{
-		LGraphManager gm = new CoSEGraphManager(this);
-		graphManager = gm;
-		return gm;
-	}
-	
-	/**
-	 * This method creates a new graph associated with the input view graph.
-	 */
-	public LGraph newGraph(Object vGraph)
-	{
-		return new CoSEGraph(null, graphManager, vGraph);
-	}
-
-	/**
-	 * This method creates a new node associated with the input view node.
-	 */
-	public LNode newNode(Object vNode)
-	{
-		return new CoSENode(graphManager, vNode);
-	}
-
-	/**
-	 * This method creates a new edge associated with the input view edge.
-	 */
-	public LEdge newEdge(Object vEdge)
-	{
-		return new CoSEEdge(null, null, vEdge);
-	}
-
-	/**
-	 * This method is used to set all layout parameters to default values.
-	 */
-	public void initParameters()
-	{
-		super.initParameters();
-
-		if (!isSubLayout)
-		{
-			LayoutOptionsPack.CoSE layoutOptionsPack =
-				LayoutOptionsPack.getInstance().getCoSE();
-
-			if (layoutOptionsPack.idealEdgeLength < 10)
-			{
-				idealEdgeLength = 10;
-			}
-			else
-			{
-				idealEdgeLength = layoutOptionsPack.idealEdgeLength;
-			}
-
-			useSmartIdealEdgeLengthCalculation =
-				layoutOptionsPack.smartEdgeLengthCalc;
-			useMultiLevelScaling =
-				layoutOptionsPack.multiLevelScaling;
-			springConstant =
-				transform(layoutOptionsPack.springStrength,
-					FDLayoutConstants.DEFAULT_SPRING_STRENGTH, 5.0, 5.0);
-			repulsionConstant =
-				transform(layoutOptionsPack.repulsionStrength,
-					FDLayoutConstants.DEFAULT_REPULSION_STRENGTH, 5.0, 5.0);
-			gravityConstant =
-				transform(layoutOptionsPack.gravityStrength,
-					FDLayoutConstants.DEFAULT_GRAVITY_STRENGTH);
-			compoundGravityConstant =
-				transform(layoutOptionsPack.compoundGravityStrength,
-					FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_STRENGTH);
-			gravityRangeFactor =
-				transform(layoutOptionsPack.gravityRange,
-					FDLayoutConstants.DEFAULT_GRAVITY_RANGE_FACTOR);
-			compoundGravityRangeFactor =
-				transform(layoutOptionsPack.compoundGravityRange,
-					FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_RANGE_FACTOR);
-		}
-	}
-		
-// -----------------------------------------------------------------------------
-// Section: Layout!
-// -----------------------------------------------------------------------------
-
-	/**
-	 * This method performs layout on constructed l-level graph. It returns true
-	 * on success, false otherwise.
-	 */
-	public boolean layout()
-	{
-		boolean createBendsAsNeeded = LayoutOptionsPack.getInstance().getGeneral().createBendsAsNeeded;
-
-		if (createBendsAsNeeded) {
-			createBendpoints();
-			// reset edge list, since the topology has changed
-			graphManager.resetAllEdges();
-		}
-		
-		if (useMultiLevelScaling && !incremental) {
-			return multiLevelScalingLayout();
-		}
-		else {
-			level = 0;
-			return classicLayout();
-		}
-	}
-
-	/**
-	 * This method applies multi-level scaling during layout
-	 */
-	private boolean multiLevelScalingLayout ()
-	{
-		CoSEGraphManager gm = (CoSEGraphManager)graphManager;
-
-		// Start coarsening process
-		
-		// save graph managers M0 to Mk in an array list
-		MList = gm.coarsenGraph();
-
-		noOfLevels = MList.size()-1;
-		level = noOfLevels;
-		
-		while (level >= 0)
-		{
-			graphManager = gm = MList.get(level);
-
-			classicLayout();
-
-			// after finishing layout of first (coarsest) level,
-			incremental = true;
-			
-			if (level >= 1)
-			{	
-				uncoarsen(); // also makes initial placement for Mi-1
-			}
-			
-			// reset total iterations
-			totalIterations = 0;
-			
-			level--;
-		}
-		
-		incremental = false;
-		return true;
-	}
-	
-	/**
-	 * This method uses classic layout method (without multi-scaling)
-	 * @return
-	 */
-	protected boolean classicLayout()
-	{
-		calculateNodesToApplyGravitationTo();
-		calcNoOfChildrenForAllNodes();
-		
-		graphManager.calcLowestCommonAncestors();
-		graphManager.calcInclusionTreeDepths();
-		graphManager.getRoot().calcEstimatedSize();
-		calcIdealEdgeLengths();
-	
-		if (!incremental)
-		{
-			List<List<LNode>> forest = getFlatForest();
-	
-			if (forest.size() > 0)
-			// The graph associated with this layout is flat and a forest
-			{
-				positionNodesRadially(forest);
-			}
-			else
-			// The graph associated with this layout is not flat or a forest
-			{
-				positionNodesRandomly();
-			}
-		}
-	
-		initSpringEmbedder();
-		runSpringEmbedder();
-
-		log.info("Classic CoSE layout finished after " + totalIterations + " iterations");
-		
-		return true;
-	}
-
-	/**
-	 * This method performs the actual layout on the l-level compound graph. An
-	 * update() needs to be called for changes to be propogated to the v-level
-	 * compound graph.
-	 */
-	public void runSpringEmbedder()
-	{
-		do
-		{
-			totalIterations++;
-
-			if (totalIterations % FDLayoutConstants.CONVERGENCE_CHECK_PERIOD == 0)
-			{
-				if (isConverged())
-				{
-					break;
-				}
-
-				coolingFactor = initialCoolingFactor *
-					((maxIterations - totalIterations) / (double)maxIterations);
-			}
-
-			totalDisplacement = 0;
-
-			calcSpringForces();
-			calcRepulsionForces();
-			calcGravitationalForces();
-			moveNodes();
-			graphManager.updateBounds();
-
-			animate();
-
-		}
-		while (totalIterations < maxIterations);
-		
-		graphManager.updateBounds();
-	}
-
-	/**
-	 * This method finds and forms a list of nodes for which gravitation should
-	 * be applied. For connected graphs (root graph or compounds / child graphs)
-	 * there is no need to apply gravitation. While doing so, each graph in the
-	 * associated graph manager is marked as connected or not.
-	 */
-	public void calculateNodesToApplyGravitationTo()
-	{
-		List nodeList = new LinkedList();
-		LGraph graph;
-
-		for (Object obj : graphManager.getGraphs())
-		{
-			graph = (LGraph) obj;
-
-			graph.updateConnected();
-
-			if (!graph.isConnected())
-			{
-				nodeList.addAll(graph.getNodes());
-			}
-		}
-
-		graphManager.setAllNodesToApplyGravitation(nodeList);
-	}
-	
-	/**
-	 * This method calculates the number of children (weight) for all nodes
-	 */
-	public void calcNoOfChildrenForAllNodes()
-	{
-	  LNode node;
-	  
-	  for (Object obj: this.graphManager.getAllNodes())
-	  {
-		  node = (LNode) obj;
-	      node.noOfChildren = node.getNoOfChildren();
-	  }
-	}
-
-	/**
-	 * This method creates bendpoints multi-edges which are incident to same  
-	 * source and target nodes, and for all edges that have the same node as 
-	 * both source and target.
-	 */
-	private void createBendpoints()
-	{
-		List edges = new ArrayList();
-		edges.addAll(Arrays.asList(graphManager.getAllEdges()));
-		Set visited = new HashSet();
-
-		for (int i = 0; i < edges.size(); i++)
-		{
-			LEdge edge = (LEdge) edges.get(i);
-
-			if (!visited.contains(edge))
-			{
-				LNode source = edge.getSource();
-				LNode target = edge.getTarget();
-
-				if (source == target)
-				{
-					edge.getBendpoints().add(new PointD());
-					edge.getBendpoints().add(new PointD());
-					createDummyNodesForBendpoints(edge);
-					visited.add(edge);
-				}
-				else
-				{
-					List edgeList = new ArrayList();
-					
-					edgeList.addAll(source.getEdgeListToNode(target));
-					edgeList.addAll(target.getEdgeListToNode(source));
-
-					if (!visited.contains(edgeList.get(0)))
-					{
-						if (edgeList.size() > 1)
-						{
-							for(int k = 0; k < edgeList.size(); k++)
-							{
-								LEdge multiEdge = (LEdge)edgeList.get(k);
-								multiEdge.getBendpoints().add(new PointD());
-								createDummyNodesForBendpoints(multiEdge);
-							}
-						}
-
-						visited.addAll(edgeList);
-					}
-				}
-			}
-
-			if (visited.size() == edges.size())
-			{
-				break;
-			}
-		}
-	}
-	
-	/**
-	 * This method performs initial positioning of given forest radially. The
-	 * final drawing should be centered at the gravitational center.
-	 */
-	protected void positionNodesRadially(List<List<LNode>> forest)
-	{
-		// We tile the trees to a grid row by row; first tree starts at (0,0)
-		Point currentStartingPoint = new Point(0, 0);
-		int numberOfColumns = (int) Math.ceil(Math.sqrt(forest.size()));
-		int height = 0;
-		int currentY = 0;
-		int currentX = 0;
-		PointD point = new PointD(0, 0);
-
-		for (int i = 0; i < forest.size(); i++)
-		{
-			if (i % numberOfColumns == 0)
-			{
-				// Start of a new row, make the x coordinate 0, increment the
-				// y coordinate with the max height of the previous row
-				currentX = 0;
-				currentY = height;
-
-				if (i !=0)
-				{
-					currentY += CoSEConstants.DEFAULT_COMPONENT_SEPERATION;
-				}
-
-				height = 0;
-			}
-
-			List<LNode> tree = forest.get(i);
-
-			// Find the center of the tree
-			LNode centerNode = Layout.findCenterOfTree(tree);
-
-			// Set the staring point of the next tree
-			currentStartingPoint.x = currentX;
-			currentStartingPoint.y = currentY;
-
-			// Do a radial layout starting with the center
-			point =
-				CoSELayout.radialLayout(tree, centerNode, currentStartingPoint);
-
-			if (point.y > height)
-			{
-				height = (int) point.y;
-			}
-
-			currentX = (int)
-				(point.x + CoSEConstants.DEFAULT_COMPONENT_SEPERATION);
-		}
-
-		transform(
-			new PointD(LayoutConstants.WORLD_CENTER_X - point.x / 2,
-				LayoutConstants.WORLD_CENTER_Y - point.y / 2));
-	}
-
-	/**
-	 * This method positions given nodes according to a simple radial layout
-	 * starting from the center node. The top-left of the final drawing is to be
-	 * at given location. It returns the bottom-right of the bounding rectangle
-	 * of the resulting tree drawing.
-	 */
-	private static PointD radialLayout(List<LNode> tree,
-		LNode centerNode,
-		Point startingPoint)
-	{
-		double radialSep = Math.max(maxDiagonalInTree(tree),
-			CoSEConstants.DEFAULT_RADIAL_SEPARATION);
-		CoSELayout.branchRadialLayout(centerNode, null, 0, 359, 0, radialSep);
-		Rectangle bounds = LGraph.calculateBounds(tree);
-
-		Transform transform = new Transform();
-		transform.setDeviceOrgX(bounds.getMinX());
-		transform.setDeviceOrgY(bounds.getMinY());
-		transform.setWorldOrgX(startingPoint.x);
-		transform.setWorldOrgY(startingPoint.y);
-
-		for (int i = 0; i < tree.size(); i++)
-		{
-			LNode node = tree.get(i);
-			node.transform(transform);
-		}
-
-		PointD bottomRight =
-			new PointD(bounds.getMaxX(), bounds.getMaxY());
-
-		return transform.inverseTransformPoint(bottomRight);
-	}
-
-	/**
-	 * This method is recursively called for radial positioning of a node,
-	 * between the specified angles. Current radial level is implied by the
-	 * distance given. Parent of this node in the tree is also needed.
-	 */
-	private static void branchRadialLayout(LNode node,
-		LNode parentOfNode,
-		double startAngle, double endAngle,
-		double distance, double radialSeparation)
-	{
-		// First, position this node by finding its angle.
-		double halfInterval = ((endAngle - startAngle) + 1) / 2;
-
-		if (halfInterval < 0)
-		{
-			halfInterval += 180;
-		}
-
-		double nodeAngle = (halfInterval + startAngle) % 360;
-		double teta = (nodeAngle * IGeometry.TWO_PI) / 360;
-
-		// Make polar to java cordinate conversion.
-		double x = distance * Math.cos(teta);
-		double y = distance * Math.sin(teta);
-
-		node.setCenter(x, y);
-
-		// Traverse all neighbors of this node and recursively call this
-		// function.
-
-		List<LEdge> neighborEdges = new LinkedList<LEdge>(node.getEdges());
-		int childCount = neighborEdges.size();
-
-		if (parentOfNode != null)
-		{
-			childCount--;
-		}
-
-		int branchCount = 0;
-
-		int incEdgesCount = neighborEdges.size();
-		int startIndex;
-
-		List edges = node.getEdgesBetween(parentOfNode);
-
-		// If there are multiple edges, prune them until there remains only one
-		// edge.
-		while (edges.size() > 1)
-		{
-			neighborEdges.remove(edges.remove(0));
-			incEdgesCount--;
-			childCount--;
-		}
-
-		if (parentOfNode != null)
-		{
-			assert edges.size() == 1;
-			startIndex =
-				(neighborEdges.indexOf(edges.get(0)) + 1) % incEdgesCount;
-		}
-		else
-		{
-			startIndex = 0;
-		}
-
-		double stepAngle = Math.abs(endAngle - startAngle) / childCount;
-
-		for (int i = startIndex;
-			branchCount != childCount ;
-			i = (++i) % incEdgesCount)
-		{
-			LNode currentNeighbor =
-				neighborEdges.get(i).getOtherEnd(node);
-
-			// Don't back traverse to root node in current tree.
-			if (currentNeighbor == parentOfNode)
-			{
-				continue;
-			}
-
-			double childStartAngle =
-				(startAngle + branchCount * stepAngle) % 360;
-			double childEndAngle = (childStartAngle + stepAngle) % 360;
-
-			branchRadialLayout(currentNeighbor,
-					node,
-					childStartAngle, childEndAngle,
-					distance + radialSeparation, radialSeparation);
-
-			branchCount++;
-		}
-	}
-
-	/**
-	 * This method finds the maximum diagonal length of the nodes in given tree.
-	 */
-	private static double maxDiagonalInTree(List<LNode> tree)
-	{
-		double maxDiagonal = Double.MIN_VALUE;
-
-		for (int i = 0; i < tree.size(); i++)
-		{
-			LNode node = tree.get(i);
-			double diagonal = node.getDiagonal();
-
-			if (diagonal > maxDiagonal)
-			{
-				maxDiagonal = diagonal;
-			}
-		}
-
-		return maxDiagonal;
-	}
-
-	// -----------------------------------------------------------------------------
-	// Section: Multi-level Scaling
-	// -----------------------------------------------------------------------------
-	
-	/**
-	 * This method un-coarsens Mi to Mi-1 and makes initial placement for Mi-1
-	 */
-	public void uncoarsen ()
-	{
-		for (Object obj: graphManager.getAllNodes())
-		{
-			CoSENode v = (CoSENode) obj;
-			// set positions of v.pred1 and v.pred2
-			v.getPred1().setLocation(v.getLeft(), v.getTop());
-			
-			if (v.getPred2() != null)
-			{
-				// TODO: check (what?)
-				/*
-				double w = v.getPred1().getRect().width;
-				double l = idealEdgeLength;
-				v.getPred2().setLocation((v.getPred1().getLeft()+w+l), (v.getPred1().getTop()+w+l));
-				*/
-				v.getPred2().setLocation(v.getLeft()+idealEdgeLength,
-					v.getTop()+idealEdgeLength);
-			}
-		}
-	}
-	
-// -----------------------------------------------------------------------------
-// Section: FR-Grid Variant Repulsion Force Calculation
-// -----------------------------------------------------------------------------
-	
-	/**
-	 * This method calculates the repulsion range
-	 * Also it can be used to calculate the height of a grid's edge
-	 */
-	@Override
-	protected double calcRepulsionRange()
-	{
-		// formula is 2 x (level + 1) x idealEdgeLength
-		return (2 * ( level+1 ) * idealEdgeLength);
-	}
-
+package org.ivis.layout.cose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.awt.*;
+
+import org.ivis.layout.*;
+import org.ivis.layout.fd.*;
+import org.ivis.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements the overall layout process for the CoSE algorithm.
+ * Details of this algorithm can be found in the following article:
+ * 		U. Dogrusoz, E. Giral, A. Cetintas, A. Civril, and E. Demir,
+ * 		"A Layout Algorithm For Undirected Compound Graphs",
+ * 		Information Sciences, 179, pp. 980-994, 2009.
+ *
+ * @author Ugur Dogrusoz
+ * @author Erhan Giral
+ * @author Cihan Kucukkececi
+ * @author Alper Karacelik
+ * 
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoSELayout extends FDLayout
+{
+	private final static Logger log = LoggerFactory.getLogger(CoSELayout.class);
+
+	/**
+	 * Whether or not multi-level scaling should be used to speed up layout
+	 */
+	public boolean useMultiLevelScaling = CoSEConstants.DEFAULT_USE_MULTI_LEVEL_SCALING;
+
+	/**
+	 * Whether or not the spring embedder should run on packed primitive
+	 * arrays (see CoSEForceKernel) instead of node and edge objects. Results
+	 * are the same either way. The kernel is not used together with
+	 * Barnes-Hut repulsion, parallel force calculation, the active set,
+	 * adaptive cooling, lazy translation or fixed nodes.
+	 */
+	public boolean usePrimitiveForceKernel =
+		CoSEConstants.DEFAULT_USE_PRIMITIVE_FORCE_KERNEL;
+
+	/**
+	 * Whether or not the connected components of the root graph should be
+	 * laid out separately, concurrently on the executor of this layout if
+	 * any, and packed afterwards instead of being kept together by gravity
+	 * (see ComponentLayout). Components are laid out this way unless layout
+	 * is incremental or some node is fixed.
+	 */
+	public boolean useComponentLayout =
+		CoSEConstants.DEFAULT_USE_COMPONENT_LAYOUT;
+
+	/**
+	 * Whether or not the contents of compound nodes should be laid out
+	 * separately and bottom-up, each compound node being a rigid block in the
+	 * layout of its owner graph, concurrently on the executor of this layout
+	 * if any (see HierarchicalLayout). The graph is laid out this way unless
+	 * layout is incremental or some node is fixed.
+	 */
+	public boolean useHierarchicalLayout =
+		CoSEConstants.DEFAULT_USE_HIERARCHICAL_LAYOUT;
+
+	/**
+	 * Possibly null cache through which parts of the graph laid out
+	 * separately are laid out
+	 */
+	private LayoutCache subLayoutCache;
+	
+	/**
+	 * Level of the current graph manager in the coarsening process
+	 */
+	private int level;
+	
+	/**
+	 * Total level number
+	 */
+	private int noOfLevels;
+	
+	/**
+	 * Holds all graph managers (M0 to Mk)
+	 */
+	ArrayList<CoSEGraphManager> MList;
+
+	/**
+	 * Changes to be laid out by the delta layout in progress, null unless a
+	 * delta layout is in progress
+	 */
+	private ChangeSet changeSet;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initializations
+// -----------------------------------------------------------------------------
+	/**
+	 * The constructor creates and associates with this layout a new graph
+	 * manager as well.
+	 */
+	public CoSELayout()
+	{
+		super();
+	}
+
+	/**
+	 * This method creates a new graph manager associated with this layout.
+	 */
+	protected LGraphManager newGraphManager()
+	{
+		LGraphManager gm = new CoSEGraphManager(this);
+		graphManager = gm;
+		return gm;
+	}
+	
+	/**
+	 * This method creates a new graph associated with the input view graph.
+	 */
+	public LGraph newGraph(Object vGraph)
+	{
+		return new CoSEGraph(null, graphManager, vGraph);
+	}
+
+	/**
+	 * This method creates a new node associated with the input view node.
+	 */
+	public LNode newNode(Object vNode)
+	{
+		return new CoSENode(graphManager, vNode);
+	}
+
+	/**
+	 * This method creates a new edge associated with the input view edge.
+	 */
+	public LEdge newEdge(Object vEdge)
+	{
+		return new CoSEEdge(null, null, vEdge);
+	}
+
+	/**
+	 * This method is used to set all layout parameters to default values.
+	 */
+	public void initParameters()
+	{
+		super.initParameters();
+
+		if (!isSubLayout)
+		{
+			LayoutOptionsPack.CoSE layoutOptionsPack =
+				getOptions().getCoSE();
+
+			if (layoutOptionsPack.idealEdgeLength < 10)
+			{
+				idealEdgeLength = 10;
+			}
+			else
+			{
+				idealEdgeLength = layoutOptionsPack.idealEdgeLength;
+			}
+
+			useSmartIdealEdgeLengthCalculation =
+				layoutOptionsPack.smartEdgeLengthCalc;
+			useMultiLevelScaling =
+				layoutOptionsPack.multiLevelScaling;
+			usePrimitiveForceKernel =
+				layoutOptionsPack.primitiveForceKernel;
+			useComponentLayout =
+				layoutOptionsPack.componentLayout;
+			useHierarchicalLayout =
+				layoutOptionsPack.hierarchicalLayout;
+			springConstant =
+				transform(layoutOptionsPack.springStrength,
+					FDLayoutConstants.DEFAULT_SPRING_STRENGTH, 5.0, 5.0);
+			repulsionConstant =
+				transform(layoutOptionsPack.repulsionStrength,
+					FDLayoutConstants.DEFAULT_REPULSION_STRENGTH, 5.0, 5.0);
+			gravityConstant =
+				transform(layoutOptionsPack.gravityStrength,
+					FDLayoutConstants.DEFAULT_GRAVITY_STRENGTH);
+			compoundGravityConstant =
+				transform(layoutOptionsPack.compoundGravityStrength,
+					FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_STRENGTH);
+			gravityRangeFactor =
+				transform(layoutOptionsPack.gravityRange,
+					FDLayoutConstants.DEFAULT_GRAVITY_RANGE_FACTOR);
+			compoundGravityRangeFactor =
+				transform(layoutOptionsPack.compoundGravityRange,
+					FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_RANGE_FACTOR);
+		}
+	}
+		
+// -----------------------------------------------------------------------------
+// Section: Layout!
+// -----------------------------------------------------------------------------
+
+	/**
+	 * This method performs layout on constructed l-level graph. It returns true
+	 * on success, false otherwise.
+	 */
+	public boolean layout()
+	{
+		if (changeSet != null)
+		{
+			return deltaLayout();
+		}
+
+		boolean createBendsAsNeeded = getOptions().getGeneral().createBendsAsNeeded;
+
+		if (createBendsAsNeeded) {
+			createBendpoints();
+			// reset edge list, since the topology has changed
+			graphManager.resetAllEdges();
+		}
+
+		// fixed nodes stay where they are, hence layout starts from the
+		// current positions of the remaining nodes as well
+		boolean wasIncremental = incremental;
+
+		if (!incremental && hasFixedNodes())
+		{
+			incremental = true;
+		}
+
+		try
+		{
+			if (useHierarchicalLayout && !incremental && !isSubLayout &&
+				graphManager.getGraphs().size() > 1)
+			{
+				// each graph is laid out flat, with the same options
+				// otherwise, its components separately if so requested
+				LayoutOptionsPack options =
+					new LayoutOptionsPack(getOptions());
+
+				options.getCoSE().hierarchicalLayout = false;
+				options.getGeneral().createBendsAsNeeded = false;
+				options.getGeneral().animationDuringLayout = false;
+
+				return new HierarchicalLayout(this).run(options);
+			}
+
+			if (useComponentLayout && !incremental && !isSubLayout)
+			{
+				ComponentLayout componentLayout = new ComponentLayout(this);
+
+				if (componentLayout.getComponentCount() > 1)
+				{
+					// each component is laid out as a whole, with the same
+					// options otherwise
+					LayoutOptionsPack options =
+						new LayoutOptionsPack(getOptions());
+
+					options.getCoSE().componentLayout = false;
+					options.getGeneral().createBendsAsNeeded = false;
+					options.getGeneral().animationDuringLayout = false;
+
+					return componentLayout.run(options);
+				}
+			}
+
+			if (useMultiLevelScaling && !incremental) {
+				return multiLevelScalingLayout();
+			}
+			else {
+				level = 0;
+				return classicLayout();
+			}
+		}
+		finally
+		{
+			incremental = wasIncremental;
+		}
+	}
+
+	/**
+	 * This method sets the cache through which parts of the graph laid out
+	 * separately (connected components and contents of compound nodes) are
+	 * laid out, null for none.
+	 */
+	public void setSubLayoutCache(LayoutCache cache)
+	{
+		subLayoutCache = cache;
+	}
+
+	/**
+	 * This method creates a new layout for a part of the graph laid out
+	 * separately.
+	 */
+	protected CoSELayout newSubLayout()
+	{
+		return new CoSELayout();
+	}
+
+	/**
+	 * This method runs the input layouts of parts of the graph with the input
+	 * options, through the cache for them if any, concurrently on the
+	 * executor of this layout if any, the calling thread taking part as well.
+	 * Sub-layouts are stopped along with this layout, and once one fails, the
+	 * others are stopped (or skipped, if not started yet) and waited for. It
+	 * returns true if all succeed, false otherwise.
+	 */
+	boolean runSubLayouts(List<CoSELayout> subLayouts,
+		LayoutOptionsPack options)
+	{
+		final LayoutCache cache = subLayoutCache;
+		final AtomicBoolean failed = new AtomicBoolean();
+		List<FutureTask<Boolean>> tasks =
+			new ArrayList<FutureTask<Boolean>>(subLayouts.size());
+
+		for (final CoSELayout subLayout : subLayouts)
+		{
+			subLayout.setOptions(options);
+			subLayout.setRandomSeed(getRandomSeed());
+			subLayout.setStopSource(this);
+
+			tasks.add(new FutureTask<Boolean>(new Callable<Boolean>()
+			{
+				public Boolean call()
+				{
+					if (failed.get())
+					{
+						return false;
+					}
+
+					return cache == null ?
+						subLayout.runLayout() : cache.runLayout(subLayout);
+				}
+			}));
+		}
+
+		Executor executor = getExecutor();
+
+		if (executor != null && tasks.size() > 1)
+		{
+			for (FutureTask<Boolean> task : tasks)
+			{
+				try
+				{
+					executor.execute(task);
+				}
+				catch (RejectedExecutionException e)
+				{
+					// the task is run by the calling thread below
+				}
+			}
+		}
+
+		// tasks not yet started are run by the calling thread, while running
+		// or finished ones are waited for
+		Throwable cause = null;
+		boolean interrupted = false;
+
+		for (int i = 0; i < tasks.size(); i++)
+		{
+			FutureTask<Boolean> task = tasks.get(i);
+			boolean succeeded = false;
+
+			task.run();
+
+			try
+			{
+				succeeded = task.get();
+			}
+			catch (InterruptedException e)
+			{
+				// the task is waited for again once the others are stopped
+				interrupted = true;
+				i--;
+			}
+			catch (ExecutionException e)
+			{
+				if (cause == null)
+				{
+					cause = e.getCause();
+				}
+			}
+
+			if (!succeeded && !failed.getAndSet(true))
+			{
+				for (CoSELayout subLayout : subLayouts)
+				{
+					subLayout.cancel();
+				}
+			}
+		}
+
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		if (cause != null)
+		{
+			throw new IllegalStateException("Sub-layout failed!", cause);
+		}
+
+		return !failed.get();
+	}
+
+	/**
+	 * This method applies multi-level scaling during layout
+	 */
+	private boolean multiLevelScalingLayout ()
+	{
+		CoSEGraphManager gm = (CoSEGraphManager)graphManager;
+
+		// Start coarsening process
+		
+		// save graph managers M0 to Mk in an array list
+		MList = gm.coarsenGraph();
+
+		noOfLevels = MList.size()-1;
+		level = noOfLevels;
+		
+		while (level >= 0)
+		{
+			graphManager = gm = MList.get(level);
+
+			// once layout is stopped, spring embedders of the remaining levels
+			// end right away, and positions are merely projected to finer ones
+			classicLayout();
+
+			// after finishing layout of first (coarsest) level,
+			incremental = true;
+			
+			if (level >= 1)
+			{	
+				uncoarsen(); // also makes initial placement for Mi-1
+			}
+			
+			// reset total iterations
+			totalIterations = 0;
+			
+			level--;
+		}
+		
+		incremental = false;
+		return true;
+	}
+	
+	/**
+	 * This method returns the level of the current graph manager in the
+	 * coarsening process, 0 for the input graph.
+	 */
+	protected int getLevel()
+	{
+		return level;
+	}
+
+	/**
+	 * This method uses classic layout method (without multi-scaling)
+	 * @return
+	 */
+	protected boolean classicLayout()
+	{
+		calculateNodesToApplyGravitationTo();
+
+		// weights, depths and estimated sizes in a single pass
+		graphManager.calcSubtreeProperties(true);
+		graphManager.calcLowestCommonAncestors();
+		calcIdealEdgeLengths();
+	
+		if (!incremental)
+		{
+			List<List<LNode>> forest = getFlatForest();
+	
+			if (forest.size() > 0)
+			// The graph associated with this layout is flat and a forest
+			{
+				positionNodesRadially(forest);
+			}
+			else if (usePivotMDSInitialization)
+			// The graph associated with this layout is not flat or a forest
+			{
+				positionNodesByPivotMDS();
+			}
+			else
+			{
+				positionNodesRandomly();
+			}
+		}
+	
+		initSpringEmbedder();
+		runSpringEmbedder();
+
+		log.info("Classic CoSE layout finished after " + totalIterations + " iterations");
+		
+		return true;
+	}
+
+	/**
+	 * This method performs the actual layout on the l-level compound graph. An
+	 * update() needs to be called for changes to be propogated to the v-level
+	 * compound graph.
+	 */
+	public void runSpringEmbedder()
+	{
+		if (usePrimitiveForceKernel &&
+			!useBarnesHutVariant &&
+			!useActiveSet &&
+			!useAdaptiveCooling &&
+			!useLazyTranslation &&
+			!hasPinnedNodes() &&
+			parallelForceCalculator == null)
+		{
+			runSpringEmbedderOnKernel();
+		}
+		else
+		{
+			runSpringEmbedderOnObjects();
+		}
+	}
+
+	/**
+	 * This method runs the spring embedder on node and edge objects.
+	 */
+	private void runSpringEmbedderOnObjects()
+	{
+		do
+		{
+			// a stopped layout ends with its current positions
+			if (isStopRequested())
+			{
+				break;
+			}
+
+			totalIterations++;
+
+			// adaptive cooling checks convergence every iteration instead
+			if (!useAdaptiveCooling &&
+				totalIterations % FDLayoutConstants.CONVERGENCE_CHECK_PERIOD == 0)
+			{
+				if (isConverged())
+				{
+					break;
+				}
+
+				coolingFactor = initialCoolingFactor *
+					((maxIterations - totalIterations) / (double)maxIterations);
+			}
+
+			totalDisplacement = 0;
+
+			calcSpringForces();
+			calcRepulsionForces();
+			calcGravitationalForces();
+			moveNodes();
+			updateDirtyBounds();
+
+			animate();
+
+			if (useAdaptiveCooling && updateAdaptiveCooling())
+			{
+				break;
+			}
+		}
+		while (totalIterations < maxIterations);
+		
+		flushLazyTranslation();
+		graphManager.updateBounds();
+	}
+
+	/**
+	 * This method runs the spring embedder on packed primitive arrays. Node
+	 * objects are only updated when the layout is to be animated and at the
+	 * end.
+	 */
+	private void runSpringEmbedderOnKernel()
+	{
+		CoSEForceKernel kernel = new CoSEForceKernel(this, repulsionRange);
+
+		do
+		{
+			// a stopped layout ends with its current positions
+			if (isStopRequested())
+			{
+				break;
+			}
+
+			totalIterations++;
+
+			if (totalIterations % FDLayoutConstants.CONVERGENCE_CHECK_PERIOD == 0)
+			{
+				if (isConverged())
+				{
+					break;
+				}
+
+				coolingFactor = initialCoolingFactor *
+					((maxIterations - totalIterations) / (double)maxIterations);
+			}
+
+			totalDisplacement = 0;
+
+			kernel.calcSpringForces();
+			kernel.calcRepulsionForces(totalIterations %
+				FDLayoutConstants.GRID_CALCULATION_CHECK_PERIOD == 1);
+			kernel.calcGravitationalForces();
+			kernel.moveNodes();
+			kernel.updateBounds();
+
+			if (animationDuringLayout && !isSubLayout &&
+				notAnimatedIterations == animationPeriod)
+			{
+				kernel.writeBack();
+				graphManager.updateBounds();
+			}
+
+			animate();
+		}
+		while (totalIterations < maxIterations);
+
+		kernel.writeBack();
+		graphManager.updateBounds();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Delta layout
+// -----------------------------------------------------------------------------
+	/**
+	 * This method lays out again the surroundings of the input changes made
+	 * to the already laid out l-level graph: added nodes are placed near
+	 * their neighbors, and the spring embedder moves only the nodes within a
+	 * number of hops (see deltaLayoutHops) from added or touched nodes, all
+	 * other nodes being pinned where they are, while still attracting and
+	 * repelling the moving ones. Lowest common ancestors, ideal lengths of
+	 * edges and nodes to apply gravitation to are refreshed only for the
+	 * changes, and the number of iterations depends on the number of moving
+	 * nodes alone. Changes are cleared upon success. It returns true upon
+	 * success, false otherwise.
+	 */
+	public boolean runDeltaLayout(ChangeSet changes)
+	{
+		changeSet = changes;
+		boolean success;
+
+		try
+		{
+			success = runLayout();
+		}
+		finally
+		{
+			changeSet = null;
+		}
+
+		if (success)
+		{
+			changes.clear();
+		}
+
+		return success;
+	}
+
+	/**
+	 * This method returns whether a delta layout is in progress.
+	 */
+	protected boolean isDeltaLayout()
+	{
+		return changeSet != null;
+	}
+
+	/**
+	 * This method performs the operations required after layout.
+	 * Modification: nodes left out of a delta layout stay where they are,
+	 * hence the drawing is not moved to the origin
+	 */
+	public void doPostLayout()
+	{
+		if (isDeltaLayout())
+		{
+			update();
+		}
+		else
+		{
+			super.doPostLayout();
+		}
+	}
+
+	/**
+	 * This method returns whether the input node, which is within the region
+	 * of a delta layout, may move. By default, simple nodes and empty
+	 * compound nodes may move, nonempty compound nodes moving along with
+	 * their members.
+	 */
+	protected boolean isMovableInDeltaLayout(LNode node)
+	{
+		return node.getChild() == null ||
+			node.getChild().getNodes().isEmpty();
+	}
+
+	/**
+	 * This method performs the delta layout of the current change set.
+	 */
+	private boolean deltaLayout()
+	{
+		LGraphManager gm = graphManager;
+		List<LNode> added = new ArrayList<LNode>();
+		List<LNode> seeds = new ArrayList<LNode>();
+
+		// removed nodes are left out, their ids being freed or reused
+		for (LNode node : changeSet.getAddedNodes())
+		{
+			if (isAlive(node))
+			{
+				added.add(node);
+				seeds.add(node);
+			}
+		}
+
+		for (LNode node : changeSet.getTouchedNodes())
+		{
+			if (isAlive(node))
+			{
+				seeds.add(node);
+			}
+		}
+
+		gm.resetAllNodes();
+		gm.resetAllEdges();
+
+		// weights and depths of nodes are recalculated in a single pass
+		// unless the nesting hierarchy is the same, while sizes are estimated
+		// for added nodes alone
+		if (!added.isEmpty())
+		{
+			gm.resetSubtreeProperties();
+		}
+
+		gm.calcSubtreeProperties(false);
+
+		for (LNode node : added)
+		{
+			node.calcEstimatedSize();
+		}
+
+		// edges incident to changed nodes
+		Set<LEdge> edges = new HashSet<LEdge>();
+
+		for (LNode node : seeds)
+		{
+			for (Object obj : node.getEdges())
+			{
+				LEdge edge = (LEdge) obj;
+
+				if (edges.add(edge))
+				{
+					gm.calcLowestCommonAncestor(edge);
+					calcIdealEdgeLength((FDLayoutEdge) edge);
+				}
+			}
+		}
+
+		updateNodesToApplyGravitationTo(added);
+		placeAddedNodes(added);
+		gm.updateBounds();
+
+		// region of the layout and the nodes moving in it
+		List<LNode> movable = new ArrayList<LNode>();
+		boolean[] visited = new boolean[gm.getNodeIdBound()];
+		List<LNode> frontier = seeds;
+
+		for (LNode node : seeds)
+		{
+			visited[node.getId()] = true;
+		}
+
+		for (int hop = 0; !frontier.isEmpty(); hop++)
+		{
+			List<LNode> next = new ArrayList<LNode>();
+
+			for (LNode node : frontier)
+			{
+				if (isMovableInDeltaLayout(node))
+				{
+					movable.add(node);
+				}
+
+				if (hop == deltaLayoutHops)
+				{
+					continue;
+				}
+
+				for (LNode neighbor : node.getNeighborsList())
+				{
+					if (!visited[neighbor.getId()])
+					{
+						visited[neighbor.getId()] = true;
+						next.add(neighbor);
+					}
+				}
+			}
+
+			frontier = next;
+		}
+
+		boolean wasIncremental = incremental;
+		int oldMaxIterations = maxIterations;
+		Object[] lNodes = getAllNodes();
+
+		try
+		{
+			incremental = true;
+			level = 0;
+			totalIterations = 0;
+
+			// fixed nodes are pinned as of initialization, and remain so
+			initSpringEmbedder();
+
+			for (int i = movable.size() - 1; i >= 0; i--)
+			{
+				if (((FDLayoutNode) movable.get(i)).pinned)
+				{
+					movable.remove(i);
+				}
+			}
+
+			for (int i = 0; i < lNodes.length; i++)
+			{
+				pin((FDLayoutNode) lNodes[i]);
+			}
+
+			for (LNode node : movable)
+			{
+				unpin((FDLayoutNode) node);
+			}
+
+			updateMovableNodes();
+
+			maxIterations = Math.max(movable.size() * 5,
+				FDLayoutConstants.DELTA_LAYOUT_MIN_ITERATIONS);
+			totalDisplacementThreshold =
+				displacementThresholdPerNode * movable.size();
+
+			runSpringEmbedderOnObjects();
+		}
+		finally
+		{
+			for (int i = 0; i < lNodes.length; i++)
+			{
+				unpin((FDLayoutNode) lNodes[i]);
+			}
+
+			updateMovableNodes();
+			incremental = wasIncremental;
+			maxIterations = oldMaxIterations;
+		}
+
+		log.info("Delta CoSE layout of " + movable.size() +
+			" nodes finished after " + totalIterations + " iterations");
+
+		return true;
+	}
+
+	/**
+	 * This method returns whether the input node is still in the graph.
+	 */
+	private boolean isAlive(LNode node)
+	{
+		return node.getId() >= 0 && graphManager.getNode(node.getId()) == node;
+	}
+
+	/**
+	 * This method updates the nodes to apply gravitation to with the input
+	 * added nodes: an added node is included if its graph is not known to be
+	 * connected or it has no edges. Removed nodes are left out.
+	 */
+	private void updateNodesToApplyGravitationTo(List<LNode> added)
+	{
+		Object[] oldNodes = graphManager.getAllNodesToApplyGravitation();
+
+		if (oldNodes == null)
+		{
+			calculateNodesToApplyGravitationTo();
+			return;
+		}
+
+		List<LNode> nodeList =
+			new ArrayList<LNode>(oldNodes.length + added.size());
+
+		// the graph manager keeps these nodes in an untyped array
+		for (Object obj : oldNodes)
+		{
+			LNode node = (LNode) obj;
+
+			if (isAlive(node))
+			{
+				nodeList.add(node);
+			}
+		}
+
+		for (LNode node : added)
+		{
+			if (!node.getOwner().isConnected() || node.getEdges().isEmpty())
+			{
+				nodeList.add(node);
+			}
+		}
+
+		graphManager.setAllNodesToApplyGravitation(nodeList);
+	}
+
+	/**
+	 * This method places the input added simple nodes, in order, around the
+	 * center of their placed neighbors, or randomly around the center of the
+	 * closest graph that is not added if there are none. Added compound
+	 * nodes follow their members.
+	 */
+	private void placeAddedNodes(List<LNode> added)
+	{
+		Random random = getRandom();
+		Set<LNode> unplaced = new HashSet<LNode>(added);
+
+		for (LNode node : added)
+		{
+			if (node.getChild() != null && !node.getChild().getNodes().isEmpty())
+			{
+				continue;
+			}
+
+			double x = 0.0;
+			double y = 0.0;
+			int count = 0;
+
+			for (LNode neighbor : node.getNeighborsList())
+			{
+				if (neighbor != node && !unplaced.contains(neighbor))
+				{
+					x += neighbor.getCenterX();
+					y += neighbor.getCenterY();
+					count++;
+				}
+			}
+
+			if (count > 0)
+			{
+				double angle = random.nextDouble() * 2 * Math.PI;
+
+				node.setCenter(x / count + idealEdgeLength * Math.cos(angle),
+					y / count + idealEdgeLength * Math.sin(angle));
+			}
+			else
+			{
+				LGraph graph = node.getOwner();
+
+				while (graph.getParent() != null &&
+					unplaced.contains(graph.getParent()))
+				{
+					graph = graph.getParent().getOwner();
+				}
+
+				node.setCenter(
+					(graph.getLeft() + graph.getRight()) / 2.0 +
+						(random.nextDouble() - 0.5) * idealEdgeLength,
+					(graph.getTop() + graph.getBottom()) / 2.0 +
+						(random.nextDouble() - 0.5) * idealEdgeLength);
+			}
+
+			unplaced.remove(node);
+		}
+	}
+
+	/**
+	 * This method finds and forms a list of nodes for which gravitation should
+	 * be applied. For connected graphs (root graph or compounds / child graphs)
+	 * there is no need to apply gravitation. While doing so, each graph in the
+	 * associated graph manager is marked as connected or not.
+	 */
+	public void calculateNodesToApplyGravitationTo()
+	{
+		List nodeList = new LinkedList();
+		LGraph graph;
+
+		for (Object obj : graphManager.getGraphs())
+		{
+			graph = (LGraph) obj;
+
+			graph.updateConnected();
+
+			if (!graph.isConnected())
+			{
+				nodeList.addAll(graph.getNodes());
+			}
+		}
+
+		graphManager.setAllNodesToApplyGravitation(nodeList);
+	}
+	
+	/**
+	 * This method calculates the number of children (weight) for all nodes
+	 */
+	public void calcNoOfChildrenForAllNodes()
+	{
+		this.graphManager.calcSubtreeProperties(false);
+	}
+
+	/**
+	 * This method creates bendpoints multi-edges which are incident to same  
+	 * source and target nodes, and for all edges that have the same node as 
+	 * both source and target.
+	 */
+	private void createBendpoints()
+	{
+		List edges = new ArrayList();
+		edges.addAll(Arrays.asList(graphManager.getAllEdges()));
+		Set visited = new HashSet();
+
+		for (int i = 0; i < edges.size(); i++)
+		{
+			LEdge edge = (LEdge) edges.get(i);
+
+			if (!visited.contains(edge))
+			{
+				LNode source = edge.getSource();
+				LNode target = edge.getTarget();
+
+				if (source == target)
+				{
+					edge.getBendpoints().add(new PointD());
+					edge.getBendpoints().add(new PointD());
+					createDummyNodesForBendpoints(edge);
+					visited.add(edge);
+				}
+				else
+				{
+					List edgeList = new ArrayList();
+					
+					edgeList.addAll(source.getEdgeListToNode(target));
+					edgeList.addAll(target.getEdgeListToNode(source));
+
+					if (!visited.contains(edgeList.get(0)))
+					{
+						if (edgeList.size() > 1)
+						{
+							for(int k = 0; k < edgeList.size(); k++)
+							{
+								LEdge multiEdge = (LEdge)edgeList.get(k);
+								multiEdge.getBendpoints().add(new PointD());
+								createDummyNodesForBendpoints(multiEdge);
+							}
+						}
+
+						visited.addAll(edgeList);
+					}
+				}
+			}
+
+			if (visited.size() == edges.size())
+			{
+				break;
+			}
+		}
+	}
+	
+	/**
+	 * This method performs initial positioning of given forest radially. The
+	 * final drawing should be centered at the gravitational center.
+	 */
+	protected void positionNodesRadially(List<List<LNode>> forest)
+	{
+		// We tile the trees to a grid row by row; first tree starts at (0,0)
+		Point currentStartingPoint = new Point(0, 0);
+		int numberOfColumns = (int) Math.ceil(Math.sqrt(forest.size()));
+		int height = 0;
+		int currentY = 0;
+		int currentX = 0;
+		PointD point = new PointD(0, 0);
+
+		for (int i = 0; i < forest.size(); i++)
+		{
+			if (i % numberOfColumns == 0)
+			{
+				// Start of a new row, make the x coordinate 0, increment the
+				// y coordinate with the max height of the previous row
+				currentX = 0;
+				currentY = height;
+
+				if (i !=0)
+				{
+					currentY += CoSEConstants.DEFAULT_COMPONENT_SEPERATION;
+				}
+
+				height = 0;
+			}
+
+			List<LNode> tree = forest.get(i);
+
+			// Find the center of the tree
+			LNode centerNode = Layout.findCenterOfTree(tree);
+
+			// Set the staring point of the next tree
+			currentStartingPoint.x = currentX;
+			currentStartingPoint.y = currentY;
+
+			// Do a radial layout starting with the center
+			point =
+				CoSELayout.radialLayout(tree, centerNode, currentStartingPoint);
+
+			if (point.y > height)
+			{
+				height = (int) point.y;
+			}
+
+			currentX = (int)
+				(point.x + CoSEConstants.DEFAULT_COMPONENT_SEPERATION);
+		}
+
+		transform(
+			new PointD(LayoutConstants.WORLD_CENTER_X - point.x / 2,
+				LayoutConstants.WORLD_CENTER_Y - point.y / 2));
+
+		// the repulsion grid is built from the bounds of the graph
+		getGraphManager().getRoot().updateBounds(true);
+	}
+
+	/**
+	 * This method positions given nodes according to a simple radial layout
+	 * starting from the center node. The top-left of the final drawing is to be
+	 * at given location. It returns the bottom-right of the bounding rectangle
+	 * of the resulting tree drawing.
+	 */
+	private static PointD radialLayout(List<LNode> tree,
+		LNode centerNode,
+		Point startingPoint)
+	{
+		double radialSep = Math.max(maxDiagonalInTree(tree),
+			CoSEConstants.DEFAULT_RADIAL_SEPARATION);
+		CoSELayout.branchRadialLayout(centerNode, null, 0, 359, 0, radialSep);
+		Rectangle bounds = LGraph.calculateBounds(tree);
+
+		Transform transform = new Transform();
+		transform.setDeviceOrgX(bounds.getMinX());
+		transform.setDeviceOrgY(bounds.getMinY());
+		transform.setWorldOrgX(startingPoint.x);
+		transform.setWorldOrgY(startingPoint.y);
+
+		for (int i = 0; i < tree.size(); i++)
+		{
+			LNode node = tree.get(i);
+			node.transform(transform);
+		}
+
+		PointD bottomRight =
+			new PointD(bounds.getMaxX(), bounds.getMaxY());
+
+		return transform.inverseTransformPoint(bottomRight);
+	}
+
+	/**
+	 * This method is recursively called for radial positioning of a node,
+	 * between the specified angles. Current radial level is implied by the
+	 * distance given. Parent of this node in the tree is also needed.
+	 */
+	private static void branchRadialLayout(LNode node,
+		LNode parentOfNode,
+		double startAngle, double endAngle,
+		double distance, double radialSeparation)
+	{
+		// First, position this node by finding its angle.
+		double halfInterval = ((endAngle - startAngle) + 1) / 2;
+
+		if (halfInterval < 0)
+		{
+			halfInterval += 180;
+		}
+
+		double nodeAngle = (halfInterval + startAngle) % 360;
+		double teta = (nodeAngle * IGeometry.TWO_PI) / 360;
+
+		// Make polar to java cordinate conversion.
+		double x = distance * Math.cos(teta);
+		double y = distance * Math.sin(teta);
+
+		node.setCenter(x, y);
+
+		// Traverse all neighbors of this node and recursively call this
+		// function.
+
+		List<LEdge> neighborEdges = new LinkedList<LEdge>(node.getEdges());
+		int childCount = neighborEdges.size();
+
+		if (parentOfNode != null)
+		{
+			childCount--;
+		}
+
+		int branchCount = 0;
+
+		int incEdgesCount = neighborEdges.size();
+		int startIndex;
+
+		List edges = node.getEdgesBetween(parentOfNode);
+
+		// If there are multiple edges, prune them until there remains only one
+		// edge.
+		while (edges.size() > 1)
+		{
+			neighborEdges.remove(edges.remove(0));
+			incEdgesCount--;
+			childCount--;
+		}
+
+		if (parentOfNode != null)
+		{
+			assert edges.size() == 1;
+			startIndex =
+				(neighborEdges.indexOf(edges.get(0)) + 1) % incEdgesCount;
+		}
+		else
+		{
+			startIndex = 0;
+		}
+
+		double stepAngle = Math.abs(endAngle - startAngle) / childCount;
+
+		for (int i = startIndex;
+			branchCount != childCount ;
+			i = (++i) % incEdgesCount)
+		{
+			LNode currentNeighbor =
+				neighborEdges.get(i).getOtherEnd(node);
+
+			// Don't back traverse to root node in current tree.
+			if (currentNeighbor == parentOfNode)
+			{
+				continue;
+			}
+
+			double childStartAngle =
+				(startAngle + branchCount * stepAngle) % 360;
+			double childEndAngle = (childStartAngle + stepAngle) % 360;
+
+			branchRadialLayout(currentNeighbor,
+					node,
+					childStartAngle, childEndAngle,
+					distance + radialSeparation, radialSeparation);
+
+			branchCount++;
+		}
+	}
+
+	/**
+	 * This method finds the maximum diagonal length of the nodes in given tree.
+	 */
+	private static double maxDiagonalInTree(List<LNode> tree)
+	{
+		double maxDiagonal = Double.MIN_VALUE;
+
+		for (int i = 0; i < tree.size(); i++)
+		{
+			LNode node = tree.get(i);
+			double diagonal = node.getDiagonal();
+
+			if (diagonal > maxDiagonal)
+			{
+				maxDiagonal = diagonal;
+			}
+		}
+
+		return maxDiagonal;
+	}
+
+	// -----------------------------------------------------------------------------
+	// Section: Multi-level Scaling
+	// -----------------------------------------------------------------------------
+	
+	/**
+	 * This method un-coarsens Mi to Mi-1 and makes initial placement for Mi-1
+	 */
+	public void uncoarsen ()
+	{
+		for (Object obj: graphManager.getAllNodes())
+		{
+			CoSENode v = (CoSENode) obj;
+			// set positions of v.pred1 and v.pred2
+			v.getPred1().setLocation(v.getLeft(), v.getTop());
+			
+			if (v.getPred2() != null)
+			{
+				// TODO: check (what?)
+				/*
+				double w = v.getPred1().getRect().width;
+				double l = idealEdgeLength;
+				v.getPred2().setLocation((v.getPred1().getLeft()+w+l), (v.getPred1().getTop()+w+l));
+				*/
+				v.getPred2().setLocation(v.getLeft()+idealEdgeLength,
+					v.getTop()+idealEdgeLength);
+			}
+		}
+	}
+	
+// -----------------------------------------------------------------------------
+// Section: FR-Grid Variant Repulsion Force Calculation
+// -----------------------------------------------------------------------------
+	
+	/**
+	 * This method calculates the repulsion range
+	 * Also it can be used to calculate the height of a grid's edge
+	 */
+	@Override
+	protected double calcRepulsionRange()
+	{
+		// formula is 2 x (level + 1) x idealEdgeLength
+		return (2 * ( level+1 ) * idealEdgeLength);
+	}
+
 }
\ No newline at end of file
@@ -1,195 +1,237 @@
-package org.ivis.layout.cose;
-
-import java.util.Iterator;
-import java.awt.Point;
-import java.awt.Dimension;
-
-import org.ivis.layout.*;
-import org.ivis.layout.fd.FDLayoutNode;
-import org.ivis.layout.sbgn.SbgnProcessNode.Orientation;
-import org.ivis.util.IMath;
-
-/**
- * This class implements CoSE specific data and functionality for nodes.
- *
- * @author Erhan Giral
- * @author Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoSENode extends FDLayoutNode
-{
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-	/**
-	 * This node is constructed by contracting pred1 and pred2 from Mi-1
-	 * next is constructed by contracting this node and another node from Mi
-	 */
-	private CoSENode pred1;
-	private CoSENode pred2;
-	private CoSENode next;
-	
-	/**
-	 * Processed flag for CoSENode is needed during the coarsening process
-	 * a node can be the next node of two different nodes. 
-	 * so it can already be processed during the coarsening process
-	 */
-	private boolean processed;
-
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-	/*
-	 * Constructor
-	 */
-	public CoSENode(LGraphManager gm, Object vNode)
-	{
-		super(gm, vNode);
-	}
-
-	/**
-	 * Alternative constructor
-	 */
-	public CoSENode(LGraphManager gm, Point loc, Dimension size, Object vNode)
-	{
-		super(gm, loc, size, vNode);
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Remaining methods
-// -----------------------------------------------------------------------------
-	/*
-	 * This method recalculates the displacement related attributes of this
-	 * object. These attributes are calculated at each layout iteration once,
-	 * for increasing the speed of the layout.
-	 */
-	public void move()
-	{
-		CoSELayout layout = (CoSELayout) this.graphManager.getLayout();
-		double maxNodeDisplacement = layout.coolingFactor * layout.maxNodeDisplacement;
-
-		this.displacementX = layout.coolingFactor *
-			(this.springForceX + this.repulsionForceX + this.gravitationForceX) / this.noOfChildren;
-		this.displacementY = layout.coolingFactor *
-			(this.springForceY + this.repulsionForceY + this.gravitationForceY) / this.noOfChildren;
-
-		if (Math.abs(this.displacementX) > maxNodeDisplacement)
-		{
-			this.displacementX = maxNodeDisplacement * IMath.sign(this.displacementX);
-		}
-
-		if (Math.abs(this.displacementY) > maxNodeDisplacement)
-		{
-			this.displacementY = maxNodeDisplacement * IMath.sign(this.displacementY);
-		}
-
-		// Apply simulated annealing here
-//		if (Math.random() < CoSELayout.annealingProbability && CoSELayout.simulatedAnnealingOn)
-//		{
-//			this.displacementX = -this.displacementX;
-//			this.displacementY = -this.displacementY;
-//
-//			CoSELayout.randomizedMovementCount++;
-//		}
-//		else
-//		{
-//			CoSELayout.nonRandomizedMovementCount++;
-//		}
-
-		if (this.child == null)
-		// a simple node, just move it
-		{
-			this.moveBy(this.displacementX, this.displacementY);
-		}
-		else if (this.child.getNodes().size() == 0)
-		// an empty compound node, again just move it
-		{
-			this.moveBy(this.displacementX, this.displacementY);
-		}
-		// non-empty compound node, propogate movement to children as well
-		else
-		{
-			this.propogateDisplacementToChildren(this.displacementX, this.displacementY);
-		}
-
-		layout.totalDisplacement += Math.abs(this.displacementX) + Math.abs(this.displacementY);
-
-		this.springForceX = 0;
-		this.springForceY = 0;
-		this.repulsionForceX = 0;
-		this.repulsionForceY = 0;
-		this.gravitationForceX = 0;
-		this.gravitationForceY = 0;
-		this.displacementX = 0;
-		this.displacementY = 0;
-	}
-
-	/*
-	 * This method applies the transformation of a compound node (denoted as
-	 * root) to all the nodes in its children graph
-	 */
-	public void propogateDisplacementToChildren(double dX, double dY)
-	{
-		Iterator nodeIter = this.getChild().getNodes().iterator();
-
-		while (nodeIter.hasNext())
-		{
-			CoSENode lNode = (CoSENode) nodeIter.next();
-
-			if (lNode.getChild() == null)
-			{
-				lNode.moveBy(dX, dY);
-				lNode.displacementX += dX;
-				lNode.displacementY += dY;
-			}
-			else
-			{
-				lNode.propogateDisplacementToChildren(dX, dY);
-			}
-		}
-	}
-		
-// -----------------------------------------------------------------------------
-// Section: Getters and setters
-// -----------------------------------------------------------------------------
-	public void setPred1(CoSENode pred1)
-	{
-		this.pred1 = pred1;
-	}
-
-	public CoSENode getPred1()
-	{
-		return pred1;
-	}
-
-	public void setPred2(CoSENode pred2)
-	{
-		this.pred2 = pred2;
-	}
-
-	public CoSENode getPred2()
-	{
-		return pred2;
-	}
-
-	public void setNext(CoSENode next)
-	{
-		this.next = next;
-	}
-
-	public CoSENode getNext()
-	{
-		return next;
-	}
-
-	public void setProcessed(boolean processed)
-	{
-		this.processed = processed;
-	}
-
-	public boolean isProcessed()
-	{
-		return processed;
-	}
+package org.ivis.layout.cose;
+
+import java.util.Iterator;
+import java.awt.Point;
+import java.awt.Dimension;
+
+import org.ivis.layout.*;
+import org.ivis.layout.fd.FDLayoutNode;
+import org.ivis.layout.sbgn.SbgnProcessNode.Orientation;
+import org.ivis.util.IMath;
+
+/**
+ * This class implements CoSE specific data and functionality for nodes.
+ *
+ * @author Erhan Giral
+ * @author Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoSENode extends FDLayoutNode
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * This node is constructed by contracting pred1 and pred2 from Mi-1
+	 * next is constructed by contracting this node and another node from Mi
+	 */
+	private CoSENode pred1;
+	private CoSENode pred2;
+	private CoSENode next;
+	
+	/**
+	 * Processed flag for CoSENode is needed during the coarsening process
+	 * a node can be the next node of two different nodes. 
+	 * so it can already be processed during the coarsening process
+	 */
+	private boolean processed;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/*
+	 * Constructor
+	 */
+	public CoSENode(LGraphManager gm, Object vNode)
+	{
+		super(gm, vNode);
+	}
+
+	/**
+	 * Alternative constructor
+	 */
+	public CoSENode(LGraphManager gm, Point loc, Dimension size, Object vNode)
+	{
+		super(gm, loc, size, vNode);
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/*
+	 * This method recalculates the displacement related attributes of this
+	 * object. These attributes are calculated at each layout iteration once,
+	 * for increasing the speed of the layout.
+	 */
+	public void move()
+	{
+		CoSELayout layout = (CoSELayout) this.graphManager.getLayout();
+		double maxNodeDisplacement = layout.coolingFactor * layout.maxNodeDisplacement;
+
+		// a frozen node stays where it is, but is assumed to keep moving as
+		// much as it did when frozen for convergence purposes
+		if (this.frozen)
+		{
+			layout.totalDisplacement += this.frozenDisplacement;
+			this.resetForces();
+			return;
+		}
+
+		double forceX =
+			this.springForceX + this.repulsionForceX + this.gravitationForceX;
+		double forceY =
+			this.springForceY + this.repulsionForceY + this.gravitationForceY;
+		double stepFactor = layout.coolingFactor;
+
+		if (layout.useAdaptiveCooling)
+		{
+			stepFactor *= layout.updateStepFactor(this, forceX, forceY);
+			layout.totalEnergy += (forceX * forceX + forceY * forceY) /
+				(this.noOfChildren * this.noOfChildren);
+		}
+
+		this.displacementX = stepFactor * forceX / this.noOfChildren;
+		this.displacementY = stepFactor * forceY / this.noOfChildren;
+
+		if (Math.abs(this.displacementX) > maxNodeDisplacement)
+		{
+			this.displacementX = maxNodeDisplacement * IMath.sign(this.displacementX);
+		}
+
+		if (Math.abs(this.displacementY) > maxNodeDisplacement)
+		{
+			this.displacementY = maxNodeDisplacement * IMath.sign(this.displacementY);
+		}
+
+		// Apply simulated annealing here
+//		if (Math.random() < CoSELayout.annealingProbability && CoSELayout.simulatedAnnealingOn)
+//		{
+//			this.displacementX = -this.displacementX;
+//			this.displacementY = -this.displacementY;
+//
+//			CoSELayout.randomizedMovementCount++;
+//		}
+//		else
+//		{
+//			CoSELayout.nonRandomizedMovementCount++;
+//		}
+
+		if (this.child == null)
+		// a simple node, just move it
+		{
+			this.moveBy(this.displacementX, this.displacementY);
+		}
+		else if (this.child.getNodes().size() == 0)
+		// an empty compound node, again just move it
+		{
+			this.moveBy(this.displacementX, this.displacementY);
+		}
+		// non-empty compound node, defer movement of children
+		else if (layout.useLazyTranslation)
+		{
+			this.translateLazily(this.displacementX, this.displacementY);
+		}
+		// non-empty compound node, propogate movement to children as well
+		else
+		{
+			this.propogateDisplacementToChildren(this.displacementX, this.displacementY);
+		}
+
+		double displacement =
+			Math.abs(this.displacementX) + Math.abs(this.displacementY);
+
+		layout.totalDisplacement += displacement;
+
+		if (layout.useActiveSet)
+		{
+			layout.updateActiveSet(this, displacement);
+		}
+
+		this.resetForces();
+	}
+
+	/*
+	 * This method clears the forces and displacement of this node for the
+	 * next iteration.
+	 */
+	private void resetForces()
+	{
+		this.springForceX = 0;
+		this.springForceY = 0;
+		this.repulsionForceX = 0;
+		this.repulsionForceY = 0;
+		this.gravitationForceX = 0;
+		this.gravitationForceY = 0;
+		this.displacementX = 0;
+		this.displacementY = 0;
+	}
+
+	/*
+	 * This method applies the transformation of a compound node (denoted as
+	 * root) to all the nodes in its children graph
+	 */
+	public void propogateDisplacementToChildren(double dX, double dY)
+	{
+		Iterator nodeIter = this.getChild().getNodes().iterator();
+
+		while (nodeIter.hasNext())
+		{
+			CoSENode lNode = (CoSENode) nodeIter.next();
+
+			if (lNode.getChild() == null)
+			{
+				lNode.moveBy(dX, dY);
+				lNode.displacementX += dX;
+				lNode.displacementY += dY;
+			}
+			else
+			{
+				lNode.propogateDisplacementToChildren(dX, dY);
+			}
+		}
+	}
+		
+// -----------------------------------------------------------------------------
+// Section: Getters and setters
+// -----------------------------------------------------------------------------
+	public void setPred1(CoSENode pred1)
+	{
+		this.pred1 = pred1;
+	}
+
+	public CoSENode getPred1()
+	{
+		return pred1;
+	}
+
+	public void setPred2(CoSENode pred2)
+	{
+		this.pred2 = pred2;
+	}
+
+	public CoSENode getPred2()
+	{
+		return pred2;
+	}
+
+	public void setNext(CoSENode next)
+	{
+		this.next = next;
+	}
+
+	public CoSENode getNext()
+	{
+		return next;
+	}
+
+	public void setProcessed(boolean processed)
+	{
+		this.processed = processed;
+	}
+
+	public boolean isProcessed()
+	{
+		return processed;
+	}
 }
\ No newline at end of file
@@ -1,163 +1,399 @@
-package org.ivis.layout.cose;
-
-import org.ivis.layout.LGraph;
-import org.ivis.layout.LGraphObject;
-import org.ivis.layout.LNode;
-import org.ivis.layout.Layout;
-
-/**
- * This class holds coarsening process specific graph data and implementations
- *
- * @author: Alper Karacelik
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class CoarseningGraph extends LGraph
-{
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-	/**
-	 * during the coarsening process, 
-	 * CoSE nodes of coarser graph is created by the help of layout instance 
-	 */
-	private Layout layout;
-	
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-	/**
-	 * Constructor
-	 */
-	protected CoarseningGraph(LNode parent, Layout layout, Object vGraph)
-	{
-		super(parent, layout, vGraph);
-	}
-	
-	public CoarseningGraph(Layout _layout)
-	{
-		this(null, _layout, null);
-		this.layout = _layout;
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Coarsening
-// -----------------------------------------------------------------------------
-	/**
-	 * This method coarsens Gi to Gi+1
-	 */
-	public void coarsen()
-	{
-		this.unmatchAll();
-		
-		CoarseningNode v, u;
-		
-		if (this.getNodes().size() > 0)
-		{
-			// match each node with the one of the unmatched neighbors has minimum weight
-			// if there is no unmatched neighbor, then match current node with itself
-			while (!((CoarseningNode) this.getNodes().get(0)).isMatched())
-			{
-				// get an unmatched node (v) and (if exists) matching of it (u).
-				v = (CoarseningNode) this.getNodes().get(0);
-				u = v.getMatching();
-				
-				// node t is constructed by contracting u and v
-				contract( v, u );
-			}
-			
-			// construct pred1, pred2, next fields of referenced node from CoSEGraph
-			for ( Object obj: this.getNodes() )
-			{
-				CoarseningNode y = (CoarseningNode) obj;
-				
-				// new CoSE node will be in Mi+1
-				CoSENode z = (CoSENode) this.layout.newNode(null);
-				
-				z.setPred1(y.getNode1().getReference());
-				y.getNode1().getReference().setNext(z);
-				
-				// if current node is not matched with itself
-				if ( y.getNode2() != null )
-				{
-					z.setPred2(y.getNode2().getReference());
-					y.getNode2().getReference().setNext(z);
-				}
-				
-				y.setReference(z);
-			}
-		}
-	}
-	
-	/**
-	 * This method unflags all nodes as unmatched
-	 * it should be called before each coarsening process
-	 */
-	private void unmatchAll()
-	{
-		for ( Object obj: this.getNodes() )
-		{
-			CoarseningNode v = (CoarseningNode) obj;
-			v.setMatched(false);
-		}
-	}
-	
-	/**
-	 * This method contracts v and u
-	 */
-	private void contract( CoarseningNode v, CoarseningNode u)
-	{
-		// t will be constructed by contracting v and u		
-		CoarseningNode t = new CoarseningNode();
-		this.add(t);
-		
-		t.setNode1( v );
-		for ( Object obj: v.getNeighborsList() )
-		{
-			CoarseningNode x = (CoarseningNode) obj;
-			if (x != t)
-			{
-				this.add( new CoarseningEdge(), t, x );
-			}
-		}
-		t.setWeight( v.getWeight() );
-		
-		//remove contracted node from the graph
-		this.remove(v);
-		
-		// if v has an unmatched neighbor, then u is not null and t.node2 = u
-		// otherwise, leave t.node2 as null
-		if ( u != null )
-		{
-			t.setNode2( u );
-			for ( Object obj: u.getNeighborsList() )
-			{
-				CoarseningNode x = (CoarseningNode) obj;
-				if (x != t)
-				{
-					add( new CoarseningEdge(), t, x );
-				}
-			}
-			t.setWeight( t.getWeight() + u.getWeight() );
-			
-			//remove contracted node from the graph
-			this.remove(u);
-		}
-		
-		// t should be flagged as matched
-		t.setMatched( true );
-	}
-	
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-	public Layout getLayout()
-	{
-		return layout;
-	}
-
-	public void setLayout(Layout layout)
-	{
-		this.layout = layout;
-	}
-}
+package org.ivis.layout.cose;
+
+import java.util.Arrays;
+
+/**
+ * This class holds a coarsening graph used in multi-level scaling. G0 is
+ * formed by the leaf nodes of a CoSE graph manager and the edges between them,
+ * and Gi+1 is obtained by contracting a matching of the nodes of Gi.
+ *
+ * Each node belongs to a group, the owner graph of its leaf nodes, and only
+ * nodes of the same group are matched, so each child graph is coarsened
+ * independently and compound membership is preserved through the levels.
+ *
+ * Nodes are numbered from 0, and the graph is kept in compressed sparse row
+ * form: neighbors of node v are adjacency[adjacencyStart[v]] to
+ * adjacency[adjacencyStart[v+1]-1]. Adjacency lists are free of duplicates
+ * and self loops.
+ *
+ * @author: Alper Karacelik
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class CoarseningGraph
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Number of nodes, weight of each node (the number of nodes of G0
+	 * contracted into it) and the adjacency lists
+	 */
+	private int nodeCount;
+	private int[] weight;
+	private int[] group;
+	private int[] adjacencyStart;
+	private int[] adjacency;
+
+	/**
+	 * Nodes of the finer graph contracted into each node of this graph; the
+	 * second one is -1 if a node was matched with itself. Null for G0.
+	 */
+	private int[] firstMember;
+	private int[] secondMember;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates coarsening graph G0 with the input number of nodes of weight 1
+	 * in the input groups, and the input (undirected) edges, whose end nodes
+	 * are of the same group. Duplicate edges and self loops are ignored.
+	 */
+	public CoarseningGraph(int nodeCount,
+		int[] group,
+		int[] edgeSource,
+		int[] edgeTarget,
+		int edgeCount)
+	{
+		this.nodeCount = nodeCount;
+		this.weight = new int[nodeCount];
+		this.group = group;
+		Arrays.fill(this.weight, 1);
+
+		// each edge is listed at both of its ends
+		int[] start = new int[nodeCount + 1];
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			start[edgeSource[e] + 1]++;
+			start[edgeTarget[e] + 1]++;
+		}
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			start[v + 1] += start[v];
+		}
+
+		int[] end = Arrays.copyOf(start, nodeCount);
+		int[] entries = new int[2 * edgeCount];
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			entries[end[edgeSource[e]]++] = edgeTarget[e];
+			entries[end[edgeTarget[e]]++] = edgeSource[e];
+		}
+
+		// then duplicates and self loops are dropped in place
+		int[] mark = new int[nodeCount];
+		Arrays.fill(mark, -1);
+
+		this.adjacencyStart = new int[nodeCount + 1];
+		this.adjacency = entries;
+		int count = 0;
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			this.adjacencyStart[v] = count;
+			mark[v] = v;
+
+			for (int k = start[v]; k < start[v + 1]; k++)
+			{
+				int x = entries[k];
+
+				if (mark[x] != v)
+				{
+					mark[x] = v;
+					entries[count++] = x;
+				}
+			}
+		}
+
+		this.adjacencyStart[nodeCount] = count;
+	}
+
+	/**
+	 * Creates a coarsening graph from the input arrays.
+	 */
+	private CoarseningGraph(int nodeCount,
+		int[] weight,
+		int[] group,
+		int[] adjacencyStart,
+		int[] adjacency,
+		int[] firstMember,
+		int[] secondMember)
+	{
+		this.nodeCount = nodeCount;
+		this.weight = weight;
+		this.group = group;
+		this.adjacencyStart = adjacencyStart;
+		this.adjacency = adjacency;
+		this.firstMember = firstMember;
+		this.secondMember = secondMember;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Coarsening
+// -----------------------------------------------------------------------------
+	/**
+	 * This method coarsens this graph (Gi) to Gi+1 and returns Gi+1. Nodes are
+	 * matched in a single pass in order: each unmatched node is matched with
+	 * its unmatched neighbor of minimum weight. Nodes left without an
+	 * unmatched neighbor are then matched with another such node of the same
+	 * group, preferably one sharing a neighbor with it; isolated nodes (e.g.
+	 * members of a complex) are matched with any isolated node of the same
+	 * group. Remaining nodes are matched with themselves. Each pair of matched
+	 * nodes is contracted into a node of Gi+1.
+	 */
+	public CoarseningGraph coarsen()
+	{
+		int[] coarseNode = new int[this.nodeCount];
+		int[] first = new int[this.nodeCount];
+		int[] second = new int[this.nodeCount];
+		int count = 0;
+
+		Arrays.fill(coarseNode, -1);
+
+		// nodes without an unmatched neighbor are left for the next passes
+		boolean[] single = new boolean[this.nodeCount];
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			if (coarseNode[v] != -1)
+			{
+				continue;
+			}
+
+			int u = getMatching(v, coarseNode);
+
+			if (u == -1)
+			{
+				single[v] = true;
+				continue;
+			}
+
+			coarseNode[v] = count;
+			coarseNode[u] = count;
+			first[count] = v;
+			second[count] = u;
+			count++;
+		}
+
+		// match single nodes sharing a neighbor: the single node waiting at
+		// each (already matched) neighbor is kept by its coarse node
+		int[] waiting = new int[count];
+		Arrays.fill(waiting, -1);
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			if (!single[v] || coarseNode[v] != -1)
+			{
+				continue;
+			}
+
+			for (int k = this.adjacencyStart[v];
+				k < this.adjacencyStart[v + 1];
+				k++)
+			{
+				int x = coarseNode[this.adjacency[k]];
+
+				if (x == -1 || x >= waiting.length)
+				{
+					continue;
+				}
+
+				int u = waiting[x];
+
+				if (u != -1 && coarseNode[u] == -1)
+				{
+					coarseNode[v] = count;
+					coarseNode[u] = count;
+					first[count] = u;
+					second[count] = v;
+					count++;
+					break;
+				}
+
+				waiting[x] = v;
+			}
+		}
+
+		// match isolated nodes of the same group, then the rest with
+		// themselves, in order
+		int[] waitingInGroup = new int[getGroupCount()];
+		Arrays.fill(waitingInGroup, -1);
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			if (coarseNode[v] != -1 || getDegree(v) != 0)
+			{
+				continue;
+			}
+
+			int u = waitingInGroup[this.group[v]];
+
+			if (u == -1)
+			{
+				waitingInGroup[this.group[v]] = v;
+				continue;
+			}
+
+			waitingInGroup[this.group[v]] = -1;
+			coarseNode[v] = count;
+			coarseNode[u] = count;
+			first[count] = u;
+			second[count] = v;
+			count++;
+		}
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			if (coarseNode[v] == -1)
+			{
+				coarseNode[v] = count;
+				first[count] = v;
+				second[count] = -1;
+				count++;
+			}
+		}
+
+		// contract matched nodes, merging their adjacency lists
+		int[] coarseWeight = new int[count];
+		int[] coarseGroup = new int[count];
+		int[] coarseStart = new int[count + 1];
+		int[] coarseAdjacency = new int[this.adjacency.length];
+		int[] mark = new int[count];
+		int entryCount = 0;
+
+		Arrays.fill(mark, -1);
+
+		for (int c = 0; c < count; c++)
+		{
+			coarseStart[c] = entryCount;
+			coarseGroup[c] = this.group[first[c]];
+			mark[c] = c;
+
+			assert second[c] == -1 ||
+				this.group[first[c]] == this.group[second[c]] :
+					"Nodes of different groups matched!";
+
+			for (int m = 0; m < 2; m++)
+			{
+				int v = m == 0 ? first[c] : second[c];
+
+				if (v == -1)
+				{
+					continue;
+				}
+
+				coarseWeight[c] += this.weight[v];
+
+				for (int k = this.adjacencyStart[v];
+					k < this.adjacencyStart[v + 1];
+					k++)
+				{
+					int x = coarseNode[this.adjacency[k]];
+
+					if (mark[x] != c)
+					{
+						mark[x] = c;
+						coarseAdjacency[entryCount++] = x;
+					}
+				}
+			}
+		}
+
+		coarseStart[count] = entryCount;
+
+		return new CoarseningGraph(count,
+			coarseWeight,
+			coarseGroup,
+			coarseStart,
+			coarseAdjacency,
+			Arrays.copyOf(first, count),
+			Arrays.copyOf(second, count));
+	}
+
+	/**
+	 * This method returns the unmatched neighbor of minimum weight of the
+	 * input node, -1 if it has no unmatched neighbor.
+	 */
+	private int getMatching(int v, int[] coarseNode)
+	{
+		int minWeighted = -1;
+		int minWeight = Integer.MAX_VALUE;
+
+		for (int k = this.adjacencyStart[v]; k < this.adjacencyStart[v + 1]; k++)
+		{
+			int u = this.adjacency[k];
+
+			if (coarseNode[u] == -1 && this.weight[u] < minWeight)
+			{
+				minWeighted = u;
+				minWeight = this.weight[u];
+			}
+		}
+
+		return minWeighted;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	public int getNodeCount()
+	{
+		return nodeCount;
+	}
+
+	public int getWeight(int v)
+	{
+		return weight[v];
+	}
+
+	public int getGroup(int v)
+	{
+		return group[v];
+	}
+
+	/**
+	 * This method returns the number of groups, i.e. one more than the
+	 * largest group of a node.
+	 */
+	public int getGroupCount()
+	{
+		int groupCount = 0;
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			groupCount = Math.max(groupCount, group[v] + 1);
+		}
+
+		return groupCount;
+	}
+
+	/**
+	 * This method returns the number of neighbors of the input node.
+	 */
+	public int getDegree(int v)
+	{
+		return adjacencyStart[v + 1] - adjacencyStart[v];
+	}
+
+	/**
+	 * This method returns the first node of the finer graph contracted into
+	 * the input node.
+	 */
+	public int getFirstMember(int v)
+	{
+		return firstMember[v];
+	}
+
+	/**
+	 * This method returns the second node of the finer graph contracted into
+	 * the input node, -1 if the first one was matched with itself.
+	 */
+	public int getSecondMember(int v)
+	{
+		return secondMember[v];
+	}
+}
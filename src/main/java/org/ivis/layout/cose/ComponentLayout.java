@@ -0,0 +1,319 @@
+package org.ivis.layout.cose;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ivis.layout.InclusionTreeIndex;
+import org.ivis.layout.LEdge;
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LGraphManager;
+import org.ivis.layout.LNode;
+import org.ivis.layout.LayoutOptionsPack;
+import org.ivis.layout.util.RectProc;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class lays out the connected components of the root graph of a CoSE
+ * layout separately, and packs the results as polyominoes. Two members of the
+ * root graph are connected if there is an edge between them or their
+ * descendants. Each component is copied into a layout of its own, so that
+ * components may be laid out concurrently on the executor of the layout, and
+ * through a cache, in which a component is recognized regardless of the rest
+ * of the graph (see CoSELayout.runSubLayouts).
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+class ComponentLayout
+{
+	private final static Logger log = LoggerFactory.getLogger(ComponentLayout.class);
+
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Layout whose graph is laid out by components
+	 */
+	private CoSELayout layout;
+
+	/**
+	 * Members of the root graph in each component
+	 */
+	private List<List<LNode>> components;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a component layout for the graph of the input layout, finding
+	 * the connected components of its root graph.
+	 */
+	ComponentLayout(CoSELayout layout)
+	{
+		this.layout = layout;
+		this.components = findComponents();
+	}
+
+	/**
+	 * This method groups the members of the root graph by connected
+	 * component, in order of their first members, using union-find on the
+	 * ancestors of the ends of each edge in the root graph.
+	 */
+	private List<List<LNode>> findComponents()
+	{
+		LGraphManager gm = this.layout.getGraphManager();
+		LGraph root = gm.getRoot();
+		InclusionTreeIndex index = gm.getInclusionTreeIndex();
+		int[] parent = new int[gm.getNodeIdBound()];
+
+		for (Object obj : root.getNodes())
+		{
+			int id = ((LNode) obj).getId();
+			parent[id] = id;
+		}
+
+		for (Object obj : gm.getAllEdges())
+		{
+			LEdge edge = (LEdge) obj;
+			int a = find(parent,
+				index.getAncestorInGraph(edge.getSource(), root).getId());
+			int b = find(parent,
+				index.getAncestorInGraph(edge.getTarget(), root).getId());
+
+			parent[Math.max(a, b)] = Math.min(a, b);
+		}
+
+		List<List<LNode>> result = new ArrayList<List<LNode>>();
+		int[] componentIndex = new int[gm.getNodeIdBound()];
+
+		for (Object obj : root.getNodes())
+		{
+			LNode node = (LNode) obj;
+			int id = find(parent, node.getId());
+
+			if (id == node.getId())
+			{
+				componentIndex[id] = result.size();
+				result.add(new ArrayList<LNode>());
+			}
+
+			result.get(componentIndex[id]).add(node);
+		}
+
+		return result;
+	}
+
+	/**
+	 * This method returns the representative of the set of the input node,
+	 * halving paths along the way.
+	 */
+	private static int find(int[] parent, int id)
+	{
+		while (parent[id] != id)
+		{
+			parent[id] = parent[parent[id]];
+			id = parent[id];
+		}
+
+		return id;
+	}
+
+	/**
+	 * This method returns the number of connected components.
+	 */
+	int getComponentCount()
+	{
+		return this.components.size();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Layout
+// -----------------------------------------------------------------------------
+	/**
+	 * This method lays out each component with the input options and packs
+	 * the components. It returns true upon success, false otherwise.
+	 */
+	boolean run(LayoutOptionsPack options)
+	{
+		int count = this.components.size();
+		List<List<LNode>> originals = new ArrayList<List<LNode>>(count);
+		List<List<LNode>> copies = new ArrayList<List<LNode>>(count);
+		List<CoSELayout> subLayouts = new ArrayList<CoSELayout>(count);
+
+		for (List<LNode> component : this.components)
+		{
+			CoSELayout subLayout = this.layout.newSubLayout();
+			List<LNode> original = new ArrayList<LNode>();
+			List<LNode> copy = new ArrayList<LNode>();
+
+			copyComponent(component, subLayout, original, copy);
+
+			originals.add(original);
+			copies.add(copy);
+			subLayouts.add(subLayout);
+		}
+
+		if (!this.layout.runSubLayouts(subLayouts, options))
+		{
+			return false;
+		}
+
+		pack(originals, copies);
+
+		log.info("Laid out " + count + " components separately");
+
+		return true;
+	}
+
+	/**
+	 * This method copies the input component, along with the nested graphs
+	 * and the edges of its members, into the graph of the input layout,
+	 * listing the original nodes and their copies in the same order, members
+	 * of the root graph first.
+	 */
+	private void copyComponent(List<LNode> component,
+		CoSELayout subLayout,
+		List<LNode> original,
+		List<LNode> copy)
+	{
+		LGraphManager gm = subLayout.getGraphManager();
+		Map<LNode, LNode> copyOf = new IdentityHashMap<LNode, LNode>();
+		List<LGraph> fromGraphs = new ArrayList<LGraph>();
+		List<LGraph> toGraphs = new ArrayList<LGraph>();
+		LGraph root = gm.addRoot();
+
+		for (LNode node : component)
+		{
+			copyNode(node, root, subLayout, original, copy, copyOf);
+		}
+
+		// nested graphs, breadth first
+		for (int i = 0; i < original.size(); i++)
+		{
+			LNode node = original.get(i);
+
+			if (node.getChild() != null)
+			{
+				LGraph child = gm.add(subLayout.newGraph(null), copy.get(i));
+
+				for (Object obj : node.getChild().getNodes())
+				{
+					copyNode((LNode) obj, child, subLayout, original, copy,
+						copyOf);
+				}
+			}
+		}
+
+		for (LNode node : original)
+		{
+			for (Object obj : node.getEdges())
+			{
+				LEdge edge = (LEdge) obj;
+
+				// each edge is copied at its source
+				if (edge.getSource() == node)
+				{
+					LEdge edgeCopy = gm.add(subLayout.newEdge(null),
+						copyOf.get(edge.getSource()),
+						copyOf.get(edge.getTarget()));
+
+					edgeCopy.type = edge.type;
+					edgeCopy.label = edge.label;
+				}
+			}
+		}
+
+		gm.updateBounds();
+	}
+
+	/**
+	 * This method copies the input node into the input graph of the input
+	 * layout.
+	 */
+	private void copyNode(LNode node,
+		LGraph graph,
+		CoSELayout subLayout,
+		List<LNode> original,
+		List<LNode> copy,
+		Map<LNode, LNode> copyOf)
+	{
+		LNode nodeCopy = graph.add(subLayout.newNode(null));
+
+		nodeCopy.type = node.type;
+		nodeCopy.label = node.label;
+		nodeCopy.setWidth(node.getWidth());
+		nodeCopy.setHeight(node.getHeight());
+		nodeCopy.setLocation(node.getLeft(), node.getTop());
+
+		original.add(node);
+		copy.add(nodeCopy);
+		copyOf.put(node, nodeCopy);
+	}
+
+	/**
+	 * This method packs the laid out components, and moves the original
+	 * nodes to the packed positions of their copies.
+	 */
+	private void pack(List<List<LNode>> originals, List<List<LNode>> copies)
+	{
+		int count = this.components.size();
+		int[] groupStart = new int[count + 1];
+
+		for (int g = 0; g < count; g++)
+		{
+			groupStart[g + 1] = groupStart[g] + this.components.get(g).size();
+		}
+
+		// members of the root graph represent their components
+		int n = groupStart[count];
+		double[] x = new double[n];
+		double[] y = new double[n];
+		double[] width = new double[n];
+		double[] height = new double[n];
+		double buffer = CoSEConstants.DEFAULT_COMPONENT_SEPERATION;
+		double area = 0.0;
+
+		for (int g = 0; g < count; g++)
+		{
+			for (int i = groupStart[g]; i < groupStart[g + 1]; i++)
+			{
+				LNode node = copies.get(g).get(i - groupStart[g]);
+
+				x[i] = node.getLeft();
+				y[i] = node.getTop();
+				width[i] = node.getWidth();
+				height[i] = node.getHeight();
+				area += (width[i] + buffer) * (height[i] + buffer);
+			}
+		}
+
+		double step = Math.max(1.0,
+			Math.sqrt(area / CoSEConstants.COMPONENT_PACKING_CELL_COUNT));
+		double[] dx = new double[count];
+		double[] dy = new double[count];
+
+		RectProc.packGroupsMino(buffer, step, count, groupStart,
+			x, y, width, height, dx, dy);
+
+		for (int g = 0; g < count; g++)
+		{
+			List<LNode> original = originals.get(g);
+			List<LNode> copy = copies.get(g);
+
+			for (int i = 0; i < original.size(); i++)
+			{
+				LNode node = original.get(i);
+				LNode nodeCopy = copy.get(i);
+
+				node.setWidth(nodeCopy.getWidth());
+				node.setHeight(nodeCopy.getHeight());
+				node.setLocation(nodeCopy.getLeft() + dx[g],
+					nodeCopy.getTop() + dy[g]);
+			}
+		}
+
+		this.layout.getGraphManager().updateBounds();
+	}
+}
@@ -0,0 +1,275 @@
+package org.ivis.layout.cose;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ivis.layout.LEdge;
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LGraphManager;
+import org.ivis.layout.LNode;
+import org.ivis.layout.LayoutOptionsPack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class lays out the graph of a CoSE layout bottom-up in the inclusion
+ * tree: the contents of each compound node are laid out separately, before
+ * its owner graph, in whose layout the compound node is then a rigid block of
+ * the size of its laid out contents. This way a deeply nested graph is laid
+ * out as many small simulations instead of a single coupled one.
+ *
+ * Each graph is copied into a flat layout of its own, whose nodes are the
+ * members of the graph and whose edges are the edges with their lowest common
+ * ancestor in the graph, connecting the members containing their ends. Graphs
+ * of the same depth, siblings included, are laid out concurrently on the
+ * executor of the layout (see CoSELayout.runSubLayouts). A copy refers to
+ * the member it stands for as its view object, so that positions are found
+ * even if a sub-layout replaces nodes of its own (e.g. process nodes).
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+class HierarchicalLayout
+{
+	private final static Logger log = LoggerFactory.getLogger(HierarchicalLayout.class);
+
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Layout whose graph is laid out bottom-up
+	 */
+	private CoSELayout layout;
+
+	/**
+	 * Non-empty graphs grouped by their depths in the inclusion tree, the
+	 * root graph first
+	 */
+	private List<List<LGraph>> levels;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a hierarchical layout for the graph of the input layout,
+	 * grouping its graphs by depth.
+	 */
+	HierarchicalLayout(CoSELayout layout)
+	{
+		this.layout = layout;
+		this.levels = findLevels();
+	}
+
+	/**
+	 * This method groups the non-empty graphs by depth, each level listing
+	 * the child graphs of the members of the previous one in order.
+	 */
+	private List<List<LGraph>> findLevels()
+	{
+		List<List<LGraph>> result = new ArrayList<List<LGraph>>();
+		List<LGraph> level = new ArrayList<LGraph>();
+
+		level.add(this.layout.getGraphManager().getRoot());
+
+		while (!level.isEmpty())
+		{
+			List<LGraph> next = new ArrayList<LGraph>();
+
+			for (LGraph graph : level)
+			{
+				for (Object obj : graph.getNodes())
+				{
+					LGraph child = ((LNode) obj).getChild();
+
+					if (child != null && !child.getNodes().isEmpty())
+					{
+						next.add(child);
+					}
+				}
+			}
+
+			result.add(level);
+			level = next;
+		}
+
+		return result;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Layout
+// -----------------------------------------------------------------------------
+	/**
+	 * This method lays out each graph with the input options, the deepest
+	 * ones first. It returns true upon success, false otherwise.
+	 */
+	boolean run(LayoutOptionsPack options)
+	{
+		LGraphManager gm = this.layout.getGraphManager();
+		Map<LGraph, List<LEdge>> edgesInLca =
+			new IdentityHashMap<LGraph, List<LEdge>>();
+
+		gm.calcLowestCommonAncestors();
+
+		for (Object obj : gm.getAllEdges())
+		{
+			LEdge edge = (LEdge) obj;
+
+			// edges between descendants of the same member are left out
+			if (edge.getSourceInLca() != edge.getTargetInLca())
+			{
+				List<LEdge> edges = edgesInLca.get(edge.getLca());
+
+				if (edges == null)
+				{
+					edges = new ArrayList<LEdge>();
+					edgesInLca.put(edge.getLca(), edges);
+				}
+
+				edges.add(edge);
+			}
+		}
+
+		int graphCount = 0;
+
+		for (int depth = this.levels.size() - 1; depth >= 0; depth--)
+		{
+			List<LGraph> level = this.levels.get(depth);
+			List<CoSELayout> subLayouts =
+				new ArrayList<CoSELayout>(level.size());
+
+			for (LGraph graph : level)
+			{
+				CoSELayout subLayout = this.layout.newSubLayout();
+
+				copyGraph(graph, edgesInLca.get(graph), subLayout);
+				subLayouts.add(subLayout);
+			}
+
+			if (!this.layout.runSubLayouts(subLayouts, options))
+			{
+				return false;
+			}
+
+			// compound nodes of this level are blocks of their final sizes
+			// in the next one
+			for (int i = 0; i < level.size(); i++)
+			{
+				LGraph graph = level.get(i);
+
+				moveMembers(subLayouts.get(i));
+
+				if (graph != gm.getRoot())
+				{
+					graph.getParent().updateBounds();
+				}
+			}
+
+			graphCount += level.size();
+		}
+
+		gm.updateBounds();
+
+		log.info("Laid out " + graphCount + " graphs bottom-up in " +
+			this.levels.size() + " levels");
+
+		return true;
+	}
+
+	/**
+	 * This method copies the members of the input graph, along with the
+	 * input edges between them or their descendants, into the graph of the
+	 * input layout.
+	 */
+	private void copyGraph(LGraph graph, List<LEdge> edges, CoSELayout subLayout)
+	{
+		LGraphManager gm = subLayout.getGraphManager();
+		Map<LNode, LNode> copyOf = new IdentityHashMap<LNode, LNode>();
+		LGraph root = gm.addRoot();
+
+		for (Object obj : graph.getNodes())
+		{
+			LNode node = (LNode) obj;
+			LNode nodeCopy = root.add(subLayout.newNode(node));
+
+			nodeCopy.type = node.type;
+			nodeCopy.label = node.label;
+			nodeCopy.setWidth(node.getWidth());
+			nodeCopy.setHeight(node.getHeight());
+			nodeCopy.setLocation(node.getLeft(), node.getTop());
+
+			copyOf.put(node, nodeCopy);
+		}
+
+		if (edges != null)
+		{
+			for (LEdge edge : edges)
+			{
+				LEdge edgeCopy = gm.add(subLayout.newEdge(null),
+					copyOf.get(edge.getSourceInLca()),
+					copyOf.get(edge.getTargetInLca()));
+
+				edgeCopy.type = edge.type;
+				edgeCopy.label = edge.label;
+			}
+		}
+
+		gm.updateBounds();
+	}
+
+	/**
+	 * This method moves the members of a graph to the positions of their
+	 * copies in the input layout, compound nodes along with their contents.
+	 */
+	private void moveMembers(CoSELayout subLayout)
+	{
+		for (Object obj : subLayout.getGraphManager().getRoot().getNodes())
+		{
+			LNode nodeCopy = (LNode) obj;
+
+			// nodes created by the sub-layout stand for no member
+			if (!(nodeCopy.vGraphObject instanceof LNode))
+			{
+				continue;
+			}
+
+			LNode node = (LNode) nodeCopy.vGraphObject;
+			LGraph child = node.getChild();
+
+			if (child == null || child.getNodes().isEmpty())
+			{
+				node.setLocation(nodeCopy.getLeft(), nodeCopy.getTop());
+			}
+			else
+			{
+				moveContents(child,
+					nodeCopy.getLeft() - node.getLeft(),
+					nodeCopy.getTop() - node.getTop());
+				node.updateBounds();
+			}
+		}
+	}
+
+	/**
+	 * This method moves the nodes of the input graph and their descendants by
+	 * the input amounts, leaving compound nodes to be wrapped around their
+	 * contents afterwards.
+	 */
+	private void moveContents(LGraph graph, double dx, double dy)
+	{
+		for (Object obj : graph.getNodes())
+		{
+			LNode node = (LNode) obj;
+			LGraph child = node.getChild();
+
+			if (child == null || child.getNodes().isEmpty())
+			{
+				node.moveBy(dx, dy);
+			}
+			else
+			{
+				moveContents(child, dx, dy);
+			}
+		}
+	}
+}
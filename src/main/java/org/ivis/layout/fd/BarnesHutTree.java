@@ -0,0 +1,527 @@
+package org.ivis.layout.fd;
+
+import java.util.List;
+
+import org.ivis.layout.LGraph;
+import org.ivis.util.IMath;
+
+/**
+ * This class implements a Barnes-Hut quadtree to approximate repulsion forces
+ * among the members of a single graph in O(n log n) time. The tree is built
+ * over node centers; each cell keeps the total weight (number of children) of
+ * its members, their weighted center of mass and the bounding box of their
+ * rectangles. A far away cell (whose extent over its distance to a node is
+ * below the opening threshold theta) is replaced by a single pseudo-node at
+ * its center of mass, whereas members of leaf cells are treated exactly using
+ * the pairwise repulsion of the owner layout.
+ *
+ * All storage is kept in primitive arrays which are reused for every graph and
+ * every iteration.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class BarnesHutTree
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Layout whose repulsion parameters are used
+	 */
+	private FDLayout layout;
+
+	/**
+	 * Opening threshold; 0 means exact calculation
+	 */
+	private double theta;
+
+	/**
+	 * Nodes of the current graph and their centers and weights
+	 */
+	private FDLayoutNode[] bodies = new FDLayoutNode[16];
+	private double[] bodyX = new double[16];
+	private double[] bodyY = new double[16];
+	private int bodyCount;
+
+	/**
+	 * Permutation of bodies such that members of each cell are consecutive,
+	 * and the scratch array used while partitioning
+	 */
+	private int[] order = new int[16];
+	private int[] scratch = new int[16];
+
+	/**
+	 * Cells of the quadtree. Members of a cell are order[start, end), children
+	 * of a cell are consecutive cells starting at firstChild (-1 for leaves).
+	 */
+	private int cellCount;
+	private int[] cellStart = new int[16];
+	private int[] cellEnd = new int[16];
+	private int[] cellFirstChild = new int[16];
+	private int[] cellChildCount = new int[16];
+	private double[] cellMass = new double[16];
+	private double[] cellMassX = new double[16];
+	private double[] cellMassY = new double[16];
+	private double[] cellLeft = new double[16];
+	private double[] cellTop = new double[16];
+	private double[] cellRight = new double[16];
+	private double[] cellBottom = new double[16];
+
+	/**
+	 * Stacks used for traversing the tree and scratch arrays for pairwise
+	 * repulsion calculations (with room for clipping points), one per worker.
+	 * Since at most three siblings are pending per level, the stack size is
+	 * bounded by the tree depth.
+	 */
+	private int[][] stacks = new int[1][];
+	private double[][] pairForces = new double[1][];
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates an empty tree for the input layout.
+	 */
+	public BarnesHutTree(FDLayout layout)
+	{
+		this.layout = layout;
+		ensureWorkers(1);
+	}
+
+	/**
+	 * This method makes sure that the input number of workers can query the
+	 * tree at the same time.
+	 */
+	public void ensureWorkers(int workerCount)
+	{
+		if (this.stacks.length < workerCount || this.stacks[0] == null)
+		{
+			this.stacks = new int[workerCount][];
+			this.pairForces = new double[workerCount][];
+
+			for (int i = 0; i < workerCount; i++)
+			{
+				this.stacks[i] =
+					new int[4 * (FDLayoutConstants.BARNES_HUT_MAX_DEPTH + 1)];
+				this.pairForces[i] = new double[4];
+			}
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the number of nodes in the current tree.
+	 */
+	public int getBodyCount()
+	{
+		return this.bodyCount;
+	}
+
+	/**
+	 * This method returns the node with the input index in the current tree.
+	 */
+	public FDLayoutNode getBody(int i)
+	{
+		return this.bodies[i];
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Tree construction
+// -----------------------------------------------------------------------------
+	/**
+	 * This method (re)builds the tree for the repulsive members of the input
+	 * graph using the input opening threshold.
+	 */
+	public void build(LGraph graph, double theta)
+	{
+		List nodes = graph.getNodes();
+		int n = nodes.size();
+		FDLayoutNode node;
+
+		this.theta = theta;
+		this.bodyCount = 0;
+		this.cellCount = 0;
+
+		ensureBodyCapacity(n);
+
+		double minX = Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+
+		for (int i = 0; i < n; i++)
+		{
+			node = (FDLayoutNode) nodes.get(i);
+
+			if (!this.layout.isRepulsive(node))
+			{
+				continue;
+			}
+
+			this.bodies[this.bodyCount] = node;
+			this.bodyX[this.bodyCount] = node.getCenterX();
+			this.bodyY[this.bodyCount] = node.getCenterY();
+			this.order[this.bodyCount] = this.bodyCount;
+
+			minX = Math.min(minX, this.bodyX[this.bodyCount]);
+			minY = Math.min(minY, this.bodyY[this.bodyCount]);
+			maxX = Math.max(maxX, this.bodyX[this.bodyCount]);
+			maxY = Math.max(maxY, this.bodyY[this.bodyCount]);
+
+			this.bodyCount++;
+		}
+
+		// clear references to nodes of previous graphs
+		for (int i = this.bodyCount; i < this.bodies.length &&
+			this.bodies[i] != null; i++)
+		{
+			this.bodies[i] = null;
+		}
+
+		if (this.bodyCount == 0)
+		{
+			return;
+		}
+
+		double size = Math.max(maxX - minX, maxY - minY);
+
+		allocateCells(1);
+		buildCell(0, 0, this.bodyCount, minX, minY, size, 0);
+	}
+
+	/**
+	 * This method fills in the input cell covering the input square and
+	 * recursively subdivides it.
+	 */
+	private void buildCell(int cell,
+		int start,
+		int end,
+		double x,
+		double y,
+		double size,
+		int depth)
+	{
+		this.cellStart[cell] = start;
+		this.cellEnd[cell] = end;
+		this.cellFirstChild[cell] = -1;
+		this.cellChildCount[cell] = 0;
+
+		if (end - start > FDLayoutConstants.BARNES_HUT_LEAF_CAPACITY &&
+			depth < FDLayoutConstants.BARNES_HUT_MAX_DEPTH &&
+			size > 0)
+		{
+			double half = size / 2;
+			double midX = x + half;
+			double midY = y + half;
+			int[] counts = new int[4];
+			int[] offsets = new int[4];
+			int i, q, b;
+
+			// counting sort members into quadrants
+			for (i = start; i < end; i++)
+			{
+				counts[quadrantOf(this.order[i], midX, midY)]++;
+			}
+
+			offsets[0] = start;
+
+			for (q = 1; q < 4; q++)
+			{
+				offsets[q] = offsets[q - 1] + counts[q - 1];
+			}
+
+			for (i = start; i < end; i++)
+			{
+				b = this.order[i];
+				this.scratch[offsets[quadrantOf(b, midX, midY)]++] = b;
+			}
+
+			System.arraycopy(this.scratch, start, this.order, start, end - start);
+
+			// allocate non-empty children consecutively, then build them
+			int childCount = 0;
+
+			for (q = 0; q < 4; q++)
+			{
+				if (counts[q] > 0)
+				{
+					childCount++;
+				}
+			}
+
+			int firstChild = allocateCells(childCount);
+			int child = firstChild;
+			int childStart = start;
+
+			this.cellFirstChild[cell] = firstChild;
+			this.cellChildCount[cell] = childCount;
+
+			for (q = 0; q < 4; q++)
+			{
+				if (counts[q] > 0)
+				{
+					buildCell(child++,
+						childStart,
+						childStart + counts[q],
+						(q & 1) == 0 ? x : midX,
+						(q & 2) == 0 ? y : midY,
+						half,
+						depth + 1);
+				}
+
+				childStart += counts[q];
+			}
+		}
+
+		calcCellSummary(cell);
+	}
+
+	/**
+	 * This method returns the quadrant of the input body with respect to the
+	 * input split point.
+	 */
+	private int quadrantOf(int body, double midX, double midY)
+	{
+		return (this.bodyX[body] < midX ? 0 : 1) +
+			(this.bodyY[body] < midY ? 0 : 2);
+	}
+
+	/**
+	 * This method calculates the mass, center of mass and bounding box of the
+	 * input cell from its members.
+	 */
+	private void calcCellSummary(int cell)
+	{
+		double mass = 0.0;
+		double massX = 0.0;
+		double massY = 0.0;
+		double left = Double.MAX_VALUE;
+		double top = Double.MAX_VALUE;
+		double right = -Double.MAX_VALUE;
+		double bottom = -Double.MAX_VALUE;
+		FDLayoutNode node;
+		double weight;
+
+		for (int i = this.cellStart[cell]; i < this.cellEnd[cell]; i++)
+		{
+			node = this.bodies[this.order[i]];
+			weight = node.noOfChildren;
+
+			mass += weight;
+			massX += weight * this.bodyX[this.order[i]];
+			massY += weight * this.bodyY[this.order[i]];
+
+			left = Math.min(left, node.getLeft());
+			top = Math.min(top, node.getTop());
+			right = Math.max(right, node.getRight());
+			bottom = Math.max(bottom, node.getBottom());
+		}
+
+		this.cellMass[cell] = mass;
+		this.cellMassX[cell] = massX / mass;
+		this.cellMassY[cell] = massY / mass;
+		this.cellLeft[cell] = left;
+		this.cellTop[cell] = top;
+		this.cellRight[cell] = right;
+		this.cellBottom[cell] = bottom;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Force calculation
+// -----------------------------------------------------------------------------
+	/**
+	 * This method calculates the repulsion force exerted on the input node by
+	 * all other members of the tree and adds it to the repulsion force of the
+	 * node. Only the input node is updated.
+	 */
+	public void calcRepulsionForce(FDLayoutNode node)
+	{
+		calcRepulsionForce(node, 0);
+	}
+
+	/**
+	 * This method calculates the repulsion force exerted on the input node as
+	 * above, using the scratch space of the input worker. Different workers
+	 * may query the tree at the same time for different nodes.
+	 */
+	public void calcRepulsionForce(FDLayoutNode node, int worker)
+	{
+		int[] stack = this.stacks[worker];
+		double[] pairForce = this.pairForces[worker];
+
+		if (this.cellCount == 0)
+		{
+			return;
+		}
+
+		double centerX = node.getCenterX();
+		double centerY = node.getCenterY();
+		double forceX = 0.0;
+		double forceY = 0.0;
+		int top = 0;
+		int cell, i;
+		FDLayoutNode other;
+
+		stack[top++] = 0;
+
+		while (top > 0)
+		{
+			cell = stack[--top];
+
+			if (isFarEnough(node, centerX, centerY, cell))
+			{
+				double distanceX = this.cellMassX[cell] - centerX;
+				double distanceY = this.cellMassY[cell] - centerY;
+
+				if (Math.abs(distanceX) < FDLayoutConstants.MIN_REPULSION_DIST)
+				{
+					distanceX = IMath.sign(distanceX) *
+						FDLayoutConstants.MIN_REPULSION_DIST;
+				}
+
+				if (Math.abs(distanceY) < FDLayoutConstants.MIN_REPULSION_DIST)
+				{
+					distanceY = IMath.sign(distanceY) *
+						FDLayoutConstants.MIN_REPULSION_DIST;
+				}
+
+				double distanceSquared =
+					distanceX * distanceX + distanceY * distanceY;
+				double distance = Math.sqrt(distanceSquared);
+				double repulsionForce = this.layout.repulsionConstant *
+					node.noOfChildren * this.cellMass[cell] / distanceSquared;
+
+				forceX -= repulsionForce * distanceX / distance;
+				forceY -= repulsionForce * distanceY / distance;
+			}
+			else if (this.cellFirstChild[cell] < 0)
+			// leaf: exact calculation with each member
+			{
+				for (i = this.cellStart[cell]; i < this.cellEnd[cell]; i++)
+				{
+					other = this.bodies[this.order[i]];
+
+					if (other != node)
+					{
+						this.layout.calcRepulsionForce(node, other, pairForce);
+
+						forceX -= pairForce[0];
+						forceY -= pairForce[1];
+					}
+				}
+			}
+			else
+			{
+				// push in reverse so that children are visited in order
+				for (i = this.cellChildCount[cell] - 1; i >= 0; i--)
+				{
+					stack[top++] = this.cellFirstChild[cell] + i;
+				}
+			}
+		}
+
+		node.repulsionForceX += forceX;
+		node.repulsionForceY += forceY;
+	}
+
+	/**
+	 * This method checks whether the input cell may be approximated by its
+	 * center of mass when calculating repulsion on the input node. A cell is
+	 * never approximated if the node overlaps the bounding box of the members
+	 * of the cell, since overlapping nodes are repulsed in a different manner.
+	 */
+	private boolean isFarEnough(FDLayoutNode node,
+		double centerX,
+		double centerY,
+		int cell)
+	{
+		if (this.theta <= 0.0)
+		{
+			return false;
+		}
+
+		if (node.getLeft() <= this.cellRight[cell] &&
+			node.getRight() >= this.cellLeft[cell] &&
+			node.getTop() <= this.cellBottom[cell] &&
+			node.getBottom() >= this.cellTop[cell])
+		{
+			return false;
+		}
+
+		double size = Math.max(this.cellRight[cell] - this.cellLeft[cell],
+			this.cellBottom[cell] - this.cellTop[cell]);
+		double distanceX = this.cellMassX[cell] - centerX;
+		double distanceY = this.cellMassY[cell] - centerY;
+
+		return size * size <
+			this.theta * this.theta *
+				(distanceX * distanceX + distanceY * distanceY);
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Storage management
+// -----------------------------------------------------------------------------
+	/**
+	 * This method makes sure body arrays can hold the input number of bodies.
+	 */
+	private void ensureBodyCapacity(int n)
+	{
+		if (this.bodies.length < n)
+		{
+			int capacity = Math.max(n, this.bodies.length * 2);
+
+			this.bodies = new FDLayoutNode[capacity];
+			this.bodyX = new double[capacity];
+			this.bodyY = new double[capacity];
+			this.order = new int[capacity];
+			this.scratch = new int[capacity];
+		}
+	}
+
+	/**
+	 * This method allocates the input number of consecutive cells and returns
+	 * the index of the first one.
+	 */
+	private int allocateCells(int count)
+	{
+		int first = this.cellCount;
+		int required = first + count;
+
+		if (this.cellStart.length < required)
+		{
+			int capacity = Math.max(required, this.cellStart.length * 2);
+
+			this.cellStart = grow(this.cellStart, capacity);
+			this.cellEnd = grow(this.cellEnd, capacity);
+			this.cellFirstChild = grow(this.cellFirstChild, capacity);
+			this.cellChildCount = grow(this.cellChildCount, capacity);
+			this.cellMass = grow(this.cellMass, capacity);
+			this.cellMassX = grow(this.cellMassX, capacity);
+			this.cellMassY = grow(this.cellMassY, capacity);
+			this.cellLeft = grow(this.cellLeft, capacity);
+			this.cellTop = grow(this.cellTop, capacity);
+			this.cellRight = grow(this.cellRight, capacity);
+			this.cellBottom = grow(this.cellBottom, capacity);
+		}
+
+		this.cellCount = required;
+
+		return first;
+	}
+
+	private static int[] grow(int[] array, int capacity)
+	{
+		int[] result = new int[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+
+	private static double[] grow(double[] array, int capacity)
+	{
+		double[] result = new double[capacity];
+		System.arraycopy(array, 0, result, 0, array.length);
+		return result;
+	}
+}
@@ -1,724 +1,1728 @@
-package org.ivis.layout.fd;
-
-import java.util.HashSet;
-import java.util.Vector;
-
-import org.ivis.util.*;
-import org.ivis.layout.*;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-/**
- * This class implements common data and functionality for all layout styles
- * that are force-directed.
- *
- * @author: Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public abstract class FDLayout extends Layout
-{
-	private final static Logger log = LoggerFactory.getLogger(FDLayout.class);
-
-	/**
-	 * Whether or not smart calculation of ideal edge lengths should be
-	 * performed. When true, ideal edge length values take sizes of end nodes
-	 * into account as well as depths of end nodes (how many levels of compounds
-	 * does each edge need to go through from source to target, if any).
-	 */
-	public boolean useSmartIdealEdgeLengthCalculation =
-		FDLayoutConstants.DEFAULT_USE_SMART_IDEAL_EDGE_LENGTH_CALCULATION;
-
-	/**
-	 * Ideal length of an edge
-	 */
-	public double idealEdgeLength = (double) FDLayoutConstants.DEFAULT_EDGE_LENGTH;
-
-	/**
-	 * Constant for calculating spring forces
-	 */
-	public double springConstant = FDLayoutConstants.DEFAULT_SPRING_STRENGTH;
-
-	/**
-	 * Constant for calculating repulsion forces
-	 */
-	public double repulsionConstant =
-		FDLayoutConstants.DEFAULT_REPULSION_STRENGTH;
-
-	/**
-	 * Constants for calculating gravitation forces
-	 */
-	public double gravityConstant = FDLayoutConstants.DEFAULT_GRAVITY_STRENGTH;
-	public double compoundGravityConstant =
-		FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_STRENGTH;
-
-	/**
-	 * Factors to determine the ranges within which gravity is not to be applied
-	 */
-	public double gravityRangeFactor =
-		FDLayoutConstants.DEFAULT_GRAVITY_RANGE_FACTOR;
-	public double compoundGravityRangeFactor =
-		FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_RANGE_FACTOR;
-
-	/**
-	 * Threshold for convergence per node
-	 */
-	public double displacementThresholdPerNode =
-		(3.0 * (double) FDLayoutConstants.DEFAULT_EDGE_LENGTH) / 100;
-
-	/**
-	 * Whether or not FR grid variant should be used for repulsion force calculations.
-	 */
-	public boolean useFRGridVariant = 
-		FDLayoutConstants.DEFAULT_USE_SMART_REPULSION_RANGE_CALCULATION;
-	
-	/**
-	 * Factor used for cooling layout; starts from 1.0 and goes down towards
-	 * zero as we approach maximum iterations. Incremental layout might start
-	 * with a smaller value.
-	 */
-	public double coolingFactor = 1.0;
-	public double initialCoolingFactor = 1.0;
-	
-	/**
-	 * Total displacement made in this iteration
-	 */
-	public double totalDisplacement = 0.0;
-
-	/**
-	 * Total displacement made in the previous iteration
-	 */
-	public double oldTotalDisplacement = 0.0;
-
-	/**
-	 * Maximum number of layout iterations allowed
-	 */
-	protected int maxIterations = 2500;
-
-	/**
-	 * Total number of iterations currently performed
-	 */
-	protected int totalIterations;
-
-	/**
-	 * Number of layout iterations that has not been animated (rendered)
-	 */
-	protected int notAnimatedIterations;
-
-	/**
-	 * Threshold for convergence (calculated according to graph to be laid out)
-	 */
-	public double totalDisplacementThreshold;
-
-	/**
-	 * Maximum node displacement in allowed in one iteration
-	 */
-	public double maxNodeDisplacement;
-	
-	/**
-	 * Repulsion range &amp; edge size of a grid
-	 */
-	protected double repulsionRange;
-	
-	/**
-	 * Screen is divided into grid of squares.
-	 * At each iteration, each node is placed in its grid square(s)
-	 * Grid is re-calculated after every tenth iteration.
-	 */
-	protected Vector[][] grid;
-	
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-	/**
-	 * The constructor creates and associates with this layout a new graph
-	 * manager as well.
-	 */
-	public FDLayout()
-	{
-		super();
-	}
-
-	/**
-	 * This method is used to set all layout parameters to default values.
-	 */
-	public void initParameters()
-	{
-		super.initParameters();
-
-		LayoutOptionsPack.CoSE layoutOptionsPack =
-			LayoutOptionsPack.getInstance().getCoSE();
-		
-		if (this.layoutQuality == LayoutConstants.DRAFT_QUALITY)
-		{
-			this.displacementThresholdPerNode += 0.30;
-			this.maxIterations *= 0.8;
-		}
-		else if (this.layoutQuality == LayoutConstants.PROOF_QUALITY)
-		{
-			this.displacementThresholdPerNode -= 0.30;
-			this.maxIterations *= 1.2;
-		}
-
-		this.totalIterations = 0;
-		this.notAnimatedIterations = 0;
-		
-		this.useFRGridVariant = layoutOptionsPack.smartRepulsionRangeCalc;
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Remaining methods
-// -----------------------------------------------------------------------------
-	/**
-	 * This method calculates the ideal edge length of each edge based on the
-	 * depth and dimension of the ancestor nodes in the lowest common ancestor
-	 * graph of the edge's end nodes. We assume depth and dimension of each node
-	 * has already been calculated.
-	 */
-	protected void calcIdealEdgeLengths()
-	{
-		FDLayoutEdge edge;
-		int lcaDepth;
-		LNode source;
-		LNode target;
-		int sizeOfSourceInLca;
-		int sizeOfTargetInLca;
-
-		for (Object obj : this.graphManager.getAllEdges())
-		{
-			edge = (FDLayoutEdge) obj;
-
-			edge.idealLength = this.idealEdgeLength;
-
-			if (edge.isInterGraph())
-			{
-				source = edge.getSource();
-				target = edge.getTarget();
-
-				sizeOfSourceInLca = edge.getSourceInLca().getEstimatedSize();
-				sizeOfTargetInLca = edge.getTargetInLca().getEstimatedSize();
-
-				if (this.useSmartIdealEdgeLengthCalculation)
-				{
-					edge.idealLength +=	sizeOfSourceInLca + sizeOfTargetInLca -
-						2 * LayoutConstants.SIMPLE_NODE_SIZE;
-				}
-
-				lcaDepth = edge.getLca().getInclusionTreeDepth();
-
-				edge.idealLength += FDLayoutConstants.DEFAULT_EDGE_LENGTH *
-					FDLayoutConstants.PER_LEVEL_IDEAL_EDGE_LENGTH_FACTOR *
-						(source.getInclusionTreeDepth() +
-							target.getInclusionTreeDepth() - 2 * lcaDepth);
-			}
-		}
-	}
-
-	/**
-	 * This method is used to set parameters used by spring embedder.
-	 */
-	public void initSpringEmbedder()
-	{
-		if (incremental)
-		{
-			coolingFactor = 0.8;
-			initialCoolingFactor = 0.8;
-			maxNodeDisplacement =
-				FDLayoutConstants.MAX_NODE_DISPLACEMENT_INCREMENTAL;
-		}
-		else
-		{
-			coolingFactor = 1.0;
-			initialCoolingFactor = 1.0;
-			maxNodeDisplacement =
-				FDLayoutConstants.MAX_NODE_DISPLACEMENT;
-		}
-
-		maxIterations =
-			Math.max(getAllNodes().length * 5, maxIterations);
-
-		totalDisplacementThreshold =
-			displacementThresholdPerNode * getAllNodes().length;
-		
-		repulsionRange = calcRepulsionRange();
-	}
-
-	/**
-	 * This method calculates the spring forces for the ends of each node.
-	 */
-	public void calcSpringForces()
-	{
-		Object[] lEdges = getAllEdges();
-		FDLayoutEdge edge;
-
-		for (int i = 0; i < lEdges.length; i++)
-		{
-			edge = (FDLayoutEdge) lEdges[i];
-
-			calcSpringForce(edge, edge.idealLength);
-		}
-	}
-
-	/**
-	 * This method calculates the repulsion forces for each pair of nodes.
-	 */
-	public void calcRepulsionForces()
-	{
-		int i, j;
-		FDLayoutNode nodeA, nodeB;
-		Object[] lNodes = getAllNodes();
-		HashSet<FDLayoutNode> processedNodeSet;
-		
-		if (useFRGridVariant)
-		{
-			// grid is a vector matrix that holds CoSENodes.
-			// be sure to convert the Object type to CoSENode.
-			if (totalIterations % FDLayoutConstants.GRID_CALCULATION_CHECK_PERIOD == 1)
-			{
-				grid = calcGrid(graphManager.getRoot());
-
-				// put all nodes to proper grid cells
-				for (i = 0; i < lNodes.length; i++)
-				{
-					nodeA = (FDLayoutNode) lNodes[i];
-					addNodeToGrid(nodeA, grid,
-							graphManager.getRoot().getLeft(),
-							graphManager.getRoot().getTop());
-				}
-			}
-			
-			processedNodeSet = new HashSet<FDLayoutNode>();
-			// calculate repulsion forces between each nodes and its surrounding
-			for (i = 0; i < lNodes.length; i++)
-			{
-				nodeA = (FDLayoutNode) lNodes[i];
-				calculateRepulsionForceOfANode(grid, nodeA, processedNodeSet);
-				processedNodeSet.add(nodeA);
-			}			
-		} else
-		{
-			for (i = 0; i < lNodes.length; i++)
-			{
-				nodeA = (FDLayoutNode) lNodes[i];
-
-				for (j = i + 1; j < lNodes.length; j++)
-				{
-					nodeB = (FDLayoutNode) lNodes[j];
-
-					// If both nodes are not members of the same graph, skip.
-					if (nodeA.getOwner() != nodeB.getOwner()) {
-						continue;
-					}
-
-					calcRepulsionForce(nodeA, nodeB);
-				}
-			}
-		}
-	}
-
-	/**
-	 * This method calculates gravitational forces to keep components together.
-	 */
-	public void calcGravitationalForces()
-	{
-		FDLayoutNode node;
-		Object[] lNodes = getAllNodesToApplyGravitation();
-
-		for (int i = 0; i < lNodes.length; i++)
-		{
-			node = (FDLayoutNode) lNodes[i];
-
-			calcGravitationalForce(node);
-		}
-	}
-
-	/**
-	 * This method updates positions of each node at the end of an iteration.
-	 */
-	public void moveNodes()
-	{
-		Object[] lNodes = getAllNodes();
-		FDLayoutNode node;
-
-		for (int i = 0; i < lNodes.length; i++)
-		{
-			node = (FDLayoutNode) lNodes[i];
-			node.move();
-		}
-	}
-
-	/**
-	 * This method calculates the spring force for the ends of input edge based
-	 * on the input ideal length.
-	 */
-	protected void calcSpringForce(LEdge edge, double idealLength)
-	{
-		FDLayoutNode sourceNode = (FDLayoutNode) edge.getSource();
-		FDLayoutNode targetNode = (FDLayoutNode) edge.getTarget();
-		double length;
-		double springForce;
-		double springForceX;
-		double springForceY;
-
-		// Update edge length
-
-		if (uniformLeafNodeSizes &&
-			sourceNode.getChild() == null && targetNode.getChild() == null)
-		{
-			edge.updateLengthSimple();
-		}
-		else
-		{
-			edge.updateLength();
-
-			if (edge.isOverlapingSourceAndTarget())
-			{
-				return;
-			}
-		}
-
-		length = edge.getLength();
-
-		// Calculate spring forces
-		springForce = springConstant * (length - idealLength);
-
-		// Project force onto x and y axes
-		springForceX = springForce * (edge.getLengthX() / length);
-		springForceY = springForce * (edge.getLengthY() / length);
-
-		// Apply forces on the end nodes
-		sourceNode.springForceX += springForceX;
-		sourceNode.springForceY += springForceY;
-		targetNode.springForceX -= springForceX;
-		targetNode.springForceY -= springForceY;
-	}
-
-	/**
-	 * This method calculates the repulsion forces for the input node pair.
-	 */
-	protected void calcRepulsionForce(FDLayoutNode nodeA, FDLayoutNode nodeB)
-	{
-		RectangleD rectA = nodeA.getRect();
-		RectangleD rectB = nodeB.getRect();
-		double[] overlapAmount = new double[2];
-		double[] clipPoints = new double[4];
-		double distanceX;
-		double distanceY;
-		double distanceSquared;
-		double distance;
-		double repulsionForce;
-		double repulsionForceX;
-		double repulsionForceY;
-		
-		if (rectA.intersects(rectB))
-		// two nodes overlap
-		{
-			// calculate separation amount in x and y directions
-			IGeometry.calcSeparationAmount(rectA,
-				rectB,
-				overlapAmount,
-				FDLayoutConstants.DEFAULT_EDGE_LENGTH / 2.0);
-
-			repulsionForceX = 2 * overlapAmount[0];
-			repulsionForceY = 2 * overlapAmount[1];
-			
-//			assert ! (new RectangleD((rectA.x - repulsionForceX),
-//				(rectA.y - repulsionForceY),
-//				rectA.width,
-//				rectA.height)).intersects(
-//					new RectangleD((rectB.x + repulsionForceX),
-//						(rectB.y + repulsionForceY),
-//						rectB.width,
-//						rectB.height));
-			
-			// This constant is to spread the forces in an inversely proportional way on overlapping nodes based on their weights. 
-			double childrenConstant = nodeA.noOfChildren * nodeB.noOfChildren / (double)(nodeA.noOfChildren + nodeB.noOfChildren);
-			
-			// Apply forces on the two nodes
-			nodeA.repulsionForceX -= childrenConstant * repulsionForceX;
-			nodeA.repulsionForceY -= childrenConstant * repulsionForceY;
-			nodeB.repulsionForceX += childrenConstant * repulsionForceX;
-			nodeB.repulsionForceY += childrenConstant * repulsionForceY;
-		}
-		else
-		// no overlap
-		{
-			// calculate distance
-			if (uniformLeafNodeSizes &&
-				nodeA.getChild() == null && nodeB.getChild() == null)
-			// simply base repulsion on distance of node centers
-			{
-				distanceX = rectB.getCenterX() - rectA.getCenterX();
-				distanceY = rectB.getCenterY() - rectA.getCenterY();
-			}
-			else
-			// use clipping points
-			{
-				IGeometry.getIntersection(rectA, rectB, clipPoints);
-
-				distanceX = clipPoints[2] - clipPoints[0];
-				distanceY = clipPoints[3] - clipPoints[1];
-			}
-
-			// No repulsion range. FR grid variant should take care of this.
-			if (Math.abs(distanceX) < FDLayoutConstants.MIN_REPULSION_DIST)
-			{
-				distanceX = IMath.sign(distanceX) *
-					FDLayoutConstants.MIN_REPULSION_DIST;
-			}
-
-			if (Math.abs(distanceY) < FDLayoutConstants.MIN_REPULSION_DIST)
-			{
-				distanceY = IMath.sign(distanceY) *
-					FDLayoutConstants.MIN_REPULSION_DIST;
-			}
-
-			distanceSquared = distanceX * distanceX + distanceY * distanceY;
-			distance = Math.sqrt(distanceSquared);
-
-			repulsionForce = repulsionConstant * nodeA.noOfChildren * nodeB.noOfChildren / distanceSquared;
-
-			// Project force onto x and y axes
-			repulsionForceX = repulsionForce * distanceX / distance;
-			repulsionForceY = repulsionForce * distanceY / distance;
-			
-			// Apply forces on the two nodes
-			nodeA.repulsionForceX -= repulsionForceX;
-			nodeA.repulsionForceY -= repulsionForceY;
-			nodeB.repulsionForceX += repulsionForceX;
-			nodeB.repulsionForceY += repulsionForceY;
-		}
-	}
-
-	/**
-	 * This method calculates gravitational force for the input node.
-	 */
-	protected void calcGravitationalForce(FDLayoutNode node)
-	{
-		assert node.gravitationForceX == 0 && node.gravitationForceY == 0;
-
-		LGraph ownerGraph;
-		double ownerCenterX;
-		double ownerCenterY;
-		double distanceX;
-		double distanceY;
-		double absDistanceX;
-		double absDistanceY;
-		int estimatedSize;
-		ownerGraph = node.getOwner();
-
-		ownerCenterX = ((double) ownerGraph.getRight() + ownerGraph.getLeft()) / 2;
-		ownerCenterY = ((double) ownerGraph.getTop() + ownerGraph.getBottom()) / 2;
-		distanceX = node.getCenterX() - ownerCenterX;
-		distanceY = node.getCenterY() - ownerCenterY;
-		absDistanceX = Math.abs(distanceX) + node.getWidth() / 2;
-		absDistanceY = Math.abs(distanceY) + node.getHeight() / 2;
-
-		// Apply gravitation only if the node is "roughly" outside the
-		// bounds of the initial estimate for the bounding rect of the owner
-		// graph. We relax (not as much for the compounds) the estimated
-		// size here since the initial estimates seem to be rather "tight".
-
-		if (node.getOwner() == graphManager.getRoot())
-		// in the root graph
-		{
-			estimatedSize = (int) (ownerGraph.getEstimatedSize() *
-				gravityRangeFactor);
-
-			if (absDistanceX > estimatedSize || absDistanceY > estimatedSize)
-			{
-				node.gravitationForceX = -gravityConstant * distanceX;
-				node.gravitationForceY = -gravityConstant * distanceY;
-			}
-		}
-		else
-		// inside a compound
-		{
-			estimatedSize = (int) (ownerGraph.getEstimatedSize() *
-				compoundGravityRangeFactor);
-
-			if (absDistanceX > estimatedSize || absDistanceY > estimatedSize)
-			{
-				node.gravitationForceX = -gravityConstant * distanceX *
-					compoundGravityConstant;
-				node.gravitationForceY = -gravityConstant * distanceY *
-					compoundGravityConstant;
-			}
-		}
-	}
-
-	/**
-	 * This method inspects whether the graph has reached to a minima. It
-	 * returns true if the layout seems to be oscillating as well.
-	 */
-	protected boolean isConverged()
-	{
-		boolean converged;
-		boolean oscilating = false;
-
-		if (totalIterations > maxIterations / 3)
-		{
-			oscilating =
-				Math.abs(totalDisplacement - oldTotalDisplacement) < 2;
-		}
-
-		converged = totalDisplacement < totalDisplacementThreshold;
-
-		oldTotalDisplacement = totalDisplacement;
-
-		return converged || oscilating;
-	}
-
-	/**
-	 * This method updates the v-level compound graph coordinates and refreshes
-	 * the display if corresponding flag is on.
-	 */
-	protected void animate()
-	{
-		if (animationDuringLayout && !isSubLayout)
-		{
-			if (notAnimatedIterations == animationPeriod)
-			{
-				update();
-
-				notAnimatedIterations = 0;
-			}
-			else
-			{
-				notAnimatedIterations++;
-			}
-		}
-	}
-	
-// -----------------------------------------------------------------------------
-// Section: FR-Grid Variant Repulsion Force Calculation
-// -----------------------------------------------------------------------------
-	/**
-	 * This method creates the empty grid with proper dimensions
-	 */
-	protected Vector[][] calcGrid(LGraph g)
-	{
-		int i, j;
-		Vector[][] grid;
-		
-		int sizeX = 0;
-		int sizeY = 0;
-		
-		sizeX = (int) Math.ceil((g.getRight() - g.getLeft()) / repulsionRange);
-		sizeY = (int) Math.ceil((g.getBottom() - g.getTop()) / repulsionRange);
-
-		grid = new Vector[sizeX][sizeY];
-		
-		for (i = 0; i < sizeX; i++)
-		{
-			for (j = 0; j < sizeY; j++)
-			{
-				grid[i][j] = new Vector();
-			}
-		}
-		return grid;
-	}
-	
-	/**
-	 * This method adds input node v to the proper grid squares, 
-	 * and also sets the grid start and finish points of v 
-	 */
-	protected void addNodeToGrid(FDLayoutNode v, Vector[][] grid, double left, double top)
-	{
-		int startX = (int) Math.floor((v.getRect().x - left) / repulsionRange);
-		int finishX = (int) Math.floor((v.getRect().width + v.getRect().x - left) / repulsionRange);
-		int startY = (int) Math.floor((v.getRect().y - top) / repulsionRange);
-		int finishY = (int) Math.floor((v.getRect().height + v.getRect().y - top) / repulsionRange);
-
-		v.setGridCoordinates(startX, finishX, startY, finishY);
-
-		if(startX<0 || finishX<0 || startY<0 || finishY<0) {
-			log.error(String.format("addNodeToGrid: returned unexpectedly due to " +
-				"negative coord.; startX:%d, finishX:%d, startY:%d, finishY:%d",
-					startX,finishX,startY,finishY));
-			grid[startX>=0?startX:0][startY>=0?startY:0].add(v);
-			return;
-		}
-
-		for (int i = startX; i <= finishX; i++)
-		{
-			for (int j = startY; j <= finishY; j++)
-			{
-				grid[i][j].add(v);
-			}
-		}
-	}
-	
-	/**
-	 * This method finds surrounding nodes of nodeA in repulsion range.
-	 * And calculates the repulsion forces between nodeA and its surrounding.
-	 * During the calculation, ignores the nodes that have already been processed.
-	 */
-	protected void calculateRepulsionForceOfANode (Vector[][] grid, 
-		FDLayoutNode nodeA,
-		HashSet<FDLayoutNode> processedNodeSet)
-	{
-		int i,j;
-		
-		if (totalIterations % FDLayoutConstants.GRID_CALCULATION_CHECK_PERIOD == 1)
-		{
-			HashSet<Object> surrounding = new HashSet<Object>();
-			FDLayoutNode nodeB;
-			
-			for (i = (nodeA.startX-1); i < (nodeA.finishX+2); i++)
-			{
-				for (j = (nodeA.startY-1); j < (nodeA.finishY+2); j++)
-				{
-					if (!((i < 0) || (j < 0) || (i >= grid.length) || (j >= grid[0].length)))
-					{
-						for (Object obj : grid[i][j])
-						{ 
-							nodeB = (FDLayoutNode) obj;
-							
-							// If both nodes are not members of the same graph, 
-							// or both nodes are the same, skip.
-							if ((nodeA.getOwner() != nodeB.getOwner()) 
-								|| (nodeA == nodeB))
-							{
-								continue;
-							}
-							
-							// check if the repulsion force between 
-							// nodeA and nodeB has already been calculated
-							if (!processedNodeSet.contains(nodeB) && !surrounding.contains(nodeB))
-							{	
-								double distanceX = Math.abs(nodeA.getCenterX()-nodeB.getCenterX()) - 
-									((nodeA.getWidth()/2) + (nodeB.getWidth()/2));
-								double distanceY = Math.abs(nodeA.getCenterY()-nodeB.getCenterY()) - 
-									((nodeA.getHeight()/2) + (nodeB.getHeight()/2));
-								
-								// if the distance between nodeA and nodeB 
-								// is less then calculation range
-								if ((distanceX <= repulsionRange) && (distanceY <= repulsionRange))
-								{
-									//then add nodeB to surrounding of nodeA
-									surrounding.add(nodeB);
-								}
-							}
-						}
-					}
-				}
-			}
-			nodeA.surrounding = surrounding.toArray();
-		}
-
-		for (i = 0; i < nodeA.surrounding.length; i++)
-		{
-			calcRepulsionForce(nodeA, (FDLayoutNode) nodeA.surrounding[i]);
-		}		
-		
-	}
-	/**
-	 * This method calculates repulsion range
-	 * Also it can be used to calculate the height of a grid's edge
-	 */
-	protected double calcRepulsionRange()
-	{
-		return 0.0;
-	}
+package org.ivis.layout.fd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.ivis.util.*;
+import org.ivis.layout.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements common data and functionality for all layout styles
+ * that are force-directed.
+ *
+ * @author: Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public abstract class FDLayout extends Layout
+{
+	private final static Logger log = LoggerFactory.getLogger(FDLayout.class);
+
+	/**
+	 * Whether or not smart calculation of ideal edge lengths should be
+	 * performed. When true, ideal edge length values take sizes of end nodes
+	 * into account as well as depths of end nodes (how many levels of compounds
+	 * does each edge need to go through from source to target, if any).
+	 */
+	public boolean useSmartIdealEdgeLengthCalculation =
+		FDLayoutConstants.DEFAULT_USE_SMART_IDEAL_EDGE_LENGTH_CALCULATION;
+
+	/**
+	 * Ideal length of an edge
+	 */
+	public double idealEdgeLength = (double) FDLayoutConstants.DEFAULT_EDGE_LENGTH;
+
+	/**
+	 * Constant for calculating spring forces
+	 */
+	public double springConstant = FDLayoutConstants.DEFAULT_SPRING_STRENGTH;
+
+	/**
+	 * Constant for calculating repulsion forces
+	 */
+	public double repulsionConstant =
+		FDLayoutConstants.DEFAULT_REPULSION_STRENGTH;
+
+	/**
+	 * Constants for calculating gravitation forces
+	 */
+	public double gravityConstant = FDLayoutConstants.DEFAULT_GRAVITY_STRENGTH;
+	public double compoundGravityConstant =
+		FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_STRENGTH;
+
+	/**
+	 * Factors to determine the ranges within which gravity is not to be applied
+	 */
+	public double gravityRangeFactor =
+		FDLayoutConstants.DEFAULT_GRAVITY_RANGE_FACTOR;
+	public double compoundGravityRangeFactor =
+		FDLayoutConstants.DEFAULT_COMPOUND_GRAVITY_RANGE_FACTOR;
+
+	/**
+	 * Threshold for convergence per node
+	 */
+	public double displacementThresholdPerNode =
+		(3.0 * (double) FDLayoutConstants.DEFAULT_EDGE_LENGTH) / 100;
+
+	/**
+	 * Whether or not FR grid variant should be used for repulsion force calculations.
+	 */
+	public boolean useFRGridVariant = 
+		FDLayoutConstants.DEFAULT_USE_SMART_REPULSION_RANGE_CALCULATION;
+
+	/**
+	 * Whether or not Barnes-Hut approximation should be used for repulsion
+	 * force calculations. When true, it is used instead of the FR grid variant.
+	 */
+	public boolean useBarnesHutVariant =
+		FDLayoutConstants.DEFAULT_USE_BARNES_HUT_REPULSION;
+
+	/**
+	 * Opening threshold of the Barnes-Hut approximation; a group of nodes is
+	 * approximated by its center of mass if its extent over its distance is
+	 * less than this value. Smaller values are more accurate but slower.
+	 */
+	public double barnesHutTheta = FDLayoutConstants.DEFAULT_BARNES_HUT_THETA;
+
+	/**
+	 * Whether or not surroundings of the FR grid variant should be kept as
+	 * Verlet lists: built with a skin around repulsion range and rebuilt only
+	 * when some node has moved by half the skin, rather than periodically.
+	 */
+	public boolean useVerletRepulsion =
+		FDLayoutConstants.DEFAULT_USE_VERLET_REPULSION;
+
+	/**
+	 * Whether or not nodes that have barely moved for a number of iterations
+	 * should be frozen until one of their neighbors moves significantly.
+	 * Frozen nodes still repel and attract other nodes, but their own forces
+	 * are not calculated and they are not moved.
+	 */
+	public boolean useActiveSet = FDLayoutConstants.DEFAULT_USE_ACTIVE_SET;
+
+	/**
+	 * Number of hops from changed nodes within which nodes are laid out again
+	 * by a delta layout
+	 */
+	public int deltaLayoutHops = FDLayoutConstants.DEFAULT_DELTA_LAYOUT_HOPS;
+
+	/**
+	 * Whether or not the cooling factor should be adapted to the progress of
+	 * layout in every iteration, with a step factor per node, instead of
+	 * following a linear schedule. Layout then stops as soon as the energy of
+	 * the system stops changing.
+	 */
+	public boolean useAdaptiveCooling =
+		FDLayoutConstants.DEFAULT_USE_ADAPTIVE_COOLING;
+
+	/**
+	 * Whether or not a moving compound node should defer translating its
+	 * descendants, keeping the offset pending instead. Each graph is then laid
+	 * out in its own frame: the coordinates of a node are relative to the
+	 * pending offsets of its ancestors, which are applied to all nodes at once
+	 * when the layout is flushed.
+	 */
+	public boolean useLazyTranslation =
+		FDLayoutConstants.DEFAULT_USE_LAZY_TRANSLATION;
+
+	/**
+	 * Whether or not nodes of a graph that is not a forest should initially
+	 * be placed by pivot MDS rather than at random. The spring embedder then
+	 * starts close to the final layout, hence with a lower cooling factor and
+	 * fewer iterations.
+	 */
+	public boolean usePivotMDSInitialization =
+		FDLayoutConstants.DEFAULT_USE_PIVOT_MDS_INITIALIZATION;
+
+	/**
+	 * Whether or not nodes have been placed by pivot MDS since the spring
+	 * embedder was last initialized
+	 */
+	protected boolean placedByPivotMDS;
+	
+	/**
+	 * Factor used for cooling layout; starts from 1.0 and goes down towards
+	 * zero as we approach maximum iterations. Incremental layout might start
+	 * with a smaller value.
+	 */
+	public double coolingFactor = 1.0;
+	public double initialCoolingFactor = 1.0;
+	
+	/**
+	 * Total displacement made in this iteration
+	 */
+	public double totalDisplacement = 0.0;
+
+	/**
+	 * Total displacement made in the previous iteration
+	 */
+	public double oldTotalDisplacement = 0.0;
+
+	/**
+	 * Energy of the system (sum of squared displacements before cooling) in
+	 * this iteration, and its moving average over previous iterations (or -1
+	 * if none yet), used in adaptive cooling
+	 */
+	public double totalEnergy = 0.0;
+	protected double smoothedEnergy = -1.0;
+
+	/**
+	 * Number of consecutive iterations in which energy has decreased, and in
+	 * which its average has barely changed
+	 */
+	private int progressCount;
+	private int plateauCount;
+
+	/**
+	 * Maximum number of layout iterations allowed
+	 */
+	protected int maxIterations = 2500;
+
+	/**
+	 * Total number of iterations currently performed
+	 */
+	protected int totalIterations;
+
+	/**
+	 * Number of layout iterations that has not been animated (rendered)
+	 */
+	protected int notAnimatedIterations;
+
+	/**
+	 * Threshold for convergence (calculated according to graph to be laid out)
+	 */
+	public double totalDisplacementThreshold;
+
+	/**
+	 * Maximum node displacement in allowed in one iteration
+	 */
+	public double maxNodeDisplacement;
+	
+	/**
+	 * Repulsion range &amp; edge size of a grid
+	 */
+	protected double repulsionRange;
+	
+	/**
+	 * Screen is divided into grid of squares.
+	 * At each iteration, each node is placed in its grid square(s)
+	 * Grid is re-calculated after every tenth iteration.
+	 */
+	protected RepulsionGrid grid;
+
+	/**
+	 * Geometry of nodes as last put into the grid, indexed as the node array
+	 * gridNodes; reused from one grid calculation to the next
+	 */
+	private Object[] gridNodes;
+	private double[] gridX;
+	private double[] gridY;
+	private double[] gridWidth;
+	private double[] gridHeight;
+	private boolean[] gridRepulsive;
+	private boolean[] gridPinned;
+	private double[] gridGraphBounds;
+
+	/**
+	 * Scratch space of the sequential repulsion of a node pair, holding its
+	 * force and clipping points (see calcRepulsionForce). Only the layout
+	 * thread uses it; parallel workers pass buffers of their own.
+	 */
+	private final double[] pairForceScratch = new double[4];
+
+	/**
+	 * Scratch space of the sequential spring force calculation of an edge.
+	 * Only the layout thread uses it; parallel workers pass buffers of their
+	 * own.
+	 */
+	private final double[] edgeForceScratch = new double[2];
+
+	/**
+	 * Number of pinned nodes as of the last update of movable nodes, and the
+	 * nodes that are not pinned, the edges with an end that is not pinned and
+	 * the nodes to apply gravitation to that are not pinned, each collected
+	 * from the array of the graph manager given alongside
+	 */
+	private int pinnedNodeCount;
+	private Object[] movableNodes;
+	private Object[] movableNodesSource;
+	private Object[] movableEdges;
+	private Object[] movableEdgesSource;
+	private Object[] movableGravitationNodes;
+	private Object[] movableGravitationNodesSource;
+
+	/**
+	 * Partition of the node array partitionNodes by owner graph: members of
+	 * graph partitionGraphs[g] are the nodes partitionStart[g] to
+	 * partitionStart[g+1]-1, and partitionGraph[i] is the index of the graph
+	 * of node i
+	 */
+	private Object[] partitionNodes;
+	protected int partitionGraphCount;
+	protected LGraph[] partitionGraphs;
+	protected int[] partitionStart;
+	protected int[] partitionGraph;
+
+	/**
+	 * Quadtree used for Barnes-Hut repulsion; rebuilt for each graph in every
+	 * iteration
+	 */
+	protected BarnesHutTree barnesHutTree;
+
+	/**
+	 * Calculator used for parallel force calculations, null if forces are to
+	 * be calculated sequentially
+	 */
+	protected ParallelForceCalculator parallelForceCalculator;
+	
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * The constructor creates and associates with this layout a new graph
+	 * manager as well.
+	 */
+	public FDLayout()
+	{
+		super();
+	}
+
+	/**
+	 * This method is used to set all layout parameters to default values.
+	 */
+	public void initParameters()
+	{
+		super.initParameters();
+
+		LayoutOptionsPack.CoSE layoutOptionsPack =
+			getOptions().getCoSE();
+		
+		if (this.layoutQuality == LayoutConstants.DRAFT_QUALITY)
+		{
+			this.displacementThresholdPerNode += 0.30;
+			this.maxIterations *= 0.8;
+		}
+		else if (this.layoutQuality == LayoutConstants.PROOF_QUALITY)
+		{
+			this.displacementThresholdPerNode -= 0.30;
+			this.maxIterations *= 1.2;
+		}
+
+		this.totalIterations = 0;
+		this.notAnimatedIterations = 0;
+		
+		this.useFRGridVariant = layoutOptionsPack.smartRepulsionRangeCalc;
+		this.useBarnesHutVariant = layoutOptionsPack.barnesHutRepulsion;
+		this.barnesHutTheta = transform(layoutOptionsPack.barnesHutTheta,
+			FDLayoutConstants.DEFAULT_BARNES_HUT_THETA, 4.0, 2.0);
+		this.useVerletRepulsion = layoutOptionsPack.verletRepulsion;
+		this.useActiveSet = layoutOptionsPack.activeSet;
+		this.useAdaptiveCooling = layoutOptionsPack.adaptiveCooling;
+		this.useLazyTranslation = layoutOptionsPack.lazyTranslation;
+		this.usePivotMDSInitialization =
+			layoutOptionsPack.pivotMDSInitialization;
+	}
+
+	/**
+	 * This method sets the executor to be used for calculating forces in
+	 * parallel with at most the input number of threads at a time. Any
+	 * executor may be used (e.g. a ForkJoinPool or a fixed thread pool); the
+	 * calling thread takes part in the calculation as well. Results are
+	 * identical to sequential calculation regardless of the number of threads.
+	 * A null executor or parallelism less than 2 means sequential calculation.
+	 */
+	public void setExecutor(Executor executor, int parallelism)
+	{
+		if (executor == null || parallelism < 2)
+		{
+			this.parallelForceCalculator = null;
+		}
+		else
+		{
+			this.parallelForceCalculator =
+				new ParallelForceCalculator(this, executor, parallelism);
+		}
+	}
+
+	/**
+	 * This method returns the executor used for parallel force calculation,
+	 * or null if forces are calculated sequentially.
+	 */
+	public Executor getExecutor()
+	{
+		return this.parallelForceCalculator == null ?
+			null : this.parallelForceCalculator.getExecutor();
+	}
+
+	/**
+	 * This method makes this layout use the input grid for repulsion force
+	 * calculations with the FR grid variant. A grid grows to fit the largest
+	 * graph it is built for and is reused afterwards, so that a thread
+	 * running many layouts one after another may give them all the same grid
+	 * rather than have a new one allocated and grown for each layout. A grid
+	 * must not be used by two layouts at a time.
+	 */
+	public void setRepulsionGrid(RepulsionGrid grid)
+	{
+		grid.invalidate();
+		this.grid = grid;
+		this.gridNodes = null;
+	}
+
+	/**
+	 * This method returns the grid used for repulsion force calculations with
+	 * the FR grid variant.
+	 */
+	public RepulsionGrid getRepulsionGrid()
+	{
+		if (this.grid == null)
+		{
+			this.grid = new RepulsionGrid();
+		}
+
+		return this.grid;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/**
+	 * This method calculates the ideal edge length of each edge based on the
+	 * depth and dimension of the ancestor nodes in the lowest common ancestor
+	 * graph of the edge's end nodes. We assume depth and dimension of each node
+	 * has already been calculated.
+	 */
+	protected void calcIdealEdgeLengths()
+	{
+		for (Object obj : this.graphManager.getAllEdges())
+		{
+			calcIdealEdgeLength((FDLayoutEdge) obj);
+		}
+	}
+
+	/**
+	 * This method calculates the ideal length of the input edge, whose
+	 * lowest common ancestor is assumed to be calculated.
+	 */
+	protected void calcIdealEdgeLength(FDLayoutEdge edge)
+	{
+		edge.idealLength = this.idealEdgeLength;
+
+		if (edge.isInterGraph())
+		{
+			InclusionTreeIndex index = this.graphManager.getInclusionTreeIndex();
+			LNode source = edge.getSource();
+			LNode target = edge.getTarget();
+
+			int sizeOfSourceInLca = edge.getSourceInLca().getEstimatedSize();
+			int sizeOfTargetInLca = edge.getTargetInLca().getEstimatedSize();
+
+			if (this.useSmartIdealEdgeLengthCalculation)
+			{
+				edge.idealLength +=	sizeOfSourceInLca + sizeOfTargetInLca -
+					2 * LayoutConstants.SIMPLE_NODE_SIZE;
+			}
+
+			int lcaDepth = edge.getLca().getInclusionTreeDepth();
+
+			edge.idealLength += FDLayoutConstants.DEFAULT_EDGE_LENGTH *
+				FDLayoutConstants.PER_LEVEL_IDEAL_EDGE_LENGTH_FACTOR *
+					(index.getDepth(source) + index.getDepth(target) -
+						2 * lcaDepth);
+		}
+	}
+
+	/**
+	 * This method is used to set parameters used by spring embedder.
+	 */
+	public void initSpringEmbedder()
+	{
+		if (incremental)
+		{
+			coolingFactor = 0.8;
+			initialCoolingFactor = 0.8;
+			maxNodeDisplacement =
+				FDLayoutConstants.MAX_NODE_DISPLACEMENT_INCREMENTAL;
+		}
+		else if (placedByPivotMDS)
+		{
+			coolingFactor = FDLayoutConstants.PIVOT_MDS_INITIAL_COOLING_FACTOR;
+			initialCoolingFactor =
+				FDLayoutConstants.PIVOT_MDS_INITIAL_COOLING_FACTOR;
+			maxNodeDisplacement =
+				FDLayoutConstants.MAX_NODE_DISPLACEMENT_INCREMENTAL;
+		}
+		else
+		{
+			coolingFactor = 1.0;
+			initialCoolingFactor = 1.0;
+			maxNodeDisplacement =
+				FDLayoutConstants.MAX_NODE_DISPLACEMENT;
+		}
+
+		maxIterations =
+			Math.max(getAllNodes().length * 5, maxIterations);
+
+		if (placedByPivotMDS && !incremental)
+		{
+			maxIterations = (int) (maxIterations *
+				FDLayoutConstants.PIVOT_MDS_ITERATION_FACTOR);
+		}
+
+		placedByPivotMDS = false;
+
+		totalDisplacementThreshold =
+			displacementThresholdPerNode * getAllNodes().length;
+		
+		repulsionRange = calcRepulsionRange();
+
+		resetActiveSet();
+		updateMovableNodes();
+		resetAdaptiveCooling();
+	}
+
+	/**
+	 * This method determines the initial positions of leaf nodes by pivot
+	 * MDS, with the ideal edge length as the unit distance between adjacent
+	 * nodes, and marks the spring embedder to start from them accordingly.
+	 */
+	public void positionNodesByPivotMDS()
+	{
+		positionNodesByPivotMDS(idealEdgeLength);
+		placedByPivotMDS = true;
+	}
+
+	/**
+	 * This method calculates the spring forces for the ends of each node.
+	 */
+	public void calcSpringForces()
+	{
+		if (parallelForceCalculator != null)
+		{
+			parallelForceCalculator.calcSpringForces();
+			return;
+		}
+
+		Object[] lEdges = getMovableEdges();
+		FDLayoutEdge edge;
+
+		for (int i = 0; i < lEdges.length; i++)
+		{
+			edge = (FDLayoutEdge) lEdges[i];
+
+			if (appliesSpringForce(edge) && !isIdle(edge))
+			{
+				calcSpringForce(edge, edge.idealLength);
+			}
+		}
+	}
+
+	/**
+	 * This method calculates the repulsion forces for each pair of nodes.
+	 */
+	public void calcRepulsionForces()
+	{
+		int i, j;
+		FDLayoutNode nodeA, nodeB;
+		Object[] lNodes = getAllNodes();
+
+		if (useBarnesHutVariant)
+		{
+			if (parallelForceCalculator != null)
+			{
+				if (barnesHutTree == null)
+				{
+					barnesHutTree = new BarnesHutTree(this);
+				}
+
+				parallelForceCalculator.calcBarnesHutRepulsionForces(
+					barnesHutTree);
+			}
+			else
+			{
+				calcBarnesHutRepulsionForces();
+			}
+		}
+		else if (useFRGridVariant)
+		{
+			boolean updateGrid;
+
+			if (useVerletRepulsion)
+			{
+				// surroundings are built with a skin around repulsion range,
+				// and stay valid until some node moves by half the skin
+				double skin = FDLayoutConstants.VERLET_SKIN_FACTOR *
+					repulsionRange;
+
+				updateGrid = updateGridGeometry(lNodes) ||
+					grid.isStale(lNodes.length,
+						gridX, gridY, gridWidth, gridHeight,
+						skin / 2);
+
+				if (updateGrid)
+				{
+					buildGrid(lNodes.length, repulsionRange + skin);
+				}
+			}
+			else
+			{
+				updateGrid = totalIterations %
+					FDLayoutConstants.GRID_CALCULATION_CHECK_PERIOD == 1;
+
+				if (updateGrid)
+				{
+					calcGrid(lNodes);
+				}
+			}
+
+			if (parallelForceCalculator != null)
+			{
+				parallelForceCalculator.calcGridRepulsionForces(grid,
+					updateGrid);
+				return;
+			}
+
+			int[] surrounding = grid.getSurrounding();
+
+			// calculate repulsion forces between each nodes and its surrounding
+			for (i = 0; i < grid.getNodeCount(); i++)
+			{
+				nodeA = (FDLayoutNode) lNodes[i];
+
+				for (int k = grid.getSurroundingStart(i);
+					k < grid.getSurroundingEnd(i);
+					k++)
+				{
+					nodeB = (FDLayoutNode) lNodes[surrounding[k]];
+
+					if ((!nodeA.frozen || !nodeB.frozen) &&
+						isInRepulsionRange(i, surrounding[k]))
+					{
+						calcRepulsionForce(nodeA, nodeB);
+					}
+				}
+			}
+		}
+		else if (parallelForceCalculator != null)
+		{
+			parallelForceCalculator.calcRepulsionForces();
+		}
+		else
+		{
+			updateGraphPartition(lNodes);
+
+			// only members of the same graph repel each other, hence pairs
+			// are formed within the node range of each graph
+			for (int g = 0; g < partitionGraphCount; g++)
+			{
+				int end = partitionStart[g + 1];
+
+				for (i = partitionStart[g]; i < end; i++)
+				{
+					nodeA = (FDLayoutNode) lNodes[i];
+
+					if (!isRepulsive(nodeA))
+					{
+						continue;
+					}
+
+					for (j = i + 1; j < end; j++)
+					{
+						nodeB = (FDLayoutNode) lNodes[j];
+
+						if (!isRepulsive(nodeB) ||
+							(nodeA.frozen && nodeB.frozen))
+						{
+							continue;
+						}
+
+						calcRepulsionForce(nodeA, nodeB);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method calculates the repulsion forces using the Barnes-Hut
+	 * approximation. Since only members of the same graph repulse each other,
+	 * a separate quadtree is built for each graph of the graph manager.
+	 */
+	protected void calcBarnesHutRepulsionForces()
+	{
+		if (barnesHutTree == null)
+		{
+			barnesHutTree = new BarnesHutTree(this);
+		}
+
+		for (Object obj : graphManager.getGraphs())
+		{
+			LGraph graph = (LGraph) obj;
+
+			if (graph.getNodes().size() < 2)
+			{
+				continue;
+			}
+
+			barnesHutTree.build(graph, barnesHutTheta);
+
+			for (int i = 0; i < barnesHutTree.getBodyCount(); i++)
+			{
+				if (!barnesHutTree.getBody(i).frozen)
+				{
+					barnesHutTree.calcRepulsionForce(barnesHutTree.getBody(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * This method returns whether or not a spring force is to be applied for
+	 * the input edge.
+	 */
+	public boolean appliesSpringForce(FDLayoutEdge edge)
+	{
+		return true;
+	}
+
+	/**
+	 * This method returns whether or not the input node takes part in
+	 * repulsion. Nodes that are not repulsive neither exert nor receive any
+	 * repulsion force.
+	 */
+	public boolean isRepulsive(FDLayoutNode node)
+	{
+		return true;
+	}
+
+	/**
+	 * This method calculates gravitational forces to keep components together.
+	 */
+	public void calcGravitationalForces()
+	{
+		if (parallelForceCalculator != null)
+		{
+			parallelForceCalculator.calcGravitationalForces();
+			return;
+		}
+
+		FDLayoutNode node;
+		Object[] lNodes = getMovableNodesToApplyGravitation();
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			node = (FDLayoutNode) lNodes[i];
+
+			if (!node.frozen)
+			{
+				calcGravitationalForce(node);
+			}
+		}
+	}
+
+	/**
+	 * This method updates positions of each node at the end of an iteration.
+	 * Pinned nodes are left out.
+	 */
+	public void moveNodes()
+	{
+		Object[] lNodes = getMovableNodes();
+		FDLayoutNode node;
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			node = (FDLayoutNode) lNodes[i];
+			node.move();
+		}
+	}
+
+	/**
+	 * This method calculates the spring force for the ends of input edge based
+	 * on the input ideal length. It is meant for the sequential path only, as
+	 * it reuses a single scratch array of the layout; parallel workers call
+	 * calcSpringForce(LEdge, double, double[]) with buffers of their own.
+	 */
+	protected void calcSpringForce(LEdge edge, double idealLength)
+	{
+		double[] edgeForce = this.edgeForceScratch;
+
+		if (calcSpringForce(edge, idealLength, edgeForce))
+		{
+			FDLayoutNode sourceNode = (FDLayoutNode) edge.getSource();
+			FDLayoutNode targetNode = (FDLayoutNode) edge.getTarget();
+
+			// Apply forces on the end nodes
+			sourceNode.springForceX += edgeForce[0];
+			sourceNode.springForceY += edgeForce[1];
+			targetNode.springForceX -= edgeForce[0];
+			targetNode.springForceY -= edgeForce[1];
+		}
+	}
+
+	/**
+	 * This method calculates the spring force of the input edge based on the
+	 * input ideal length without applying it. The force is returned in the
+	 * input array as the amount to be added to the force of the source node
+	 * and to be subtracted from the force of the target node. The method
+	 * returns false if no force is to be applied (i.e. end nodes overlap).
+	 */
+	protected boolean calcSpringForce(LEdge edge,
+		double idealLength,
+		double[] result)
+	{
+		FDLayoutNode sourceNode = (FDLayoutNode) edge.getSource();
+		FDLayoutNode targetNode = (FDLayoutNode) edge.getTarget();
+		double length;
+		double springForce;
+		double springForceX;
+		double springForceY;
+
+		double targetShiftX = 0;
+		double targetShiftY = 0;
+
+		// end nodes of an intergraph edge may be in different frames
+		if (useLazyTranslation && edge.isInterGraph())
+		{
+			targetShiftX = getPendingOffsetX(targetNode.getOwner()) -
+				getPendingOffsetX(sourceNode.getOwner());
+			targetShiftY = getPendingOffsetY(targetNode.getOwner()) -
+				getPendingOffsetY(sourceNode.getOwner());
+		}
+
+		// Update edge length
+
+		if (uniformLeafNodeSizes &&
+			sourceNode.getChild() == null && targetNode.getChild() == null)
+		{
+			edge.updateLengthSimple(targetShiftX, targetShiftY);
+		}
+		else
+		{
+			edge.updateLength(targetShiftX, targetShiftY);
+
+			if (edge.isOverlapingSourceAndTarget())
+			{
+				return false;
+			}
+		}
+
+		length = edge.getLength();
+
+		// Calculate spring forces
+		springForce = springConstant * ((FDLayoutEdge) edge).weight *
+			(length - idealLength);
+
+		// Project force onto x and y axes
+		springForceX = springForce * (edge.getLengthX() / length);
+		springForceY = springForce * (edge.getLengthY() / length);
+
+		result[0] = springForceX;
+		result[1] = springForceY;
+
+		return true;
+	}
+
+	/**
+	 * This method calculates the repulsion forces for the input node pair.
+	 * It is meant for the sequential path only, as it reuses a single
+	 * scratch array of the layout; parallel workers call
+	 * calcRepulsionForce(FDLayoutNode, FDLayoutNode, double[]) with buffers
+	 * of their own.
+	 */
+	protected void calcRepulsionForce(FDLayoutNode nodeA, FDLayoutNode nodeB)
+	{
+		double[] pairForce = this.pairForceScratch;
+
+		calcRepulsionForce(nodeA, nodeB, pairForce);
+
+		// Apply forces on the two nodes
+		nodeA.repulsionForceX -= pairForce[0];
+		nodeA.repulsionForceY -= pairForce[1];
+		nodeB.repulsionForceX += pairForce[0];
+		nodeB.repulsionForceY += pairForce[1];
+	}
+
+	/**
+	 * This method calculates the repulsion force between the input node pair
+	 * without applying it. The force is returned in the input array as the
+	 * amount to be subtracted from the force of nodeA and to be added to the
+	 * force of nodeB. An input array of (at least) four entries is also used
+	 * as scratch space for clipping points; a shorter one makes the method
+	 * allocate that space instead.
+	 */
+	protected void calcRepulsionForce(FDLayoutNode nodeA,
+		FDLayoutNode nodeB,
+		double[] result)
+	{
+		RectangleD rectA = nodeA.getRect();
+		RectangleD rectB = nodeB.getRect();
+		double distanceX;
+		double distanceY;
+		double distanceSquared;
+		double distance;
+		double repulsionForce;
+		double repulsionForceX;
+		double repulsionForceY;
+		
+		if (rectA.intersects(rectB))
+		// two nodes overlap
+		{
+			// calculate separation amount in x and y directions
+			IGeometry.calcSeparationAmount(rectA,
+				rectB,
+				result,
+				FDLayoutConstants.DEFAULT_EDGE_LENGTH / 2.0);
+
+			repulsionForceX = 2 * result[0];
+			repulsionForceY = 2 * result[1];
+			
+//			assert ! (new RectangleD((rectA.x - repulsionForceX),
+//				(rectA.y - repulsionForceY),
+//				rectA.width,
+//				rectA.height)).intersects(
+//					new RectangleD((rectB.x + repulsionForceX),
+//						(rectB.y + repulsionForceY),
+//						rectB.width,
+//						rectB.height));
+			
+			// This constant is to spread the forces in an inversely proportional way on overlapping nodes based on their weights. 
+			double childrenConstant = nodeA.noOfChildren * nodeB.noOfChildren / (double)(nodeA.noOfChildren + nodeB.noOfChildren);
+			
+			result[0] = childrenConstant * repulsionForceX;
+			result[1] = childrenConstant * repulsionForceY;
+		}
+		else
+		// no overlap
+		{
+			// calculate distance
+			if (uniformLeafNodeSizes &&
+				nodeA.getChild() == null && nodeB.getChild() == null)
+			// simply base repulsion on distance of node centers
+			{
+				distanceX = rectB.getCenterX() - rectA.getCenterX();
+				distanceY = rectB.getCenterY() - rectA.getCenterY();
+			}
+			else
+			// use clipping points
+			{
+				double[] clipPoints =
+					result.length >= 4 ? result : new double[4];
+
+				IGeometry.getIntersection(rectA, rectB, clipPoints);
+
+				distanceX = clipPoints[2] - clipPoints[0];
+				distanceY = clipPoints[3] - clipPoints[1];
+			}
+
+			// No repulsion range. FR grid variant should take care of this.
+			if (Math.abs(distanceX) < FDLayoutConstants.MIN_REPULSION_DIST)
+			{
+				distanceX = IMath.sign(distanceX) *
+					FDLayoutConstants.MIN_REPULSION_DIST;
+			}
+
+			if (Math.abs(distanceY) < FDLayoutConstants.MIN_REPULSION_DIST)
+			{
+				distanceY = IMath.sign(distanceY) *
+					FDLayoutConstants.MIN_REPULSION_DIST;
+			}
+
+			distanceSquared = distanceX * distanceX + distanceY * distanceY;
+			distance = Math.sqrt(distanceSquared);
+
+			repulsionForce = repulsionConstant * nodeA.noOfChildren * nodeB.noOfChildren / distanceSquared;
+
+			// Project force onto x and y axes
+			repulsionForceX = repulsionForce * distanceX / distance;
+			repulsionForceY = repulsionForce * distanceY / distance;
+
+			result[0] = repulsionForceX;
+			result[1] = repulsionForceY;
+		}
+	}
+
+	/**
+	 * This method calculates gravitational force for the input node.
+	 */
+	protected void calcGravitationalForce(FDLayoutNode node)
+	{
+		assert node.gravitationForceX == 0 && node.gravitationForceY == 0;
+
+		LGraph ownerGraph;
+		double ownerCenterX;
+		double ownerCenterY;
+		double distanceX;
+		double distanceY;
+		double absDistanceX;
+		double absDistanceY;
+		int estimatedSize;
+		ownerGraph = node.getOwner();
+
+		ownerCenterX = ((double) ownerGraph.getRight() + ownerGraph.getLeft()) / 2;
+		ownerCenterY = ((double) ownerGraph.getTop() + ownerGraph.getBottom()) / 2;
+		distanceX = node.getCenterX() - ownerCenterX;
+		distanceY = node.getCenterY() - ownerCenterY;
+		absDistanceX = Math.abs(distanceX) + node.getWidth() / 2;
+		absDistanceY = Math.abs(distanceY) + node.getHeight() / 2;
+
+		// Apply gravitation only if the node is "roughly" outside the
+		// bounds of the initial estimate for the bounding rect of the owner
+		// graph. We relax (not as much for the compounds) the estimated
+		// size here since the initial estimates seem to be rather "tight".
+
+		if (node.getOwner() == graphManager.getRoot())
+		// in the root graph
+		{
+			estimatedSize = (int) (ownerGraph.getEstimatedSize() *
+				gravityRangeFactor);
+
+			if (absDistanceX > estimatedSize || absDistanceY > estimatedSize)
+			{
+				node.gravitationForceX = -gravityConstant * distanceX;
+				node.gravitationForceY = -gravityConstant * distanceY;
+			}
+		}
+		else
+		// inside a compound
+		{
+			estimatedSize = (int) (ownerGraph.getEstimatedSize() *
+				compoundGravityRangeFactor);
+
+			if (absDistanceX > estimatedSize || absDistanceY > estimatedSize)
+			{
+				node.gravitationForceX = -gravityConstant * distanceX *
+					compoundGravityConstant;
+				node.gravitationForceY = -gravityConstant * distanceY *
+					compoundGravityConstant;
+			}
+		}
+	}
+
+	/**
+	 * This method inspects whether the graph has reached to a minima. It
+	 * returns true if the layout seems to be oscillating as well.
+	 */
+	protected boolean isConverged()
+	{
+		boolean converged;
+		boolean oscilating = false;
+
+		if (totalIterations > maxIterations / 3)
+		{
+			oscilating =
+				Math.abs(totalDisplacement - oldTotalDisplacement) < 2;
+		}
+
+		converged = totalDisplacement < totalDisplacementThreshold;
+
+		oldTotalDisplacement = totalDisplacement;
+
+		return converged || oscilating;
+	}
+
+	/**
+	 * This method updates the v-level compound graph coordinates and refreshes
+	 * the display if corresponding flag is on.
+	 */
+	protected void animate()
+	{
+		if (animationDuringLayout && !isSubLayout)
+		{
+			if (notAnimatedIterations == animationPeriod)
+			{
+				flushLazyTranslation();
+				updateDirtyBounds();
+				update();
+
+				notAnimatedIterations = 0;
+			}
+			else
+			{
+				notAnimatedIterations++;
+			}
+		}
+	}
+	
+	/**
+	 * This method updates the bounds of graphs whose members have moved since
+	 * the last update, in parallel if a parallel force calculator is set.
+	 */
+	public void updateDirtyBounds()
+	{
+		if (parallelForceCalculator != null)
+		{
+			parallelForceCalculator.updateDirtyBounds();
+		}
+		else
+		{
+			graphManager.updateDirtyBounds();
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Lazy translation
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the x coordinate of the origin of the frame of the
+	 * input graph, that is the sum of the pending offsets of the compound
+	 * nodes containing it. Coordinates of the members of the graph are
+	 * relative to this origin when translation is lazy.
+	 */
+	public double getPendingOffsetX(LGraph graph)
+	{
+		double offset = 0;
+		LGraph root = graphManager.getRoot();
+
+		while (graph != root)
+		{
+			FDLayoutNode parent = (FDLayoutNode) graph.getParent();
+
+			offset += parent.pendingOffsetX;
+			graph = parent.getOwner();
+		}
+
+		return offset;
+	}
+
+	/**
+	 * This method returns the y coordinate of the origin of the frame of the
+	 * input graph (see getPendingOffsetX).
+	 */
+	public double getPendingOffsetY(LGraph graph)
+	{
+		double offset = 0;
+		LGraph root = graphManager.getRoot();
+
+		while (graph != root)
+		{
+			FDLayoutNode parent = (FDLayoutNode) graph.getParent();
+
+			offset += parent.pendingOffsetY;
+			graph = parent.getOwner();
+		}
+
+		return offset;
+	}
+
+	/**
+	 * This method applies the pending offsets of all compound nodes to their
+	 * descendants, so that the coordinates of all nodes are absolute again.
+	 * Bounds of the graphs are left dirty.
+	 */
+	public void flushLazyTranslation()
+	{
+		if (useLazyTranslation)
+		{
+			flushLazyTranslation(graphManager.getRoot(), 0, 0);
+		}
+	}
+
+	/**
+	 * This method translates the members of the input graph, and the members
+	 * of the graphs nested in it with the pending offsets of their parents
+	 * added, by the input amount.
+	 */
+	private void flushLazyTranslation(LGraph graph, double dx, double dy)
+	{
+		for (Object obj : graph.getNodes())
+		{
+			FDLayoutNode node = (FDLayoutNode) obj;
+
+			if (node.getChild() != null)
+			{
+				double childDx = dx + node.pendingOffsetX;
+				double childDy = dy + node.pendingOffsetY;
+
+				node.pendingOffsetX = 0;
+				node.pendingOffsetY = 0;
+
+				flushLazyTranslation(node.getChild(), childDx, childDy);
+			}
+
+			if (dx != 0 || dy != 0)
+			{
+				node.moveBy(dx, dy);
+			}
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Active set
+// -----------------------------------------------------------------------------
+	/**
+	 * This method unfreezes all nodes, making each part of the active set,
+	 * except for fixed nodes (see LNode.isFixed), which are pinned along with
+	 * the members of fixed compound nodes and the compound nodes holding them.
+	 */
+	protected void resetActiveSet()
+	{
+		Object[] lNodes = getAllNodes();
+		LGraph root = graphManager.getRoot();
+		boolean[] held = new boolean[graphManager.getNodeIdBound()];
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			LNode node = (LNode) lNodes[i];
+			boolean fixed = node.isFixed();
+
+			for (LGraph graph = node.getOwner();
+				!fixed && graph != root;
+				graph = graph.getParent().getOwner())
+			{
+				fixed = graph.getParent().isFixed();
+			}
+
+			// ancestors of a fixed node are held as well, up to the first
+			// one already held, whose ancestors have been marked before
+			for (LNode ancestor = node;
+				fixed && !held[ancestor.getId()];
+				ancestor = ancestor.getOwner().getParent())
+			{
+				held[ancestor.getId()] = true;
+
+				if (ancestor.getOwner() == root)
+				{
+					break;
+				}
+			}
+		}
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			FDLayoutNode node = (FDLayoutNode) lNodes[i];
+
+			if (held[node.getId()])
+			{
+				pin(node);
+			}
+			else
+			{
+				unpin(node);
+			}
+		}
+	}
+
+	/**
+	 * This method returns whether both ends of the input edge are frozen, in
+	 * which case its spring force need not be calculated.
+	 */
+	protected boolean isIdle(FDLayoutEdge edge)
+	{
+		return ((FDLayoutNode) edge.getSource()).frozen &&
+			((FDLayoutNode) edge.getTarget()).frozen;
+	}
+
+	/**
+	 * This method updates the state of the input (active) node after it has
+	 * moved by the input amount in this iteration. A node that has barely
+	 * moved for a number of iterations is frozen, whereas one that has moved
+	 * significantly wakes up its neighbors and the compound node it is in.
+	 */
+	public void updateActiveSet(FDLayoutNode node, double displacement)
+	{
+		if (displacement < displacementThresholdPerNode *
+			FDLayoutConstants.ACTIVE_SET_IDLE_DISPLACEMENT_FACTOR)
+		{
+			if (++node.idleIterations >=
+				FDLayoutConstants.ACTIVE_SET_IDLE_ITERATIONS)
+			{
+				node.frozen = true;
+				node.frozenDisplacement = displacement;
+			}
+
+			return;
+		}
+
+		node.idleIterations = 0;
+
+		if (displacement < displacementThresholdPerNode)
+		{
+			return;
+		}
+
+		for (Object obj : node.getEdges())
+		{
+			wake((FDLayoutNode) ((LEdge) obj).getOtherEnd(node));
+		}
+
+		if (node.getOwner() != graphManager.getRoot())
+		{
+			wake((FDLayoutNode) node.getOwner().getParent());
+		}
+	}
+
+	/**
+	 * This method makes the input node part of the active set again, unless
+	 * it is pinned.
+	 */
+	protected void wake(FDLayoutNode node)
+	{
+		if (node.pinned)
+		{
+			return;
+		}
+
+		node.frozen = false;
+		node.idleIterations = 0;
+	}
+
+	/**
+	 * This method pins the input node, which then stays frozen until it is
+	 * unpinned.
+	 */
+	protected void pin(FDLayoutNode node)
+	{
+		node.pinned = true;
+		node.frozen = true;
+		node.frozenDisplacement = 0.0;
+	}
+
+	/**
+	 * This method unpins the input node, making it part of the active set.
+	 * Forces exerted on the node while it was pinned are dropped.
+	 */
+	protected void unpin(FDLayoutNode node)
+	{
+		if (node.pinned)
+		{
+			node.springForceX = 0;
+			node.springForceY = 0;
+			node.repulsionForceX = 0;
+			node.repulsionForceY = 0;
+			node.gravitationForceX = 0;
+			node.gravitationForceY = 0;
+		}
+
+		node.pinned = false;
+		wake(node);
+	}
+
+	/**
+	 * This method counts the pinned nodes, and makes the nodes, edges and
+	 * nodes to apply gravitation to whose forces are calculated in each
+	 * iteration be collected anew. It is to be called once nodes are pinned
+	 * or unpinned, so that, when most nodes are pinned, iterations take time
+	 * in proportion to the number of the remaining nodes.
+	 */
+	protected void updateMovableNodes()
+	{
+		Object[] lNodes = getAllNodes();
+		pinnedNodeCount = 0;
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			if (((FDLayoutNode) lNodes[i]).pinned)
+			{
+				pinnedNodeCount++;
+			}
+		}
+
+		movableNodesSource = null;
+		movableEdgesSource = null;
+		movableGravitationNodesSource = null;
+
+		// surroundings of the grid depend on which nodes are pinned
+		if (grid != null)
+		{
+			grid.invalidate();
+		}
+	}
+
+	/**
+	 * This method returns whether some node of the graph is fixed.
+	 */
+	protected boolean hasFixedNodes()
+	{
+		Object[] lNodes = getAllNodes();
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			if (((LNode) lNodes[i]).isFixed())
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * This method returns whether some node was pinned as of the last update
+	 * of movable nodes.
+	 */
+	protected boolean hasPinnedNodes()
+	{
+		return pinnedNodeCount > 0;
+	}
+
+	/**
+	 * This method returns the nodes that are not pinned.
+	 */
+	protected Object[] getMovableNodes()
+	{
+		Object[] lNodes = getAllNodes();
+
+		if (pinnedNodeCount == 0)
+		{
+			return lNodes;
+		}
+
+		if (movableNodesSource != lNodes)
+		{
+			List<Object> nodeList = new ArrayList<Object>();
+
+			for (int i = 0; i < lNodes.length; i++)
+			{
+				if (!((FDLayoutNode) lNodes[i]).pinned)
+				{
+					nodeList.add(lNodes[i]);
+				}
+			}
+
+			movableNodes = nodeList.toArray();
+			movableNodesSource = lNodes;
+		}
+
+		return movableNodes;
+	}
+
+	/**
+	 * This method returns the edges with an end that is not pinned.
+	 */
+	protected Object[] getMovableEdges()
+	{
+		Object[] lEdges = getAllEdges();
+
+		if (pinnedNodeCount == 0)
+		{
+			return lEdges;
+		}
+
+		if (movableEdgesSource != lEdges)
+		{
+			List<Object> edgeList = new ArrayList<Object>();
+
+			for (int i = 0; i < lEdges.length; i++)
+			{
+				LEdge edge = (LEdge) lEdges[i];
+
+				if (!((FDLayoutNode) edge.getSource()).pinned ||
+					!((FDLayoutNode) edge.getTarget()).pinned)
+				{
+					edgeList.add(edge);
+				}
+			}
+
+			movableEdges = edgeList.toArray();
+			movableEdgesSource = lEdges;
+		}
+
+		return movableEdges;
+	}
+
+	/**
+	 * This method returns the nodes to apply gravitation to that are not
+	 * pinned.
+	 */
+	protected Object[] getMovableNodesToApplyGravitation()
+	{
+		Object[] lNodes = getAllNodesToApplyGravitation();
+
+		if (pinnedNodeCount == 0)
+		{
+			return lNodes;
+		}
+
+		if (movableGravitationNodesSource != lNodes)
+		{
+			List<Object> nodeList = new ArrayList<Object>();
+
+			for (int i = 0; i < lNodes.length; i++)
+			{
+				if (!((FDLayoutNode) lNodes[i]).pinned)
+				{
+					nodeList.add(lNodes[i]);
+				}
+			}
+
+			movableGravitationNodes = nodeList.toArray();
+			movableGravitationNodesSource = lNodes;
+		}
+
+		return movableGravitationNodes;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Adaptive cooling
+// -----------------------------------------------------------------------------
+	/**
+	 * This method resets the energy of the system and the step factors of all
+	 * nodes.
+	 */
+	protected void resetAdaptiveCooling()
+	{
+		Object[] lNodes = getAllNodes();
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			FDLayoutNode node = (FDLayoutNode) lNodes[i];
+
+			node.stepFactor = 1.0;
+			node.previousForceX = 0;
+			node.previousForceY = 0;
+		}
+
+		totalEnergy = 0.0;
+		smoothedEnergy = -1.0;
+		progressCount = 0;
+		plateauCount = 0;
+	}
+
+	/**
+	 * This method updates the step factor of the input node according to the
+	 * input total force on it, and returns the new step factor. The step of a
+	 * node shrinks
+	 * whenever the force on it reverses its direction (i.e. it oscillates),
+	 * and grows back otherwise.
+	 */
+	public double updateStepFactor(FDLayoutNode node,
+		double forceX,
+		double forceY)
+	{
+		if (forceX * node.previousForceX + forceY * node.previousForceY < 0)
+		{
+			node.stepFactor *=
+				FDLayoutConstants.ADAPTIVE_NODE_STEP_SHRINK_FACTOR;
+		}
+		else
+		{
+			node.stepFactor = Math.min(1.0, node.stepFactor *
+				FDLayoutConstants.ADAPTIVE_NODE_STEP_GROW_FACTOR);
+		}
+
+		node.previousForceX = forceX;
+		node.previousForceY = forceY;
+
+		return node.stepFactor;
+	}
+
+	/**
+	 * This method adapts the cooling factor to the energy of the system in the
+	 * last iteration and returns whether layout has converged. The cooling
+	 * factor shrinks (down to a fraction of its initial value) if energy has
+	 * not decreased with respect to its moving average, and grows (up to its
+	 * initial value) after a number of consecutive decreases. Layout has
+	 * converged if total displacement is below the threshold, or if average
+	 * energy has barely changed for a number of iterations.
+	 */
+	protected boolean updateAdaptiveCooling()
+	{
+		if (smoothedEnergy < 0)
+		{
+			smoothedEnergy = totalEnergy;
+		}
+		else
+		{
+			if (totalEnergy < smoothedEnergy)
+			{
+				if (++progressCount >=
+					FDLayoutConstants.ADAPTIVE_COOLING_PROGRESS_STEPS)
+				{
+					progressCount = 0;
+					coolingFactor = Math.min(initialCoolingFactor,
+						coolingFactor / FDLayoutConstants.ADAPTIVE_COOLING_RATE);
+				}
+			}
+			else
+			{
+				progressCount = 0;
+				coolingFactor = Math.max(initialCoolingFactor *
+						FDLayoutConstants.MIN_ADAPTIVE_COOLING_FACTOR,
+					coolingFactor * FDLayoutConstants.ADAPTIVE_COOLING_RATE);
+			}
+
+			double oldSmoothedEnergy = smoothedEnergy;
+
+			smoothedEnergy =
+				FDLayoutConstants.ADAPTIVE_ENERGY_SMOOTHING * smoothedEnergy +
+				(1 - FDLayoutConstants.ADAPTIVE_ENERGY_SMOOTHING) * totalEnergy;
+
+			if (Math.abs(smoothedEnergy - oldSmoothedEnergy) <=
+				FDLayoutConstants.ADAPTIVE_ENERGY_TOLERANCE * oldSmoothedEnergy)
+			{
+				plateauCount++;
+			}
+			else
+			{
+				plateauCount = 0;
+			}
+		}
+
+		totalEnergy = 0.0;
+
+		return totalDisplacement < totalDisplacementThreshold ||
+			plateauCount >= FDLayoutConstants.ADAPTIVE_PLATEAU_ITERATIONS;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Graph partition
+// -----------------------------------------------------------------------------
+	/**
+	 * This method partitions the input node array by owner graph, unless it
+	 * is the array last partitioned. Members of each graph are expected to be
+	 * consecutive in the array, as in the node array of the graph manager.
+	 */
+	protected void updateGraphPartition(Object[] lNodes)
+	{
+		if (lNodes == partitionNodes)
+		{
+			return;
+		}
+
+		int n = lNodes.length;
+		int count = 0;
+		LGraph owner = null;
+
+		if (partitionGraph == null || partitionGraph.length < n)
+		{
+			partitionGraph = new int[n];
+			partitionStart = new int[n + 1];
+			partitionGraphs = new LGraph[n];
+		}
+
+		for (int i = 0; i < n; i++)
+		{
+			LGraph nodeOwner = ((FDLayoutNode) lNodes[i]).getOwner();
+
+			if (nodeOwner != owner)
+			{
+				owner = nodeOwner;
+				partitionGraphs[count] = owner;
+				partitionStart[count++] = i;
+			}
+
+			partitionGraph[i] = count - 1;
+		}
+
+		partitionStart[count] = n;
+		partitionGraphCount = count;
+		partitionNodes = lNodes;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: FR-Grid Variant Repulsion Force Calculation
+// -----------------------------------------------------------------------------
+	/**
+	 * This method puts the members of each graph into the cells of a grid
+	 * covering that graph and finds the surrounding of each node in repulsion
+	 * range. Nodes are identified in the grid by their indices in the input
+	 * array.
+	 */
+	protected void calcGrid(Object[] lNodes)
+	{
+		updateGridGeometry(lNodes);
+		buildGrid(lNodes.length, repulsionRange);
+	}
+
+	/**
+	 * This method builds the grid from the geometry last copied from the
+	 * nodes, using the input range for surroundings.
+	 */
+	private void buildGrid(int nodeCount, double range)
+	{
+		if (gridGraphBounds == null ||
+			gridGraphBounds.length < 4 * partitionGraphCount)
+		{
+			gridGraphBounds = new double[4 * partitionGraphCount];
+		}
+
+		for (int g = 0; g < partitionGraphCount; g++)
+		{
+			LGraph graph = partitionGraphs[g];
+
+			gridGraphBounds[4 * g] = graph.getLeft();
+			gridGraphBounds[4 * g + 1] = graph.getTop();
+			gridGraphBounds[4 * g + 2] = graph.getRight();
+			gridGraphBounds[4 * g + 3] = graph.getBottom();
+		}
+
+		grid.build(nodeCount,
+			gridX, gridY, gridWidth, gridHeight,
+			gridRepulsive,
+			pinnedNodeCount > 0 ? gridPinned : null,
+			partitionGraphCount, partitionStart, gridGraphBounds,
+			range);
+	}
+
+	/**
+	 * This method copies the current geometry of the input nodes into the
+	 * arrays the grid is built from, and returns whether the node array has
+	 * changed since the last call.
+	 */
+	private boolean updateGridGeometry(Object[] lNodes)
+	{
+		int n = lNodes.length;
+		boolean nodesChanged = lNodes != gridNodes;
+
+		if (grid == null)
+		{
+			grid = new RepulsionGrid();
+		}
+
+		if (nodesChanged)
+		{
+			if (gridX == null || gridX.length < n)
+			{
+				gridX = new double[n];
+				gridY = new double[n];
+				gridWidth = new double[n];
+				gridHeight = new double[n];
+				gridRepulsive = new boolean[n];
+				gridPinned = new boolean[n];
+			}
+
+			updateGraphPartition(lNodes);
+			gridNodes = lNodes;
+		}
+
+		for (int i = 0; i < n; i++)
+		{
+			FDLayoutNode node = (FDLayoutNode) lNodes[i];
+			RectangleD rect = node.getRect();
+
+			gridX[i] = rect.x;
+			gridY[i] = rect.y;
+			gridWidth[i] = rect.width;
+			gridHeight[i] = rect.height;
+			gridRepulsive[i] = isRepulsive(node);
+			gridPinned[i] = node.pinned;
+		}
+
+		return nodesChanged;
+	}
+
+	/**
+	 * This method returns whether the nodes with the input indices in the
+	 * grid are to repel each other in this iteration. Surroundings are exact
+	 * unless Verlet lists are used, in which case they also contain nodes in
+	 * the skin around repulsion range.
+	 */
+	protected boolean isInRepulsionRange(int a, int b)
+	{
+		return !useVerletRepulsion ||
+			RepulsionGrid.isInRange(gridX, gridY, gridWidth, gridHeight,
+				a, b, repulsionRange);
+	}
+
+	/**
+	 * This method calculates repulsion range
+	 * Also it can be used to calculate the height of a grid's edge
+	 */
+	protected double calcRepulsionRange()
+	{
+		return 0.0;
+	}
 }
\ No newline at end of file
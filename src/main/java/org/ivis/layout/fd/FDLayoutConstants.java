@@ -1,63 +1,147 @@
-package org.ivis.layout.fd;
-
-/**
- * This class maintains the constants used by force-directed layouts.
- *
- * @author: Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class FDLayoutConstants
-{
-// -----------------------------------------------------------------------------
-// Section: user options
-// -----------------------------------------------------------------------------
-	/*
-	 * Options potentially exposed to the user 
-	 */
-	public static final int DEFAULT_EDGE_LENGTH = 50;
-	public static final double DEFAULT_SPRING_STRENGTH = 0.45;
-	public static final double DEFAULT_REPULSION_STRENGTH = 4500.0;
-	public static final double DEFAULT_GRAVITY_STRENGTH = 0.4;
-	public static final double DEFAULT_COMPOUND_GRAVITY_STRENGTH = 1.0;
-	public static final double DEFAULT_GRAVITY_RANGE_FACTOR = 2.0;
-	public static final double DEFAULT_COMPOUND_GRAVITY_RANGE_FACTOR = 1.5;
-	public static final boolean DEFAULT_USE_SMART_IDEAL_EDGE_LENGTH_CALCULATION = true;
-	public static final boolean DEFAULT_USE_SMART_REPULSION_RANGE_CALCULATION = true;
-	
-// -----------------------------------------------------------------------------
-// Section: remaining constants
-// -----------------------------------------------------------------------------
-	
-	/*
-	 * Maximum amount by which a node can be moved per iteration
-	 */
-	public static final double MAX_NODE_DISPLACEMENT_INCREMENTAL = 100.0;
-	public static final double MAX_NODE_DISPLACEMENT = 
-		MAX_NODE_DISPLACEMENT_INCREMENTAL * 3;
-
-	/*
-	 * Used to determine node pairs that are too close during repulsion calcs
-	 */
-	public static final double MIN_REPULSION_DIST = DEFAULT_EDGE_LENGTH / 10.0;
-
-	/**
-	 * Number of iterations that should be done in between convergence checks
-	 */
-	public static final int CONVERGENCE_CHECK_PERIOD = 100;
-
-	/**
-	 * Ideal edge length coefficient per level for intergraph edges
-	 */
-	public static final double PER_LEVEL_IDEAL_EDGE_LENGTH_FACTOR = 0.1;
-
-	/**
-	 * Minimum legth of an edge
-	 */
-	public static final int MIN_EDGE_LENGTH = 1;
-	
-	/**
-	 * Number of iterations that should be done in between grid calculations
-	 */
-	public static final int GRID_CALCULATION_CHECK_PERIOD = 10;
+package org.ivis.layout.fd;
+
+/**
+ * This class maintains the constants used by force-directed layouts.
+ *
+ * @author: Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class FDLayoutConstants
+{
+// -----------------------------------------------------------------------------
+// Section: user options
+// -----------------------------------------------------------------------------
+	/*
+	 * Options potentially exposed to the user 
+	 */
+	public static final int DEFAULT_EDGE_LENGTH = 50;
+	public static final double DEFAULT_SPRING_STRENGTH = 0.45;
+	public static final double DEFAULT_REPULSION_STRENGTH = 4500.0;
+	public static final double DEFAULT_GRAVITY_STRENGTH = 0.4;
+	public static final double DEFAULT_COMPOUND_GRAVITY_STRENGTH = 1.0;
+	public static final double DEFAULT_GRAVITY_RANGE_FACTOR = 2.0;
+	public static final double DEFAULT_COMPOUND_GRAVITY_RANGE_FACTOR = 1.5;
+	public static final boolean DEFAULT_USE_SMART_IDEAL_EDGE_LENGTH_CALCULATION = true;
+	public static final boolean DEFAULT_USE_SMART_REPULSION_RANGE_CALCULATION = true;
+	public static final boolean DEFAULT_USE_BARNES_HUT_REPULSION = false;
+	public static final double DEFAULT_BARNES_HUT_THETA = 0.8;
+	public static final boolean DEFAULT_USE_VERLET_REPULSION = false;
+	public static final boolean DEFAULT_USE_ACTIVE_SET = false;
+	public static final boolean DEFAULT_USE_ADAPTIVE_COOLING = false;
+	public static final boolean DEFAULT_USE_LAZY_TRANSLATION = false;
+	public static final boolean DEFAULT_USE_PIVOT_MDS_INITIALIZATION = false;
+	
+// -----------------------------------------------------------------------------
+// Section: remaining constants
+// -----------------------------------------------------------------------------
+	
+	/*
+	 * Maximum amount by which a node can be moved per iteration
+	 */
+	public static final double MAX_NODE_DISPLACEMENT_INCREMENTAL = 100.0;
+	public static final double MAX_NODE_DISPLACEMENT = 
+		MAX_NODE_DISPLACEMENT_INCREMENTAL * 3;
+
+	/*
+	 * Used to determine node pairs that are too close during repulsion calcs
+	 */
+	public static final double MIN_REPULSION_DIST = DEFAULT_EDGE_LENGTH / 10.0;
+
+	/**
+	 * Number of iterations that should be done in between convergence checks
+	 */
+	public static final int CONVERGENCE_CHECK_PERIOD = 100;
+
+	/**
+	 * Ideal edge length coefficient per level for intergraph edges
+	 */
+	public static final double PER_LEVEL_IDEAL_EDGE_LENGTH_FACTOR = 0.1;
+
+	/**
+	 * Minimum legth of an edge
+	 */
+	public static final int MIN_EDGE_LENGTH = 1;
+	
+	/**
+	 * Number of iterations that should be done in between grid calculations
+	 */
+	public static final int GRID_CALCULATION_CHECK_PERIOD = 10;
+
+	/**
+	 * Width of the skin added to repulsion range when surroundings are kept
+	 * as Verlet lists, as a fraction of repulsion range
+	 */
+	public static final double VERLET_SKIN_FACTOR = 0.25;
+
+	/**
+	 * Number of consecutive iterations a node should barely move before it is
+	 * frozen, when the active set of nodes is maintained
+	 */
+	public static final int ACTIVE_SET_IDLE_ITERATIONS = 20;
+
+	/**
+	 * A node barely moves in an iteration if its displacement is less than
+	 * this fraction of the displacement threshold per node
+	 */
+	public static final double ACTIVE_SET_IDLE_DISPLACEMENT_FACTOR = 0.5;
+
+	/**
+	 * Adaptive cooling: the cooling factor is multiplied by this rate when
+	 * the energy of the system does not decrease, down to the given fraction
+	 * of its initial value, and divided by it after this many consecutive
+	 * decreases
+	 */
+	public static final double ADAPTIVE_COOLING_RATE = 0.9;
+	public static final double MIN_ADAPTIVE_COOLING_FACTOR = 0.15;
+	public static final int ADAPTIVE_COOLING_PROGRESS_STEPS = 5;
+
+	/**
+	 * Adaptive cooling: weight of the previous average in the moving average
+	 * of energy, which energy of each iteration is compared against
+	 */
+	public static final double ADAPTIVE_ENERGY_SMOOTHING = 0.8;
+
+	/**
+	 * Adaptive cooling: the step factor of a node is multiplied by the first
+	 * factor when the force on it reverses its direction, and by the second
+	 * otherwise (up to 1)
+	 */
+	public static final double ADAPTIVE_NODE_STEP_SHRINK_FACTOR = 0.7;
+	public static final double ADAPTIVE_NODE_STEP_GROW_FACTOR = 1.2;
+
+	/**
+	 * Adaptive cooling: layout is converged when the relative change in
+	 * average energy stays below the tolerance for this many consecutive
+	 * iterations
+	 */
+	public static final double ADAPTIVE_ENERGY_TOLERANCE = 1e-3;
+	public static final int ADAPTIVE_PLATEAU_ITERATIONS = 10;
+
+	/**
+	 * Initial cooling factor of the spring embedder, and the fraction of
+	 * maximum iterations it runs for, when nodes are initially placed by
+	 * pivot MDS rather than at random
+	 */
+	public static final double PIVOT_MDS_INITIAL_COOLING_FACTOR = 0.5;
+	public static final double PIVOT_MDS_ITERATION_FACTOR = 0.5;
+
+	/**
+	 * Delta layout: default number of hops from changed nodes within which
+	 * nodes are laid out again, and the minimum number of iterations
+	 */
+	public static final int DEFAULT_DELTA_LAYOUT_HOPS = 2;
+	public static final int DELTA_LAYOUT_MIN_ITERATIONS = 200;
+
+	/**
+	 * Maximum number of nodes kept in a leaf cell of the Barnes-Hut quadtree;
+	 * repulsion between a node and the members of a leaf is calculated exactly
+	 */
+	public static final int BARNES_HUT_LEAF_CAPACITY = 4;
+
+	/**
+	 * Maximum depth of the Barnes-Hut quadtree; cells at this depth are not
+	 * subdivided any further (e.g. when many nodes share the same center)
+	 */
+	public static final int BARNES_HUT_MAX_DEPTH = 24;
 }
\ No newline at end of file
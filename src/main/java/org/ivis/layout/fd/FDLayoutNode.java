@@ -1,94 +1,128 @@
-package org.ivis.layout.fd;
-
-import java.awt.Point;
-import java.awt.Dimension;
-
-import org.ivis.layout.LNode;
-import org.ivis.layout.LGraphManager;
-
-/**
- * This class implements common data and functionality for nodes of all layout
- * styles that are force-directed.
- *
- * @author: Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public abstract class FDLayoutNode extends LNode
-{
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-	/*
-	 * Spring, repulsion and gravitational forces acting on this node
-	 */
-	public double springForceX;
-	public double springForceY;
-	public double repulsionForceX;
-	public double repulsionForceY;
-	public double gravitationForceX;
-	public double gravitationForceY;
-
-	/*
-	 * Amount by which this node is to be moved in this iteration
-	 */
-	public double displacementX;
-	public double displacementY;
-
-	/**
-	 * Start and finish grid coordinates that this node is fallen into
-	 */
-	public int startX;
-	public int finishX;
-	public int startY;
-	public int finishY;
-	
-	/**
-	 * Geometric neighbors of this node 
-	 */
-	public Object[] surrounding;
-	
-// -----------------------------------------------------------------------------
-// Section: Constructors and initialization
-// -----------------------------------------------------------------------------
-	/*
-	 * Constructor
-	 */
-	public FDLayoutNode(LGraphManager gm, Object vNode)
-	{
-		super(gm, vNode);
-	}
-
-	/**
-	 * Alternative constructor
-	 */
-	public FDLayoutNode(LGraphManager gm, Point loc, Dimension size, Object vNode)
-	{
-		super(gm, loc, size, vNode);
-	}
-
-// -----------------------------------------------------------------------------
-// Section: FR-Grid Variant Repulsion Force Calculation
-// -----------------------------------------------------------------------------
-	/**
-	 * This method sets start and finish grid coordinates
-	 */
-	public void setGridCoordinates(int _startX, int _finishX, int _startY, int _finishY)
-	{
-		this.startX = _startX;
-		this.finishX = _finishX;
-		this.startY = _startY;
-		this.finishY = _finishY;
-
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Remaining methods
-// -----------------------------------------------------------------------------
-	/*
-	 * This method recalculates the displacement related attributes of this
-	 * object. These attributes are calculated at each layout iteration once,
-	 * for increasing the speed of the layout.
-	 */
-	abstract public void move();
+package org.ivis.layout.fd;
+
+import java.awt.Point;
+import java.awt.Dimension;
+
+import org.ivis.layout.LNode;
+import org.ivis.layout.LGraphManager;
+
+/**
+ * This class implements common data and functionality for nodes of all layout
+ * styles that are force-directed.
+ *
+ * @author: Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public abstract class FDLayoutNode extends LNode
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/*
+	 * Spring, repulsion and gravitational forces acting on this node
+	 */
+	public double springForceX;
+	public double springForceY;
+	public double repulsionForceX;
+	public double repulsionForceY;
+	public double gravitationForceX;
+	public double gravitationForceY;
+
+	/*
+	 * Amount by which this node is to be moved in this iteration
+	 */
+	public double displacementX;
+	public double displacementY;
+
+	/**
+	 * Number of consecutive iterations this node has barely moved, whether
+	 * or not it is frozen (i.e. left out of the active set of nodes whose
+	 * forces are calculated and which are moved), and its displacement when
+	 * it was frozen
+	 */
+	public int idleIterations;
+	public boolean frozen;
+	public double frozenDisplacement;
+
+	/**
+	 * Whether this node is pinned, i.e. frozen for good: it exerts forces on
+	 * the nodes that are not frozen, but does not move on its own
+	 */
+	public boolean pinned;
+
+	/**
+	 * Factor by which the displacement of this node is scaled, and the total
+	 * force on it in the previous iteration (used in adaptive cooling)
+	 */
+	public double stepFactor = 1.0;
+	public double previousForceX;
+	public double previousForceY;
+
+	/**
+	 * Translation of the child graph of this compound node that has not yet
+	 * been applied to its members (used in lazy translation). Coordinates of
+	 * the members are relative to this offset.
+	 */
+	public double pendingOffsetX;
+	public double pendingOffsetY;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/*
+	 * Constructor
+	 */
+	public FDLayoutNode(LGraphManager gm, Object vNode)
+	{
+		super(gm, vNode);
+	}
+
+	/**
+	 * Alternative constructor
+	 */
+	public FDLayoutNode(LGraphManager gm, Point loc, Dimension size, Object vNode)
+	{
+		super(gm, loc, size, vNode);
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/**
+	 * This method moves this compound node by the input amount without
+	 * moving its descendants, keeping the amount as the pending offset of its
+	 * child graph instead. Bounds of the child graph remain valid in its own
+	 * frame.
+	 */
+	public void translateLazily(double dx, double dy)
+	{
+		assert this.child != null;
+
+		this.rect.x += dx;
+		this.rect.y += dy;
+		this.pendingOffsetX += dx;
+		this.pendingOffsetY += dy;
+
+		this.owner.markBoundsDirty();
+	}
+
+	/**
+	 * This method wraps the child graph, whose bounds are in its own frame,
+	 * taking the pending offset into account.
+	 */
+	protected void wrapChildGraph()
+	{
+		super.wrapChildGraph();
+
+		this.rect.x += this.pendingOffsetX;
+		this.rect.y += this.pendingOffsetY;
+	}
+
+	/*
+	 * This method recalculates the displacement related attributes of this
+	 * object. These attributes are calculated at each layout iteration once,
+	 * for increasing the speed of the layout.
+	 */
+	abstract public void move();
 }
\ No newline at end of file
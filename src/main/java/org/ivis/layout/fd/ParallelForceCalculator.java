@@ -0,0 +1,765 @@
+package org.ivis.layout.fd;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LNode;
+
+/**
+ * This class calculates the forces of a force-directed layout in parallel
+ * using a caller-supplied executor. Nodes, edges and node pairs are split into
+ * consecutive chunks, each of which is processed by a worker.
+ *
+ * Results are bit-identical to sequential calculation regardless of the
+ * number of threads: each pairwise force (spring force of an edge or
+ * repulsion force of a node pair) is first calculated into primitive arrays,
+ * and the forces of each node are then summed up in exactly the order the
+ * sequential loops of FDLayout would have added them. Since the exact O(n^2)
+ * repulsion has too many pairs to store, each worker calculates the pairs of
+ * its own nodes, which means each pair is calculated twice in that mode.
+ *
+ * Node movement is not parallelized since moving a compound node propagates
+ * to its descendants and total displacement is accumulated in node order.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class ParallelForceCalculator
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Minimum number of items (nodes, edges or pairs) per chunk; smaller
+	 * problems are not worth distributing among threads
+	 */
+	public static final int MIN_CHUNK_SIZE = 64;
+
+	/**
+	 * Layout whose forces are calculated
+	 */
+	private FDLayout layout;
+
+	/**
+	 * Executor running the workers and maximum number of workers
+	 */
+	private Executor executor;
+	private int parallelism;
+
+	/**
+	 * Node and edge arrays of the graph manager that the index structures
+	 * below were built for
+	 */
+	private Object[] nodes;
+	private Object[] edges;
+
+	/**
+	 * Index of each node in the node array by node id
+	 */
+	private int[] nodeIndex;
+
+	/**
+	 * Spring forces of edges and the incidence lists of nodes in compressed
+	 * form: entries of node i are springEntries[springStart[i], springStart[i+1]).
+	 * An entry e >= 0 denotes adding the force of edge e, whereas ~e denotes
+	 * subtracting it.
+	 */
+	private double[] springForceX;
+	private double[] springForceY;
+	private boolean[] springApplied;
+	private int[] springStart;
+	private int[] springEntries;
+
+	/**
+	 * Node pairs in repulsion range (FR grid variant), their repulsion forces
+	 * and the incidence lists of nodes encoded as above
+	 */
+	private int pairCount;
+	private int[] pairA;
+	private int[] pairB;
+	private double[] pairForceX;
+	private double[] pairForceY;
+	private int[] pairStart;
+	private int[] pairEntries;
+
+	/**
+	 * Compound nodes of the root graph with dirty bounds; reused from one
+	 * update to the next
+	 */
+	private LNode[] dirtyCompounds = new LNode[16];
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates a calculator for the input layout, which uses at most the input
+	 * number of workers at a time.
+	 */
+	public ParallelForceCalculator(FDLayout layout,
+		Executor executor,
+		int parallelism)
+	{
+		assert executor != null && parallelism > 1;
+
+		this.layout = layout;
+		this.executor = executor;
+		this.parallelism = parallelism;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the executor used for running the workers.
+	 */
+	public Executor getExecutor()
+	{
+		return this.executor;
+	}
+
+	/**
+	 * This method returns the maximum number of workers used at a time.
+	 */
+	public int getParallelism()
+	{
+		return this.parallelism;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Force calculation
+// -----------------------------------------------------------------------------
+	/**
+	 * This method calculates the spring forces for the ends of each edge.
+	 */
+	public void calcSpringForces()
+	{
+		final Object[] lEdges = this.layout.getAllEdges();
+		final Object[] lNodes = this.layout.getAllNodes();
+
+		if (lEdges != this.edges || lNodes != this.nodes)
+		{
+			buildSpringIncidence(lNodes, lEdges);
+		}
+
+		forEach(lEdges.length, new Task()
+		{
+			public void run(int worker, int start, int end)
+			{
+				double[] force = new double[2];
+				FDLayoutEdge edge;
+
+				for (int e = start; e < end; e++)
+				{
+					edge = (FDLayoutEdge) lEdges[e];
+
+					springApplied[e] = layout.appliesSpringForce(edge) &&
+						!layout.isIdle(edge) &&
+						layout.calcSpringForce(edge, edge.idealLength, force);
+					springForceX[e] = force[0];
+					springForceY[e] = force[1];
+				}
+			}
+		});
+
+		forEach(lNodes.length, new Task()
+		{
+			public void run(int worker, int start, int end)
+			{
+				FDLayoutNode node;
+				double forceX, forceY;
+				int entry;
+
+				for (int i = start; i < end; i++)
+				{
+					node = (FDLayoutNode) lNodes[i];
+					forceX = node.springForceX;
+					forceY = node.springForceY;
+
+					for (int k = springStart[i]; k < springStart[i + 1]; k++)
+					{
+						entry = springEntries[k];
+
+						if (entry >= 0 && springApplied[entry])
+						{
+							forceX += springForceX[entry];
+							forceY += springForceY[entry];
+						}
+						else if (entry < 0 && springApplied[~entry])
+						{
+							forceX -= springForceX[~entry];
+							forceY -= springForceY[~entry];
+						}
+					}
+
+					node.springForceX = forceX;
+					node.springForceY = forceY;
+				}
+			}
+		});
+	}
+
+	/**
+	 * This method calculates the repulsion forces between each pair of
+	 * members of the same graph exactly.
+	 */
+	public void calcRepulsionForces()
+	{
+		final Object[] lNodes = this.layout.getAllNodes();
+
+		// members of each graph form a consecutive range of the node array;
+		// since chunks are consecutive as well, most graphs are handled by a
+		// single worker
+		this.layout.updateGraphPartition(lNodes);
+		final int[] graphStart = this.layout.partitionStart;
+		final int[] nodeGraph = this.layout.partitionGraph;
+
+		forEach(lNodes.length, new Task()
+		{
+			public void run(int worker, int start, int end)
+			{
+				double[] force = new double[4];
+				FDLayoutNode node, other;
+				double forceX, forceY;
+
+				for (int i = start; i < end; i++)
+				{
+					node = (FDLayoutNode) lNodes[i];
+
+					// forces of frozen nodes are not needed
+					if (!layout.isRepulsive(node) || node.frozen)
+					{
+						continue;
+					}
+
+					forceX = node.repulsionForceX;
+					forceY = node.repulsionForceY;
+					int graphEnd = graphStart[nodeGraph[i] + 1];
+
+					// same order as the sequential nested loops: this node is
+					// the second of the pair for preceding nodes...
+					for (int j = graphStart[nodeGraph[i]]; j < i; j++)
+					{
+						other = (FDLayoutNode) lNodes[j];
+
+						if (layout.isRepulsive(other))
+						{
+							layout.calcRepulsionForce(other, node, force);
+							forceX += force[0];
+							forceY += force[1];
+						}
+					}
+
+					// ...and the first one for the succeeding nodes
+					for (int j = i + 1; j < graphEnd; j++)
+					{
+						other = (FDLayoutNode) lNodes[j];
+
+						if (layout.isRepulsive(other))
+						{
+							layout.calcRepulsionForce(node, other, force);
+							forceX -= force[0];
+							forceY -= force[1];
+						}
+					}
+
+					node.repulsionForceX = forceX;
+					node.repulsionForceY = forceY;
+				}
+			}
+		});
+	}
+
+	/**
+	 * This method calculates the repulsion forces between each node and its
+	 * surrounding as in the FR grid variant. The input grid is assumed to be
+	 * up to date; node pairs are collected again if the input flag is set.
+	 */
+	public void calcGridRepulsionForces(RepulsionGrid grid,
+		boolean updateSurroundings)
+	{
+		final Object[] lNodes = this.layout.getAllNodes();
+
+		if (updateSurroundings || this.pairA == null)
+		{
+			buildPairIncidence(grid, lNodes.length);
+		}
+
+		forEach(this.pairCount, new Task()
+		{
+			public void run(int worker, int start, int end)
+			{
+				double[] force = new double[4];
+
+				for (int p = start; p < end; p++)
+				{
+					if ((((FDLayoutNode) lNodes[pairA[p]]).frozen &&
+						((FDLayoutNode) lNodes[pairB[p]]).frozen) ||
+						!layout.isInRepulsionRange(pairA[p], pairB[p]))
+					{
+						pairForceX[p] = 0.0;
+						pairForceY[p] = 0.0;
+						continue;
+					}
+
+					layout.calcRepulsionForce((FDLayoutNode) lNodes[pairA[p]],
+						(FDLayoutNode) lNodes[pairB[p]],
+						force);
+					pairForceX[p] = force[0];
+					pairForceY[p] = force[1];
+				}
+			}
+		});
+
+		forEach(lNodes.length, new Task()
+		{
+			public void run(int worker, int start, int end)
+			{
+				FDLayoutNode node;
+				double forceX, forceY;
+				int entry;
+
+				for (int i = start; i < end; i++)
+				{
+					if (pairStart[i] == pairStart[i + 1])
+					{
+						continue;
+					}
+
+					node = (FDLayoutNode) lNodes[i];
+					forceX = node.repulsionForceX;
+					forceY = node.repulsionForceY;
+
+					for (int k = pairStart[i]; k < pairStart[i + 1]; k++)
+					{
+						entry = pairEntries[k];
+
+						if (entry >= 0)
+						{
+							forceX += pairForceX[entry];
+							forceY += pairForceY[entry];
+						}
+						else
+						{
+							forceX -= pairForceX[~entry];
+							forceY -= pairForceY[~entry];
+						}
+					}
+
+					node.repulsionForceX = forceX;
+					node.repulsionForceY = forceY;
+				}
+			}
+		});
+	}
+
+	/**
+	 * This method calculates the repulsion forces using the input Barnes-Hut
+	 * tree for each graph of the layout.
+	 */
+	public void calcBarnesHutRepulsionForces(final BarnesHutTree tree)
+	{
+		tree.ensureWorkers(this.parallelism);
+
+		for (Object obj : this.layout.getGraphManager().getGraphs())
+		{
+			LGraph graph = (LGraph) obj;
+
+			if (graph.getNodes().size() < 2)
+			{
+				continue;
+			}
+
+			tree.build(graph, this.layout.barnesHutTheta);
+
+			forEach(tree.getBodyCount(), new Task()
+			{
+				public void run(int worker, int start, int end)
+				{
+					for (int i = start; i < end; i++)
+					{
+						if (!tree.getBody(i).frozen)
+						{
+							tree.calcRepulsionForce(tree.getBody(i), worker);
+						}
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * This method calculates gravitational forces for the nodes to apply
+	 * gravitation to.
+	 */
+	public void calcGravitationalForces()
+	{
+		final Object[] lNodes = this.layout.getAllNodesToApplyGravitation();
+
+		forEach(lNodes.length, new Task()
+		{
+			public void run(int worker, int start, int end)
+			{
+				FDLayoutNode node;
+
+				for (int i = start; i < end; i++)
+				{
+					node = (FDLayoutNode) lNodes[i];
+
+					if (!node.frozen)
+					{
+						layout.calcGravitationalForce(node);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * This method updates the dirty bounds of the compound structure of the
+	 * layout. Subtrees of the compound nodes in the root graph are independent
+	 * of each other, hence they are updated in parallel, and the root graph
+	 * afterwards.
+	 */
+	public void updateDirtyBounds()
+	{
+		LGraph root = this.layout.getGraphManager().getRoot();
+
+		if (!root.isBoundsDirty())
+		{
+			return;
+		}
+
+		int count = 0;
+
+		for (Object obj : root.getNodes())
+		{
+			LNode node = (LNode) obj;
+
+			if (node.getChild() != null && node.getChild().isBoundsDirty())
+			{
+				if (count == this.dirtyCompounds.length)
+				{
+					this.dirtyCompounds =
+						Arrays.copyOf(this.dirtyCompounds, 2 * count);
+				}
+
+				this.dirtyCompounds[count++] = node;
+			}
+		}
+
+		if (count > 1)
+		{
+			final LNode[] compounds = this.dirtyCompounds;
+
+			forEach(count, 1, new Task()
+			{
+				public void run(int worker, int start, int end)
+				{
+					for (int i = start; i < end; i++)
+					{
+						compounds[i].updateDirtyBounds();
+					}
+				}
+			});
+
+			Arrays.fill(compounds, 0, count, null);
+		}
+
+		root.updateDirtyBounds();
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Index structures
+// -----------------------------------------------------------------------------
+	/**
+	 * This method maps each node to its index in the input node array.
+	 */
+	private void buildNodeIndex(Object[] lNodes)
+	{
+		if (lNodes == this.nodes && this.nodeIndex != null)
+		{
+			return;
+		}
+
+		this.nodeIndex = new int[
+			this.layout.getGraphManager().getNodeIdBound()];
+
+		for (int i = 0; i < lNodes.length; i++)
+		{
+			this.nodeIndex[((LNode) lNodes[i]).getId()] = i;
+		}
+
+		this.nodes = lNodes;
+		this.pairA = null;
+	}
+
+	/**
+	 * This method builds the incidence lists of nodes for spring force
+	 * reduction. Sequentially the source of an edge gets the spring force
+	 * added and then the target gets it subtracted, in edge order.
+	 */
+	private void buildSpringIncidence(Object[] lNodes, Object[] lEdges)
+	{
+		buildNodeIndex(lNodes);
+
+		int[] source = new int[lEdges.length];
+		int[] target = new int[lEdges.length];
+		FDLayoutEdge edge;
+
+		for (int e = 0; e < lEdges.length; e++)
+		{
+			edge = (FDLayoutEdge) lEdges[e];
+			source[e] = indexOf(edge.getSource());
+			target[e] = indexOf(edge.getTarget());
+		}
+
+		this.springStart = new int[lNodes.length + 1];
+		this.springEntries = buildIncidence(target, source, lEdges.length,
+			lNodes.length, this.springStart, true);
+		this.springForceX = new double[lEdges.length];
+		this.springForceY = new double[lEdges.length];
+		this.springApplied = new boolean[lEdges.length];
+		this.edges = lEdges;
+	}
+
+	/**
+	 * This method collects node pairs from the surroundings in the input grid
+	 * and builds the incidence lists of nodes for repulsion force reduction.
+	 * Sequentially a node gets the force of each pair with a member of its
+	 * surrounding subtracted, and the member gets it added.
+	 */
+	private void buildPairIncidence(RepulsionGrid grid, int nodeCount)
+	{
+		int count = grid.getSurroundingCount();
+		int[] surrounding = grid.getSurrounding();
+
+		if (this.pairA == null || this.pairA.length < count)
+		{
+			int capacity = Math.max(count, 16);
+
+			this.pairA = new int[capacity];
+			this.pairB = new int[capacity];
+			this.pairForceX = new double[capacity];
+			this.pairForceY = new double[capacity];
+		}
+
+		for (int i = 0; i < grid.getNodeCount(); i++)
+		{
+			for (int k = grid.getSurroundingStart(i);
+				k < grid.getSurroundingEnd(i);
+				k++)
+			{
+				this.pairA[k] = i;
+				this.pairB[k] = surrounding[k];
+			}
+		}
+
+		this.pairCount = count;
+		this.pairStart = new int[nodeCount + 1];
+		this.pairEntries = buildIncidence(this.pairA, this.pairB,
+			this.pairCount, nodeCount, this.pairStart, false);
+	}
+
+	/**
+	 * This method builds incidence lists in compressed form for the input
+	 * pairs. For each pair p, in order, ~p is appended to the list of its
+	 * first node and p to that of its second node; the order of these two is
+	 * reversed if the input flag is set. Pairs with a missing node (index -1)
+	 * are only recorded for the other node.
+	 */
+	private static int[] buildIncidence(int[] first,
+		int[] second,
+		int count,
+		int nodeCount,
+		int[] start,
+		boolean secondFirst)
+	{
+		int[] position = new int[nodeCount];
+		int p;
+
+		for (p = 0; p < count; p++)
+		{
+			if (first[p] >= 0)
+			{
+				start[first[p] + 1]++;
+			}
+
+			if (second[p] >= 0)
+			{
+				start[second[p] + 1]++;
+			}
+		}
+
+		for (int i = 0; i < nodeCount; i++)
+		{
+			start[i + 1] += start[i];
+			position[i] = start[i];
+		}
+
+		int[] entries = new int[start[nodeCount]];
+
+		for (p = 0; p < count; p++)
+		{
+			if (secondFirst && second[p] >= 0)
+			{
+				entries[position[second[p]]++] = p;
+			}
+
+			if (first[p] >= 0)
+			{
+				entries[position[first[p]]++] = ~p;
+			}
+
+			if (!secondFirst && second[p] >= 0)
+			{
+				entries[position[second[p]]++] = p;
+			}
+		}
+
+		return entries;
+	}
+
+	/**
+	 * This method returns the index of the input node in the node array, or
+	 * -1 if it is not in the array (such a node is never moved by the layout).
+	 */
+	private int indexOf(LNode node)
+	{
+		int id = node.getId();
+
+		if (id < 0 || id >= this.nodeIndex.length)
+		{
+			return -1;
+		}
+
+		int index = this.nodeIndex[id];
+
+		return index < this.nodes.length && this.nodes[index] == node ?
+			index : -1;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Parallel execution
+// -----------------------------------------------------------------------------
+	/**
+	 * A task processing a range of items
+	 */
+	private interface Task
+	{
+		void run(int worker, int start, int end);
+	}
+
+	/**
+	 * This method runs the input task for the items [0, count) split into at
+	 * most parallelism chunks, and returns when all chunks are processed. The
+	 * calling thread processes chunks too, so that the layout can not starve
+	 * even if the executor is busy or rejects the workers. Chunk boundaries do
+	 * not affect the results since tasks calculate items independently.
+	 */
+	private void forEach(int count, final Task task)
+	{
+		forEach(count, MIN_CHUNK_SIZE, task);
+	}
+
+	/**
+	 * This method runs the input task on chunks of at least the input number
+	 * of items.
+	 */
+	private void forEach(int count, int minChunkSize, final Task task)
+	{
+		final int chunkCount = Math.min(this.parallelism,
+			(count + minChunkSize - 1) / minChunkSize);
+
+		if (chunkCount <= 1)
+		{
+			task.run(0, 0, count);
+			return;
+		}
+
+		final int chunkSize = (count + chunkCount - 1) / chunkCount;
+		final int total = count;
+		final AtomicInteger nextChunk = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(chunkCount);
+		final AtomicReference<Throwable> failure =
+			new AtomicReference<Throwable>();
+
+		Runnable worker = new Runnable()
+		{
+			public void run()
+			{
+				int chunk;
+
+				while ((chunk = nextChunk.getAndIncrement()) < chunkCount)
+				{
+					try
+					{
+						task.run(chunk,
+							chunk * chunkSize,
+							Math.min(total, (chunk + 1) * chunkSize));
+					}
+					catch (Throwable t)
+					{
+						failure.compareAndSet(null, t);
+					}
+					finally
+					{
+						done.countDown();
+					}
+				}
+			}
+		};
+
+		try
+		{
+			for (int i = 1; i < chunkCount; i++)
+			{
+				this.executor.execute(worker);
+			}
+		}
+		catch (RejectedExecutionException e)
+		{
+			// remaining chunks are processed by the calling thread
+		}
+
+		worker.run();
+
+		boolean interrupted = false;
+
+		while (true)
+		{
+			try
+			{
+				done.await();
+				break;
+			}
+			catch (InterruptedException e)
+			{
+				interrupted = true;
+			}
+		}
+
+		if (interrupted)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		Throwable t = failure.get();
+
+		if (t instanceof RuntimeException)
+		{
+			throw (RuntimeException) t;
+		}
+		else if (t instanceof Error)
+		{
+			throw (Error) t;
+		}
+		else if (t != null)
+		{
+			throw new RuntimeException(t);
+		}
+	}
+}
@@ -0,0 +1,542 @@
+package org.ivis.layout.fd;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements the grid of the FR grid variant of repulsion force
+ * calculation. Since only members of the same graph repel each other, each
+ * graph has a grid of its own: the area of the graph is divided into square
+ * cells whose edge is the repulsion range, each member is placed in the cells
+ * it covers, and the surrounding of each node is formed by the nodes in its
+ * own and neighboring cells that are within repulsion range.
+ *
+ * Nodes are identified by their indices in the node array of the layout, in
+ * which members of each graph are consecutive (as in
+ * LGraphManager.getAllNodes). Both the cells and the surroundings are kept in
+ * compressed (CSR) form in int arrays that are reused from one rebuild to the
+ * next. Members of each cell are in node order, and a node's surrounding
+ * contains only nodes that follow it in node order, so that each pair is
+ * considered once. Pinned nodes, which do not move, have no surroundings of
+ * their own, and are in the surroundings of the nodes that are not pinned
+ * regardless of order, so that pairs of pinned nodes are left out.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class RepulsionGrid
+{
+	private final static Logger log = LoggerFactory.getLogger(RepulsionGrid.class);
+
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Number of nodes in the grid
+	 */
+	private int nodeCount;
+
+	/**
+	 * Number of graphs, the first member of each graph (members of graph g
+	 * are nodes graphStart[g] to graphStart[g+1]-1), dimensions of the grid of
+	 * each graph and the index of its first cell
+	 */
+	private int graphCount;
+	private int[] graphStart = new int[1];
+	private int[] sizeX = new int[0];
+	private int[] sizeY = new int[0];
+	private int[] cellBase = new int[1];
+
+	/**
+	 * Members of cells: cellNodes[cellStart[c], cellStart[c+1]) for cell
+	 * c = cellBase[g] + i * sizeY[g] + j of graph g
+	 */
+	private int[] cellStart = new int[1];
+	private int[] cellNodes = new int[16];
+
+	/**
+	 * Grid coordinates of nodes (first and last cells covered)
+	 */
+	private int[] startX = new int[0];
+	private int[] finishX = new int[0];
+	private int[] startY = new int[0];
+	private int[] finishY = new int[0];
+
+	/**
+	 * Surroundings of nodes: surrounding[surroundingStart[i],
+	 * surroundingStart[i+1])
+	 */
+	private int[] surroundingStart = new int[1];
+	private int[] surrounding = new int[16];
+
+	/**
+	 * Bounds of nodes when the grid was last built, used for telling whether
+	 * surroundings are still valid
+	 */
+	private double[] builtLeft = new double[0];
+	private double[] builtTop = new double[0];
+	private double[] builtRight = new double[0];
+	private double[] builtBottom = new double[0];
+
+	/**
+	 * Marks used to avoid duplicates while collecting surroundings
+	 */
+	private int[] mark = new int[0];
+	private int markStamp;
+
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns the number of nodes the grid was last built for.
+	 */
+	public int getNodeCount()
+	{
+		return this.nodeCount;
+	}
+
+	/**
+	 * This method returns the start of the surrounding of the input node in
+	 * the array returned by getSurrounding.
+	 */
+	public int getSurroundingStart(int i)
+	{
+		return this.surroundingStart[i];
+	}
+
+	/**
+	 * This method returns the end (exclusive) of the surrounding of the input
+	 * node in the array returned by getSurrounding.
+	 */
+	public int getSurroundingEnd(int i)
+	{
+		return this.surroundingStart[i + 1];
+	}
+
+	/**
+	 * This method returns the array holding the surroundings of all nodes.
+	 */
+	public int[] getSurrounding()
+	{
+		return this.surrounding;
+	}
+
+	/**
+	 * This method returns the total size of the surroundings of all nodes.
+	 */
+	public int getSurroundingCount()
+	{
+		return this.surroundingStart[this.nodeCount];
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Grid construction
+// -----------------------------------------------------------------------------
+	/**
+	 * This method places the members of each input graph into the cells of a
+	 * grid covering the graph and recalculates the surrounding of each node.
+	 * Nodes are given by their upper left corners and dimensions, and graphs
+	 * by their first members and bounds (left, top, right and bottom of graph
+	 * g are graphBounds[4g] to graphBounds[4g+3]). Non-repulsive nodes
+	 * neither have nor are part of a surrounding. Pinned nodes may be null if
+	 * no node is pinned.
+	 */
+	public void build(int nodeCount,
+		double[] x,
+		double[] y,
+		double[] width,
+		double[] height,
+		boolean[] repulsive,
+		boolean[] pinned,
+		int graphCount,
+		int[] graphStart,
+		double[] graphBounds,
+		double range)
+	{
+		ensureNodeCapacity(nodeCount);
+		ensureGraphCapacity(graphCount);
+
+		this.nodeCount = nodeCount;
+		this.graphCount = graphCount;
+		System.arraycopy(graphStart, 0, this.graphStart, 0, graphCount + 1);
+
+		for (int i = 0; i < nodeCount; i++)
+		{
+			this.builtLeft[i] = x[i];
+			this.builtTop[i] = y[i];
+			this.builtRight[i] = x[i] + width[i];
+			this.builtBottom[i] = y[i] + height[i];
+		}
+
+		calcCells(x, y, width, height, graphBounds, range);
+		calcSurroundings(x, y, width, height, repulsive, pinned, range);
+	}
+
+	/**
+	 * This method places nodes into the cells of the grids of their graphs,
+	 * keeping the members of each cell in node order.
+	 */
+	private void calcCells(double[] x,
+		double[] y,
+		double[] width,
+		double[] height,
+		double[] graphBounds,
+		double range)
+	{
+		int g, i, c, cx, cy;
+		int total = 0;
+		int cellCount = 0;
+
+		// lay out the cells of graphs one after another; graphs with less
+		// than two members need no cells
+		for (g = 0; g < this.graphCount; g++)
+		{
+			this.cellBase[g] = cellCount;
+
+			if (this.graphStart[g + 1] - this.graphStart[g] < 2)
+			{
+				this.sizeX[g] = 0;
+				this.sizeY[g] = 0;
+				continue;
+			}
+
+			this.sizeX[g] = Math.max(1, (int) Math.ceil(
+				(graphBounds[4 * g + 2] - graphBounds[4 * g]) / range));
+			this.sizeY[g] = Math.max(1, (int) Math.ceil(
+				(graphBounds[4 * g + 3] - graphBounds[4 * g + 1]) / range));
+
+			cellCount += this.sizeX[g] * this.sizeY[g];
+		}
+
+		this.cellBase[this.graphCount] = cellCount;
+
+		if (this.cellStart.length < cellCount + 1)
+		{
+			this.cellStart = new int[cellCount + 1];
+		}
+		else
+		{
+			Arrays.fill(this.cellStart, 0, cellCount + 1, 0);
+		}
+
+		// find grid coordinates of nodes and count members of each cell
+		for (g = 0; g < this.graphCount; g++)
+		{
+			if (this.sizeX[g] == 0)
+			{
+				continue;
+			}
+
+			double left = graphBounds[4 * g];
+			double top = graphBounds[4 * g + 1];
+
+			for (i = this.graphStart[g]; i < this.graphStart[g + 1]; i++)
+			{
+				this.startX[i] = (int) Math.floor((x[i] - left) / range);
+				this.finishX[i] =
+					(int) Math.floor((width[i] + x[i] - left) / range);
+				this.startY[i] = (int) Math.floor((y[i] - top) / range);
+				this.finishY[i] =
+					(int) Math.floor((height[i] + y[i] - top) / range);
+
+				if (isOffGrid(i))
+				{
+					log.error(String.format("build: unexpected negative grid " +
+						"coord.; startX:%d, finishX:%d, startY:%d, finishY:%d",
+							this.startX[i], this.finishX[i],
+							this.startY[i], this.finishY[i]));
+
+					this.cellStart[firstCell(g, i) + 1]++;
+					total++;
+					continue;
+				}
+
+				// nodes are expected to lie within the bounds of their graphs
+				this.startX[i] = Math.min(this.startX[i], this.sizeX[g] - 1);
+				this.finishX[i] = Math.min(this.finishX[i], this.sizeX[g] - 1);
+				this.startY[i] = Math.min(this.startY[i], this.sizeY[g] - 1);
+				this.finishY[i] = Math.min(this.finishY[i], this.sizeY[g] - 1);
+
+				for (cx = this.startX[i]; cx <= this.finishX[i]; cx++)
+				{
+					for (cy = this.startY[i]; cy <= this.finishY[i]; cy++)
+					{
+						this.cellStart[cell(g, cx, cy) + 1]++;
+						total++;
+					}
+				}
+			}
+		}
+
+		for (c = 0; c < cellCount; c++)
+		{
+			this.cellStart[c + 1] += this.cellStart[c];
+		}
+
+		if (this.cellNodes.length < total)
+		{
+			this.cellNodes = new int[Math.max(total, this.cellNodes.length * 2)];
+		}
+
+		// fill cells in node order, using cell starts as insertion positions
+		for (g = 0; g < this.graphCount; g++)
+		{
+			if (this.sizeX[g] == 0)
+			{
+				continue;
+			}
+
+			for (i = this.graphStart[g]; i < this.graphStart[g + 1]; i++)
+			{
+				if (isOffGrid(i))
+				{
+					this.cellNodes[this.cellStart[firstCell(g, i)]++] = i;
+					continue;
+				}
+
+				for (cx = this.startX[i]; cx <= this.finishX[i]; cx++)
+				{
+					for (cy = this.startY[i]; cy <= this.finishY[i]; cy++)
+					{
+						this.cellNodes[this.cellStart[cell(g, cx, cy)]++] = i;
+					}
+				}
+			}
+		}
+
+		// insertion positions are now cell ends; shift them back to starts
+		for (c = cellCount; c > 0; c--)
+		{
+			this.cellStart[c] = this.cellStart[c - 1];
+		}
+
+		this.cellStart[0] = 0;
+	}
+
+	/**
+	 * This method returns the index of the cell with the input grid
+	 * coordinates in the grid of the input graph.
+	 */
+	private int cell(int g, int cx, int cy)
+	{
+		return this.cellBase[g] + cx * this.sizeY[g] + cy;
+	}
+
+	/**
+	 * This method returns whether the input node has a negative grid
+	 * coordinate, in which case it is placed in a single cell only.
+	 */
+	private boolean isOffGrid(int i)
+	{
+		return this.startX[i] < 0 || this.finishX[i] < 0 ||
+			this.startY[i] < 0 || this.finishY[i] < 0;
+	}
+
+	/**
+	 * This method returns the only cell an off-grid node is placed in.
+	 */
+	private int firstCell(int g, int i)
+	{
+		return cell(g,
+			Math.min(Math.max(this.startX[i], 0), this.sizeX[g] - 1),
+			Math.min(Math.max(this.startY[i], 0), this.sizeY[g] - 1));
+	}
+
+	/**
+	 * This method finds the nodes in repulsion range of each node among the
+	 * members of its own and neighboring cells. Nodes preceding a node in node
+	 * order have already been processed, hence are skipped, unless they are
+	 * pinned.
+	 */
+	private void calcSurroundings(double[] x,
+		double[] y,
+		double[] width,
+		double[] height,
+		boolean[] repulsive,
+		boolean[] pinned,
+		double range)
+	{
+		int count = 0;
+		int g, a, b, cx, cy, c, k;
+
+		for (g = 0; g < this.graphCount; g++)
+		{
+			for (a = this.graphStart[g]; a < this.graphStart[g + 1]; a++)
+			{
+				this.surroundingStart[a] = count;
+
+				if (!repulsive[a] || this.sizeX[g] == 0 ||
+					(pinned != null && pinned[a]))
+				{
+					continue;
+				}
+
+				if (++this.markStamp == Integer.MAX_VALUE)
+				{
+					Arrays.fill(this.mark, 0);
+					this.markStamp = 1;
+				}
+
+				for (cx = this.startX[a] - 1; cx < this.finishX[a] + 2; cx++)
+				{
+					if (cx < 0 || cx >= this.sizeX[g])
+					{
+						continue;
+					}
+
+					for (cy = this.startY[a] - 1; cy < this.finishY[a] + 2; cy++)
+					{
+						if (cy < 0 || cy >= this.sizeY[g])
+						{
+							continue;
+						}
+
+						c = cell(g, cx, cy);
+
+						for (k = this.cellStart[c]; k < this.cellStart[c + 1]; k++)
+						{
+							b = this.cellNodes[k];
+
+							// skip processed nodes and nodes already in the
+							// surrounding
+							if ((b <= a && (pinned == null || !pinned[b])) ||
+								!repulsive[b] ||
+								this.mark[b] == this.markStamp)
+							{
+								continue;
+							}
+
+							if (isInRange(x, y, width, height, a, b, range))
+							{
+								if (count == this.surrounding.length)
+								{
+									this.surrounding = Arrays.copyOf(
+										this.surrounding, count * 2);
+								}
+
+								this.surrounding[count++] = b;
+								this.mark[b] = this.markStamp;
+							}
+						}
+					}
+				}
+			}
+		}
+
+		this.surroundingStart[this.nodeCount] = count;
+	}
+
+	/**
+	 * This method returns whether the input nodes are within the input range
+	 * of each other along both axes, measured between their bounding
+	 * rectangles.
+	 */
+	public static boolean isInRange(double[] x,
+		double[] y,
+		double[] width,
+		double[] height,
+		int a,
+		int b,
+		double range)
+	{
+		double distanceX = Math.abs((x[a] + width[a] / 2) -
+			(x[b] + width[b] / 2)) -
+				((width[a] / 2) + (width[b] / 2));
+		double distanceY = Math.abs((y[a] + height[a] / 2) -
+			(y[b] + height[b] / 2)) -
+				((height[a] / 2) + (height[b] / 2));
+
+		return distanceX <= range && distanceY <= range;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Verlet lists
+// -----------------------------------------------------------------------------
+	/**
+	 * This method returns whether the grid should be rebuilt for the input
+	 * nodes, that is, whether the nodes are not the ones the grid was built
+	 * for or a side of some node has moved by more than the input tolerance
+	 * since then. When the grid is built with range r + s, and tolerance is
+	 * s / 2, surroundings of a grid that is not stale contain every pair of
+	 * nodes within range r, since the distance between two nodes along an
+	 * axis cannot shrink by more than the movements of their sides.
+	 */
+	public boolean isStale(int nodeCount,
+		double[] x,
+		double[] y,
+		double[] width,
+		double[] height,
+		double tolerance)
+	{
+		if (nodeCount != this.nodeCount)
+		{
+			return true;
+		}
+
+		for (int i = 0; i < nodeCount; i++)
+		{
+			if (Math.abs(x[i] - this.builtLeft[i]) > tolerance ||
+				Math.abs(y[i] - this.builtTop[i]) > tolerance ||
+				Math.abs(x[i] + width[i] - this.builtRight[i]) > tolerance ||
+				Math.abs(y[i] + height[i] - this.builtBottom[i]) > tolerance)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * This method makes the grid forget the nodes it was last built for, so
+	 * that it is stale for any nodes until it is built again, e.g. before it
+	 * is reused for the nodes of another graph.
+	 */
+	public void invalidate()
+	{
+		this.nodeCount = 0;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/**
+	 * This method makes sure per graph arrays can hold the input number of
+	 * graphs.
+	 */
+	private void ensureGraphCapacity(int n)
+	{
+		if (this.sizeX.length < n)
+		{
+			this.graphStart = new int[n + 1];
+			this.sizeX = new int[n];
+			this.sizeY = new int[n];
+			this.cellBase = new int[n + 1];
+		}
+	}
+
+	/**
+	 * This method makes sure per node arrays can hold the input number of
+	 * nodes.
+	 */
+	private void ensureNodeCapacity(int n)
+	{
+		if (this.startX.length < n)
+		{
+			int capacity = Math.max(n, 2 * this.startX.length);
+
+			this.startX = new int[capacity];
+			this.finishX = new int[capacity];
+			this.startY = new int[capacity];
+			this.finishY = new int[capacity];
+			this.builtLeft = new double[capacity];
+			this.builtTop = new double[capacity];
+			this.builtRight = new double[capacity];
+			this.builtBottom = new double[capacity];
+			this.surroundingStart = new int[capacity + 1];
+			this.mark = new int[capacity];
+			this.markStamp = 0;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package org.ivis.layout.stress;
+
+import org.ivis.layout.fd.FDLayoutConstants;
+
+/**
+ * This class maintains the constants used by stress layout.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class StressConstants extends FDLayoutConstants
+{
+// -----------------------------------------------------------------------------
+// Section: Stress layout remaining constants
+// -----------------------------------------------------------------------------
+	/**
+	 * Number of pivot nodes whose distances to all nodes are kept as stress
+	 * terms, in addition to those of edges
+	 */
+	public static final int PIVOT_COUNT = 50;
+
+	/**
+	 * Maximum number of sweeps of the solver, and the relative decrease of
+	 * stress in a sweep below which it is converged
+	 */
+	public static final int MAX_SWEEPS = 100;
+	public static final double CONVERGENCE_TOLERANCE = 1e-4;
+}
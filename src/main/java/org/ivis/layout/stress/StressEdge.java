@@ -0,0 +1,23 @@
+package org.ivis.layout.stress;
+
+import org.ivis.layout.fd.FDLayoutEdge;
+
+/**
+ * This class implements stress layout specific data and functionality for
+ * edges.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class StressEdge extends FDLayoutEdge
+{
+// -----------------------------------------------------------------------------
+// Section: Constructors and initializations
+// -----------------------------------------------------------------------------
+	/*
+	 * Constructor
+	 */
+	public StressEdge(StressNode source, StressNode target, Object vEdge)
+	{
+		super(source, target, vEdge);
+	}
+}
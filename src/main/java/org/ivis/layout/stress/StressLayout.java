@@ -0,0 +1,187 @@
+package org.ivis.layout.stress;
+
+import java.util.List;
+
+import org.ivis.layout.LEdge;
+import org.ivis.layout.LGraph;
+import org.ivis.layout.LNode;
+import org.ivis.layout.LayoutOptionsPack;
+import org.ivis.layout.fd.FDLayout;
+import org.ivis.layout.fd.FDLayoutEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements a layout minimizing the sparse stress of the graph:
+ * the squared differences of the distances between nodes and their targets,
+ * which are the ideal lengths of edges for adjacent nodes and the shortest
+ * path distances for a node and each of a number of pivots. Stress is
+ * minimized by localized stress majorization, starting from a placement by
+ * pivot MDS unless layout is incremental, and converges in a few dozen sweeps
+ * over the nodes, which makes this layout suitable for large flat graphs.
+ *
+ * Members of the root graph are laid out, a compound node being treated as a
+ * node of its estimated size whose contents move along with it. Ideal edge
+ * lengths are calculated as in other force-directed layouts, and the target
+ * distance between the centers of adjacent nodes is the ideal length of
+ * their edge plus half their estimated sizes.
+ *
+ * The result may also be refined by an incremental CoSE layout.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class StressLayout extends FDLayout
+{
+	private final static Logger log = LoggerFactory.getLogger(StressLayout.class);
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initializations
+// -----------------------------------------------------------------------------
+	/**
+	 * The constructor creates and associates with this layout a new graph
+	 * manager as well.
+	 */
+	public StressLayout()
+	{
+		super();
+	}
+
+	/**
+	 * This method creates a new node associated with the input view node.
+	 */
+	public LNode newNode(Object vNode)
+	{
+		return new StressNode(graphManager, vNode);
+	}
+
+	/**
+	 * This method creates a new edge associated with the input view edge.
+	 */
+	public LEdge newEdge(Object vEdge)
+	{
+		return new StressEdge(null, null, vEdge);
+	}
+
+	/**
+	 * This method is used to set all layout parameters to default values.
+	 */
+	public void initParameters()
+	{
+		super.initParameters();
+
+		if (!isSubLayout)
+		{
+			LayoutOptionsPack.CoSE layoutOptionsPack =
+				getOptions().getCoSE();
+
+			idealEdgeLength = Math.max(10, layoutOptionsPack.idealEdgeLength);
+			useSmartIdealEdgeLengthCalculation =
+				layoutOptionsPack.smartEdgeLengthCalc;
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Layout!
+// -----------------------------------------------------------------------------
+	/**
+	 * This method performs layout on constructed l-level graph. It returns true
+	 * on success, false otherwise.
+	 */
+	public boolean layout()
+	{
+		LGraph root = graphManager.getRoot();
+
+		graphManager.calcSubtreeProperties(true);
+		graphManager.calcLowestCommonAncestors();
+		calcIdealEdgeLengths();
+
+		if (!incremental)
+		{
+			positionNodesByPivotMDS(idealEdgeLength);
+		}
+
+		List<LNode> members = root.getNodes();
+		int nodeCount = members.size();
+		int[] memberIndex = new int[graphManager.getNodeIdBound()];
+		double[] x = new double[nodeCount];
+		double[] y = new double[nodeCount];
+
+		for (int i = 0; i < nodeCount; i++)
+		{
+			LNode node = members.get(i);
+
+			memberIndex[node.getId()] = i;
+			x[i] = node.getCenterX();
+			y[i] = node.getCenterY();
+		}
+
+		// edges between members of the root graph, along with edges between
+		// their descendants
+		LEdge[] edges = getAllEdges();
+		int[] source = new int[edges.length];
+		int[] target = new int[edges.length];
+		double[] length = new double[edges.length];
+		int edgeCount = 0;
+
+		for (LEdge edge : edges)
+		{
+			LNode sourceInLca = edge.getSourceInLca();
+			LNode targetInLca = edge.getTargetInLca();
+
+			if (edge.getLca() == root && sourceInLca != targetInLca)
+			{
+				source[edgeCount] = memberIndex[sourceInLca.getId()];
+				target[edgeCount] = memberIndex[targetInLca.getId()];
+				length[edgeCount] = ((FDLayoutEdge) edge).idealLength +
+					(sourceInLca.getEstimatedSize() +
+						targetInLca.getEstimatedSize()) / 2.0;
+				edgeCount++;
+			}
+		}
+
+		StressMajorization stress = new StressMajorization(nodeCount,
+			source,
+			target,
+			length,
+			edgeCount,
+			StressConstants.PIVOT_COUNT,
+			x,
+			y);
+
+		// sweep until stress barely decreases in a sweep
+		double lastStress = stress.calcStress();
+		totalIterations = 0;
+
+		while (totalIterations < StressConstants.MAX_SWEEPS &&
+			!isStopRequested())
+		{
+			stress.sweep();
+			totalIterations++;
+
+			double newStress = stress.calcStress();
+
+			if (lastStress - newStress <=
+				StressConstants.CONVERGENCE_TOLERANCE * lastStress)
+			{
+				break;
+			}
+
+			lastStress = newStress;
+		}
+
+		for (int i = 0; i < nodeCount; i++)
+		{
+			StressNode node = (StressNode) members.get(i);
+
+			node.displacementX = x[i] - node.getCenterX();
+			node.displacementY = y[i] - node.getCenterY();
+			node.move();
+		}
+
+		graphManager.updateBounds();
+
+		log.info("Stress layout finished after " + totalIterations + " sweeps");
+
+		return true;
+	}
+}
@@ -0,0 +1,426 @@
+package org.ivis.layout.stress;
+
+import java.util.Arrays;
+
+/**
+ * This class minimizes the sparse stress of a placement of the nodes of a
+ * graph by localized stress majorization on primitive arrays. Stress terms
+ * are kept for the ends of each edge, with the ideal length of the edge as
+ * their target distance, and for each node and pivot, with their shortest
+ * path distance as their target distance. A pivot term stands for the terms
+ * of the node with the nodes closest to the pivot, which are left out, and
+ * is weighted by the number of those nodes that are within half the distance
+ * from the pivot.
+ *
+ * Each sweep moves every node in turn to the weighted average of the
+ * positions its terms suggest, which never increases stress, so that a few
+ * dozen sweeps typically suffice.
+ *
+ * Nodes are numbered from 0, and the terms of node v are the entries
+ * termStart[v] to termStart[v+1]-1 of the term arrays.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+class StressMajorization
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Number of nodes and their (center) coordinates
+	 */
+	private int nodeCount;
+	private double[] x;
+	private double[] y;
+
+	/**
+	 * Stress terms: the other node, target distance and weight of each
+	 */
+	private int[] termStart;
+	private int[] termNode;
+	private double[] termDistance;
+	private double[] termWeight;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Creates the stress terms of the input graph, whose nodes are placed at
+	 * the input coordinates, with the input number of pivots. Edges are
+	 * undirected, and of positive lengths. Nodes unreachable from a pivot are
+	 * assumed to be an average edge length farther than the farthest
+	 * reachable node.
+	 */
+	StressMajorization(int nodeCount,
+		int[] edgeSource,
+		int[] edgeTarget,
+		double[] edgeLength,
+		int edgeCount,
+		int pivotCount,
+		double[] x,
+		double[] y)
+	{
+		this.nodeCount = nodeCount;
+		this.x = x;
+		this.y = y;
+
+		// adjacency lists with the lengths of edges, for shortest paths
+		int[] start = new int[nodeCount + 1];
+		double averageLength = 0.0;
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			start[edgeSource[e] + 1]++;
+			start[edgeTarget[e] + 1]++;
+			averageLength += edgeLength[e] / edgeCount;
+		}
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			start[v + 1] += start[v];
+		}
+
+		int[] end = Arrays.copyOf(start, nodeCount);
+		int[] neighbor = new int[2 * edgeCount];
+		double[] length = new double[2 * edgeCount];
+
+		for (int e = 0; e < edgeCount; e++)
+		{
+			neighbor[end[edgeSource[e]]] = edgeTarget[e];
+			length[end[edgeSource[e]]++] = edgeLength[e];
+			neighbor[end[edgeTarget[e]]] = edgeSource[e];
+			length[end[edgeTarget[e]]++] = edgeLength[e];
+		}
+
+		// distances from pivots, each next pivot being the node farthest from
+		// the pivots chosen so far
+		pivotCount = edgeCount == 0 ? 0 : Math.min(pivotCount, nodeCount);
+		int[] pivot = new int[pivotCount];
+		double[][] distance = new double[pivotCount][];
+		double[] minDistance = new double[nodeCount];
+		int[] region = new int[nodeCount];
+
+		Arrays.fill(minDistance, Double.MAX_VALUE);
+
+		for (int p = 0; p < pivotCount; p++)
+		{
+			distance[p] = new double[nodeCount];
+			calcDistances(pivot[p], start, neighbor, length, distance[p]);
+
+			double maxDistance = 0.0;
+
+			for (int v = 0; v < nodeCount; v++)
+			{
+				if (distance[p][v] != Double.MAX_VALUE)
+				{
+					maxDistance = Math.max(maxDistance, distance[p][v]);
+				}
+			}
+
+			int farthest = 0;
+
+			for (int v = 0; v < nodeCount; v++)
+			{
+				if (distance[p][v] == Double.MAX_VALUE)
+				{
+					distance[p][v] = maxDistance + averageLength;
+				}
+
+				if (distance[p][v] < minDistance[v])
+				{
+					minDistance[v] = distance[p][v];
+					region[v] = p;
+				}
+
+				if (minDistance[v] > minDistance[farthest])
+				{
+					farthest = v;
+				}
+			}
+
+			// all nodes are pivots already
+			if (minDistance[farthest] == 0.0)
+			{
+				pivotCount = p + 1;
+				break;
+			}
+
+			if (p + 1 < pivotCount)
+			{
+				pivot[p + 1] = farthest;
+			}
+		}
+
+		// distances from each pivot of the nodes closest to it, sorted
+		int[] regionStart = new int[pivotCount + 1];
+
+		for (int v = 0; v < nodeCount && pivotCount > 0; v++)
+		{
+			regionStart[region[v] + 1]++;
+		}
+
+		for (int p = 0; p < pivotCount; p++)
+		{
+			regionStart[p + 1] += regionStart[p];
+		}
+
+		double[] regionDistance = new double[regionStart[pivotCount]];
+		end = Arrays.copyOf(regionStart, pivotCount);
+
+		for (int v = 0; v < nodeCount && pivotCount > 0; v++)
+		{
+			regionDistance[end[region[v]]++] = minDistance[v];
+		}
+
+		for (int p = 0; p < pivotCount; p++)
+		{
+			Arrays.sort(regionDistance, regionStart[p], regionStart[p + 1]);
+		}
+
+		// terms of edges and pivots, each listed at both of its ends (a pivot
+		// has a term with every other node)
+		this.termStart = new int[nodeCount + 1];
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			this.termStart[v + 1] = start[v + 1] - start[v] + pivotCount;
+		}
+
+		for (int p = 0; p < pivotCount; p++)
+		{
+			this.termStart[pivot[p] + 1] += nodeCount - 2;
+		}
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			this.termStart[v + 1] += this.termStart[v];
+		}
+
+		int termCount = this.termStart[nodeCount];
+		this.termNode = new int[termCount];
+		this.termDistance = new double[termCount];
+		this.termWeight = new double[termCount];
+		end = Arrays.copyOf(this.termStart, nodeCount);
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			for (int k = start[v]; k < start[v + 1]; k++)
+			{
+				addTerm(end, v, neighbor[k], length[k], 1.0);
+			}
+		}
+
+		for (int p = 0; p < pivotCount; p++)
+		{
+			for (int v = 0; v < nodeCount; v++)
+			{
+				if (v != pivot[p])
+				{
+					int count = countWithin(regionDistance,
+						regionStart[p],
+						regionStart[p + 1],
+						distance[p][v] / 2.0);
+
+					addTerm(end, v, pivot[p], distance[p][v], count);
+					addTerm(end, pivot[p], v, distance[p][v], count);
+				}
+			}
+		}
+
+		for (int v = 0; v < nodeCount; v++)
+		{
+			assert end[v] == this.termStart[v + 1];
+		}
+	}
+
+	/**
+	 * This method adds a term between the input nodes to the terms of the
+	 * first one, with the input target distance and multiplicity.
+	 */
+	private void addTerm(int[] end, int v, int u, double distance, double count)
+	{
+		int k = end[v]++;
+
+		this.termNode[k] = u;
+		this.termDistance[k] = distance;
+		this.termWeight[k] = count / (distance * distance);
+	}
+
+	/**
+	 * This method returns the number of entries of the input sorted range
+	 * that are at most the input value.
+	 */
+	private int countWithin(double[] sorted, int from, int to, double value)
+	{
+		int low = from;
+		int high = to;
+
+		while (low < high)
+		{
+			int middle = (low + high) >>> 1;
+
+			if (sorted[middle] <= value)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return low - from;
+	}
+
+	/**
+	 * This method calculates the shortest path distances from the input node
+	 * by Dijkstra's algorithm, Double.MAX_VALUE for unreachable nodes. The
+	 * heap may hold a node more than once, entries with outdated distances
+	 * being skipped.
+	 */
+	private void calcDistances(int source,
+		int[] start,
+		int[] neighbor,
+		double[] length,
+		double[] distance)
+	{
+		int[] heapNode = new int[neighbor.length + 1];
+		double[] heapKey = new double[neighbor.length + 1];
+		int size = 0;
+
+		Arrays.fill(distance, Double.MAX_VALUE);
+		distance[source] = 0.0;
+		heapNode[size] = source;
+		heapKey[size++] = 0.0;
+
+		while (size > 0)
+		{
+			int v = heapNode[0];
+			double key = heapKey[0];
+
+			// remove the minimum, sifting the last entry down
+			size--;
+			int i = 0;
+
+			while (2 * i + 1 < size)
+			{
+				int child = 2 * i + 1;
+
+				if (child + 1 < size && heapKey[child + 1] < heapKey[child])
+				{
+					child++;
+				}
+
+				if (heapKey[child] >= heapKey[size])
+				{
+					break;
+				}
+
+				heapNode[i] = heapNode[child];
+				heapKey[i] = heapKey[child];
+				i = child;
+			}
+
+			heapNode[i] = heapNode[size];
+			heapKey[i] = heapKey[size];
+
+			if (key > distance[v])
+			{
+				continue;
+			}
+
+			for (int k = start[v]; k < start[v + 1]; k++)
+			{
+				int u = neighbor[k];
+				double d = key + length[k];
+
+				if (d < distance[u])
+				{
+					distance[u] = d;
+
+					// add the entry, sifting it up
+					i = size++;
+
+					while (i > 0 && heapKey[(i - 1) / 2] > d)
+					{
+						heapNode[i] = heapNode[(i - 1) / 2];
+						heapKey[i] = heapKey[(i - 1) / 2];
+						i = (i - 1) / 2;
+					}
+
+					heapNode[i] = u;
+					heapKey[i] = d;
+				}
+			}
+		}
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Stress minimization
+// -----------------------------------------------------------------------------
+	/**
+	 * This method moves each node in turn to the weighted average of the
+	 * positions suggested by its terms: the position at the target distance
+	 * from the other node of a term, in the current direction.
+	 */
+	void sweep()
+	{
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			double sumX = 0.0;
+			double sumY = 0.0;
+			double sumWeight = 0.0;
+
+			for (int k = this.termStart[v]; k < this.termStart[v + 1]; k++)
+			{
+				int u = this.termNode[k];
+				double dx = this.x[v] - this.x[u];
+				double dy = this.y[v] - this.y[u];
+				double length = Math.sqrt(dx * dx + dy * dy);
+				double weight = this.termWeight[k];
+
+				sumX += weight * this.x[u];
+				sumY += weight * this.y[u];
+
+				if (length > 0.0)
+				{
+					sumX += weight * this.termDistance[k] * dx / length;
+					sumY += weight * this.termDistance[k] * dy / length;
+				}
+
+				sumWeight += weight;
+			}
+
+			if (sumWeight > 0.0)
+			{
+				this.x[v] = sumX / sumWeight;
+				this.y[v] = sumY / sumWeight;
+			}
+		}
+	}
+
+	/**
+	 * This method calculates the (sparse) stress of the current placement.
+	 */
+	double calcStress()
+	{
+		double stress = 0.0;
+
+		for (int v = 0; v < this.nodeCount; v++)
+		{
+			for (int k = this.termStart[v]; k < this.termStart[v + 1]; k++)
+			{
+				int u = this.termNode[k];
+				double dx = this.x[v] - this.x[u];
+				double dy = this.y[v] - this.y[u];
+				double error =
+					Math.sqrt(dx * dx + dy * dy) - this.termDistance[k];
+
+				stress += this.termWeight[k] * error * error;
+			}
+		}
+
+		// each term is listed at both of its ends
+		return stress / 2.0;
+	}
+}
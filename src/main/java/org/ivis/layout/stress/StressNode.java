@@ -0,0 +1,68 @@
+package org.ivis.layout.stress;
+
+import java.awt.Point;
+import java.awt.Dimension;
+
+import org.ivis.layout.LGraphManager;
+import org.ivis.layout.LNode;
+import org.ivis.layout.fd.FDLayoutNode;
+
+/**
+ * This class implements stress layout specific data and functionality for
+ * nodes.
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class StressNode extends FDLayoutNode
+{
+// -----------------------------------------------------------------------------
+// Section: Constructors and initialization
+// -----------------------------------------------------------------------------
+	/*
+	 * Constructor
+	 */
+	public StressNode(LGraphManager gm, Object vNode)
+	{
+		super(gm, vNode);
+	}
+
+	/**
+	 * Alternative constructor
+	 */
+	public StressNode(LGraphManager gm, Point loc, Dimension size, Object vNode)
+	{
+		super(gm, loc, size, vNode);
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Remaining methods
+// -----------------------------------------------------------------------------
+	/*
+	 * This method moves this node, along with its descendants if it is a
+	 * compound node, by its displacement, which is then cleared.
+	 */
+	public void move()
+	{
+		moveWithDescendants(this, this.displacementX, this.displacementY);
+
+		this.displacementX = 0;
+		this.displacementY = 0;
+	}
+
+	/*
+	 * This method moves the input node and its descendants by the input
+	 * amount.
+	 */
+	private static void moveWithDescendants(LNode node, double dx, double dy)
+	{
+		node.moveBy(dx, dy);
+
+		if (node.getChild() != null)
+		{
+			for (Object obj : node.getChild().getNodes())
+			{
+				moveWithDescendants((LNode) obj, dx, dy);
+			}
+		}
+	}
+}
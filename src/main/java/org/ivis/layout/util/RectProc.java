@@ -1,165 +1,249 @@
-package org.ivis.layout.util;
-
-import java.awt.Point;
-import java.util.Random;
-
-import org.ivis.layout.sbgn.SbgnPDNode;
-
-/**
- * This class implements several rectangle processing algorithms such as
- * compaction and packing.
- */
-
-public class RectProc
-{
-
-	final static double AspectRatio = (1.0 / 1.0);// ysize/xsize
-
-	static void PlaceRandomly(int rN, double[] rX1, double[] rY1, double[] rL,
-			double[] rH)
-	{
-		int index[] = new int[rN];
-
-		double sumL = 0;
-		double sumH = 0;
-
-		for (int i = 0; i < rN; i++)
-		{
-			sumL += rL[i];
-			sumH += rH[i];
-			index[i] = i;
-		}
-
-		Random Rgen = new Random(1);
-		for (int i = 0; i < rN; i++)
-		{
-			int a = Rgen.nextInt(rN);
-			int tmp = index[i];
-			index[i] = index[a];
-			index[a] = tmp;
-		}
-
-		sumL /= rN;
-		sumH /= rN;
-		int numRows = (int) (Math.sqrt(rN) + 0.4999);
-
-		for (int i = 0; i < rN; i++)
-		{
-			rX1[index[i]] = (i / numRows) * sumL;
-			rY1[index[i]] = (i % numRows) * sumH;
-		}
-	}
-
-	/**
-	 * This method packs rectangles using polyomino packing algorithm.
-	 */
-	public static void packRectanglesMino(double buffer, int rN,
-			SbgnPDNode[] rectangles)
-	{
-		// make the intermediate data structure
-		double[] rX1 = new double[rN];
-		double[] rY1 = new double[rN];
-		double[] rW = new double[rN];
-		double[] rH = new double[rN];
-
-		for (int i = 0; i < rN; i++)
-		{
-			rX1[i] = rectangles[i].getCenterX();
-			rY1[i] = rectangles[i].getCenterY();
-			rW[i] = rectangles[i].getWidth();
-			rH[i] = rectangles[i].getHeight();
-		}
-
-		for (int i = 0; i < rN; i++)
-		{
-			rX1[i] -= rW[i] / 2;
-			rY1[i] -= rH[i] / 2;
-		}
-
-		// do the packing
-		packRectanglesMino(buffer, rN, rX1, rW, rY1, rH, rectangles);
-
-		// transfer back the results
-		for (int i = 0; i < rN; i++)
-		{
-			rX1[i] += rW[i] / 2;
-			rY1[i] += rH[i] / 2;
-		}
-
-		for (int i = 0; i < rN; i++)
-		{
-			rectangles[i].setCenter(rX1[i], rY1[i]);
-		}
-	}
-
-	/**
-	 * This method packs rectangles using polyomino packing algorithm.
-	 */
-
-	static void packRectanglesMino(double buffer, int rN, double[] rX,
-			double[] rW, double[] rY, double[] rH, SbgnPDNode[] rectangles)
-	{
-		if (rN == 0)
-			return;
-
-		double stepX = 5, stepY = 5;
-
-		// dynamically calculate the grid step
-		// double area = 0;
-		//
-		// for (int i = 0; i < rN; i++)
-		// {
-		// // stepX+=rL[i]+delta;
-		// // stepY+=rH[i]+delta;
-		// area += (rW[i] + delta) * (rH[i] + delta);
-		// }
-		//
-		// double stepX = Math.sqrt(area / (rN * 16));
-		// // (stepX+stepY)/(rN*8);
-		//
-
-		// adjust respecting the aspect ratio
-
-		double fstep = 2 / (1 + AspectRatio);
-		stepY = stepX * AspectRatio * fstep;
-		stepX *= fstep;
-
-		// make the polyomino representation
-		Polyomino[] minos = new Polyomino[rN];
-
-		for (int i = 0; i < rN; i++)
-		{
-			// size of the rectangle in grid units
-			int W = (int) Math.ceil((rW[i] + buffer) / stepX);
-			int H = (int) Math.ceil((rH[i] + buffer) / stepY);
-
-			minos[i] = new Polyomino();
-			minos[i].coord = new Point[W * H];
-
-			// create the polyomino cells
-			int cnt = 0;
-			for (int y = 0; y < H; y++)
-				for (int x = 0; x < W; x++)
-				{
-					minos[i].coord[cnt] = new Point();
-					minos[i].coord[cnt].x = x;
-					minos[i].coord[cnt++].y = y;
-
-				}
-			minos[i].l = cnt;
-			minos[i].label = rectangles[i].label;
-		}
-
-		// do the packing
-		PolyominoPacking packer = new PolyominoPacking();
-		packer.pack(minos, rN);
-
-		// get the results
-		for (int i = 0; i < rN; i++)
-		{
-			rX[i] = minos[i].x * stepX;
-			rY[i] = minos[i].y * stepY;
-		}
-
-	}
-};
+package org.ivis.layout.util;
+
+import java.awt.Point;
+import java.util.Random;
+
+import org.ivis.layout.sbgn.SbgnPDNode;
+
+/**
+ * This class implements several rectangle processing algorithms such as
+ * compaction and packing.
+ */
+
+public class RectProc
+{
+
+	final static double AspectRatio = (1.0 / 1.0);// ysize/xsize
+
+	static void PlaceRandomly(int rN, double[] rX1, double[] rY1, double[] rL,
+			double[] rH)
+	{
+		int index[] = new int[rN];
+
+		double sumL = 0;
+		double sumH = 0;
+
+		for (int i = 0; i < rN; i++)
+		{
+			sumL += rL[i];
+			sumH += rH[i];
+			index[i] = i;
+		}
+
+		Random Rgen = new Random(1);
+		for (int i = 0; i < rN; i++)
+		{
+			int a = Rgen.nextInt(rN);
+			int tmp = index[i];
+			index[i] = index[a];
+			index[a] = tmp;
+		}
+
+		sumL /= rN;
+		sumH /= rN;
+		int numRows = (int) (Math.sqrt(rN) + 0.4999);
+
+		for (int i = 0; i < rN; i++)
+		{
+			rX1[index[i]] = (i / numRows) * sumL;
+			rY1[index[i]] = (i % numRows) * sumH;
+		}
+	}
+
+	/**
+	 * This method packs rectangles using polyomino packing algorithm.
+	 */
+	public static void packRectanglesMino(double buffer, int rN,
+			SbgnPDNode[] rectangles)
+	{
+		// make the intermediate data structure
+		double[] rX1 = new double[rN];
+		double[] rY1 = new double[rN];
+		double[] rW = new double[rN];
+		double[] rH = new double[rN];
+
+		for (int i = 0; i < rN; i++)
+		{
+			rX1[i] = rectangles[i].getCenterX();
+			rY1[i] = rectangles[i].getCenterY();
+			rW[i] = rectangles[i].getWidth();
+			rH[i] = rectangles[i].getHeight();
+		}
+
+		for (int i = 0; i < rN; i++)
+		{
+			rX1[i] -= rW[i] / 2;
+			rY1[i] -= rH[i] / 2;
+		}
+
+		// do the packing
+		packRectanglesMino(buffer, rN, rX1, rW, rY1, rH, rectangles);
+
+		// transfer back the results
+		for (int i = 0; i < rN; i++)
+		{
+			rX1[i] += rW[i] / 2;
+			rY1[i] += rH[i] / 2;
+		}
+
+		for (int i = 0; i < rN; i++)
+		{
+			rectangles[i].setCenter(rX1[i], rY1[i]);
+		}
+	}
+
+	/**
+	 * This method packs groups of rectangles (e.g. the nodes of connected
+	 * components) using polyomino packing algorithm, keeping the relative
+	 * positions of the rectangles of each group. The polyomino of a group is
+	 * made of the cells of the input size covered by its rectangles, which
+	 * are enlarged by the buffer. Members of group g are the rectangles
+	 * groupStart[g] to groupStart[g+1]-1, given by their upper left corners
+	 * and dimensions, and the amounts by which the groups are to be moved are
+	 * returned in groupDX and groupDY.
+	 */
+	public static void packGroupsMino(double buffer, double step, int gN,
+			int[] groupStart, double[] rX, double[] rY, double[] rW,
+			double[] rH, double[] groupDX, double[] groupDY)
+	{
+		if (gN == 0)
+			return;
+
+		Polyomino[] minos = new Polyomino[gN];
+		double[] minX = new double[gN];
+		double[] minY = new double[gN];
+
+		for (int g = 0; g < gN; g++)
+		{
+			minX[g] = Double.MAX_VALUE;
+			minY[g] = Double.MAX_VALUE;
+			double maxX = -Double.MAX_VALUE;
+			double maxY = -Double.MAX_VALUE;
+
+			for (int i = groupStart[g]; i < groupStart[g + 1]; i++)
+			{
+				minX[g] = Math.min(minX[g], rX[i]);
+				minY[g] = Math.min(minY[g], rY[i]);
+				maxX = Math.max(maxX, rX[i] + rW[i] + buffer);
+				maxY = Math.max(maxY, rY[i] + rH[i] + buffer);
+			}
+
+			// cells covered by the rectangles of the group, in grid units
+			// from the upper left corner of the group
+			int W = Math.max(1, (int) Math.ceil((maxX - minX[g]) / step));
+			int H = Math.max(1, (int) Math.ceil((maxY - minY[g]) / step));
+			boolean[] covered = new boolean[W * H];
+			int cnt = 0;
+
+			for (int i = groupStart[g]; i < groupStart[g + 1]; i++)
+			{
+				int x1 = Math.min(W - 1, (int) ((rX[i] - minX[g]) / step));
+				int y1 = Math.min(H - 1, (int) ((rY[i] - minY[g]) / step));
+				int x2 = Math.min(W, (int) Math.ceil(
+						(rX[i] + rW[i] + buffer - minX[g]) / step));
+				int y2 = Math.min(H, (int) Math.ceil(
+						(rY[i] + rH[i] + buffer - minY[g]) / step));
+
+				for (int y = y1; y < Math.max(y2, y1 + 1); y++)
+					for (int x = x1; x < Math.max(x2, x1 + 1); x++)
+						if (!covered[y * W + x])
+						{
+							covered[y * W + x] = true;
+							cnt++;
+						}
+			}
+
+			minos[g] = new Polyomino();
+			minos[g].coord = new Point[cnt];
+			minos[g].l = cnt;
+			cnt = 0;
+
+			for (int y = 0; y < H; y++)
+				for (int x = 0; x < W; x++)
+					if (covered[y * W + x])
+						minos[g].coord[cnt++] = new Point(x, y);
+		}
+
+		// do the packing
+		PolyominoPacking packer = new PolyominoPacking();
+		packer.pack(minos, gN);
+
+		// get the results
+		for (int g = 0; g < gN; g++)
+		{
+			groupDX[g] = minos[g].x * step - minX[g];
+			groupDY[g] = minos[g].y * step - minY[g];
+		}
+	}
+
+	/**
+	 * This method packs rectangles using polyomino packing algorithm.
+	 */
+
+	static void packRectanglesMino(double buffer, int rN, double[] rX,
+			double[] rW, double[] rY, double[] rH, SbgnPDNode[] rectangles)
+	{
+		if (rN == 0)
+			return;
+
+		double stepX = 5, stepY = 5;
+
+		// dynamically calculate the grid step
+		// double area = 0;
+		//
+		// for (int i = 0; i < rN; i++)
+		// {
+		// // stepX+=rL[i]+delta;
+		// // stepY+=rH[i]+delta;
+		// area += (rW[i] + delta) * (rH[i] + delta);
+		// }
+		//
+		// double stepX = Math.sqrt(area / (rN * 16));
+		// // (stepX+stepY)/(rN*8);
+		//
+
+		// adjust respecting the aspect ratio
+
+		double fstep = 2 / (1 + AspectRatio);
+		stepY = stepX * AspectRatio * fstep;
+		stepX *= fstep;
+
+		// make the polyomino representation
+		Polyomino[] minos = new Polyomino[rN];
+
+		for (int i = 0; i < rN; i++)
+		{
+			// size of the rectangle in grid units
+			int W = (int) Math.ceil((rW[i] + buffer) / stepX);
+			int H = (int) Math.ceil((rH[i] + buffer) / stepY);
+
+			minos[i] = new Polyomino();
+			minos[i].coord = new Point[W * H];
+
+			// create the polyomino cells
+			int cnt = 0;
+			for (int y = 0; y < H; y++)
+				for (int x = 0; x < W; x++)
+				{
+					minos[i].coord[cnt] = new Point();
+					minos[i].coord[cnt].x = x;
+					minos[i].coord[cnt++].y = y;
+
+				}
+			minos[i].l = cnt;
+			minos[i].label = rectangles[i].label;
+		}
+
+		// do the packing
+		PolyominoPacking packer = new PolyominoPacking();
+		packer.pack(minos, rN);
+
+		// get the results
+		for (int i = 0; i < rN; i++)
+		{
+			rX[i] = minos[i].x * stepX;
+			rY[i] = minos[i].y * stepY;
+		}
+
+	}
+};
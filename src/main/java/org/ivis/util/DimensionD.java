@@ -1,66 +1,66 @@
-package org.ivis.util;
-
-/**
- * This class implements a double-precision dimension.
- *
- * @author Ugur Dogrusoz
- *
- * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
- */
-public class DimensionD
-{
-// -----------------------------------------------------------------------------
-// Section: Instance variables
-// -----------------------------------------------------------------------------
-	/**
-	 * Geometry of dimension
-	 */
-	public double width;
-	public double height;
-
-// -----------------------------------------------------------------------------
-// Section: Constructors and Initialization
-// -----------------------------------------------------------------------------
-	/**
-	 * Empty constructor
-	 */
-	public DimensionD()
-	{
-		height = 0;
-		width = 0;
-	}
-
-	/**
-	 * Constructor
-	 * @param width width
-	 * @param height height
-	 */
-	public DimensionD(double width, double height)
-	{
-		this.height = height;
-		this.width = width;
-	}
-
-// -----------------------------------------------------------------------------
-// Section: Accessors
-// -----------------------------------------------------------------------------
-	public double getWidth()
-	{
-		return width;
-	}
-
-	public void setWidth(double width)
-	{
-		this.width = width;
-	}
-
-	public double getHeight()
-	{
-		return height;
-	}
-
-	public void setHeight(double height)
-	{
-		this.height = height;
-	}
+package org.ivis.util;
+
+/**
+ * This class implements a double-precision dimension.
+ *
+ * @author Ugur Dogrusoz
+ *
+ * Copyright: i-Vis Research Group, Bilkent University, 2007 - present
+ */
+public class DimensionD
+{
+// -----------------------------------------------------------------------------
+// Section: Instance variables
+// -----------------------------------------------------------------------------
+	/**
+	 * Geometry of dimension
+	 */
+	public double width;
+	public double height;
+
+// -----------------------------------------------------------------------------
+// Section: Constructors and Initialization
+// -----------------------------------------------------------------------------
+	/**
+	 * Empty constructor
+	 */
+	public DimensionD()
+	{
+		height = 0;
+		width = 0;
+	}
+
+	/**
+	 * Constructor
+	 * @param width width
+	 * @param height height
+	 */
+	public DimensionD(double width, double height)
+	{
+		this.height = height;
+		this.width = width;
+	}
+
+// -----------------------------------------------------------------------------
+// Section: Accessors
+// -----------------------------------------------------------------------------
+	public double getWidth()
+	{
+		return width;
+	}
+
+	public void setWidth(double width)
+	{
+		this.width = width;
+	}
+
+	public double getHeight()
+	{
+		return height;
+	}
+
+	public void setHeight(double height)
+	{
+		this.height = height;
+	}
 }
\ No newline at end of file
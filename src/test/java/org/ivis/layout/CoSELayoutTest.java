@@ -1,39 +1,1465 @@
-package org.ivis.layout;
-
-import org.ivis.layout.cose.CoSEEdge;
-import org.ivis.layout.cose.CoSELayout;
-import org.ivis.layout.cose.CoSENode;
-import org.junit.Test;
-
-/**
- * CoSELayout tester
- *
- * @author Ugur Dogrusoz
- */
-//@Ignore
-public class CoSELayoutTest
-{
-
-	@Test
-	public void testLayout() throws Exception
-	{
-		Layout layout = new CoSELayout();
-		LGraphManager gm = layout.getGraphManager();
-		LGraph g1 = gm.addRoot();
-		LNode n1 = g1.add(layout.newNode("n1"));
-		LNode n2 = g1.add(layout.newNode("n2"));
-		LGraph g2 = gm.add(layout.newGraph("G2"), n2);
-		LNode n3 = g2.add(layout.newNode("n3"));
-		LNode n4 = g2.add(layout.newNode("n4"));
-		LEdge e1 = gm.add(layout.newEdge("e1-2"), n1, n2);
-		LEdge e2 = gm.add(layout.newEdge("e1-3"), n1, n3);
-		LGraph g3 = layout.newGraph("G3");
-		gm.add(g3, n3);
-		LNode n5 = g3.add(layout.newNode("n5"));
-		LNode n6 = g3.add(layout.newNode("n6"));
-		LEdge e3 = g3.add(layout.newEdge("e5-6"), n5, n6);
-		LEdge e4 = gm.add(layout.newEdge("e4-6"), n4, n6);
-
-		layout.runLayout();
-	}
-}
\ No newline at end of file
+package org.ivis.layout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ivis.layout.cose.CoSEEdge;
+import org.ivis.layout.cose.CoSEGraphManager;
+import org.ivis.layout.cose.CoSELayout;
+import org.ivis.layout.cose.CoSENode;
+import org.ivis.layout.fd.FDLayoutConstants;
+import org.ivis.layout.fd.FDLayoutNode;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * CoSELayout tester
+ *
+ * @author Ugur Dogrusoz
+ */
+//@Ignore
+public class CoSELayoutTest
+{
+
+	@Test
+	public void testLayout() throws Exception
+	{
+		Layout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph g1 = gm.addRoot();
+		LNode n1 = g1.add(layout.newNode("n1"));
+		LNode n2 = g1.add(layout.newNode("n2"));
+		LGraph g2 = gm.add(layout.newGraph("G2"), n2);
+		LNode n3 = g2.add(layout.newNode("n3"));
+		LNode n4 = g2.add(layout.newNode("n4"));
+		LEdge e1 = gm.add(layout.newEdge("e1-2"), n1, n2);
+		LEdge e2 = gm.add(layout.newEdge("e1-3"), n1, n3);
+		LGraph g3 = layout.newGraph("G3");
+		gm.add(g3, n3);
+		LNode n5 = g3.add(layout.newNode("n5"));
+		LNode n6 = g3.add(layout.newNode("n6"));
+		LEdge e3 = g3.add(layout.newEdge("e5-6"), n5, n6);
+		LEdge e4 = gm.add(layout.newEdge("e4-6"), n4, n6);
+
+		layout.runLayout();
+	}
+
+	@Test
+	public void testBarnesHutLayout() throws Exception
+	{
+		LayoutOptionsPack.getInstance().getCoSE().barnesHutRepulsion = true;
+
+		try
+		{
+			testLayout();
+		}
+		finally
+		{
+			LayoutOptionsPack.getInstance().setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testBarnesHutRepulsionForces() throws Exception
+	{
+		CoSELayout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		Random random = new Random(1);
+
+		for (int i = 0; i < 300; i++)
+		{
+			LNode node = root.add(layout.newNode(null));
+			node.setWidth(20 + random.nextInt(40));
+			node.setHeight(20 + random.nextInt(40));
+			node.setCenter(random.nextDouble() * 2000, random.nextDouble() * 2000);
+		}
+
+		layout.calcNoOfChildrenForAllNodes();
+		Object[] nodes = gm.getAllNodes();
+
+		layout.useBarnesHutVariant = false;
+		layout.useFRGridVariant = false;
+		double[][] exact = calcRepulsionForces(layout, nodes);
+
+		// a zero threshold never approximates, hence should be exact
+		layout.useBarnesHutVariant = true;
+		layout.barnesHutTheta = 0.0;
+		double[][] forces = calcRepulsionForces(layout, nodes);
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			assertEquals(exact[0][i], forces[0][i],
+				1e-9 * (1 + Math.abs(exact[0][i])));
+			assertEquals(exact[1][i], forces[1][i],
+				1e-9 * (1 + Math.abs(exact[1][i])));
+		}
+
+		// default threshold should stay close to exact forces overall
+		layout.barnesHutTheta = 0.8;
+		forces = calcRepulsionForces(layout, nodes);
+		double error = 0.0;
+		double total = 0.0;
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			error += Math.hypot(exact[0][i] - forces[0][i],
+				exact[1][i] - forces[1][i]);
+			total += Math.hypot(exact[0][i], exact[1][i]);
+		}
+
+		assertTrue("relative error: " + error / total, error < 0.05 * total);
+	}
+
+	@Test
+	public void testActiveSetLayout() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		options.getGeneral().incremental = true;
+
+		try
+		{
+			double[] all = runRandomLayout(null);
+
+			options.getCoSE().activeSet = true;
+			CoSELayout layout = createRandomLayout();
+			layout.runLayout();
+
+			// some nodes should have been left out of the active set...
+			int frozenCount = 0;
+
+			for (Object obj : layout.getAllNodes())
+			{
+				if (((FDLayoutNode) obj).frozen)
+				{
+					frozenCount++;
+				}
+			}
+
+			assertTrue(frozenCount > 0);
+
+			// ...without changing the overall layout much
+			double[] active = TestUtils.getCenters(layout);
+
+			assertEquals(getExtent(all, 0), getExtent(active, 0),
+				0.1 * getExtent(all, 0));
+			assertEquals(getExtent(all, 1), getExtent(active, 1),
+				0.1 * getExtent(all, 1));
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	private double getExtent(double[] centers, int axis)
+	{
+		double min = Double.MAX_VALUE;
+		double max = -Double.MAX_VALUE;
+
+		for (int i = axis; i < centers.length; i += 2)
+		{
+			min = Math.min(min, centers[i]);
+			max = Math.max(max, centers[i]);
+		}
+
+		return max - min;
+	}
+
+	@Test
+	public void testAdaptiveCoolingLayout() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		options.getGeneral().incremental = true;
+
+		try
+		{
+			double[] linear = runRandomLayout(null);
+
+			options.getCoSE().adaptiveCooling = true;
+			double[] adaptive = runRandomLayout(null);
+
+			// overall layout should be about the same
+			assertEquals(getExtent(linear, 0), getExtent(adaptive, 0),
+				0.2 * getExtent(linear, 0));
+			assertEquals(getExtent(linear, 1), getExtent(adaptive, 1),
+				0.2 * getExtent(linear, 1));
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testLazyTranslationLayout() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		options.getGeneral().incremental = true;
+
+		try
+		{
+			double[] eager = runRandomLayout(null);
+
+			options.getCoSE().lazyTranslation = true;
+			CoSELayout layout = createRandomLayout();
+			layout.runLayout();
+			double[] lazy = TestUtils.getCenters(layout);
+
+			// overall layout should be about the same
+			assertEquals(getExtent(eager, 0), getExtent(lazy, 0),
+				0.1 * getExtent(eager, 0));
+			assertEquals(getExtent(eager, 1), getExtent(lazy, 1),
+				0.1 * getExtent(eager, 1));
+
+			// members of the compound should be back in absolute coordinates
+			Object[] nodes = layout.getAllNodes();
+			LNode compound = null;
+
+			for (Object obj : nodes)
+			{
+				LNode node = (LNode) obj;
+
+				assertEquals(0.0, ((CoSENode) node).pendingOffsetX, 0.0);
+				assertEquals(0.0, ((CoSENode) node).pendingOffsetY, 0.0);
+
+				if (node.getChild() != null)
+				{
+					compound = node;
+				}
+			}
+
+			for (Object obj : compound.getChild().getNodes())
+			{
+				LNode node = (LNode) obj;
+
+				assertTrue(compound.getRect().getX() <= node.getLeft() &&
+					node.getRight() <= compound.getRect().getRight());
+				assertTrue(compound.getRect().getY() <= node.getTop() &&
+					node.getBottom() <= compound.getRect().getBottom());
+			}
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testCoarsening() throws Exception
+	{
+		CoSELayout layout = createRandomLayout();
+		CoSEGraphManager gm = (CoSEGraphManager) layout.getGraphManager();
+		List<CoSEGraphManager> levels = gm.coarsenGraph();
+
+		assertSame(gm, layout.getGraphManager());
+		assertTrue(levels.size() > 2);
+
+		for (int i = 1; i < levels.size(); i++)
+		{
+			LNode[] finer = levels.get(i - 1).getAllNodes();
+			LNode[] coarser = levels.get(i).getAllNodes();
+
+			assertTrue(coarser.length < finer.length);
+
+			// each node of Mi is represented in Mi+1, where nodes of Mi+1
+			// are formed by one or two nodes of Mi
+			for (LNode obj : finer)
+			{
+				CoSENode node = (CoSENode) obj;
+				CoSENode next = node.getNext();
+
+				assertSame(levels.get(i), next.getOwner().getGraphManager());
+				assertTrue(next.getPred1() == node || next.getPred2() == node);
+			}
+
+			for (LNode obj : coarser)
+			{
+				CoSENode node = (CoSENode) obj;
+
+				assertSame(node, node.getPred1().getNext());
+				assertTrue(node.getPred2() == null ||
+					node.getPred2().getNext() == node);
+			}
+
+			// no duplicate edges are created
+			for (LNode node : coarser)
+			{
+				assertEquals(node.getEdges().size(),
+					node.getNeighborsList().size());
+			}
+		}
+	}
+
+	@Test
+	public void testCompoundCoarsening() throws Exception
+	{
+		// a compound with many unconnected members, and a triangle and a pair
+		// of nodes joined by parallel edges at the root
+		CoSELayout layout = new CoSELayout();
+		CoSEGraphManager gm = (CoSEGraphManager) layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		LNode compound = root.add(layout.newNode(null));
+		LGraph child = gm.add(layout.newGraph(null), compound);
+		LNode[] nodes = new LNode[5];
+
+		for (int i = 0; i < 32; i++)
+		{
+			child.add(layout.newNode(null));
+		}
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			nodes[i] = root.add(layout.newNode(null));
+		}
+
+		gm.add(layout.newEdge(null), nodes[0], nodes[1]);
+		gm.add(layout.newEdge(null), nodes[1], nodes[2]);
+		gm.add(layout.newEdge(null), nodes[2], nodes[0]);
+		gm.add(layout.newEdge(null), nodes[3], nodes[4]);
+		gm.add(layout.newEdge(null), nodes[4], nodes[3]);
+		gm.add(layout.newEdge(null), nodes[0], compound);
+
+		List<CoSEGraphManager> levels = gm.coarsenGraph();
+
+		// members of the compound are coarsened as well
+		assertTrue(levels.size() > 3);
+
+		for (int i = 1; i < levels.size(); i++)
+		{
+			for (LNode obj : levels.get(i).getAllNodes())
+			{
+				CoSENode node = (CoSENode) obj;
+
+				// matched nodes are of the same graph
+				assertTrue(node.getPred2() == null ||
+					node.getPred1().getOwner() == node.getPred2().getOwner());
+			}
+		}
+
+		// the pair is contracted along with its edges, and the two edges from
+		// the third node of the triangle to its contracted pair are merged,
+		// their spring forces adding up
+		int weight = 0;
+
+		for (LEdge edge : levels.get(1).getAllEdges())
+		{
+			weight += ((CoSEEdge) edge).weight;
+		}
+
+		assertEquals(2, levels.get(1).getEdgeCount());
+		assertEquals(3, weight);
+	}
+
+	@Test
+	public void testMultiLevelScalingLayout() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		options.getCoSE().multiLevelScaling = true;
+
+		try
+		{
+			double[] centers = runRandomLayout(null);
+
+			for (double center : centers)
+			{
+				assertFalse(Double.isNaN(center) || Double.isInfinite(center));
+			}
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testStoppedLayout() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		options.getCoSE().multiLevelScaling = true;
+
+		try
+		{
+			// a layout past its deadline still ends with valid positions
+			CoSELayout layout = createRandomLayout();
+
+			assertTrue(layout.runLayout(System.nanoTime()));
+			assertFalse(layout.isStopRequested());
+
+			for (LNode node : layout.getAllNodes())
+			{
+				assertFalse(Double.isNaN(node.getCenterX()) ||
+					Double.isNaN(node.getCenterY()));
+			}
+
+			// so does a cancelled one, after which the next layout runs fully
+			layout = createRandomLayout();
+			layout.cancel();
+
+			assertTrue(layout.isStopRequested());
+			assertTrue(layout.runLayout());
+			assertFalse(layout.isStopRequested());
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testLayoutAfterFailure() throws Exception
+	{
+		final RuntimeException failure = new RuntimeException("failure");
+		CoSELayout layout = new CoSELayout()
+		{
+			private boolean failed;
+
+			@Override
+			public boolean layout()
+			{
+				if (!this.failed)
+				{
+					this.failed = true;
+					throw failure;
+				}
+
+				return super.layout();
+			}
+		};
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		LNode previous = null;
+
+		for (int i = 0; i < 10; i++)
+		{
+			LNode node = root.add(layout.newNode("n" + i));
+
+			node.setWidth(30);
+			node.setHeight(30);
+			node.setCenter(10 * i, 10 * (i % 3));
+
+			if (previous != null)
+			{
+				gm.add(layout.newEdge("e" + i), previous, node);
+			}
+
+			previous = node;
+		}
+
+		layout.setOptions(new LayoutOptionsPack());
+
+		// a cancelled layout that fails does not stop the next one
+		layout.cancel();
+
+		try
+		{
+			layout.runLayout();
+			fail();
+		}
+		catch (RuntimeException e)
+		{
+			assertSame(failure, e);
+		}
+
+		assertTrue(layout.wasStopped());
+		assertFalse(layout.isStopRequested());
+		assertTrue(layout.runLayout());
+		assertFalse(layout.wasStopped());
+	}
+
+	@Test
+	public void testConcurrentLayouts() throws Exception
+	{
+		// layouts with their own options, run one at a time...
+		final LayoutOptionsPack[] options = new LayoutOptionsPack[4];
+		double[][] expected = new double[options.length][];
+
+		for (int i = 0; i < options.length; i++)
+		{
+			options[i] = new LayoutOptionsPack();
+			options[i].getCoSE().pivotMDSInitialization = i % 2 == 1;
+			options[i].getCoSE().idealEdgeLength = 40 + 10 * i;
+
+			CoSELayout layout = createRandomLayout();
+			layout.setOptions(options[i]);
+			layout.runLayout();
+			expected[i] = TestUtils.getCenters(layout);
+		}
+
+		// ...give the same results when run at the same time, regardless of
+		// changes to the shared options
+		ExecutorService executor = Executors.newFixedThreadPool(options.length);
+		List<Future<double[]>> results = new ArrayList<Future<double[]>>();
+
+		try
+		{
+			for (int i = 0; i < options.length; i++)
+			{
+				final LayoutOptionsPack layoutOptions = options[i];
+
+				results.add(executor.submit(new Callable<double[]>()
+				{
+					public double[] call()
+					{
+						CoSELayout layout = createRandomLayout();
+						layout.setOptions(layoutOptions);
+						layout.runLayout();
+
+						return TestUtils.getCenters(layout);
+					}
+				}));
+			}
+
+			LayoutOptionsPack.getInstance().getCoSE().idealEdgeLength = 10;
+
+			for (int i = 0; i < options.length; i++)
+			{
+				assertArrayEquals(expected[i], results.get(i).get(), 0.0);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+			LayoutOptionsPack.getInstance().setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testPivotMDS() throws Exception
+	{
+		// a path, with a component of a single node
+		int nodeCount = 31;
+		int[] source = new int[nodeCount - 2];
+		int[] target = new int[nodeCount - 2];
+
+		for (int i = 0; i < source.length; i++)
+		{
+			source[i] = i;
+			target[i] = i + 1;
+		}
+
+		double[] x = new double[nodeCount];
+		double[] y = new double[nodeCount];
+
+		new PivotMDS(nodeCount, source, target, source.length).place(x, y,
+			new Random(3));
+
+		for (int i = 0; i < source.length; i++)
+		{
+			double length = Math.hypot(x[i + 1] - x[i], y[i + 1] - y[i]);
+
+			assertEquals(1.0, length, 0.3);
+		}
+
+		assertEquals(nodeCount - 2, Math.hypot(x[nodeCount - 2] - x[0],
+			y[nodeCount - 2] - y[0]), 0.1 * nodeCount);
+		assertFalse(Double.isNaN(x[nodeCount - 1]) ||
+			Double.isNaN(y[nodeCount - 1]));
+	}
+
+	@Test
+	public void testPivotMDSLayout() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		try
+		{
+			double[] scattered = runRandomLayout(null);
+
+			options.getCoSE().pivotMDSInitialization = true;
+			double[] placed = runRandomLayout(null);
+
+			for (double center : placed)
+			{
+				assertFalse(Double.isNaN(center) || Double.isInfinite(center));
+			}
+
+			// the final layout is of about the same size
+			assertEquals(getExtent(scattered, 0), getExtent(placed, 0),
+				0.5 * getExtent(scattered, 0));
+			assertEquals(getExtent(scattered, 1), getExtent(placed, 1),
+				0.5 * getExtent(scattered, 1));
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testVerletRepulsionForces() throws Exception
+	{
+		CoSELayout layout = createVerletLayout();
+		CoSELayout reference = createVerletLayout();
+		Object[] nodes = layout.getGraphManager().getAllNodes();
+		Object[] referenceNodes = reference.getGraphManager().getAllNodes();
+		Random random = new Random(5);
+
+		// build the lists, then move nodes by less than half the skin (a
+		// quarter of the default repulsion range of 100), so that the lists
+		// are reused
+		calcRepulsionForces(layout, nodes);
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			double dx = random.nextDouble() * 20 - 10;
+			double dy = random.nextDouble() * 20 - 10;
+
+			((LNode) nodes[i]).moveBy(dx, dy);
+			((LNode) referenceNodes[i]).moveBy(dx, dy);
+		}
+
+		double[][] forces = calcRepulsionForces(layout, nodes);
+
+		// lists built for the new positions should give the same forces
+		double[][] exact = calcRepulsionForces(reference, referenceNodes);
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			assertEquals(exact[0][i], forces[0][i],
+				1e-9 * (1 + Math.abs(exact[0][i])));
+			assertEquals(exact[1][i], forces[1][i],
+				1e-9 * (1 + Math.abs(exact[1][i])));
+		}
+	}
+
+	private CoSELayout createVerletLayout()
+	{
+		CoSELayout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		Random random = new Random(3);
+
+		for (int i = 0; i < 300; i++)
+		{
+			LNode node = root.add(layout.newNode(null));
+			node.setWidth(20 + random.nextInt(40));
+			node.setHeight(20 + random.nextInt(40));
+			node.setCenter(random.nextDouble() * 2000, random.nextDouble() * 2000);
+		}
+
+		gm.updateBounds();
+		layout.initSpringEmbedder();
+		layout.calcNoOfChildrenForAllNodes();
+		layout.useBarnesHutVariant = false;
+		layout.useFRGridVariant = true;
+		layout.useVerletRepulsion = true;
+
+		return layout;
+	}
+
+	private double[][] calcRepulsionForces(CoSELayout layout, Object[] nodes)
+	{
+		double[][] forces = new double[2][nodes.length];
+
+		for (Object obj : nodes)
+		{
+			((FDLayoutNode) obj).repulsionForceX = 0;
+			((FDLayoutNode) obj).repulsionForceY = 0;
+		}
+
+		layout.calcRepulsionForces();
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			forces[0][i] = ((FDLayoutNode) nodes[i]).repulsionForceX;
+			forces[1][i] = ((FDLayoutNode) nodes[i]).repulsionForceY;
+		}
+
+		return forces;
+	}
+
+	@Test
+	public void testPartitionedRepulsionForces() throws Exception
+	{
+		SameOwnerLayout layout = createSameOwnerLayout();
+		Object[] nodes = layout.getGraphManager().getAllNodes();
+
+		// without a grid, each member of each graph repels the others
+		layout.useBarnesHutVariant = false;
+		layout.useFRGridVariant = false;
+		double[][] forces = calcRepulsionForces(layout, nodes);
+		double[][] exact = layout.calcSameOwnerRepulsionForces(nodes,
+			Double.MAX_VALUE);
+
+		assertForcesEqual(exact, forces);
+
+		// with a grid of each graph, only those in repulsion range do, with
+		// and without Verlet lists
+		layout.useFRGridVariant = true;
+		exact = layout.calcSameOwnerRepulsionForces(nodes,
+			layout.getRepulsionRange());
+
+		for (int variant = 0; variant < 2; variant++)
+		{
+			layout.useVerletRepulsion = variant == 1;
+			layout.setTotalIterations(1);
+			forces = calcRepulsionForces(layout, nodes);
+
+			assertForcesEqual(exact, forces);
+		}
+	}
+
+	private void assertForcesEqual(double[][] exact, double[][] forces)
+	{
+		for (int i = 0; i < exact[0].length; i++)
+		{
+			assertEquals(exact[0][i], forces[0][i],
+				1e-9 * (1 + Math.abs(exact[0][i])));
+			assertEquals(exact[1][i], forces[1][i],
+				1e-9 * (1 + Math.abs(exact[1][i])));
+		}
+	}
+
+	/**
+	 * Creates a layout of a root graph with several compound nodes, one of
+	 * them nested in another, whose members lie among the members of the
+	 * root graph.
+	 */
+	private SameOwnerLayout createSameOwnerLayout()
+	{
+		SameOwnerLayout layout = new SameOwnerLayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		Random random = new Random(9);
+		List<LGraph> graphs = new ArrayList<LGraph>();
+
+		graphs.add(root);
+
+		for (int i = 0; i < 300; i++)
+		{
+			LGraph owner = graphs.get(random.nextInt(graphs.size()));
+			LNode node = owner.add(layout.newNode(null));
+
+			node.setWidth(20 + random.nextInt(40));
+			node.setHeight(20 + random.nextInt(40));
+			node.setCenter(random.nextDouble() * 1000,
+				random.nextDouble() * 1000);
+
+			if (i % 50 == 0)
+			{
+				graphs.add(gm.add(layout.newGraph(null), node));
+			}
+		}
+
+		gm.updateBounds();
+		layout.initSpringEmbedder();
+		layout.calcNoOfChildrenForAllNodes();
+
+		return layout;
+	}
+
+	/**
+	 * CoSE layout that also calculates repulsion forces by brute force, for
+	 * each pair of members of the same graph within the input range
+	 */
+	private static class SameOwnerLayout extends CoSELayout
+	{
+		double getRepulsionRange()
+		{
+			return this.repulsionRange;
+		}
+
+		void setTotalIterations(int totalIterations)
+		{
+			this.totalIterations = totalIterations;
+		}
+
+		double[][] calcSameOwnerRepulsionForces(Object[] nodes, double range)
+		{
+			double[][] forces = new double[2][nodes.length];
+			double[] pairForce = new double[2];
+
+			for (int i = 0; i < nodes.length; i++)
+			{
+				FDLayoutNode nodeA = (FDLayoutNode) nodes[i];
+
+				for (int j = i + 1; j < nodes.length; j++)
+				{
+					FDLayoutNode nodeB = (FDLayoutNode) nodes[j];
+
+					if (nodeA.getOwner() != nodeB.getOwner() ||
+						Math.max(nodeA.getLeft(), nodeB.getLeft()) -
+							Math.min(nodeA.getRight(), nodeB.getRight()) > range ||
+						Math.max(nodeA.getTop(), nodeB.getTop()) -
+							Math.min(nodeA.getBottom(), nodeB.getBottom()) > range)
+					{
+						continue;
+					}
+
+					calcRepulsionForce(nodeA, nodeB, pairForce);
+					forces[0][i] -= pairForce[0];
+					forces[1][i] -= pairForce[1];
+					forces[0][j] += pairForce[0];
+					forces[1][j] += pairForce[1];
+				}
+			}
+
+			return forces;
+		}
+	}
+
+	@Test
+	public void testPrimitiveForceKernel() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+
+		options.getGeneral().incremental = true;
+
+		try
+		{
+			for (int variant = 0; variant < 3; variant++)
+			{
+				options.getCoSE().smartRepulsionRangeCalc = variant != 1;
+				options.getCoSE().verletRepulsion = variant == 2;
+				options.getCoSE().primitiveForceKernel = false;
+				double[] objects = runRandomLayout(null);
+				options.getCoSE().primitiveForceKernel = true;
+				double[] kernel = runRandomLayout(null);
+
+				for (int i = 0; i < objects.length; i++)
+				{
+					assertEquals("variant " + variant,
+						Double.doubleToLongBits(objects[i]),
+						Double.doubleToLongBits(kernel[i]));
+				}
+			}
+		}
+		finally
+		{
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testParallelLayoutIsDeterministic() throws Exception
+	{
+		LayoutOptionsPack options = LayoutOptionsPack.getInstance();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		// incremental layout starts from the given positions so that runs are
+		// comparable
+		options.getGeneral().incremental = true;
+
+		try
+		{
+			for (int variant = 0; variant < 5; variant++)
+			{
+				options.getCoSE().smartRepulsionRangeCalc =
+					variant == 0 || variant >= 3;
+				options.getCoSE().barnesHutRepulsion = variant == 2;
+				options.getCoSE().verletRepulsion = variant == 3;
+				options.getCoSE().activeSet = variant == 4;
+
+				double[] sequential = runRandomLayout(null);
+				double[] parallel = runRandomLayout(executor);
+
+				for (int i = 0; i < sequential.length; i++)
+				{
+					assertEquals("variant " + variant,
+						Double.doubleToLongBits(sequential[i]),
+						Double.doubleToLongBits(parallel[i]));
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+			options.setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testDeltaLayout() throws Exception
+	{
+		CoSELayout layout = createRandomLayout();
+		LGraphManager gm = layout.getGraphManager();
+		assertTrue(layout.runLayout());
+
+		Object[] oldNodes = layout.getAllNodes();
+		double[] oldCenters = TestUtils.getCenters(layout);
+
+		// a new node attached to a simple node of the root graph
+		LNode anchor = null;
+
+		for (Object obj : gm.getRoot().getNodes())
+		{
+			if (((LNode) obj).getChild() == null)
+			{
+				anchor = (LNode) obj;
+				break;
+			}
+		}
+
+		LNode node = gm.getRoot().add(layout.newNode("new"));
+		node.setWidth(30);
+		node.setHeight(30);
+		LEdge edge = gm.add(layout.newEdge("new"), node, anchor);
+
+		ChangeSet changes = new ChangeSet();
+		changes.nodeAdded(node);
+		changes.edgeAdded(edge);
+		assertTrue(layout.runDeltaLayout(changes));
+		assertTrue(changes.isEmpty());
+
+		// nodes farther than the hops of delta layout from the changes stay
+		// where they are, while some nodes in the region move
+		Set<LNode> region = new HashSet<LNode>();
+		region.add(node);
+		region.add(anchor);
+
+		for (int hop = 0; hop < layout.deltaLayoutHops; hop++)
+		{
+			for (LNode member : new ArrayList<LNode>(region))
+			{
+				region.addAll(member.getNeighborsList());
+			}
+		}
+
+		int movedCount = 0;
+
+		for (int i = 0; i < oldNodes.length; i++)
+		{
+			LNode oldNode = (LNode) oldNodes[i];
+			boolean moved =
+				oldNode.getCenterX() != oldCenters[2 * i] ||
+				oldNode.getCenterY() != oldCenters[2 * i + 1];
+
+			if (oldNode.getChild() != null)
+			{
+				continue;
+			}
+
+			if (region.contains(oldNode))
+			{
+				movedCount += moved ? 1 : 0;
+			}
+			else
+			{
+				assertFalse(moved);
+			}
+		}
+
+		assertTrue(movedCount > 0);
+
+		// the new node is placed near its neighbor
+		double dx = node.getCenterX() - anchor.getCenterX();
+		double dy = node.getCenterY() - anchor.getCenterY();
+
+		assertTrue(Math.sqrt(dx * dx + dy * dy) <
+			3 * FDLayoutConstants.DEFAULT_EDGE_LENGTH);
+	}
+
+	@Test
+	public void testFixedNodes() throws Exception
+	{
+		CoSELayout layout = createRandomLayout();
+		LGraphManager gm = layout.getGraphManager();
+		List<LNode> fixedNodes = new ArrayList<LNode>();
+		List<LNode> freeNodes = new ArrayList<LNode>();
+		LNode compound = null;
+
+		// every other simple node of the root graph, and a member of the
+		// compound node
+		for (Object obj : gm.getRoot().getNodes())
+		{
+			LNode node = (LNode) obj;
+
+			if (node.getChild() != null)
+			{
+				compound = node;
+				fixedNodes.add((LNode) node.getChild().getNodes().get(0));
+			}
+			else if (fixedNodes.size() < freeNodes.size())
+			{
+				fixedNodes.add(node);
+			}
+			else
+			{
+				freeNodes.add(node);
+			}
+		}
+
+		for (LNode node : fixedNodes)
+		{
+			node.setFixed(true);
+		}
+
+		double[] fixedCenters = TestUtils.getCenters(fixedNodes);
+		double[] freeCenters = TestUtils.getCenters(freeNodes);
+		assertTrue(layout.runLayout());
+
+		// fixed nodes stay where they are, along with the compound node
+		// holding one, while the remaining nodes move
+		assertArrayEquals(fixedCenters, TestUtils.getCenters(fixedNodes), 0.0);
+		assertTrue(((FDLayoutNode) compound).pinned);
+		assertFalse(((FDLayoutNode) freeNodes.get(0)).pinned);
+
+		double[] centers = TestUtils.getCenters(freeNodes);
+		int movedCount = 0;
+
+		for (int i = 0; i < centers.length; i++)
+		{
+			movedCount += centers[i] != freeCenters[i] ? 1 : 0;
+		}
+
+		assertTrue(movedCount > freeCenters.length / 2);
+	}
+
+	@Test
+	public void testLayoutCacheWithFixedNodes() throws Exception
+	{
+		LayoutCache cache = new LayoutCache(1 << 20);
+		CoSELayout layout = createRandomLayout();
+		assertTrue(cache.runLayout(layout));
+
+		// a fixed node makes the same graph another one...
+		layout = createRandomLayout();
+		LNode fixed = (LNode) layout.getGraphManager().getRoot().getNodes().get(0);
+		fixed.setFixed(true);
+		fixed.setLocation(5000, 5000);
+		layout.getGraphManager().updateBounds();
+		assertTrue(cache.runLayout(layout));
+		assertEquals(0, cache.getHitCount());
+		assertEquals(5000, fixed.getLeft(), 0.0);
+		assertEquals(5000, fixed.getTop(), 0.0);
+		double[] expected = TestUtils.getCenters(layout);
+
+		// ...and its position matters as well
+		layout = createRandomLayout();
+		fixed = (LNode) layout.getGraphManager().getRoot().getNodes().get(0);
+		fixed.setFixed(true);
+		fixed.setLocation(5000, 5000);
+		layout.getGraphManager().updateBounds();
+		assertTrue(cache.runLayout(layout));
+		assertEquals(1, cache.getHitCount());
+		assertArrayEquals(expected, TestUtils.getCenters(layout), 0.0);
+
+		layout = createRandomLayout();
+		fixed = (LNode) layout.getGraphManager().getRoot().getNodes().get(0);
+		fixed.setFixed(true);
+		fixed.setLocation(-5000, 5000);
+		layout.getGraphManager().updateBounds();
+		assertTrue(cache.runLayout(layout));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(-5000, fixed.getLeft(), 0.0);
+	}
+
+	@Test
+	public void testComponentLayout() throws Exception
+	{
+		LayoutOptionsPack options = new LayoutOptionsPack();
+		options.getCoSE().componentLayout = true;
+
+		CoSELayout layout = createComponentLayout(new CoSELayout(), options);
+		assertTrue(layout.runLayout());
+		double[] expected = TestUtils.getCenters(layout);
+
+		// components are laid out the same way concurrently...
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try
+		{
+			layout = createComponentLayout(new CoSELayout(), options);
+			layout.setExecutor(executor, 4);
+			assertTrue(layout.runLayout());
+			assertArrayEquals(expected, TestUtils.getCenters(layout), 0.0);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		// ...and packed without overlaps between components
+		List<Object> roots = new ArrayList<Object>(
+			layout.getGraphManager().getRoot().getNodes());
+
+		for (int i = 0; i < roots.size(); i++)
+		{
+			for (int j = i + 1; j < roots.size(); j++)
+			{
+				LNode a = (LNode) roots.get(i);
+				LNode b = (LNode) roots.get(j);
+
+				// the first component holds the compound node as well
+				if ((i - 1) / 10 != (j - 1) / 10)
+				{
+					assertTrue(a.getRight() < b.getLeft() ||
+						b.getRight() < a.getLeft() ||
+						a.getBottom() < b.getTop() ||
+						b.getBottom() < a.getTop());
+				}
+			}
+		}
+
+		// components of the same shape are laid out once through a cache
+		LayoutCache cache = new LayoutCache(1 << 20);
+		layout = createComponentLayout(new CoSELayout(), options);
+		layout.setSubLayoutCache(cache);
+		assertTrue(layout.runLayout());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(4, cache.getHitCount());
+		assertArrayEquals(expected, TestUtils.getCenters(layout), 0.0);
+	}
+
+	@Test
+	public void testHierarchicalLayout() throws Exception
+	{
+		LayoutOptionsPack options = new LayoutOptionsPack();
+		options.getCoSE().hierarchicalLayout = true;
+
+		List<LNode> members = new ArrayList<LNode>();
+		CoSELayout layout = createNestedLayout(options, false, members);
+		assertTrue(layout.runLayout());
+		double[] expected = TestUtils.getCenters(layout);
+		double[] relative = TestUtils.getRelativeCenters(members);
+
+		// sibling compound nodes are laid out the same way concurrently...
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try
+		{
+			layout = createNestedLayout(options, false, members);
+			layout.setExecutor(executor, 4);
+			assertTrue(layout.runLayout());
+			assertArrayEquals(expected, TestUtils.getCenters(layout), 0.0);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+
+		// ...and their contents regardless of edges leaving them (bounds of
+		// compound nodes are rounded, hence only leaves are compared)
+		layout = createNestedLayout(options, true, members);
+		assertTrue(layout.runLayout());
+		assertArrayEquals(relative, TestUtils.getRelativeCenters(members), 1e-9);
+
+		for (Object obj : layout.getAllNodes())
+		{
+			LNode node = (LNode) obj;
+			LGraph owner = node.getOwner();
+
+			if (owner != layout.getGraphManager().getRoot())
+			{
+				LNode parent = owner.getParent();
+
+				assertTrue(parent.getLeft() <= node.getLeft());
+				assertTrue(parent.getTop() <= node.getTop());
+				assertTrue(parent.getRight() >= node.getRight());
+				assertTrue(parent.getBottom() >= node.getBottom());
+			}
+		}
+	}
+
+	@Test
+	public void testRadialPlacementBounds() throws Exception
+	{
+		final List<LNode> outside = new ArrayList<LNode>();
+
+		// nodes are to lie within the bounds of the root graph by the time
+		// the repulsion grid is first built
+		CoSELayout layout = new CoSELayout()
+		{
+			public void initSpringEmbedder()
+			{
+				super.initSpringEmbedder();
+
+				LGraph root = getGraphManager().getRoot();
+
+				for (Object obj : root.getNodes())
+				{
+					LNode node = (LNode) obj;
+
+					if (node.getLeft() < root.getLeft() ||
+						node.getTop() < root.getTop() ||
+						node.getRight() > root.getRight() ||
+						node.getBottom() > root.getBottom())
+					{
+						outside.add(node);
+					}
+				}
+			}
+		};
+
+		// a path hanging off a large node, placed radially
+		LGraph root = layout.getGraphManager().addRoot();
+		LNode hub = root.add(layout.newNode(null));
+		hub.setWidth(200);
+		hub.setHeight(200);
+		LNode first = addPath(layout, root, 8);
+		layout.getGraphManager().add(layout.newEdge(null), hub, first);
+		layout.getGraphManager().updateBounds();
+		layout.setOptions(new LayoutOptionsPack());
+
+		assertTrue(layout.runLayout());
+		assertTrue(outside.isEmpty());
+	}
+
+	/**
+	 * Creates a layout of four compound nodes, each holding a path and a
+	 * compound node holding another path, connected through nodes of the root
+	 * graph. The leaves in the first compound node are added to the input
+	 * list, and one of them is connected to the root graph if so requested.
+	 */
+	private CoSELayout createNestedLayout(LayoutOptionsPack options,
+		boolean linked,
+		List<LNode> members)
+	{
+		CoSELayout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		LNode hub = root.add(layout.newNode(null));
+
+		layout.setOptions(options);
+		members.clear();
+		hub.setWidth(30);
+		hub.setHeight(30);
+
+		for (int c = 0; c < 4; c++)
+		{
+			LNode compound = root.add(layout.newNode(null));
+			LGraph child = gm.add(layout.newGraph(null), compound);
+			LNode inner = child.add(layout.newNode(null));
+			LGraph innerChild = gm.add(layout.newGraph(null), inner);
+			LNode first = addPath(layout, child, 8);
+
+			addPath(layout, innerChild, 5);
+			gm.add(layout.newEdge(null), first, inner);
+			gm.add(layout.newEdge(null), hub, first);
+
+			if (c == 0)
+			{
+				members.addAll(child.getNodes());
+				members.remove(inner);
+				members.addAll(innerChild.getNodes());
+
+				if (linked)
+				{
+					LNode other = root.add(layout.newNode(null));
+					other.setWidth(30);
+					other.setHeight(30);
+					gm.add(layout.newEdge(null),
+						(LNode) innerChild.getNodes().get(2), other);
+				}
+			}
+		}
+
+		gm.updateBounds();
+
+		return layout;
+	}
+
+	/**
+	 * Adds a path of the input number of nodes to the input graph, returning
+	 * its first node.
+	 */
+	private LNode addPath(Layout layout, LGraph graph, int count)
+	{
+		LGraphManager gm = layout.getGraphManager();
+		LNode first = null;
+		LNode previous = null;
+
+		for (int i = 0; i < count; i++)
+		{
+			LNode node = graph.add(layout.newNode(null));
+			node.setWidth(30);
+			node.setHeight(30);
+
+			if (previous != null)
+			{
+				gm.add(layout.newEdge(null), previous, node);
+			}
+			else
+			{
+				first = node;
+			}
+
+			previous = node;
+		}
+
+		return first;
+	}
+
+	@Test
+	public void testFailedComponentLayout() throws Exception
+	{
+		LayoutOptionsPack options = new LayoutOptionsPack();
+		options.getCoSE().componentLayout = true;
+
+		final AtomicInteger runningCount = new AtomicInteger();
+		final IllegalArgumentException failure =
+			new IllegalArgumentException();
+
+		// the layout of the first component fails
+		CoSELayout layout = createComponentLayout(new CoSELayout()
+		{
+			private int subLayoutCount;
+
+			protected CoSELayout newSubLayout()
+			{
+				final boolean fails = subLayoutCount++ == 0;
+
+				return new CoSELayout()
+				{
+					public boolean layout()
+					{
+						runningCount.incrementAndGet();
+
+						try
+						{
+							if (fails)
+							{
+								throw failure;
+							}
+
+							return super.layout();
+						}
+						finally
+						{
+							runningCount.decrementAndGet();
+						}
+					}
+				};
+			}
+		}, options);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try
+		{
+			layout.setExecutor(executor, 4);
+			layout.runLayout();
+			fail();
+		}
+		catch (IllegalStateException e)
+		{
+			// the remaining components are not laid out in the background
+			assertSame(failure, e.getCause());
+			assertEquals(0, runningCount.get());
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Creates a layout of six components, each a path of ten nodes, the
+	 * first of which holds a compound node with an inter-graph edge.
+	 */
+	private CoSELayout createComponentLayout(CoSELayout layout,
+		LayoutOptionsPack options)
+	{
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+
+		layout.setOptions(options);
+
+		for (int c = 0; c < 6; c++)
+		{
+			LNode previous = null;
+
+			for (int i = 0; i < 10; i++)
+			{
+				LNode node = root.add(layout.newNode(null));
+				node.setWidth(30);
+				node.setHeight(30);
+
+				if (previous != null)
+				{
+					gm.add(layout.newEdge(null), previous, node);
+				}
+
+				previous = node;
+			}
+
+			if (c == 0)
+			{
+				LNode compound = root.add(layout.newNode(null));
+				LGraph child = gm.add(layout.newGraph(null), compound);
+				LNode member = child.add(layout.newNode(null));
+				member.setWidth(30);
+				member.setHeight(30);
+				gm.add(layout.newEdge(null), member, previous);
+			}
+		}
+
+		gm.updateBounds();
+
+		return layout;
+	}
+
+	private double[] runRandomLayout(ExecutorService executor)
+	{
+		CoSELayout layout = createRandomLayout();
+
+		layout.setExecutor(executor, 4);
+		layout.runLayout();
+
+		return TestUtils.getCenters(layout);
+	}
+
+	private CoSELayout createRandomLayout()
+	{
+		CoSELayout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		Random random = new Random(7);
+		LNode[] nodes = new LNode[150];
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			LGraph owner = root;
+
+			if (i >= 100)
+			{
+				owner = (LGraph) nodes[99].getChild();
+
+				if (owner == null)
+				{
+					owner = gm.add(layout.newGraph("G" + i), nodes[99]);
+				}
+			}
+
+			nodes[i] = owner.add(layout.newNode("n" + i));
+			nodes[i].setWidth(20 + random.nextInt(20));
+			nodes[i].setHeight(20 + random.nextInt(20));
+			nodes[i].setCenter(random.nextDouble() * 800,
+				random.nextDouble() * 800);
+		}
+
+		for (int i = 1; i < nodes.length; i++)
+		{
+			if (i == 99)
+			{
+				continue;
+			}
+
+			LNode other = nodes[random.nextInt(i)];
+
+			if (other != nodes[99])
+			{
+				gm.add(layout.newEdge("e" + i), nodes[i], other);
+			}
+		}
+
+		gm.updateBounds();
+
+		return layout;
+	}
+}
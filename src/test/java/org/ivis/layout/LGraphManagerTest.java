@@ -1,73 +1,373 @@
-package org.ivis.layout;
-
-import junit.framework.Test;
-import junit.framework.TestSuite;
-import junit.framework.TestCase;
-import org.ivis.layout.cose.CoSELayout;
-import org.junit.Ignore;
-
-/**
- * LGraphManager tester
- *
- * @author Ugur Dogrusoz
- */
-//@Ignore
-public class LGraphManagerTest extends TestCase
-{
-	public void setUp() throws Exception
-	{
-		super.setUp();
-	}
-
-	public void tearDown() throws Exception
-	{
-		super.tearDown();
-	}
-
-	public void testTopology() throws Exception
-	{
-		Layout layout = new CoSELayout();
-		LGraphManager gm = layout.getGraphManager();
-		LGraph g1 = gm.addRoot();
-		LNode n1 = g1.add(layout.newNode("n1"));
-		LNode n2 = g1.add(layout.newNode("n2"));
-		LGraph g2 = gm.add(layout.newGraph("G2"), n2);
-		LNode n3 = g2.add(layout.newNode("n3"));
-		LNode n4 = g2.add(layout.newNode("n4"));
-		LEdge e1 = gm.add(layout.newEdge("e1-2"), n1, n2);
-		LEdge e2 = gm.add(layout.newEdge("e1-3"), n1, n3);
-		gm.printTopology();
-
-		g1.remove(n1);
-		gm.printTopology();
-
-		g1.add(n1);
-		gm.printTopology();
-
-		gm.add(e1, n1, n2);
-		gm.printTopology();
-
-		gm.add(e2, n1, n3);
-		gm.printTopology();
-
-		LGraph g3 = layout.newGraph("G3");
-		gm.add(g3, n3);
-		LNode n5 = g3.add(layout.newNode("n5"));
-		LNode n6 = g3.add(layout.newNode("n6"));
-		LEdge e3 = g3.add(layout.newEdge("e5-6"), n5, n6);
-		LEdge e4 = gm.add(layout.newEdge("e4-6"), n4, n6);
-		gm.printTopology();
-
-		gm.remove(g3);
-		gm.printTopology();
-
-		n3.child=null; //next line fails with "already have a child" err. if not this command...
-		gm.add(g3, n3);
-		gm.printTopology();
-	}
-
-	public static Test suite()
-	{
-		return new TestSuite(LGraphManagerTest.class);
-	}
+package org.ivis.layout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import junit.framework.TestCase;
+import org.ivis.layout.cose.CoSELayout;
+import org.junit.Ignore;
+
+/**
+ * LGraphManager tester
+ *
+ * @author Ugur Dogrusoz
+ */
+//@Ignore
+public class LGraphManagerTest extends TestCase
+{
+	public void setUp() throws Exception
+	{
+		super.setUp();
+	}
+
+	public void tearDown() throws Exception
+	{
+		super.tearDown();
+	}
+
+	public void testTopology() throws Exception
+	{
+		Layout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph g1 = gm.addRoot();
+		LNode n1 = g1.add(layout.newNode("n1"));
+		LNode n2 = g1.add(layout.newNode("n2"));
+		LGraph g2 = gm.add(layout.newGraph("G2"), n2);
+		LNode n3 = g2.add(layout.newNode("n3"));
+		LNode n4 = g2.add(layout.newNode("n4"));
+		LEdge e1 = gm.add(layout.newEdge("e1-2"), n1, n2);
+		LEdge e2 = gm.add(layout.newEdge("e1-3"), n1, n3);
+		gm.printTopology();
+
+		g1.remove(n1);
+		gm.printTopology();
+
+		g1.add(n1);
+		gm.printTopology();
+
+		gm.add(e1, n1, n2);
+		gm.printTopology();
+
+		gm.add(e2, n1, n3);
+		gm.printTopology();
+
+		LGraph g3 = layout.newGraph("G3");
+		gm.add(g3, n3);
+		LNode n5 = g3.add(layout.newNode("n5"));
+		LNode n6 = g3.add(layout.newNode("n6"));
+		LEdge e3 = g3.add(layout.newEdge("e5-6"), n5, n6);
+		LEdge e4 = gm.add(layout.newEdge("e4-6"), n4, n6);
+		gm.printTopology();
+
+		gm.remove(g3);
+		gm.printTopology();
+
+		n3.child=null; //next line fails with "already have a child" err. if not this command...
+		gm.add(g3, n3);
+		gm.printTopology();
+	}
+
+	public void testInclusionTreeIndex() throws Exception
+	{
+		Layout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		List<LNode> nodes = createRandomHierarchy(layout, 11);
+		InclusionTreeIndex index = gm.getInclusionTreeIndex();
+
+		for (LNode first : nodes)
+		{
+			for (LNode second : nodes)
+			{
+				LGraph lca = index.getLowestCommonAncestor(first, second);
+
+				assertSame(findLowestCommonAncestor(first, second), lca);
+				assertEquals(
+					LGraphManager.isOneAncestorOfOther(first, second),
+					index.isOneAncestorOfOther(first, second));
+
+				LNode firstInLca = index.getAncestorInGraph(first, lca);
+
+				assertSame(lca, firstInLca.getOwner());
+				assertTrue(firstInLca == first ||
+					index.isAncestor(firstInLca.getChild(), first.getOwner()));
+			}
+		}
+
+		// index is rebuilt once the hierarchy changes
+		LNode last = nodes.get(nodes.size() - 1);
+		LGraph child = gm.add(layout.newGraph(null), last);
+		LNode member = child.add(layout.newNode(null));
+
+		assertNotSame(index, gm.getInclusionTreeIndex());
+		assertEquals(gm.getInclusionTreeIndex().getDepth(last) + 1,
+			gm.getInclusionTreeIndex().getDepth(member));
+	}
+
+	public void testSubtreeProperties() throws Exception
+	{
+		Layout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		List<LNode> nodes = createRandomHierarchy(layout, 13);
+		int[] estimatedSizes = new int[nodes.size()];
+
+		gm.calcSubtreeProperties(true);
+
+		for (int i = 0; i < nodes.size(); i++)
+		{
+			estimatedSizes[i] = nodes.get(i).getEstimatedSize();
+		}
+
+		int rootSize = gm.getRoot().getEstimatedSize();
+
+		// recursive calculations should agree with the single pass
+		assertEquals(rootSize, gm.getRoot().calcEstimatedSize());
+		gm.calcInclusionTreeDepths();
+
+		for (int i = 0; i < nodes.size(); i++)
+		{
+			LNode node = nodes.get(i);
+
+			assertEquals(node.getNoOfChildren(), node.noOfChildren);
+			assertEquals(estimatedSizes[i], node.getEstimatedSize());
+			assertEquals(gm.getInclusionTreeIndex().getDepth(node),
+				node.getInclusionTreeDepth());
+		}
+
+		// adding a node invalidates weights of its ancestors
+		LNode compound = nodes.get(nodes.size() - 1);
+		LGraph child = compound.getChild() == null ?
+			gm.add(layout.newGraph(null), compound) : compound.getChild();
+		int weight = compound.getNoOfChildren();
+
+		child.add(layout.newNode(null));
+		gm.calcSubtreeProperties(false);
+
+		assertEquals(compound.getNoOfChildren(), compound.noOfChildren);
+		assertTrue(compound.noOfChildren >= weight);
+	}
+
+	public void testDirtyBounds() throws Exception
+	{
+		Layout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		List<LNode> nodes = createRandomHierarchy(layout, 17);
+		Random random = new Random(19);
+
+		for (LNode node : nodes)
+		{
+			node.setCenter(random.nextInt(1000), random.nextInt(1000));
+		}
+
+		gm.updateBounds();
+
+		for (int round = 0; round < 10; round++)
+		{
+			// move a few simple nodes, then update dirty bounds only
+			for (int i = 0; i < 5; i++)
+			{
+				LNode node = nodes.get(random.nextInt(nodes.size()));
+
+				if (node.getChild() == null)
+				{
+					node.moveBy(random.nextInt(200) - 100,
+						random.nextInt(200) - 100);
+				}
+			}
+
+			gm.updateDirtyBounds();
+			int[] dirty = getBounds(gm);
+
+			gm.updateBounds();
+			int[] full = getBounds(gm);
+
+			for (int i = 0; i < full.length; i++)
+			{
+				assertEquals(full[i], dirty[i]);
+			}
+		}
+	}
+
+	public void testDenseIds() throws Exception
+	{
+		Layout layout = new CoSELayout();
+		LGraphManager gm = layout.getGraphManager();
+		List<LNode> nodes = createRandomHierarchy(layout, 23);
+
+		for (int i = 1; i < nodes.size(); i += 3)
+		{
+			gm.add(layout.newEdge(null), nodes.get(i - 1), nodes.get(i));
+		}
+
+		checkIds(gm);
+
+		// ids of removed objects are reused, others stay the same
+		LNode removed = nodes.get(nodes.size() - 1);
+		LNode other = nodes.get(0);
+		int removedId = removed.getId();
+		int otherId = other.getId();
+		int bound = gm.getNodeIdBound();
+
+		removed.getOwner().remove(removed);
+		assertEquals(-1, removed.getId());
+		assertNull(gm.getNode(removedId));
+		checkIds(gm);
+
+		LNode added = gm.getRoot().add(layout.newNode(null));
+		assertEquals(removedId, added.getId());
+		assertEquals(otherId, other.getId());
+		assertEquals(bound, gm.getNodeIdBound());
+		checkIds(gm);
+
+		// members of a graph get ids once the graph joins the manager
+		LGraph graph = layout.newGraph(null);
+		LNode first = graph.add(layout.newNode(null));
+		LNode second = graph.add(layout.newNode(null));
+		graph.add(layout.newEdge(null), first, second);
+		assertEquals(-1, first.getId());
+
+		gm.add(graph, added);
+		assertTrue(first.getId() >= 0 && second.getId() >= 0);
+		checkIds(gm);
+	}
+
+	/*
+	 * Checks that the arrays of all nodes and edges of the input graph
+	 * manager are up to date, and that their ids are unique and dense.
+	 */
+	private void checkIds(LGraphManager gm)
+	{
+		int nodeCount = 0;
+		int edgeCount = gm.getInterGraphEdges().size();
+
+		for (Object obj : gm.getGraphs())
+		{
+			nodeCount += ((LGraph) obj).getNodes().size();
+			edgeCount += ((LGraph) obj).getEdges().size();
+		}
+
+		LNode[] allNodes = gm.getAllNodes();
+		LEdge[] allEdges = gm.getAllEdges();
+
+		assertEquals(nodeCount, allNodes.length);
+		assertEquals(nodeCount, gm.getNodeCount());
+		assertEquals(edgeCount, allEdges.length);
+		assertEquals(edgeCount, gm.getEdgeCount());
+
+		Set<Integer> ids = new HashSet<Integer>();
+
+		for (LNode node : allNodes)
+		{
+			assertTrue(node.getId() < gm.getNodeIdBound());
+			assertTrue(ids.add(node.getId()));
+			assertSame(node, gm.getNode(node.getId()));
+		}
+
+		ids.clear();
+
+		for (LEdge edge : allEdges)
+		{
+			assertTrue(edge.getId() < gm.getEdgeIdBound());
+			assertTrue(ids.add(edge.getId()));
+			assertSame(edge, gm.getEdge(edge.getId()));
+		}
+	}
+
+	/*
+	 * Returns the bounds of all graphs of the input graph manager.
+	 */
+	private int[] getBounds(LGraphManager gm)
+	{
+		List graphs = gm.getGraphs();
+		int[] bounds = new int[4 * graphs.size()];
+
+		for (int i = 0; i < graphs.size(); i++)
+		{
+			LGraph graph = (LGraph) graphs.get(i);
+
+			bounds[4 * i] = graph.getLeft();
+			bounds[4 * i + 1] = graph.getTop();
+			bounds[4 * i + 2] = graph.getRight();
+			bounds[4 * i + 3] = graph.getBottom();
+		}
+
+		return bounds;
+	}
+
+	/*
+	 * Creates a random nesting hierarchy, some branches of which are deep,
+	 * and returns its nodes.
+	 */
+	private List<LNode> createRandomHierarchy(Layout layout, long seed)
+	{
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		Random random = new Random(seed);
+		List<LNode> nodes = new ArrayList<LNode>();
+
+		for (int i = 0; i < 200; i++)
+		{
+			LGraph owner = root;
+
+			if (!nodes.isEmpty() && random.nextInt(4) != 0)
+			{
+				LNode parent = nodes.get(nodes.size() - 1 - random.nextInt(
+					Math.min(nodes.size(), 5)));
+
+				owner = parent.getChild();
+
+				if (owner == null)
+				{
+					owner = gm.add(layout.newGraph(null), parent);
+				}
+			}
+
+			LNode node = owner.add(layout.newNode(null));
+
+			node.setWidth(10 + random.nextInt(50));
+			node.setHeight(10 + random.nextInt(50));
+			nodes.add(node);
+		}
+
+		return nodes;
+	}
+
+	/*
+	 * Finds the lowest common ancestor of the owners of the input nodes by
+	 * walking up the inclusion tree.
+	 */
+	private LGraph findLowestCommonAncestor(LNode first, LNode second)
+	{
+		if (first == second)
+		{
+			return first.getOwner();
+		}
+
+		Set<LGraph> ancestors = new HashSet<LGraph>();
+
+		for (LGraph graph = first.getOwner();
+			graph != null;
+			graph = graph.getParent().getOwner())
+		{
+			ancestors.add(graph);
+		}
+
+		LGraph graph = second.getOwner();
+
+		while (!ancestors.contains(graph))
+		{
+			graph = graph.getParent().getOwner();
+		}
+
+		return graph;
+	}
+
+	public static Test suite()
+	{
+		return new TestSuite(LGraphManagerTest.class);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package org.ivis.layout;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.ivis.layout.fd.RepulsionGrid;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * RepulsionGrid tester
+ */
+public class RepulsionGridTest
+{
+	@Test
+	public void testSurroundings() throws Exception
+	{
+		Random random = new Random(11);
+		RepulsionGrid grid = new RepulsionGrid();
+		double range = 50;
+
+		// one grid is rebuilt for graphs of varying sizes, some with a single
+		// member, with and without pinned nodes
+		for (int round = 0; round < 20; round++)
+		{
+			int graphCount = 1 + random.nextInt(4);
+			int[] graphStart = new int[graphCount + 1];
+
+			for (int g = 0; g < graphCount; g++)
+			{
+				graphStart[g + 1] = graphStart[g] +
+					(random.nextInt(5) == 0 ? 1 : random.nextInt(120));
+			}
+
+			int nodeCount = graphStart[graphCount];
+			double[] x = new double[nodeCount];
+			double[] y = new double[nodeCount];
+			double[] width = new double[nodeCount];
+			double[] height = new double[nodeCount];
+			boolean[] repulsive = new boolean[nodeCount];
+			boolean[] pinned = round % 2 == 0 ? null : new boolean[nodeCount];
+			double[] graphBounds = new double[4 * graphCount];
+
+			for (int g = 0; g < graphCount; g++)
+			{
+				double size = 100 + random.nextDouble() * 900;
+
+				graphBounds[4 * g] = Double.MAX_VALUE;
+				graphBounds[4 * g + 1] = Double.MAX_VALUE;
+				graphBounds[4 * g + 2] = -Double.MAX_VALUE;
+				graphBounds[4 * g + 3] = -Double.MAX_VALUE;
+
+				for (int i = graphStart[g]; i < graphStart[g + 1]; i++)
+				{
+					x[i] = random.nextDouble() * size - 300;
+					y[i] = random.nextDouble() * size + 200;
+					width[i] = 5 + random.nextDouble() * 120;
+					height[i] = 5 + random.nextDouble() * 120;
+					repulsive[i] = random.nextInt(10) > 0;
+
+					if (pinned != null)
+					{
+						pinned[i] = random.nextInt(4) == 0;
+					}
+
+					graphBounds[4 * g] = Math.min(graphBounds[4 * g], x[i]);
+					graphBounds[4 * g + 1] =
+						Math.min(graphBounds[4 * g + 1], y[i]);
+					graphBounds[4 * g + 2] =
+						Math.max(graphBounds[4 * g + 2], x[i] + width[i]);
+					graphBounds[4 * g + 3] =
+						Math.max(graphBounds[4 * g + 3], y[i] + height[i]);
+				}
+			}
+
+			grid.build(nodeCount, x, y, width, height, repulsive, pinned,
+				graphCount, graphStart, graphBounds, range);
+
+			assertEquals(nodeCount, grid.getNodeCount());
+
+			int total = 0;
+
+			for (int g = 0; g < graphCount; g++)
+			{
+				for (int a = graphStart[g]; a < graphStart[g + 1]; a++)
+				{
+					// each pair within range in the same graph is found once,
+					// by the node that is not pinned and, of two such nodes,
+					// by the one first in node order
+					Set<Integer> expected = new HashSet<Integer>();
+
+					if (repulsive[a] && (pinned == null || !pinned[a]))
+					{
+						for (int b = graphStart[g]; b < graphStart[g + 1]; b++)
+						{
+							if (b != a && repulsive[b] &&
+								(b > a || (pinned != null && pinned[b])) &&
+								isInRange(x, y, width, height, a, b, range))
+							{
+								expected.add(b);
+							}
+						}
+					}
+
+					Set<Integer> found = new HashSet<Integer>();
+
+					for (int k = grid.getSurroundingStart(a);
+						k < grid.getSurroundingEnd(a); k++)
+					{
+						assertTrue(found.add(grid.getSurrounding()[k]));
+					}
+
+					assertEquals(expected, found);
+					total += found.size();
+				}
+			}
+
+			assertEquals(total, grid.getSurroundingCount());
+		}
+	}
+
+	/**
+	 * This method checks whether the input nodes are within range along both
+	 * axes, from the sides of their rectangles.
+	 */
+	private boolean isInRange(double[] x,
+		double[] y,
+		double[] width,
+		double[] height,
+		int a,
+		int b,
+		double range)
+	{
+		double gapX = Math.max(x[a], x[b]) -
+			Math.min(x[a] + width[a], x[b] + width[b]);
+		double gapY = Math.max(y[a], y[b]) -
+			Math.min(y[a] + height[a], y[b] + height[b]);
+
+		return gapX <= range && gapY <= range;
+	}
+}
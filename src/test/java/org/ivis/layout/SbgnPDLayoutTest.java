@@ -1,11 +1,24 @@
 package org.ivis.layout;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.ivis.layout.cose.CoSELayout;
+import org.ivis.layout.sbgn.SbgnPDConstants;
 import org.ivis.layout.sbgn.SbgnPDLayout;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import static org.junit.Assert.*;
 
 public class SbgnPDLayoutTest
 {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
 
 	// FYI:
 	@Test
@@ -40,4 +53,488 @@ public class SbgnPDLayoutTest
 		//TODO: write a real test and assertions
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testStoppedLayout() throws Exception
+	{
+		Layout layout = new SbgnPDLayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph g1 = gm.addRoot();
+		LNode n1 = g1.add(layout.newNode("n1"));
+		LNode n2 = g1.add(layout.newNode("n2"));
+		LGraph g2 = gm.add(layout.newGraph("G2"), n2);
+		LNode n3 = g2.add(layout.newNode("n3"));
+		gm.add(layout.newEdge("e1-2"), n1, n2);
+		gm.add(layout.newEdge("e1-3"), n1, n3);
+
+		layout.cancel();
+
+		assertTrue(layout.runLayout());
+	}
+
+	@Test
+	public void testBarnesHutLayout() throws Exception
+	{
+		LayoutOptionsPack.getInstance().getCoSE().barnesHutRepulsion = true;
+
+		try
+		{
+			testLayout();
+		}
+		finally
+		{
+			LayoutOptionsPack.getInstance().setDefaultLayoutProperties();
+		}
+	}
+
+	@Test
+	public void testMultiLevelScalingLayout() throws Exception
+	{
+		LayoutOptionsPack.getInstance().getCoSE().multiLevelScaling = true;
+
+		try
+		{
+			testLayout();
+		}
+		finally
+		{
+			LayoutOptionsPack.getInstance().setDefaultLayoutProperties();
+		}
+	}
+
+
+	@Test
+	public void testLayoutPool() throws Exception
+	{
+		List<LayoutPool.GraphBuilder> builders =
+			new ArrayList<LayoutPool.GraphBuilder>();
+
+		for (int i = 0; i < 12; i++)
+		{
+			builders.add(new RandomGraphBuilder(i));
+		}
+
+		// layouts run one at a time on this thread...
+		List<double[]> expected = new ArrayList<double[]>();
+
+		for (LayoutPool.GraphBuilder builder : builders)
+		{
+			Layout layout = new SbgnPDLayout();
+			builder.build(layout);
+			layout.runLayout();
+			expected.add(TestUtils.getCenters(layout));
+		}
+
+		// ...are the same when run by a pool, whose workers reuse their
+		// scratch structures from one layout to the next
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+
+		try
+		{
+			LayoutPool pool = new LayoutPool(executor, 3, 2,
+				new LayoutPool.LayoutFactory()
+				{
+					public Layout newLayout()
+					{
+						return new SbgnPDLayout();
+					}
+				},
+				null);
+
+			List<Future<Layout>> results = pool.submitAll(builders);
+
+			for (int i = 0; i < builders.size(); i++)
+			{
+				assertArrayEquals(expected.get(i),
+					TestUtils.getCenters(results.get(i).get()),
+					0.0);
+			}
+
+			assertEquals(builders.size(), pool.getCompletedCount());
+			assertEquals(0, pool.getFailedCount());
+			assertEquals(0, pool.getQueueDepth());
+			assertTrue(pool.getThroughput() > 0);
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testLayoutCache() throws Exception
+	{
+		LayoutCache cache =
+			new LayoutCache(1 << 20, folder.getRoot(), 1 << 20);
+
+		// the first layout of a graph is run...
+		Layout layout = new SbgnPDLayout();
+		new RandomGraphBuilder(3).build(layout);
+		assertTrue(cache.runLayout(layout));
+		double[] expected = TestUtils.getCenters(layout);
+		assertEquals(0, cache.getHitCount());
+
+		// ...and the result is used for the same graph
+		layout = new SbgnPDLayout();
+		new RandomGraphBuilder(3).build(layout);
+		assertTrue(cache.runLayout(layout));
+		assertArrayEquals(expected, TestUtils.getCenters(layout), 0.0);
+		assertEquals(1, cache.getHitCount());
+
+		// also when read from disk
+		LayoutCache diskCache =
+			new LayoutCache(1 << 20, folder.getRoot(), 1 << 20);
+		layout = new SbgnPDLayout();
+		new RandomGraphBuilder(3).build(layout);
+		assertTrue(diskCache.runLayout(layout));
+		assertArrayEquals(expected, TestUtils.getCenters(layout), 0.0);
+		assertEquals(1, diskCache.getHitCount());
+
+		// another graph or other options miss
+		layout = new SbgnPDLayout();
+		new RandomGraphBuilder(4).build(layout);
+		assertTrue(cache.runLayout(layout));
+		assertEquals(1, cache.getHitCount());
+
+		LayoutOptionsPack options = new LayoutOptionsPack();
+		options.getCoSE().idealEdgeLength = 60;
+		layout = new SbgnPDLayout();
+		layout.setOptions(options);
+		new RandomGraphBuilder(3).build(layout);
+		assertTrue(cache.runLayout(layout));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+
+		// results beyond the size limit are evicted
+		LayoutCache smallCache = new LayoutCache(1);
+		layout = new SbgnPDLayout();
+		new RandomGraphBuilder(3).build(layout);
+		smallCache.runLayout(layout);
+		assertEquals(0, smallCache.getMemorySize());
+	}
+
+	@Test
+	public void testLayoutCacheWithProcesses() throws Exception
+	{
+		LayoutCache cache = new LayoutCache(1 << 20);
+
+		// process nodes are replaced during layout, and their views are
+		// updated with the geometry of their replacements...
+		Layout layout = new SbgnPDLayout();
+		ViewNode[] views = buildReaction(layout);
+		assertTrue(cache.runLayout(layout));
+		double[] expected = getCenters(views);
+
+		// ...which the result of the same graph holds as well
+		layout = new SbgnPDLayout();
+		views = buildReaction(layout);
+		assertTrue(cache.runLayout(layout));
+		assertEquals(1, cache.getHitCount());
+		assertArrayEquals(expected, getCenters(views), 0.0);
+	}
+
+	@Test
+	public void testDeltaLayout() throws Exception
+	{
+		SbgnPDLayout layout = new SbgnPDLayout();
+		ViewNode[] views = buildReaction(layout);
+		assertTrue(layout.runLayout());
+
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.getRoot();
+		LNode product = null;
+		List<LNode> processNodes = new ArrayList<LNode>();
+
+		for (Object obj : root.getNodes())
+		{
+			LNode node = (LNode) obj;
+
+			if (node.vGraphObject == views[3])
+			{
+				product = node;
+			}
+			else if (!SbgnPDConstants.MACROMOLECULE.equals(node.type))
+			{
+				processNodes.add(node);
+			}
+		}
+
+		double[] expected = TestUtils.getCenters(processNodes);
+
+		// another species produced, attached to the product
+		LNode node = root.add(layout.newNode(null));
+		node.type = SbgnPDConstants.MACROMOLECULE;
+		node.setWidth(60);
+		node.setHeight(30);
+		LEdge edge = gm.add(layout.newEdge(null), product, node);
+		edge.type = SbgnPDConstants.PRODUCTION;
+
+		ChangeSet changes = new ChangeSet();
+		changes.nodeAdded(node);
+		changes.edgeAdded(edge);
+		assertTrue(layout.runDeltaLayout(changes));
+
+		// the process stays where it is along with its ports
+		assertEquals(3, processNodes.size());
+		assertArrayEquals(expected, TestUtils.getCenters(processNodes), 0.0);
+	}
+
+	@Test
+	public void testHierarchicalLayout() throws Exception
+	{
+		final List<LNode> compartments = new ArrayList<LNode>();
+		final List<List<LNode>> leaves = new ArrayList<List<LNode>>();
+		final List<double[]> blocks = new ArrayList<double[]>();
+
+		// the root graph is laid out last, after the contents of each
+		// compartment, which are to keep their offsets as a rigid block
+		// (complexes are filled only after layout, hence are leaves then)
+		Layout layout = new SbgnPDLayout()
+		{
+			@Override
+			protected CoSELayout newSubLayout()
+			{
+				return new SbgnPDLayout()
+				{
+					@Override
+					public boolean runLayout()
+					{
+						LNode first = (LNode)
+							getGraphManager().getRoot().getNodes().get(0);
+
+						if (compartments.contains(first.vGraphObject))
+						{
+							for (LNode compartment : compartments)
+							{
+								List<LNode> nodes = new ArrayList<LNode>();
+
+								addLeaves(compartment.getChild(), nodes);
+								leaves.add(nodes);
+								blocks.add(TestUtils.getRelativeCenters(nodes));
+							}
+						}
+
+						return super.runLayout();
+					}
+				};
+			}
+		};
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		List<ViewNode> views = new ArrayList<ViewNode>();
+		LNode previous = null;
+
+		// two compartments with a reaction and a complex each, a species of
+		// each reaction being transported to the other compartment
+		for (int c = 0; c < 2; c++)
+		{
+			LNode compartment = root.add(layout.newNode(null));
+			LGraph child = gm.add(layout.newGraph(null), compartment);
+			LNode[] nodes = new LNode[4];
+
+			compartment.type = "compartment";
+			compartments.add(compartment);
+
+			for (int i = 0; i < nodes.length; i++)
+			{
+				ViewNode view = new ViewNode();
+				views.add(view);
+				nodes[i] = child.add(layout.newNode(view));
+				nodes[i].type = i == 0 ?
+					SbgnPDConstants.PROCESS : SbgnPDConstants.MACROMOLECULE;
+				nodes[i].setWidth(i == 0 ? 20 : 60);
+				nodes[i].setHeight(i == 0 ? 20 : 30);
+			}
+
+			gm.add(layout.newEdge(null), nodes[1], nodes[0]).type =
+				SbgnPDConstants.CONSUMPTION;
+			gm.add(layout.newEdge(null), nodes[2], nodes[0]).type =
+				SbgnPDConstants.CONSUMPTION;
+			gm.add(layout.newEdge(null), nodes[0], nodes[3]).type =
+				SbgnPDConstants.PRODUCTION;
+
+			LNode complex = child.add(layout.newNode(null));
+			LGraph members = gm.add(layout.newGraph(null), complex);
+			complex.type = SbgnPDConstants.COMPLEX;
+
+			for (int i = 0; i < 2; i++)
+			{
+				ViewNode view = new ViewNode();
+				views.add(view);
+				LNode member = members.add(layout.newNode(view));
+				member.type = SbgnPDConstants.MACROMOLECULE;
+				member.setWidth(60);
+				member.setHeight(30);
+			}
+
+			gm.add(layout.newEdge(null), complex, nodes[0]).type =
+				SbgnPDConstants.CATALYSIS;
+
+			if (previous != null)
+			{
+				gm.add(layout.newEdge(null), previous, nodes[1]);
+			}
+
+			previous = nodes[3];
+		}
+
+		gm.updateBounds();
+
+		LayoutOptionsPack options = new LayoutOptionsPack();
+		options.getCoSE().hierarchicalLayout = true;
+		layout.setOptions(options);
+
+		assertTrue(layout.runLayout());
+
+		for (ViewNode view : views)
+		{
+			assertFalse(Double.isNaN(view.centerX));
+			assertFalse(Double.isNaN(view.centerY));
+		}
+
+		// compartments are moved along with their contents...
+		assertEquals(compartments.size(), blocks.size());
+
+		for (int i = 0; i < leaves.size(); i++)
+		{
+			assertArrayEquals(blocks.get(i),
+				TestUtils.getRelativeCenters(leaves.get(i)), 1e-9);
+		}
+
+		// ...and keep them inside
+		for (LNode compartment : compartments)
+		{
+			for (Object obj : compartment.getChild().getNodes())
+			{
+				LNode node = (LNode) obj;
+
+				assertTrue(compartment.getLeft() <= node.getLeft());
+				assertTrue(compartment.getTop() <= node.getTop());
+				assertTrue(compartment.getRight() >= node.getRight());
+				assertTrue(compartment.getBottom() >= node.getBottom());
+			}
+		}
+	}
+
+	/**
+	 * Adds the leaves of the input graph and its descendants to the input
+	 * list.
+	 */
+	private void addLeaves(LGraph graph, List<LNode> leaves)
+	{
+		for (Object obj : graph.getNodes())
+		{
+			LNode node = (LNode) obj;
+
+			if (node.getChild() == null)
+			{
+				leaves.add(node);
+			}
+			else
+			{
+				addLeaves(node.getChild(), leaves);
+			}
+		}
+	}
+
+	/**
+	 * Builds a reaction consuming two species and producing a third one,
+	 * returning the views of its nodes.
+	 */
+	private ViewNode[] buildReaction(Layout layout)
+	{
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		ViewNode[] views = new ViewNode[4];
+		LNode[] nodes = new LNode[4];
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			views[i] = new ViewNode();
+			nodes[i] = root.add(layout.newNode(views[i]));
+			nodes[i].type = i == 0 ?
+				SbgnPDConstants.PROCESS : SbgnPDConstants.MACROMOLECULE;
+			nodes[i].setWidth(i == 0 ? 20 : 60);
+			nodes[i].setHeight(i == 0 ? 20 : 30);
+		}
+
+		gm.add(layout.newEdge(null), nodes[1], nodes[0]).type =
+			SbgnPDConstants.CONSUMPTION;
+		gm.add(layout.newEdge(null), nodes[2], nodes[0]).type =
+			SbgnPDConstants.CONSUMPTION;
+		gm.add(layout.newEdge(null), nodes[0], nodes[3]).type =
+			SbgnPDConstants.PRODUCTION;
+
+		return views;
+	}
+
+	/**
+	 * A view node keeping the center of its node as of its last update.
+	 */
+	private static class ViewNode implements Updatable
+	{
+		private double centerX = Double.NaN;
+		private double centerY = Double.NaN;
+
+		public void update(LGraphObject lGraphObj)
+		{
+			this.centerX = ((LNode) lGraphObj).getCenterX();
+			this.centerY = ((LNode) lGraphObj).getCenterY();
+		}
+	}
+
+	private double[] getCenters(ViewNode[] views)
+	{
+		double[] centers = new double[2 * views.length];
+
+		for (int i = 0; i < views.length; i++)
+		{
+			centers[2 * i] = views[i].centerX;
+			centers[2 * i + 1] = views[i].centerY;
+		}
+
+		return centers;
+	}
+
+	/**
+	 * Builds a random tree with a complex holding a few of its nodes.
+	 */
+	private static class RandomGraphBuilder implements LayoutPool.GraphBuilder
+	{
+		private long seed;
+
+		RandomGraphBuilder(long seed)
+		{
+			this.seed = seed;
+		}
+
+		public void build(Layout layout)
+		{
+			LGraphManager gm = layout.getGraphManager();
+			LGraph root = gm.addRoot();
+			Random random = new Random(this.seed);
+			int nodeCount = 30 + random.nextInt(40);
+			LNode[] nodes = new LNode[nodeCount];
+			LNode complex = root.add(layout.newNode("c"));
+			LGraph child = gm.add(layout.newGraph("C"), complex);
+
+			for (int i = 0; i < nodeCount; i++)
+			{
+				LGraph owner = i < 4 ? child : root;
+
+				nodes[i] = owner.add(layout.newNode("n" + i));
+				nodes[i].setWidth(20 + random.nextInt(20));
+				nodes[i].setHeight(20 + random.nextInt(20));
+				nodes[i].setCenter(random.nextDouble() * 400,
+					random.nextDouble() * 400);
+			}
+
+			for (int i = 1; i < nodeCount; i++)
+			{
+				gm.add(layout.newEdge("e" + i), nodes[i],
+					nodes[random.nextInt(i)]);
+			}
+
+			gm.updateBounds();
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package org.ivis.layout;
+
+import org.ivis.layout.fd.FDLayoutConstants;
+import org.ivis.layout.stress.StressLayout;
+import org.ivis.util.RectangleD;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * StressLayout tester
+ */
+public class StressLayoutTest
+{
+	@Test
+	public void testGridLayout() throws Exception
+	{
+		Layout layout = new StressLayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		int size = 12;
+		LNode[] nodes = new LNode[size * size];
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			nodes[i] = root.add(layout.newNode(null));
+			nodes[i].setWidth(20);
+			nodes[i].setHeight(20);
+		}
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			if (i % size < size - 1)
+			{
+				gm.add(layout.newEdge(null), nodes[i], nodes[i + 1]);
+			}
+
+			if (i + size < nodes.length)
+			{
+				gm.add(layout.newEdge(null), nodes[i], nodes[i + size]);
+			}
+		}
+
+		assertTrue(layout.runLayout());
+
+		// centers of adjacent nodes are about an ideal edge length plus a node
+		// size apart (somewhat more, as the grid is stretched along its
+		// diagonals by the distances between farther nodes), edges are of
+		// about the same length, and nodes do not overlap
+		double idealLength = FDLayoutConstants.DEFAULT_EDGE_LENGTH + 20;
+		LEdge[] edges = gm.getAllEdges();
+		double[] lengths = new double[edges.length];
+		double averageLength = 0.0;
+
+		for (int i = 0; i < edges.length; i++)
+		{
+			LNode source = edges[i].getSource();
+			LNode target = edges[i].getTarget();
+
+			lengths[i] = Math.hypot(source.getCenterX() - target.getCenterX(),
+				source.getCenterY() - target.getCenterY());
+			averageLength += lengths[i] / edges.length;
+		}
+
+		assertTrue(averageLength > idealLength &&
+			averageLength < 1.3 * idealLength);
+
+		for (double length : lengths)
+		{
+			assertEquals(averageLength, length, 0.15 * averageLength);
+		}
+
+		for (int i = 0; i < nodes.length; i++)
+		{
+			for (int j = i + 1; j < nodes.length; j++)
+			{
+				assertTrue(Math.hypot(
+					nodes[i].getCenterX() - nodes[j].getCenterX(),
+					nodes[i].getCenterY() - nodes[j].getCenterY()) > 20);
+			}
+		}
+	}
+
+	@Test
+	public void testCompoundLayout() throws Exception
+	{
+		Layout layout = new StressLayout();
+		LGraphManager gm = layout.getGraphManager();
+		LGraph root = gm.addRoot();
+		LNode n1 = root.add(layout.newNode("n1"));
+		LNode n2 = root.add(layout.newNode("n2"));
+		LGraph g2 = gm.add(layout.newGraph("G2"), n2);
+		LNode n3 = g2.add(layout.newNode("n3"));
+		LNode n4 = g2.add(layout.newNode("n4"));
+		LNode n5 = root.add(layout.newNode("n5"));
+		LNode n6 = root.add(layout.newNode("n6"));
+		gm.add(layout.newEdge("e1-2"), n1, n2);
+		gm.add(layout.newEdge("e1-3"), n1, n3);
+		gm.add(layout.newEdge("e3-4"), n3, n4);
+		gm.add(layout.newEdge("e5-6"), n5, n6);
+
+		assertTrue(layout.runLayout());
+
+		for (LNode node : gm.getAllNodes())
+		{
+			assertFalse(Double.isNaN(node.getCenterX()) ||
+				Double.isNaN(node.getCenterY()));
+		}
+
+		// the compound node still wraps its contents
+		RectangleD bounds = n2.getRect();
+
+		for (LNode node : new LNode[] {n3, n4})
+		{
+			assertTrue(node.getLeft() >= bounds.x &&
+				node.getRight() <= bounds.x + bounds.width &&
+				node.getTop() >= bounds.y &&
+				node.getBottom() <= bounds.y + bounds.height);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package org.ivis.layout;
 
+import java.util.List;
+
 import org.ivis.layout.cose.CoSEEdge;
 import org.ivis.layout.cose.CoSENode;
 
@@ -60,4 +62,55 @@ public final class TestUtils {
         }
         return true;
     }
+
+    /**
+     * This method returns the centers of all nodes of the input layout, as
+     * x and y coordinates one after another
+     */
+    public static double[] getCenters(Layout layout)
+    {
+        Object[] nodes = layout.getAllNodes();
+        double[] centers = new double[2 * nodes.length];
+
+        for (int i = 0; i < nodes.length; i++)
+        {
+            centers[2 * i] = ((LNode) nodes[i]).getCenterX();
+            centers[2 * i + 1] = ((LNode) nodes[i]).getCenterY();
+        }
+
+        return centers;
+    }
+
+    /**
+     * This method returns the centers of the input nodes, as x and y
+     * coordinates one after another
+     */
+    public static double[] getCenters(List<LNode> nodes)
+    {
+        double[] centers = new double[2 * nodes.size()];
+
+        for (int i = 0; i < nodes.size(); i++)
+        {
+            centers[2 * i] = nodes.get(i).getCenterX();
+            centers[2 * i + 1] = nodes.get(i).getCenterY();
+        }
+
+        return centers;
+    }
+
+    /**
+     * This method returns the centers of the input nodes relative to the
+     * center of the first one
+     */
+    public static double[] getRelativeCenters(List<LNode> nodes)
+    {
+        double[] centers = getCenters(nodes);
+
+        for (int i = centers.length - 1; i >= 0; i--)
+        {
+            centers[i] -= centers[i % 2];
+        }
+
+        return centers;
+    }
 }